@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result.processor;
+
+import gg.sep.result.Err;
+import gg.sep.result.Ok;
+import gg.sep.result.Result;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Scanner;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+
+/**
+ * Generates a specialized result class for every {@code @SpecializeResult} annotation.
+ *
+ * <p>The generated class is placed in the package of the annotated type, and is named after the
+ * annotation's {@code name}, or after its success and error types. See
+ * {@code gg.sep.result.annotations.SpecializeResult} for the generated API.
+ */
+public final class SpecializeResultProcessor extends AbstractProcessor {
+
+    private static final String ANNOTATION = "gg.sep.result.annotations.SpecializeResult";
+    private static final String CONTAINER = ANNOTATION + ".List";
+    private static final Pattern TOKEN = Pattern.compile("\\$\\{(\\w+)}");
+
+    private String template;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return new LinkedHashSet<>(Arrays.asList(ANNOTATION, CONTAINER));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        for (final TypeElement annotation : annotations) {
+            for (final Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                for (final AnnotationMirror mirror : specializations(element)) {
+                    generate(element, mirror);
+                }
+            }
+        }
+        return true;
+    }
+
+    private Iterable<AnnotationMirror> specializations(final Element element) {
+        final Set<AnnotationMirror> mirrors = new LinkedHashSet<>();
+        for (final AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            final String type = ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString();
+            if (type.equals(ANNOTATION)) {
+                mirrors.add(mirror);
+            } else if (type.equals(CONTAINER)) {
+                for (final AnnotationValue value : listValue(values(mirror).get("value"))) {
+                    mirrors.add((AnnotationMirror) value.getValue());
+                }
+            }
+        }
+        return mirrors;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Iterable<AnnotationValue> listValue(final AnnotationValue value) {
+        return (Iterable<AnnotationValue>) value.getValue();
+    }
+
+    private Map<String, AnnotationValue> values(final AnnotationMirror mirror) {
+        final Map<String, AnnotationValue> values = new HashMap<>();
+        for (final Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : processingEnv.getElementUtils().getElementValuesWithDefaults(mirror).entrySet()) {
+            values.put(entry.getKey().getSimpleName().toString(), entry.getValue());
+        }
+        return values;
+    }
+
+    private void generate(final Element element, final AnnotationMirror mirror) {
+        final Map<String, AnnotationValue> values = values(mirror);
+        final String name = values.get("name").getValue().toString();
+        final Result<String, String> generated = ValueType.of((TypeMirror) values.get("ok").getValue())
+            .andThen(ok -> ValueType.of((TypeMirror) values.get("err").getValue())
+                .andThen(err -> write((TypeElement) element, ok, err, name.isEmpty() ? ok.simpleName() + err.simpleName() + "Result" : name)));
+        if (generated.isErr()) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, generated.unwrapErr(), element, mirror);
+        }
+    }
+
+    private Result<String, String> write(final TypeElement element, final ValueType ok, final ValueType err, final String name) {
+        final String packageName = processingEnv.getElementUtils().getPackageOf(element).getQualifiedName().toString();
+        final String qualifiedName = packageName.isEmpty() ? name : packageName + "." + name;
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, element).openWriter()) {
+            writer.write(source(packageName, element, name, ok, err));
+            return Ok.of(qualifiedName);
+        } catch (final IOException e) {
+            return Err.of(String.format("Cannot generate %s: %s", qualifiedName, e.getMessage()));
+        }
+    }
+
+    private String source(final String packageName, final TypeElement element, final String name, final ValueType ok, final ValueType err) {
+        final Map<String, String> tokens = new HashMap<>();
+        tokens.put("packageDeclaration", packageName.isEmpty() ? "" : "package " + packageName + ";\n\n");
+        tokens.put("source", element.getQualifiedName().toString());
+        tokens.put("name", name);
+        tokens.put("T", ok.name());
+        tokens.put("E", err.name());
+        tokens.put("BoxedT", ok.boxedName());
+        tokens.put("BoxedE", err.boxedName());
+        tokens.put("OptionalT", ok.optionalType());
+        tokens.put("OptionalE", err.optionalType());
+        tokens.put("optionalOfValue", ok.optionalOf("value"));
+        tokens.put("optionalOfError", err.optionalOf("error"));
+        tokens.put("emptyT", ok.optionalEmpty());
+        tokens.put("emptyE", err.optionalEmpty());
+        tokens.put("requireValue", ok.requireNonNull("value"));
+        tokens.put("requireError", err.requireNonNull("error"));
+        tokens.put("defaultT", ok.defaultValue());
+        tokens.put("defaultE", err.defaultValue());
+        tokens.put("containsOk", ok.equalsExpression("value", "x"));
+        tokens.put("containsErr", err.equalsExpression("error", "f"));
+        tokens.put("equalsOk", ok.equalsExpression("value", "other.value"));
+        tokens.put("equalsErr", err.equalsExpression("error", "other.error"));
+        tokens.put("hashOk", ok.hashExpression("value"));
+        tokens.put("hashErr", err.hashExpression("error"));
+
+        final Matcher matcher = TOKEN.matcher(template());
+        final StringBuffer source = new StringBuffer();
+        while (matcher.find()) {
+            matcher.appendReplacement(source, Matcher.quoteReplacement(tokens.get(matcher.group(1))));
+        }
+        matcher.appendTail(source);
+        return source.toString();
+    }
+
+    private String template() {
+        if (template == null) {
+            final InputStream stream = SpecializeResultProcessor.class.getResourceAsStream("SpecializedResult.java.template");
+            try (Scanner scanner = new Scanner(stream, "UTF-8")) {
+                template = scanner.useDelimiter("\\A").next();
+            }
+        }
+        return template;
+    }
+}
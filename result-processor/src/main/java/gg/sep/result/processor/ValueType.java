@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result.processor;
+
+import gg.sep.result.Err;
+import gg.sep.result.Ok;
+import gg.sep.result.Result;
+
+import java.util.Locale;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+
+/**
+ * The success or error type of a specialized result, with the source fragments needed to store,
+ * compare and hash a value of that type without boxing it.
+ */
+final class ValueType {
+
+    private final TypeKind kind;
+    private final String name;
+    private final String boxedName;
+    private final String simpleName;
+
+    private ValueType(final TypeKind kind, final String name, final String boxedName, final String simpleName) {
+        this.kind = kind;
+        this.name = name;
+        this.boxedName = boxedName;
+        this.simpleName = simpleName;
+    }
+
+    /**
+     * Describes a type named in a {@code SpecializeResult} annotation.
+     *
+     * @param type The type.
+     * @return {@link Ok} containing the description, otherwise {@link Err} with the reason the type
+     *         cannot be specialized.
+     */
+    static Result<ValueType, String> of(final TypeMirror type) {
+        final TypeKind kind = type.getKind();
+        if (kind.isPrimitive()) {
+            final String name = kind.name().toLowerCase(Locale.ROOT);
+            final String simpleName = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+            return Ok.of(new ValueType(kind, name, "java.lang." + boxedSimpleName(kind, simpleName), simpleName));
+        }
+        if (kind == TypeKind.DECLARED) {
+            final TypeElement element = (TypeElement) ((DeclaredType) type).asElement();
+            if (!element.getTypeParameters().isEmpty()) {
+                return Err.of(String.format("%s is generic, and cannot be specialized.", element.getQualifiedName()));
+            }
+            final String name = element.getQualifiedName().toString();
+            return Ok.of(new ValueType(kind, name, name, element.getSimpleName().toString()));
+        }
+        return Err.of(String.format("%s must be a primitive type, or a class or interface.", type));
+    }
+
+    private static String boxedSimpleName(final TypeKind kind, final String simpleName) {
+        if (kind == TypeKind.INT) {
+            return "Integer";
+        }
+        if (kind == TypeKind.CHAR) {
+            return "Character";
+        }
+        return simpleName;
+    }
+
+    /**
+     * Returns the name of the type in source code.
+     *
+     * @return The name of the type in source code.
+     */
+    String name() {
+        return name;
+    }
+
+    /**
+     * Returns the name of the boxed type, which is the name of the type itself for reference types.
+     *
+     * @return The name of the boxed type.
+     */
+    String boxedName() {
+        return boxedName;
+    }
+
+    /**
+     * Returns the simple name of the type, capitalized, for the default name of a generated class.
+     *
+     * @return The simple name of the type, capitalized.
+     */
+    String simpleName() {
+        return simpleName;
+    }
+
+    /**
+     * Returns the statement rejecting a {@code null} variable, or an empty string for primitives.
+     *
+     * @param variable The variable to check.
+     * @return The null-check statement.
+     */
+    String requireNonNull(final String variable) {
+        return kind.isPrimitive() ? "" : String.format("java.util.Objects.requireNonNull(%s);\n        ", variable);
+    }
+
+    /**
+     * Returns the value of a field of this type which is not set.
+     *
+     * @return The default value expression.
+     */
+    String defaultValue() {
+        if (kind == TypeKind.BOOLEAN) {
+            return "false";
+        }
+        return kind.isPrimitive() ? String.format("(%s) 0", name) : "null";
+    }
+
+    /**
+     * Returns the expression comparing two values of this type with the semantics of the boxed
+     * type's {@code equals}.
+     *
+     * @param a The first value.
+     * @param b The second value.
+     * @return The equality expression.
+     */
+    String equalsExpression(final String a, final String b) {
+        if (kind == TypeKind.FLOAT || kind == TypeKind.DOUBLE) {
+            return String.format("%s.compare(%s, %s) == 0", boxedName, a, b);
+        }
+        return kind.isPrimitive() ? String.format("%s == %s", a, b) : String.format("%s.equals(%s)", a, b);
+    }
+
+    /**
+     * Returns the expression computing the hash code of a value, equal to the hash code of the
+     * boxed value.
+     *
+     * @param value The value.
+     * @return The hash code expression.
+     */
+    String hashExpression(final String value) {
+        return kind.isPrimitive() ? String.format("%s.hashCode(%s)", boxedName, value) : String.format("%s.hashCode()", value);
+    }
+
+    /**
+     * Returns the optional type holding a value of this type, which is a primitive optional for
+     * {@code int}, {@code long} and {@code double}.
+     *
+     * @return The optional type.
+     */
+    String optionalType() {
+        final String primitiveOptional = primitiveOptional();
+        return primitiveOptional == null ? String.format("java.util.Optional<%s>", boxedName) : primitiveOptional;
+    }
+
+    /**
+     * Returns the expression constructing a present optional.
+     *
+     * @param value The value.
+     * @return The optional expression.
+     */
+    String optionalOf(final String value) {
+        final String primitiveOptional = primitiveOptional();
+        return String.format("%s.of(%s)", primitiveOptional == null ? "java.util.Optional" : primitiveOptional, value);
+    }
+
+    /**
+     * Returns the expression constructing an empty optional.
+     *
+     * @return The optional expression.
+     */
+    String optionalEmpty() {
+        final String primitiveOptional = primitiveOptional();
+        return primitiveOptional == null ? String.format("java.util.Optional.<%s>empty()", boxedName) : primitiveOptional + ".empty()";
+    }
+
+    private String primitiveOptional() {
+        switch (kind) {
+            case INT:
+                return "java.util.OptionalInt";
+            case LONG:
+                return "java.util.OptionalLong";
+            case DOUBLE:
+                return "java.util.OptionalDouble";
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result.processor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for the {@link SpecializeResultProcessor} type, which compile sources with the
+ * processor and run the generated classes.
+ */
+class SpecializeResultProcessorTest {
+
+    private static final String DRIVER = String.join("\n",
+        "package sample;",
+        "",
+        "import gg.sep.result.Err;",
+        "import gg.sep.result.Ok;",
+        "import gg.sep.result.ResultException;",
+        "import gg.sep.result.annotations.SpecializeResult;",
+        "",
+        "@SpecializeResult(ok = int.class, err = Driver.ErrorCode.class)",
+        "public final class Driver {",
+        "    public enum ErrorCode { NOT_FOUND, INVALID }",
+        "",
+        "    private static void check(final boolean condition, final String what) {",
+        "        if (!condition) {",
+        "            throw new AssertionError(what);",
+        "        }",
+        "    }",
+        "",
+        "    private static void checkThrows(final Runnable op, final String message) {",
+        "        try {",
+        "            op.run();",
+        "        } catch (final ResultException e) {",
+        "            check(e.getMessage().equals(message), message + \" != \" + e.getMessage());",
+        "            return;",
+        "        }",
+        "        throw new AssertionError(\"expected ResultException: \" + message);",
+        "    }",
+        "",
+        "    public static void run() {",
+        "        final IntErrorCodeResult ok = IntErrorCodeResult.ok(2);",
+        "        final IntErrorCodeResult err = IntErrorCodeResult.err(ErrorCode.INVALID);",
+        "        check(ok.isOk() && !ok.isErr() && err.isErr() && !err.isOk(), \"isOk/isErr\");",
+        "        check(ok.contains(2) && !ok.contains(3) && !err.contains(0), \"contains\");",
+        "        check(err.containsErr(ErrorCode.INVALID) && !err.containsErr(ErrorCode.NOT_FOUND), \"containsErr\");",
+        "        check(!ok.containsErr(ErrorCode.INVALID), \"containsErr ok\");",
+        "        check(ok.getOk().getAsInt() == 2 && !err.getOk().isPresent(), \"getOk\");",
+        "        check(err.getErr().get() == ErrorCode.INVALID && !ok.getErr().isPresent(), \"getErr\");",
+        "        check(ok.unwrap() == 2 && err.unwrapErr() == ErrorCode.INVALID, \"unwrap\");",
+        "        checkThrows(err::unwrap, \"INVALID\");",
+        "        checkThrows(ok::unwrapErr, \"2\");",
+        "        check(ok.expect(\"boom\") == 2 && err.expectErr(\"boom\") == ErrorCode.INVALID, \"expect\");",
+        "        checkThrows(() -> err.expect(\"boom\"), \"boom: INVALID\");",
+        "        checkThrows(() -> ok.expectErr(\"boom\"), \"boom: 2\");",
+        "        check(ok.unwrapOr(5) == 2 && err.unwrapOr(5) == 5, \"unwrapOr\");",
+        "        check(ok.unwrapOrElse(e -> 7) == 2 && err.unwrapOrElse(e -> e.ordinal()) == 1, \"unwrapOrElse\");",
+        "        check(ok.and(err) == err && err.and(ok) == err, \"and\");",
+        "        check(ok.andThen(v -> IntErrorCodeResult.ok(v * 10)).unwrap() == 20, \"andThen\");",
+        "        check(err.andThen(IntErrorCodeResult::ok) == err, \"andThen err\");",
+        "        check(ok.map(v -> v + 1).unwrap() == 3 && err.map(v -> v + 1) == err, \"map\");",
+        "        check(err.mapErr(e -> ErrorCode.NOT_FOUND).unwrapErr() == ErrorCode.NOT_FOUND && ok.mapErr(e -> e) == ok, \"mapErr\");",
+        "        check(ok.mapOr(\"none\", String::valueOf).equals(\"2\") && err.mapOr(\"none\", String::valueOf).equals(\"none\"), \"mapOr\");",
+        "        check(ok.mapOrElse(Enum::name, String::valueOf).equals(\"2\"), \"mapOrElse\");",
+        "        check(err.mapOrElse(Enum::name, String::valueOf).equals(\"INVALID\"), \"mapOrElse err\");",
+        "        check(ok.or(err) == ok && err.or(ok) == ok, \"or\");",
+        "        check(ok.orElse(e -> err) == ok && err.orElse(e -> IntErrorCodeResult.ok(e.ordinal())).unwrap() == 1, \"orElse\");",
+        "        check(ok.toResult().equals(Ok.of(2)) && err.toResult().equals(Err.of(ErrorCode.INVALID)), \"toResult\");",
+        "        check(IntErrorCodeResult.fromResult(Ok.of(2)).equals(ok), \"fromResult\");",
+        "        check(IntErrorCodeResult.fromResult(Err.of(ErrorCode.INVALID)).equals(err), \"fromResult err\");",
+        "        check(ok.equals(ok) && !ok.equals(err) && !err.equals(ok), \"equals\");",
+        "        check(!ok.equals(IntErrorCodeResult.ok(3)) && !ok.equals(\"2\"), \"equals value\");",
+        "        check(!err.equals(IntErrorCodeResult.err(ErrorCode.NOT_FOUND)), \"equals err\");",
+        "        check(ok.hashCode() == Ok.of(2).hashCode(), \"hashCode\");",
+        "        check(err.hashCode() == Err.of(ErrorCode.INVALID).hashCode(), \"hashCode err\");",
+        "        try {",
+        "            IntErrorCodeResult.err(null);",
+        "            throw new AssertionError(\"null error accepted\");",
+        "        } catch (final NullPointerException e) {",
+        "            // expected",
+        "        }",
+        "",
+        "        final DoubleResult nan = DoubleResult.ok(Double.NaN);",
+        "        check(nan.equals(DoubleResult.ok(Double.NaN)) && nan.contains(Double.NaN), \"double NaN equality\");",
+        "        check(nan.hashCode() == Ok.of(Double.NaN).hashCode(), \"double hashCode\");",
+        "        check(DoubleResult.err(-0.0f).getErr().get() == -0.0f, \"float getErr\");",
+        "        check(!DoubleResult.err(-0.0f).equals(DoubleResult.err(0.0f)), \"float equality\");",
+        "        check(DoubleResult.ok(1.5).getOk().getAsDouble() == 1.5, \"double getOk\");",
+        "        check(LongStringResult.ok(9L).getOk().getAsLong() == 9L, \"long\");",
+        "        check(LongStringResult.err(\"x\").getErr().get().equals(\"x\"), \"string\");",
+        "        check(BooleanCharacterResult.ok(true).getOk().get(), \"boolean\");",
+        "        check(BooleanCharacterResult.err('c').unwrapErr() == 'c', \"char\");",
+        "        check(ByteShortResult.ok((byte) 1).unwrap() == 1, \"byte\");",
+        "        check(ByteShortResult.err((short) 2).hashCode() == Err.of((short) 2).hashCode(), \"short\");",
+        "    }",
+        "}",
+        "",
+        "@SpecializeResult(ok = double.class, err = float.class, name = \"DoubleResult\")",
+        "@SpecializeResult(ok = long.class, err = String.class)",
+        "@SpecializeResult(ok = boolean.class, err = Character.class)",
+        "@SpecializeResult(ok = byte.class, err = short.class)",
+        "final class Specializations {",
+        "}");
+
+    private static final class Source extends SimpleJavaFileObject {
+        private final String content;
+
+        private Source(final String name, final String content) {
+            super(URI.create("string:///" + name.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+            this.content = content;
+        }
+
+        @Override
+        public CharSequence getCharContent(final boolean ignoreEncodingErrors) {
+            return content;
+        }
+    }
+
+    private static List<Diagnostic<? extends JavaFileObject>> compile(final Path out, final Source... sources) throws IOException {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        final List<String> options = Arrays.asList("-d", out.toString(), "-classpath", System.getProperty("java.class.path"));
+        final JavaCompiler.CompilationTask task = compiler.getTask(null, null, diagnostics, options, null, Arrays.asList(sources));
+        task.setProcessors(Collections.singletonList(new SpecializeResultProcessor()));
+        task.call();
+        return diagnostics.getDiagnostics().stream()
+            .filter(d -> d.getKind() == Diagnostic.Kind.ERROR)
+            .collect(Collectors.toList());
+    }
+
+    private static List<String> messages(final List<Diagnostic<? extends JavaFileObject>> errors) {
+        final List<String> messages = new ArrayList<>();
+        for (final Diagnostic<? extends JavaFileObject> error : errors) {
+            messages.add(error.getMessage(null));
+        }
+        return messages;
+    }
+
+    @Test
+    void process_Specializations_GenerateWorkingClasses(@TempDir final Path out) throws Exception {
+        final List<Diagnostic<? extends JavaFileObject>> errors = compile(out, new Source("sample.Driver", DRIVER));
+        assertEquals(Collections.emptyList(), messages(errors));
+        assertTrue(Files.exists(out.resolve("sample/IntErrorCodeResult.class")));
+        assertTrue(Files.exists(out.resolve("sample/DoubleResult.class")));
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[] {out.toUri().toURL()}, getClass().getClassLoader())) {
+            loader.loadClass("sample.Driver").getMethod("run").invoke(null);
+        } catch (final InvocationTargetException e) {
+            throw new AssertionError(e.getCause());
+        }
+    }
+
+    @Test
+    void process_UnnamedPackage_GeneratesClass(@TempDir final Path out) throws IOException {
+        final Source source = new Source("Unnamed", String.join("\n",
+            "@gg.sep.result.annotations.SpecializeResult(ok = char.class, err = Exception.class)",
+            "final class Unnamed {",
+            "    static final CharExceptionResult RESULT = CharExceptionResult.ok('a');",
+            "}"));
+        assertEquals(Collections.emptyList(), messages(compile(out, source)));
+        assertTrue(Files.exists(out.resolve("CharExceptionResult.class")));
+    }
+
+    @Test
+    void process_UnsupportedTypes_ReportErrors(@TempDir final Path out) throws IOException {
+        final Source source = new Source("sample.Invalid", String.join("\n",
+            "package sample;",
+            "",
+            "import gg.sep.result.annotations.SpecializeResult;",
+            "",
+            "@SpecializeResult(ok = java.util.List.class, err = String.class)",
+            "@SpecializeResult(ok = int.class, err = int[].class)",
+            "@SpecializeResult(ok = void.class, err = String.class)",
+            "@SpecializeResult(ok = int.class, err = String.class, name = \"Twice\")",
+            "@SpecializeResult(ok = long.class, err = String.class, name = \"Twice\")",
+            "final class Invalid {",
+            "}"));
+        final List<String> messages = messages(compile(out, source));
+        assertEquals(4, messages.size(), messages.toString());
+        assertEquals("java.util.List is generic, and cannot be specialized.", messages.get(0));
+        assertEquals("int[] must be a primitive type, or a class or interface.", messages.get(1));
+        assertEquals("void must be a primitive type, or a class or interface.", messages.get(2));
+        assertTrue(messages.get(3).startsWith("Cannot generate sample.Twice: "), messages.get(3));
+        assertFalse(Files.exists(out.resolve("sample/Invalid.class")));
+    }
+}
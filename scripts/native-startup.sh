@@ -0,0 +1,60 @@
+#!/usr/bin/env bash
+#
+# Compares startup time, first-call latency and peak memory of gg.sep.result.StartupProbe on the
+# JIT and as a GraalVM native image. Runs offline against a locally installed GraalVM:
+#
+#   GRAALVM_HOME=/path/to/graalvm RUNS=20 scripts/native-startup.sh
+#
+# GRAALVM_HOME defaults to JAVA_HOME; native-image is looked up on the PATH if neither contains it.
+# The Gradle dependencies must already be in the local cache, as the build runs with --offline.
+
+set -euo pipefail
+
+RUNS=${RUNS:-20}
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+GRAAL=${GRAALVM_HOME:-${JAVA_HOME:-}}
+JAVA=java
+NATIVE_IMAGE=native-image
+if [[ -n "$GRAAL" ]]; then
+    JAVA="$GRAAL/bin/java"
+    [[ -x "$GRAAL/bin/native-image" ]] && NATIVE_IMAGE="$GRAAL/bin/native-image"
+fi
+command -v "$NATIVE_IMAGE" > /dev/null || { echo "native-image not found; set GRAALVM_HOME" >&2; exit 1; }
+
+cd "$ROOT"
+./gradlew --offline --quiet jmhJar
+JAR=$(ls build/libs/*-jmh.jar)
+OUT=build/native
+mkdir -p "$OUT"
+
+echo "Building native image..."
+"$NATIVE_IMAGE" --no-fallback --silent -cp "$JAR" -o "$OUT/startup-probe" gg.sep.result.StartupProbe
+
+# run <label> <command...>: runs the command $RUNS times and prints the mean wall-clock time,
+# mean first-call latency reported by the probe, and mean peak RSS when GNU time is available.
+run() {
+    local label=$1
+    shift
+    local wall=0 first=0 rss=0
+    for _ in $(seq "$RUNS"); do
+        local start end output
+        start=$(date +%s%N)
+        if [[ -x /usr/bin/time ]]; then
+            output=$(/usr/bin/time -f "max-rss-kb=%M" "$@" 2>&1)
+            rss=$((rss + $(sed -n 's/^max-rss-kb=//p' <<< "$output")))
+        else
+            output=$("$@")
+        fi
+        end=$(date +%s%N)
+        wall=$((wall + end - start))
+        first=$((first + $(sed -n 's/^first-call-ns=//p' <<< "$output")))
+    done
+    awk -v label="$label" -v wall="$wall" -v first="$first" -v rss="$rss" -v runs="$RUNS" 'BEGIN {
+        printf "%-7s wall=%8.2f ms  first-call=%9.1f us  max-rss=%s\n", label, wall / runs / 1e6, first / runs / 1e3,
+            (rss > 0 ? sprintf("%d KiB", rss / runs) : "n/a")
+    }'
+}
+
+echo "Mean of $RUNS runs:"
+run jit "$JAVA" -cp "$JAR" gg.sep.result.StartupProbe
+run native "$OUT/startup-probe"
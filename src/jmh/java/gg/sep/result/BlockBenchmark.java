@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares three ways of sequencing four dependent steps: {@link Results#block}, nested
+ * {@link Result#andThen} lambdas, and {@link Result#unwrap()} inside a try/catch. The {@code failAt}
+ * parameter is the step returning an {@link Err}, or {@code -1} for none.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BlockBenchmark {
+
+    private static final Result<Integer, String> ERR = Err.of("failed");
+
+    @Param({"-1", "0", "3"})
+    private int failAt;
+
+    private int seed = 1;
+
+    private Result<Integer, String> step(final int index, final int previous) {
+        return index == failAt ? ERR : Ok.of(previous + index);
+    }
+
+    /**
+     * Sequences the steps in a block, binding each result.
+     *
+     * @return The result of the last step, or the failing step's {@link Err}.
+     */
+    @Benchmark
+    public Result<Integer, String> block() {
+        return Results.block(ctx -> {
+            final int a = ctx.bind(step(0, seed));
+            final int b = ctx.bind(step(1, a));
+            final int c = ctx.bind(step(2, b));
+            final int d = ctx.bind(step(3, c));
+            return Ok.of(a + d);
+        });
+    }
+
+    /**
+     * Sequences the steps with nested {@link Result#andThen} lambdas.
+     *
+     * @return The result of the last step, or the failing step's {@link Err}.
+     */
+    @Benchmark
+    public Result<Integer, String> nestedAndThen() {
+        return step(0, seed).andThen(a ->
+            step(1, a).andThen(b ->
+                step(2, b).andThen(c ->
+                    step(3, c).map(d -> a + d))));
+    }
+
+    /**
+     * Sequences the steps by unwrapping each result, catching the {@link ResultException} of an {@link Err}.
+     *
+     * @return The result of the last step, or an {@link Err} if any step failed.
+     */
+    @Benchmark
+    public Result<Integer, String> tryCatchUnwrap() {
+        try {
+            final int a = step(0, seed).unwrap();
+            final int b = step(1, a).unwrap();
+            final int c = step(2, b).unwrap();
+            final int d = step(3, c).unwrap();
+            return Ok.of(a + d);
+        } catch (final ResultException e) {
+            return ERR;
+        }
+    }
+}
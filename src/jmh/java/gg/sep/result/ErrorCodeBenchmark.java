@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a failure which is returned as an {@link Err}, then unwrapped and caught, with an
+ * {@link ErrorCode} against a plain error value. Run with {@code -prof gc} to compare allocations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ErrorCodeBenchmark {
+
+    private static final ErrorCode TIMEOUT = ErrorCode.register(1, "TIMEOUT");
+
+    /**
+     * Fails with a new {@link Err} of a string, and unwraps it.
+     *
+     * @return The length of the exception message.
+     */
+    @Benchmark
+    public int stringErrUnwrap() {
+        try {
+            return Err.<Integer, String>of("TIMEOUT").unwrap();
+        } catch (final ResultException e) {
+            return e.getMessage().length();
+        }
+    }
+
+    /**
+     * Fails with the shared {@link Err} of an {@link ErrorCode}, and unwraps it.
+     *
+     * @return The length of the exception message.
+     */
+    @Benchmark
+    public int errorCodeUnwrap() {
+        try {
+            return TIMEOUT.<Integer>err().unwrap();
+        } catch (final ResultException e) {
+            return e.getMessage().length();
+        }
+    }
+
+    /**
+     * Decodes an {@link ErrorCode} from its id.
+     *
+     * @return The decoded code.
+     */
+    @Benchmark
+    public ErrorCode byId() {
+        return ErrorCode.byId(1).get();
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * End-to-end comparison of error handling strategies, modelled on the README's config-loading example.
+ *
+ * <p>Each operation loads one {@code key=value} config line through {@code depth} layers of calls. The
+ * innermost layer parses the value, failing for {@code errorRate} percent of the lines, and every other
+ * layer adjusts the value on its way out. The strategies are:
+ * <ul>
+ *     <li>{@code resultPropagate}: every layer returns a {@link Result}, and maps the {@link Ok} value;</li>
+ *     <li>{@code resultUnwrap}: the innermost layer {@link Result#unwrap() unwraps}, and the outermost
+ *     catches the {@link ResultException};</li>
+ *     <li>{@code checkedException}: every layer declares a checked exception, and the outermost catches it;</li>
+ *     <li>{@code optional}: every layer returns an {@link Optional}, losing the error message.</li>
+ * </ul>
+ *
+ * <p>Both throughput and sampled latency, which reports p99 and other percentiles, are measured, on one
+ * thread ({@link SingleThreaded}) and on four ({@link MultiThreaded}). Add {@code -prof gc} to report the
+ * allocation rate:
+ *
+ * <pre>
+ *     java -jar build/libs/result-*-jmh.jar ErrorHandlingBenchmark -prof gc
+ * </pre>
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public abstract class ErrorHandlingBenchmark {
+
+    private static final int LINES = 1024;
+
+    @Param({"0", "1", "10", "50"})
+    private int errorRate;
+
+    @Param({"5", "10", "20"})
+    private int depth;
+
+    private String[] lines;
+    private int cursor;
+
+    /**
+     * Builds {@value #LINES} config lines, exactly {@code errorRate} percent of them malformed, in a
+     * fixed pseudo-random order.
+     */
+    @Setup
+    public void setUp() {
+        final int invalid = LINES * errorRate / 100;
+        final List<String> generated = new ArrayList<>(LINES);
+        for (int i = 0; i < LINES; i++) {
+            generated.add(i < invalid ? "timeout=" + i + "ms" : "timeout=" + (1000 + i));
+        }
+        Collections.shuffle(generated, new Random(42));
+        lines = generated.toArray(new String[0]);
+    }
+
+    private String nextLine() {
+        final String line = lines[cursor];
+        cursor = (cursor + 1) & (LINES - 1);
+        return line;
+    }
+
+    /**
+     * Parses the value of a {@code key=value} line.
+     *
+     * @param line The line to parse.
+     * @return The value, or {@code -1} if it is not a non-negative integer.
+     */
+    private static int parseValue(final String line) {
+        int value = 0;
+        for (int i = line.indexOf('=') + 1; i < line.length(); i++) {
+            final char c = line.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + c - '0';
+        }
+        return value;
+    }
+
+    private static String invalidMessage(final String line) {
+        return "Invalid config value: " + line;
+    }
+
+    /**
+     * Loads a line through {@code depth} layers returning {@link Result}s.
+     *
+     * @return The loaded value, or the negated length of the error message.
+     */
+    @Benchmark
+    public int resultPropagate() {
+        final Result<Integer, String> result = loadResult(nextLine(), depth);
+        return result.isOk() ? result.unwrap() : -result.unwrapErr().length();
+    }
+
+    private static Result<Integer, String> loadResult(final String line, final int layers) {
+        if (layers == 0) {
+            final int value = parseValue(line);
+            return value < 0 ? Err.of(invalidMessage(line)) : Ok.of(value);
+        }
+        return loadResult(line, layers - 1).map(v -> v + 1);
+    }
+
+    /**
+     * Loads a line through {@code depth} layers of plain values, unwrapping the innermost {@link Result}.
+     *
+     * @return The loaded value, or the negated length of the error message.
+     */
+    @Benchmark
+    public int resultUnwrap() {
+        try {
+            return loadUnwrap(nextLine(), depth);
+        } catch (final ResultException e) {
+            return -e.getMessage().length();
+        }
+    }
+
+    private static int loadUnwrap(final String line, final int layers) {
+        if (layers == 0) {
+            final int value = parseValue(line);
+            final Result<Integer, String> result = value < 0 ? Err.of(invalidMessage(line)) : Ok.of(value);
+            return result.unwrap();
+        }
+        return loadUnwrap(line, layers - 1) + 1;
+    }
+
+    /**
+     * Loads a line through {@code depth} layers declaring a checked exception.
+     *
+     * @return The loaded value, or the negated length of the error message.
+     */
+    @Benchmark
+    public int checkedException() {
+        try {
+            return loadThrowing(nextLine(), depth);
+        } catch (final ConfigException e) {
+            return -e.getMessage().length();
+        }
+    }
+
+    private static int loadThrowing(final String line, final int layers) throws ConfigException {
+        if (layers == 0) {
+            final int value = parseValue(line);
+            if (value < 0) {
+                throw new ConfigException(invalidMessage(line));
+            }
+            return value;
+        }
+        return loadThrowing(line, layers - 1) + 1;
+    }
+
+    /**
+     * Loads a line through {@code depth} layers returning {@link Optional}s.
+     *
+     * @return The loaded value, or {@code -1}.
+     */
+    @Benchmark
+    public int optional() {
+        return loadOptional(nextLine(), depth).orElse(-1);
+    }
+
+    private static Optional<Integer> loadOptional(final String line, final int layers) {
+        if (layers == 0) {
+            final int value = parseValue(line);
+            return value < 0 ? Optional.empty() : Optional.of(value);
+        }
+        return loadOptional(line, layers - 1).map(v -> v + 1);
+    }
+
+    /**
+     * Checked exception thrown by the exception-based loader, with a full stack trace.
+     */
+    private static final class ConfigException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        private ConfigException(final String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Runs the suite on one thread.
+     */
+    @Threads(1)
+    public static class SingleThreaded extends ErrorHandlingBenchmark {
+    }
+
+    /**
+     * Runs the suite on four threads, each loading its own copy of the lines.
+     */
+    @Threads(4)
+    public static class MultiThreaded extends ErrorHandlingBenchmark {
+    }
+}
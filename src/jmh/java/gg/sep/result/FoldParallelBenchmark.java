@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how {@link Results#foldParallel} and {@link Results#sumLongParallel} scale with the size of the
+ * pool, against a sequential loop over the same results. Run with {@code -p parallelism=1,2,4,...,32}
+ * on the target host to chart the speed-up.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FoldParallelBenchmark {
+
+    @Param({"4000000"})
+    private int size;
+
+    @Param({"1", "2", "4", "8", "16", "32"})
+    private int parallelism;
+
+    private List<Result<Long, String>> results;
+    private ForkJoinPool pool;
+
+    /**
+     * Builds {@code size} {@link Ok} results and a pool of {@code parallelism} workers.
+     */
+    @Setup
+    public void setUp() {
+        results = new ArrayList<>(size);
+        for (long i = 0; i < size; i++) {
+            results.add(Ok.of(i));
+        }
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Shuts the pool down.
+     */
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Sums the results with a plain loop on the benchmark thread.
+     *
+     * @return The sum.
+     */
+    @Benchmark
+    public Result<Long, String> sequentialLoop() {
+        long sum = 0;
+        for (final Result<Long, String> result : results) {
+            if (result.isErr()) {
+                return Err.of(result.unwrapErr());
+            }
+            sum += result.unwrap();
+        }
+        return Ok.of(sum);
+    }
+
+    /**
+     * Sums the results with the primitive-specialised parallel sum.
+     *
+     * @return The sum.
+     */
+    @Benchmark
+    public Result<Long, String> sumLongParallel() {
+        return Results.sumLongParallel(results, Long::longValue, String::concat, Results.FoldMode.FAIL_FAST, pool);
+    }
+
+    /**
+     * Sums the results with the generic parallel fold and a boxed accumulator.
+     *
+     * @return The sum.
+     */
+    @Benchmark
+    public Result<Long, String> foldParallelBoxed() {
+        return Results.foldParallel(results, 0L, (acc, v) -> acc + v, Long::sum, String::concat,
+            Results.FoldMode.FAIL_FAST, pool);
+    }
+}
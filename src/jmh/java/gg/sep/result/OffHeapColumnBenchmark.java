@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks summing the {@link Ok} values of a batch held in an {@link OffHeapLongResultColumn}, against
+ * the same batch held as a list of {@link Result} objects on the heap.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OffHeapColumnBenchmark {
+
+    @Param({"4000000"})
+    private int size;
+
+    private OffHeapLongResultColumn column;
+    private List<Result<Long, Integer>> results;
+
+    /**
+     * Fills both representations with the same entries, one in a hundred of them an error.
+     */
+    @Setup
+    public void setUp() {
+        column = OffHeapLongResultColumn.allocate(size);
+        results = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            if (i % 100 == 0) {
+                column.appendErr(i);
+                results.add(Err.of(i));
+            } else {
+                column.appendOk(i);
+                results.add(Ok.of((long) i));
+            }
+        }
+    }
+
+    /**
+     * Releases the column.
+     */
+    @TearDown
+    public void tearDown() {
+        column.close();
+    }
+
+    /**
+     * Sums the column by walking its bitmap.
+     *
+     * @return The sum.
+     */
+    @Benchmark
+    public long offHeapSum() {
+        return column.sum();
+    }
+
+    /**
+     * Sums the list of results.
+     *
+     * @return The sum.
+     */
+    @Benchmark
+    public long heapListSum() {
+        long sum = 0;
+        for (final Result<Long, Integer> result : results) {
+            if (result.isOk()) {
+                sum += result.unwrap();
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks hash-set insert and lookup throughput for {@link Ok} and {@link Err} keys of mixed
+ * variants, where every value appears both as an {@link Ok} and as an {@link Err}.
+ *
+ * <p>The {@code variantBlind} benchmarks wrap the same keys with the previous hash code, which
+ * ignored the variant, as a baseline. The {@code largePayload} benchmarks use keys holding a
+ * 256-element list, with and without {@link Ok#withCachedHash(Object)}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResultHashBenchmark {
+
+    @Param({"100000"})
+    private int size;
+
+    private List<Result<Integer, Integer>> keys;
+    private List<VariantBlindKey> blindKeys;
+    private Set<Result<Integer, Integer>> keySet;
+    private Set<VariantBlindKey> blindKeySet;
+
+    private List<Result<List<Integer>, String>> largeKeys;
+    private List<Result<List<Integer>, String>> cachedLargeKeys;
+    private Set<Result<List<Integer>, String>> largeKeySet;
+
+    /**
+     * Builds the keys and pre-populated sets.
+     */
+    @Setup
+    public void setUp() {
+        keys = new ArrayList<>(size);
+        blindKeys = new ArrayList<>(size);
+        for (int i = 0; i < size / 2; i++) {
+            keys.add(Ok.of(i));
+            keys.add(Err.of(i));
+        }
+        Collections.shuffle(keys, new Random(42));
+        for (final Result<Integer, Integer> key : keys) {
+            blindKeys.add(new VariantBlindKey(key));
+        }
+        keySet = new HashSet<>(keys);
+        blindKeySet = new HashSet<>(blindKeys);
+
+        final int largeCount = size / 100;
+        largeKeys = new ArrayList<>(largeCount);
+        cachedLargeKeys = new ArrayList<>(largeCount);
+        for (int i = 0; i < largeCount; i++) {
+            final List<Integer> payload = new ArrayList<>(256);
+            for (int j = 0; j < 256; j++) {
+                payload.add(i * 256 + j);
+            }
+            largeKeys.add(Ok.of(payload));
+            cachedLargeKeys.add(Ok.withCachedHash(payload));
+        }
+        largeKeySet = new HashSet<>(largeKeys);
+    }
+
+    /**
+     * Inserts every mixed-variant key into a new set.
+     *
+     * @return The populated set.
+     */
+    @Benchmark
+    public Set<Result<Integer, Integer>> insert() {
+        return new HashSet<>(keys);
+    }
+
+    /**
+     * Baseline: inserts every mixed-variant key, hashed without the variant, into a new set.
+     *
+     * @return The populated set.
+     */
+    @Benchmark
+    public Set<VariantBlindKey> insertVariantBlind() {
+        return new HashSet<>(blindKeys);
+    }
+
+    /**
+     * Looks up every mixed-variant key.
+     *
+     * @return Number of keys found.
+     */
+    @Benchmark
+    public int lookup() {
+        int found = 0;
+        for (final Result<Integer, Integer> key : keys) {
+            found += keySet.contains(key) ? 1 : 0;
+        }
+        return found;
+    }
+
+    /**
+     * Baseline: looks up every mixed-variant key, hashed without the variant.
+     *
+     * @return Number of keys found.
+     */
+    @Benchmark
+    public int lookupVariantBlind() {
+        int found = 0;
+        for (final VariantBlindKey key : blindKeys) {
+            found += blindKeySet.contains(key) ? 1 : 0;
+        }
+        return found;
+    }
+
+    /**
+     * Looks up keys with large payloads, hashing the payload on every lookup.
+     *
+     * @return Number of keys found.
+     */
+    @Benchmark
+    public int lookupLargePayload() {
+        int found = 0;
+        for (final Result<List<Integer>, String> key : largeKeys) {
+            found += largeKeySet.contains(key) ? 1 : 0;
+        }
+        return found;
+    }
+
+    /**
+     * Looks up keys with large payloads created with {@link Ok#withCachedHash(Object)}.
+     *
+     * @return Number of keys found.
+     */
+    @Benchmark
+    public int lookupLargePayloadCached() {
+        int found = 0;
+        for (final Result<List<Integer>, String> key : cachedLargeKeys) {
+            found += largeKeySet.contains(key) ? 1 : 0;
+        }
+        return found;
+    }
+
+    /**
+     * Key with the previous {@link Result} hash code, which was the hash code of the contained
+     * value regardless of the variant.
+     */
+    public static final class VariantBlindKey {
+        private final Result<Integer, Integer> result;
+
+        private VariantBlindKey(final Result<Integer, Integer> result) {
+            this.result = result;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof VariantBlindKey && ((VariantBlindKey) obj).result.equals(result);
+        }
+
+        @Override
+        public int hashCode() {
+            return result.isOk() ? result.unwrap().hashCode() : result.unwrapErr().hashCode();
+        }
+    }
+}
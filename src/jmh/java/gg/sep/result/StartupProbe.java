@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result;
+
+import gg.sep.result.io.JsonValueWriters;
+import gg.sep.result.io.PayloadCodecs;
+import gg.sep.result.io.ResultCodec;
+import gg.sep.result.io.ResultJsonWriter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Short-lived program measuring the latency of the first calls into the library, for comparing
+ * JIT and native-image startup with {@code scripts/native-startup.sh}.
+ *
+ * <p>Prints {@code first-call-ns=<nanos>}: the time taken by {@link #firstCall()} in a fresh
+ * process, which includes loading and initializing the classes it touches. The process's total
+ * wall-clock time is measured by the script.
+ */
+public final class StartupProbe {
+
+    private StartupProbe() {
+    }
+
+    /**
+     * Runs {@link #firstCall()} once and prints how long it took.
+     *
+     * @param args Ignored.
+     * @throws IOException Never thrown when writing to a {@link StringBuilder}.
+     */
+    public static void main(final String[] args) throws IOException {
+        final long start = System.nanoTime();
+        final String json = firstCall();
+        final long elapsed = System.nanoTime() - start;
+        System.out.println("first-call-ns=" + elapsed);
+        System.out.println(json);
+    }
+
+    /**
+     * Representative first use of the library by a short-lived tool: constructs and combines
+     * results, unwraps an error, validates, and serializes the outcome as binary and JSON.
+     *
+     * @return The outcome, as JSON.
+     * @throws IOException Never thrown when writing to a {@link StringBuilder}.
+     */
+    public static String firstCall() throws IOException {
+        final Result<Integer, String> parsed = Ok.<String, String>of("42").andThen(StartupProbe::parse).map(i -> i * 2);
+        final Result<Integer, String> failed = Ok.<String, String>of("x").andThen(StartupProbe::parse);
+        try {
+            failed.unwrap();
+        } catch (final ResultException e) {
+            parsed.unwrapOr(e.getMessage().length());
+        }
+        final Validated<Integer, String> validated = Validated.<Integer, String>valid(1)
+            .combine(Validated.fromResult(failed), Integer::sum);
+        final Result<Integer, String> zipped = Results.zip(parsed, validated.toResult().mapErr(errors -> errors.first()), Integer::sum);
+
+        final ResultCodec<Integer, String> codec = ResultCodec.of(PayloadCodecs.INT, PayloadCodecs.STRING);
+        final ByteBuffer buffer = ByteBuffer.allocate(codec.encodedSize(zipped));
+        codec.encode(zipped, buffer);
+        buffer.flip();
+
+        final StringBuilder json = new StringBuilder();
+        ResultJsonWriter.<Integer, String>of(JsonValueWriters.NUMBER, JsonValueWriters.STRING)
+            .writeAll(Arrays.asList(parsed, codec.decode(buffer)), json);
+        return json.toString();
+    }
+
+    private static Result<Integer, String> parse(final String value) {
+        try {
+            return Ok.of(Integer.parseInt(value));
+        } catch (final NumberFormatException e) {
+            return Err.of("not a number: " + value);
+        }
+    }
+}
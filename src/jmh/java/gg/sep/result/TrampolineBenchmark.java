@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares a shallow three-step chain run through {@link Trampoline} against the direct
+ * {@link Ok#andThen(Function)} path.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TrampolineBenchmark {
+
+    private final Function<Integer, Result<Integer, String>> step = i -> Ok.of(i + 1);
+    private final Function<Integer, Trampoline<Integer, String>> trampolinedStep = i -> Trampoline.ok(i + 1);
+    private int seed = 1;
+
+    /**
+     * Baseline: direct {@link Result#andThen(Function)} calls.
+     *
+     * @return The result of the chain.
+     */
+    @Benchmark
+    public Result<Integer, String> direct() {
+        return Ok.<Integer, String>of(seed).andThen(step).andThen(step).andThen(step);
+    }
+
+    /**
+     * The same chain, described with {@link Trampoline} and then run.
+     *
+     * @return The result of the chain.
+     */
+    @Benchmark
+    public Result<Integer, String> trampolined() {
+        return Trampoline.<Integer, String>ok(seed).andThen(trampolinedStep).andThen(trampolinedStep)
+            .andThen(trampolinedStep).run();
+    }
+}
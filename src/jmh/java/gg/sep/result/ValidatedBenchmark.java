@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks accumulating the errors of a 1k-field payload with {@link Validated}, against
+ * copying a list of errors at every step.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidatedBenchmark {
+
+    @Param({"1000"})
+    private int fields;
+
+    @Param({"0.1", "1.0"})
+    private double invalidRatio;
+
+    private List<Validated<Integer, String>> validations;
+    private List<Result<Integer, List<String>>> results;
+
+    /**
+     * Builds the payload: one validation per field, with {@code invalidRatio} of them invalid.
+     */
+    @Setup
+    public void setUp() {
+        validations = new ArrayList<>(fields);
+        results = new ArrayList<>(fields);
+        final int invalidEvery = (int) Math.round(1 / invalidRatio);
+        for (int i = 0; i < fields; i++) {
+            if (i % invalidEvery == 0) {
+                validations.add(Validated.invalid("field " + i));
+                results.add(Err.of(Collections.singletonList("field " + i)));
+            } else {
+                validations.add(Validated.valid(i));
+                results.add(Ok.of(i));
+            }
+        }
+    }
+
+    /**
+     * Accumulates with {@link Validated#sequence(Iterable)}.
+     *
+     * @return The accumulated validation.
+     */
+    @Benchmark
+    public Validated<List<Integer>, String> sequence() {
+        return Validated.sequence(validations);
+    }
+
+    /**
+     * Accumulates field by field with {@link Validated#combine(Validated, java.util.function.BiFunction)}.
+     *
+     * @return The accumulated validation.
+     */
+    @Benchmark
+    public Validated<Integer, String> combineEach() {
+        Validated<Integer, String> acc = Validated.valid(0);
+        for (final Validated<Integer, String> validation : validations) {
+            acc = acc.combine(validation, Integer::sum);
+        }
+        return acc;
+    }
+
+    /**
+     * Baseline: accumulates into a {@code Result<T, List<E>>}, copying the error list at every step.
+     *
+     * @return The accumulated result.
+     */
+    @Benchmark
+    public Result<Integer, List<String>> copyingList() {
+        Result<Integer, List<String>> acc = Ok.of(0);
+        for (final Result<Integer, List<String>> result : results) {
+            if (acc.isOk() && result.isOk()) {
+                acc = Ok.of(acc.unwrap() + result.unwrap());
+            } else if (result.isErr()) {
+                final List<String> merged = new ArrayList<>(acc.isErr() ? acc.unwrapErr() : Collections.emptyList());
+                merged.addAll(result.unwrapErr());
+                acc = Err.of(merged);
+            }
+        }
+        return acc;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result.concurrent;
+
+import gg.sep.result.Err;
+import gg.sep.result.Ok;
+import gg.sep.result.Result;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Contention benchmark comparing {@link ResultAccumulator} against a synchronized summary keeping
+ * the same data, the {@link Ok} and {@link Err} counts and the first {@value #MAX_ERRORS} errors,
+ * with 64 producer threads reporting outcomes into a single summary.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(64)
+@State(Scope.Benchmark)
+public class ResultAccumulatorBenchmark {
+
+    private static final int MAX_ERRORS = 100;
+
+    private final Result<Integer, String> ok = Ok.of(42);
+    private final Result<Integer, String> err = Err.of("failed");
+
+    private SynchronizedSummary synchronizedSummary;
+    private ResultAccumulator<Integer, String> accumulator;
+
+    /**
+     * Baseline summary: counts outcomes and keeps the first {@value #MAX_ERRORS} errors in a list capped
+     * at that size, under one lock.
+     */
+    private static final class SynchronizedSummary {
+        private final List<String> errors = new ArrayList<>(MAX_ERRORS);
+        private long okCount;
+        private long errCount;
+
+        private synchronized void add(final Result<Integer, String> result) {
+            if (result.isOk()) {
+                okCount++;
+            } else {
+                errCount++;
+                if (errors.size() < MAX_ERRORS) {
+                    errors.add(result.unwrapErr());
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates fresh sinks for each iteration.
+     */
+    @Setup(Level.Iteration)
+    public void setUp() {
+        synchronizedSummary = new SynchronizedSummary();
+        accumulator = ResultAccumulator.create(MAX_ERRORS);
+    }
+
+    /**
+     * Baseline: every producer reports into one synchronized summary.
+     */
+    @Benchmark
+    public void synchronizedSummary() {
+        synchronizedSummary.add(ok);
+        synchronizedSummary.add(err);
+    }
+
+    /**
+     * Every producer reports into its own {@link ResultAccumulator} buffer.
+     */
+    @Benchmark
+    public void accumulator() {
+        accumulator.add(ok);
+        accumulator.add(err);
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result.flow;
+
+import gg.sep.result.Err;
+import gg.sep.result.Ok;
+import gg.sep.result.Result;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the throughput of a {@code mapOk -> errBudget -> splitErr} pipeline over a synchronous source,
+ * with a consumer requesting {@code batch} items at a time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResultProcessorsBenchmark {
+
+    private static final int ITEMS = 100_000;
+
+    @Param({"1", "16", "1024"})
+    private int batch;
+
+    /**
+     * Runs {@value #ITEMS} results, one in a hundred of them an error, through the pipeline.
+     *
+     * @return The number of values received by the consumers.
+     */
+    @Benchmark
+    public long pipeline() {
+        final ResultFlow.Processor<Result<Integer, String>, Result<Integer, String>> map = ResultProcessors.mapOk(v -> v + 1);
+        final ResultFlow.Processor<Result<Integer, String>, Result<Integer, String>> budget =
+            ResultProcessors.errBudget(Integer.MAX_VALUE, 1, TimeUnit.SECONDS);
+        final BatchSubscriber<String> errors = new BatchSubscriber<>(Long.MAX_VALUE);
+        final ResultFlow.Processor<Result<Integer, String>, Integer> split = ResultProcessors.splitErr(errors);
+        final BatchSubscriber<Integer> sink = new BatchSubscriber<>(batch);
+        map.subscribe(budget);
+        budget.subscribe(split);
+        split.subscribe(sink);
+        new RangePublisher().subscribe(map);
+        return sink.received + errors.received;
+    }
+
+    /**
+     * Synchronous source emitting {@value #ITEMS} results as they are requested.
+     */
+    private static final class RangePublisher implements ResultFlow.Publisher<Result<Integer, String>> {
+        @Override
+        public void subscribe(final ResultFlow.Subscriber<? super Result<Integer, String>> subscriber) {
+            subscriber.onSubscribe(new ResultFlow.Subscription() {
+                private long requested;
+                private int next;
+                private boolean emitting;
+
+                @Override
+                public void request(final long n) {
+                    requested += n;
+                    if (emitting) {
+                        return;
+                    }
+                    emitting = true;
+                    while (requested > 0 && next < ITEMS) {
+                        requested--;
+                        final int i = next++;
+                        subscriber.onNext(i % 100 == 0 ? Err.of("bad " + i) : Ok.of(i));
+                    }
+                    if (next == ITEMS) {
+                        next++;
+                        subscriber.onComplete();
+                    }
+                    emitting = false;
+                }
+
+                @Override
+                public void cancel() {
+                    next = ITEMS + 1;
+                }
+            });
+        }
+    }
+
+    /**
+     * Consumer requesting {@code batch} more items each time it has received the previous batch.
+     *
+     * @param <T> Type of the received items.
+     */
+    private static final class BatchSubscriber<T> implements ResultFlow.Subscriber<T> {
+        private final long batch;
+        private ResultFlow.Subscription subscription;
+        private long received;
+        private long outstanding;
+
+        private BatchSubscriber(final long batch) {
+            this.batch = batch;
+        }
+
+        @Override
+        public void onSubscribe(final ResultFlow.Subscription s) {
+            subscription = s;
+            outstanding = batch;
+            s.request(batch);
+        }
+
+        @Override
+        public void onNext(final T item) {
+            received++;
+            if (--outstanding == 0) {
+                outstanding = batch;
+                subscription.request(batch);
+            }
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            throw new IllegalStateException(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result.io;
+
+import gg.sep.result.Err;
+import gg.sep.result.Ok;
+import gg.sep.result.Result;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks rendering an array of results with {@link ResultJsonWriter}, against building the
+ * JSON string by hand with concatenation and {@link String#replace}-based escaping.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResultJsonWriterBenchmark {
+
+    private static final ResultJsonWriter<Number, CharSequence> WRITER =
+        ResultJsonWriter.of(JsonValueWriters.NUMBER, JsonValueWriters.STRING);
+
+    @Param({"1000"})
+    private int size;
+
+    private List<Result<Number, CharSequence>> results;
+
+    /**
+     * Builds the results: every tenth one is an error with a message needing escaping.
+     */
+    @Setup
+    public void setUp() {
+        results = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            results.add(i % 10 == 0 ? Err.of("record " + i + " is \"invalid\"") : Ok.of((long) i * 31));
+        }
+    }
+
+    /**
+     * Streams the array with {@link ResultJsonWriter#writeAll(Iterable, Appendable)}.
+     *
+     * @return The JSON array.
+     * @throws IOException Never thrown by a {@link StringBuilder}.
+     */
+    @Benchmark
+    public String writer() throws IOException {
+        final StringBuilder out = new StringBuilder(size * 16);
+        WRITER.writeAll(results, out);
+        return out.toString();
+    }
+
+    /**
+     * Baseline: builds a string per element by hand, escaping with chained replaces.
+     *
+     * @return The JSON array.
+     */
+    @Benchmark
+    public String handBuilt() {
+        final StringBuilder out = new StringBuilder(size * 16).append('[');
+        for (int i = 0; i < results.size(); i++) {
+            final Result<Number, CharSequence> result = results.get(i);
+            if (i > 0) {
+                out.append(',');
+            }
+            if (result.isOk()) {
+                out.append("{\"ok\":" + result.unwrap() + "}");
+            } else {
+                final String escaped = result.unwrapErr().toString()
+                    .replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+                out.append("{\"err\":\"" + escaped + "\"}");
+            }
+        }
+        return out.append(']').toString();
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result.io;
+
+import gg.sep.result.Err;
+import gg.sep.result.Ok;
+import gg.sep.result.Result;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks validating a 64 MiB file of numeric lines with {@link ResultLineReader}, against
+ * reading a {@link String} per line with a {@link BufferedReader}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResultLineReaderBenchmark {
+
+    private static final long FILE_SIZE = 64L * 1024 * 1024;
+
+    private Path file;
+    private long checksum;
+
+    /**
+     * Writes the input file: one number per line, with every 100th line invalid.
+     *
+     * @throws IOException Thrown if the file cannot be written.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("lines", ".txt");
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.US_ASCII)) {
+            long written = 0;
+            for (long i = 0; written < FILE_SIZE; i++) {
+                final String line = i % 100 == 0 ? "x" + i : Long.toString(i);
+                writer.write(line);
+                writer.write('\n');
+                written += line.length() + 1;
+            }
+        }
+    }
+
+    /**
+     * Deletes the input file.
+     *
+     * @throws IOException Thrown if the file cannot be deleted.
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(file);
+    }
+
+    /**
+     * Parses each line from the reusable {@link ResultLineReader.Line} view.
+     *
+     * @return Sum of the valid values.
+     */
+    @Benchmark
+    public long lineReader() {
+        checksum = 0;
+        ResultLineReader.<Long, String>of(line -> {
+            long value = 0;
+            for (int i = 0; i < line.length(); i++) {
+                final byte b = line.byteAt(i);
+                if (b < '0' || b > '9') {
+                    return Err.of("not a number");
+                }
+                value = value * 10 + (b - '0');
+            }
+            return Ok.of(value);
+        }).read(file, this::consume);
+        return checksum;
+    }
+
+    /**
+     * Baseline: reads a {@link String} per line and parses it.
+     *
+     * @return Sum of the valid values.
+     * @throws IOException Thrown if the file cannot be read.
+     */
+    @Benchmark
+    public long bufferedReader() throws IOException {
+        checksum = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.US_ASCII)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                try {
+                    consume(Ok.of(Long.parseLong(line)));
+                } catch (final NumberFormatException e) {
+                    consume(Err.of(e.getMessage()));
+                }
+            }
+        }
+        return checksum;
+    }
+
+    private void consume(final Result<Long, ?> result) {
+        if (result.isOk()) {
+            checksum += result.unwrap();
+        }
+    }
+}
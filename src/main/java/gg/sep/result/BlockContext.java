@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result;
+
+import java.util.function.Function;
+
+/**
+ * Context of a {@link Results#block(Function)}, through which the block unwraps intermediate results.
+ *
+ * <p>{@link #bind(Result)} returns the value of an {@link Ok}, and exits the block on an {@link Err},
+ * which becomes the result of the block, like Rust's {@code ?} operator. The exit throws a single,
+ * preallocated throwable without a stack trace, so an early return costs no allocation and no stack walk.
+ *
+ * <p>Because the exit is a {@link RuntimeException}, a block must not catch {@link RuntimeException}
+ * or {@link Throwable} around a call to {@link #bind(Result)}, or it will swallow the exit.
+ *
+ * @param <E> Type of the error value of the block.
+ */
+public final class BlockContext<E> {
+
+    private static final Exit EXIT = new Exit();
+
+    private Result<?, E> err;
+    private boolean closed;
+
+    private BlockContext() {
+    }
+
+    /**
+     * Runs {@code block} with a new context, and returns its result, or the {@link Err} it was exited with.
+     *
+     * @param block The block to run.
+     * @param <T> Type of the success value of the block.
+     * @param <E> Type of the error value of the block.
+     * @return The result of the block.
+     */
+    @SuppressWarnings("unchecked")
+    static <T, E> Result<T, E> run(final Function<BlockContext<E>, Result<T, E>> block) {
+        final BlockContext<E> context = new BlockContext<>();
+        try {
+            return block.apply(context);
+        } catch (final Exit exit) {
+            if (context.err == null) {
+                // bound on the context of an enclosing block
+                throw exit;
+            }
+            return (Result<T, E>) context.err;
+        } finally {
+            context.closed = true;
+        }
+    }
+
+    /**
+     * Returns the value of {@code result} if it is an {@link Ok}, or exits the block with it if it is an {@link Err}.
+     *
+     * @param result The result to unwrap.
+     * @param <T> Type of the success value of {@code result}.
+     * @return The {@link Ok} value of {@code result}.
+     * @throws IllegalStateException Thrown if {@code result} is an {@link Err} and the block has already completed.
+     */
+    public <T> T bind(final Result<T, E> result) {
+        if (result.isOk()) {
+            return result.unwrap();
+        }
+        if (closed) {
+            throw new IllegalStateException("BlockContext used after its block completed");
+        }
+        this.err = result;
+        throw EXIT;
+    }
+
+    /**
+     * Stackless, immutable control-flow signal exiting a block. One instance is shared by every block;
+     * the {@link Err} it carries is held by the {@link BlockContext} which threw it.
+     */
+    private static final class Exit extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private Exit() {
+            super(null, null, false, false);
+        }
+    }
+}
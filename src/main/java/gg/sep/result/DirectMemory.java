@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Allocates direct buffers and releases their native memory on demand, rather than when the buffer
+ * is garbage collected.
+ *
+ * <p>Java 8 has no public API for this, so the release goes through whichever internal hook the running
+ * JVM offers: {@code sun.misc.Unsafe#invokeCleaner} on Java 9 and later, or the buffer's own
+ * {@code cleaner()} on Java 8. If neither is reachable, {@link #free(ByteBuffer)} does nothing and the
+ * memory is released by the garbage collector as usual.
+ */
+final class DirectMemory {
+
+    /**
+     * Releases the native memory of a direct buffer.
+     */
+    interface Deallocator {
+        /**
+         * Releases the native memory of {@code buffer}.
+         *
+         * @param buffer The buffer to release; must not be used afterwards.
+         * @return {@code true} if the memory was released, {@code false} if it is left to the garbage collector.
+         * @throws ReflectiveOperationException Thrown if the internal hook cannot be called.
+         */
+        boolean free(Object buffer) throws ReflectiveOperationException;
+    }
+
+    /** Deallocator which leaves the buffer to the garbage collector. */
+    static final Deallocator NONE = buffer -> false;
+
+    private static final Deallocator DEALLOCATOR = resolve("sun.misc.Unsafe", ByteBuffer.allocateDirect(1));
+
+    private DirectMemory() {
+    }
+
+    /**
+     * Allocates a zeroed direct buffer in the platform's native byte order.
+     *
+     * @param bytes Size of the buffer, in bytes.
+     * @return The new buffer.
+     */
+    static ByteBuffer allocate(final int bytes) {
+        return ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Releases the native memory of a buffer returned by {@link #allocate(int)}.
+     *
+     * @param buffer The buffer to release; must not be used afterwards.
+     * @return {@code true} if the memory was released immediately, {@code false} if it is left to the
+     *         garbage collector.
+     */
+    static boolean free(final ByteBuffer buffer) {
+        return free(DEALLOCATOR, buffer);
+    }
+
+    static boolean free(final Deallocator deallocator, final Object buffer) {
+        try {
+            return deallocator.free(buffer);
+        } catch (final ReflectiveOperationException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Finds the deallocator supported by the running JVM.
+     *
+     * @param unsafeClass Name of the class declaring {@code invokeCleaner(ByteBuffer)} and {@code theUnsafe}.
+     * @param probe A direct buffer, whose {@code cleaner()} method is used if {@code unsafeClass} is unavailable.
+     * @return The deallocator, or {@link #NONE}.
+     */
+    static Deallocator resolve(final String unsafeClass, final Object probe) {
+        try {
+            final Class<?> type = Class.forName(unsafeClass);
+            final Method invokeCleaner = type.getMethod("invokeCleaner", ByteBuffer.class);
+            final Field field = type.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            final Object unsafe = field.get(null);
+            return buffer -> {
+                invokeCleaner.invoke(unsafe, buffer);
+                return true;
+            };
+        } catch (final ReflectiveOperationException | RuntimeException e) {
+            return resolveCleaner(probe);
+        }
+    }
+
+    private static Deallocator resolveCleaner(final Object probe) {
+        try {
+            final Method cleaner = probe.getClass().getMethod("cleaner");
+            cleaner.setAccessible(true);
+            final Method clean = cleaner.getReturnType().getMethod("clean");
+            clean.setAccessible(true);
+            return buffer -> {
+                clean.invoke(cleaner.invoke(buffer));
+                return true;
+            };
+        } catch (final ReflectiveOperationException | RuntimeException e) {
+            return NONE;
+        }
+    }
+}
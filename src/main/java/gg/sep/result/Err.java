@@ -36,9 +36,12 @@ import java.util.function.Function;
 public final class Err<T, E> implements Result<T, E> {
 
     private final E error;
+    private final boolean cacheHash;
+    private int hash;
 
-    private Err(final E error) {
+    private Err(final E error, final boolean cacheHash) {
         this.error = error;
+        this.cacheHash = cacheHash;
     }
 
     /**
@@ -50,7 +53,41 @@ public final class Err<T, E> implements Result<T, E> {
      */
     public static <T, E> Err<T, E> of(final E error) {
         Objects.requireNonNull(error);
-        return new Err<>(error);
+        ErrorRecorder.errCreated(error);
+        return new Err<>(error, false);
+    }
+
+    /**
+     * Constructs a new {@link Err} result meant to be shared, without reporting it to the
+     * {@link ErrorRecorder}: sharers report each use themselves.
+     *
+     * @param error Error value.
+     * @param <T> Type of the success value.
+     * @param <E> Type of the error value.
+     * @return New {@link Err} result with the provided error value.
+     */
+    static <T, E> Err<T, E> shared(final E error) {
+        return new Err<>(error, true);
+    }
+
+    /**
+     * Constructs a new {@link Err} result which computes the hash code of its error value once, on the
+     * first call to {@link #hashCode()}, and reuses it afterwards.
+     *
+     * <p>Use this for error values whose {@code hashCode} is expensive, such as large collections, when
+     * the result is used as a key of a hash-based collection. The cached hash codes also let
+     * {@link #equals(Object)} reject most unequal results without comparing their error values. The
+     * error value must not change its hash code once the result is constructed.
+     *
+     * @param error Error value.
+     * @param <T> Type of the success value.
+     * @param <E> Type of the error value.
+     * @return New {@link Err} result with the provided error value.
+     */
+    public static <T, E> Err<T, E> withCachedHash(final E error) {
+        Objects.requireNonNull(error);
+        ErrorRecorder.errCreated(error);
+        return new Err<>(error, true);
     }
 
     /**
@@ -103,7 +140,10 @@ public final class Err<T, E> implements Result<T, E> {
 
     @Override
     public T unwrap() throws ResultException {
-        throw new ResultException(String.format("%s", error));
+        if (error instanceof ErrorCode) {
+            throw ErrorRecorder.panic(((ErrorCode) error).exception());
+        }
+        throw ErrorRecorder.panic(new ResultException(String.format("%s", error)));
     }
 
     /**
@@ -135,7 +175,7 @@ public final class Err<T, E> implements Result<T, E> {
      */
     @Override
     public T expect(final String msg) throws ResultException {
-        throw new ResultException(String.format("%s: %s", msg, error));
+        throw ErrorRecorder.panic(new ResultException(String.format("%s: %s", msg, error)));
     }
 
     /**
@@ -240,16 +280,29 @@ public final class Err<T, E> implements Result<T, E> {
             return true;
         }
         if (obj instanceof Err) {
-            return ((Err<?, ?>) obj).error.equals(error);
+            final Err<?, ?> other = (Err<?, ?>) obj;
+            if (hash != 0 && other.hash != 0 && hash != other.hash) {
+                return false;
+            }
+            return other.error.equals(error);
         }
         return false;
     }
 
     /**
-     * {@inheritDoc}
+     * Returns the bitwise complement of the error's hash code, unlike {@link Ok#hashCode()}.
+     *
+     * @return The hash code of this result.
      */
     @Override
     public int hashCode() {
-        return Objects.hashCode(error);
+        int h = hash;
+        if (h == 0) {
+            h = ~error.hashCode();
+            if (cacheHash) {
+                hash = h;
+            }
+        }
+        return h;
     }
 }
@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Error value from a fixed set of codes, with a preallocated {@link Err} and {@link ResultException}.
+ *
+ * <p>Codes are registered once, usually as constants, and then shared:
+ *
+ * <pre>{@code
+ *     static final ErrorCode NOT_FOUND = ErrorCode.register(404, "NOT_FOUND");
+ *
+ *     Result<User, ErrorCode> find(final String id) {
+ *         final User user = users.get(id);
+ *         return user != null ? Ok.of(user) : NOT_FOUND.err();
+ *     }
+ * }</pre>
+ *
+ * <p>{@link #err()} returns the same {@link Err} every time, and {@link Result#unwrap()} on an {@link Err} of an
+ * {@link ErrorCode} throws the code's {@link #exception()}, which has no stack trace, so a failure through a code
+ * allocates nothing. {@link Result#expect(String)} still builds a new exception, to carry its message.
+ *
+ * <p>Codes are looked up by id in constant time, for decoding them from the wire, with {@link #byId(int)}.
+ * Ids range from 0 to {@value #MAX_ID}, and a registry holds one slot per id up to the highest one registered,
+ * so ids should be small and dense. Each id may be registered once, and codes are never unregistered.
+ *
+ * <p>{@link #register(int, String)} and {@link #byId(int)} use a single registry for the whole JVM, so their ids
+ * must be unique across every library in the process; two libraries both starting at id 1 fail when the second
+ * one's codes are initialized. A library should instead register its codes in a {@link Namespace} of its own:
+ *
+ * <pre>{@code
+ *     static final ErrorCode.Namespace CODES = ErrorCode.newNamespace("users");
+ *     static final ErrorCode NOT_FOUND = CODES.register(404, "NOT_FOUND");
+ * }</pre>
+ *
+ * <p>Codes are equal only to themselves.
+ */
+public final class ErrorCode {
+
+    /**
+     * Highest id a code may be registered with.
+     */
+    public static final int MAX_ID = 65535;
+
+    private static final Namespace GLOBAL = new Namespace("global");
+
+    private final Namespace namespace;
+    private final int id;
+    private final String name;
+    private final Err<?, ErrorCode> err;
+    private final ResultException exception;
+    private final Optional<ErrorCode> lookup;
+
+    private ErrorCode(final Namespace namespace, final int id, final String name) {
+        this.namespace = namespace;
+        this.id = id;
+        this.name = name;
+        this.err = Err.shared(this);
+        this.exception = new CodeException(toString());
+        this.lookup = Optional.of(this);
+    }
+
+    /**
+     * Creates a new, empty namespace of error codes, whose ids are independent of every other namespace's.
+     *
+     * @param name The name of the namespace, shown by {@link #toString()} of its codes.
+     * @return The new namespace.
+     */
+    public static Namespace newNamespace(final String name) {
+        return new Namespace(Objects.requireNonNull(name));
+    }
+
+    /**
+     * Registers a new error code in the JVM-wide namespace.
+     *
+     * @param id The id of the code, between 0 and {@value #MAX_ID}, unique across the whole process.
+     * @param name The name of the code.
+     * @return The new code.
+     * @throws IllegalArgumentException Thrown if {@code id} is out of range, or already registered.
+     */
+    public static ErrorCode register(final int id, final String name) {
+        return GLOBAL.register(id, name);
+    }
+
+    /**
+     * Returns the code registered with {@code id} in the JVM-wide namespace. The returned {@link Optional} is
+     * preallocated.
+     *
+     * @param id The id of the code.
+     * @return The code, or {@link Optional#empty()} if no code is registered with {@code id}.
+     */
+    public static Optional<ErrorCode> byId(final int id) {
+        return GLOBAL.byId(id);
+    }
+
+    /**
+     * Returns the namespace this code is registered in.
+     *
+     * @return The namespace of this code.
+     */
+    public Namespace namespace() {
+        return namespace;
+    }
+
+    /**
+     * Returns the id of this code.
+     *
+     * @return The id of this code.
+     */
+    public int id() {
+        return id;
+    }
+
+    /**
+     * Returns the name of this code.
+     *
+     * @return The name of this code.
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Returns the shared {@link Err} of this code.
+     *
+     * @param <T> Type of the success value.
+     * @return {@link Err} containing this code.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Result<T, ErrorCode> err() {
+        ErrorRecorder.errCreated(this);
+        return (Result<T, ErrorCode>) err;
+    }
+
+    /**
+     * Returns the shared exception thrown when an {@link Err} of this code is unwrapped. It has no stack trace,
+     * does not record suppressed exceptions, and its cause cannot be set, so it can be thrown repeatedly.
+     *
+     * @return The shared exception of this code.
+     */
+    public ResultException exception() {
+        return exception;
+    }
+
+    /**
+     * Returns the name and id of this code, such as {@code NOT_FOUND (404)}, prefixed with the name of its
+     * namespace unless it is registered in the JVM-wide one, such as {@code users:NOT_FOUND (404)}.
+     *
+     * @return The name and id of this code.
+     */
+    @Override
+    public String toString() {
+        final String code = name + " (" + id + ")";
+        return namespace == GLOBAL ? code : namespace.name + ":" + code;
+    }
+
+    /**
+     * Independent registry of error codes, so that libraries can number their codes without colliding with each
+     * other. Codes are equal only to themselves, so codes with the same id in different namespaces differ.
+     */
+    public static final class Namespace {
+        private final String name;
+        private final Object registrationLock = new Object();
+        private volatile ErrorCode[] registry = new ErrorCode[0];
+
+        private Namespace(final String name) {
+            this.name = name;
+        }
+
+        /**
+         * Returns the name of this namespace.
+         *
+         * @return The name of this namespace.
+         */
+        public String name() {
+            return name;
+        }
+
+        /**
+         * Registers a new error code in this namespace.
+         *
+         * @param id The id of the code, between 0 and {@value #MAX_ID}, unique within this namespace.
+         * @param codeName The name of the code.
+         * @return The new code.
+         * @throws IllegalArgumentException Thrown if {@code id} is out of range, or already registered.
+         */
+        public ErrorCode register(final int id, final String codeName) {
+            Objects.requireNonNull(codeName);
+            if (id < 0 || id > MAX_ID) {
+                throw new IllegalArgumentException("error code id must be between 0 and " + MAX_ID + ": " + id);
+            }
+            synchronized (registrationLock) {
+                final ErrorCode[] current = registry;
+                if (id < current.length && current[id] != null) {
+                    throw new IllegalArgumentException("error code id already registered: " + current[id]);
+                }
+                final ErrorCode code = new ErrorCode(this, id, codeName);
+                final ErrorCode[] next = Arrays.copyOf(current, Math.max(current.length, id + 1));
+                next[id] = code;
+                registry = next;
+                return code;
+            }
+        }
+
+        /**
+         * Returns the code registered with {@code id} in this namespace. The returned {@link Optional} is
+         * preallocated.
+         *
+         * @param id The id of the code.
+         * @return The code, or {@link Optional#empty()} if no code is registered with {@code id}.
+         */
+        public Optional<ErrorCode> byId(final int id) {
+            final ErrorCode[] codes = registry;
+            if (id < 0 || id >= codes.length || codes[id] == null) {
+                return Optional.empty();
+            }
+            return codes[id].lookup;
+        }
+
+        /**
+         * Returns the name of this namespace.
+         *
+         * @return The name of this namespace.
+         */
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    /**
+     * Immutable, stackless {@link ResultException}.
+     */
+    private static final class CodeException extends ResultException {
+        private static final long serialVersionUID = 1L;
+
+        private CodeException(final String message) {
+            super(message, false, false);
+        }
+    }
+}
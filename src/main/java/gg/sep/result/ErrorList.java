@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Persistent, non-empty list of error values, optimised for appending and concatenation.
+ *
+ * <p>{@link #append(Object)} and {@link #concat(ErrorList)} never copy: they return a new list
+ * sharing both operands in constant time, so accumulating the errors of {@code n} validations
+ * costs {@code O(n)} in total. Iterating, or converting with {@link #toList()}, walks the shared
+ * structure once in {@code O(n)}, using a heap-allocated stack rather than recursion.
+ *
+ * <p>Instances are immutable and safe to share between threads.
+ *
+ * @param <E> Type of the error values.
+ */
+public final class ErrorList<E> implements Iterable<E> {
+
+    private final E element;
+    private final ErrorList<E> left;
+    private final ErrorList<E> right;
+    private final int size;
+
+    private ErrorList(final E element, final ErrorList<E> left, final ErrorList<E> right, final int size) {
+        this.element = element;
+        this.left = left;
+        this.right = right;
+        this.size = size;
+    }
+
+    /**
+     * Constructs a new {@link ErrorList} containing a single error value.
+     *
+     * @param error The error value.
+     * @param <E> Type of the error value.
+     * @return New {@link ErrorList} containing only {@code error}.
+     */
+    public static <E> ErrorList<E> of(final E error) {
+        Objects.requireNonNull(error);
+        return new ErrorList<>(error, null, null, 1);
+    }
+
+    /**
+     * Returns a list containing the errors of this list, followed by {@code error}.
+     *
+     * @param error The error value to append.
+     * @return New {@link ErrorList} sharing this list's errors.
+     */
+    public ErrorList<E> append(final E error) {
+        return concat(of(error));
+    }
+
+    /**
+     * Returns a list containing the errors of this list, followed by the errors of {@code other}.
+     *
+     * @param other The errors to append.
+     * @return New {@link ErrorList} sharing the errors of both lists.
+     */
+    public ErrorList<E> concat(final ErrorList<E> other) {
+        return new ErrorList<>(null, this, other, size + other.size);
+    }
+
+    /**
+     * Returns the number of errors in this list.
+     *
+     * @return The number of errors in this list, always at least one.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the first error of this list.
+     *
+     * @return The first error of this list.
+     */
+    public E first() {
+        ErrorList<E> node = this;
+        while (node.element == null) {
+            node = node.left;
+        }
+        return node.element;
+    }
+
+    /**
+     * Copies the errors of this list, in order, into a new mutable {@link List}.
+     *
+     * @return New {@link List} containing every error of this list.
+     */
+    public List<E> toList() {
+        final List<E> list = new ArrayList<>(size);
+        for (final E error : this) {
+            list.add(error);
+        }
+        return list;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<E> iterator() {
+        final Deque<ErrorList<E>> pending = new ArrayDeque<>();
+        pending.push(this);
+        return new Iterator<E>() {
+            @Override
+            public boolean hasNext() {
+                return !pending.isEmpty();
+            }
+
+            @Override
+            public E next() {
+                if (pending.isEmpty()) {
+                    throw new NoSuchElementException("No more errors in ErrorList.");
+                }
+                ErrorList<E> node = pending.pop();
+                while (node.element == null) {
+                    pending.push(node.right);
+                    node = node.left;
+                }
+                return node.element;
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (obj instanceof ErrorList) {
+            final ErrorList<?> other = (ErrorList<?>) obj;
+            return other.size == size && other.toList().equals(toList());
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return toList().hashCode();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return toList().toString();
+    }
+}
@@ -0,0 +1,286 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Fixed-size, lock-free record of the most recent errors, for diagnostics endpoints which need
+ * the last errors of a subsystem without a debugger or verbose logging.
+ *
+ * <p>Errors are recorded explicitly with {@link #record(Object)}, or automatically by attaching a
+ * recorder to every {@link Err} creation with {@link #attachToErrCreation(ErrorRecorder)}, or to
+ * every {@link ResultException} panic with {@link #attachToPanics(ErrorRecorder)}:
+ *
+ * <pre>{@code
+ *     private static final ErrorRecorder RECENT_PANICS = ErrorRecorder.create(256);
+ *
+ *     static {
+ *         ErrorRecorder.attachToPanics(RECENT_PANICS);
+ *     }
+ *
+ *     // diagnostics endpoint
+ *     return RECENT_PANICS.snapshot();
+ * }</pre>
+ *
+ * <p>Each record claims the next slot of a ring buffer with a single atomic increment, and writes
+ * the error, a timestamp and the recording {@link Thread} into it, guarded by a per-slot sequence
+ * number. Recording takes no lock and allocates nothing. When producers lap each other on the same
+ * slot, the newest record is kept: an older record arriving late is dropped, and a newer record
+ * waits for an older one still being written to finish its few writes, then overwrites it. The
+ * thread's name is only read when a {@link #snapshot()} is taken, so it reflects the thread's name
+ * at that time; the recorder keeps a reference to the threads of the records it holds until they
+ * are overwritten.
+ */
+public final class ErrorRecorder {
+
+    private static volatile ErrorRecorder errCreationRecorder;
+    private static volatile ErrorRecorder panicRecorder;
+
+    private final int mask;
+    private final LongSupplier clock;
+    private final AtomicLong cursor = new AtomicLong();
+    // per slot: 0 when empty, (seq << 1) | 1 while record seq is written, (seq + 1) << 1 once it is complete
+    private final AtomicLongArray versions;
+    private final AtomicLongArray timestamps;
+    private final AtomicReferenceArray<Object> errors;
+    private final AtomicReferenceArray<Thread> threads;
+
+    private ErrorRecorder(final int capacity, final LongSupplier clock) {
+        this.mask = capacity - 1;
+        this.clock = clock;
+        this.versions = new AtomicLongArray(capacity);
+        this.timestamps = new AtomicLongArray(capacity);
+        this.errors = new AtomicReferenceArray<>(capacity);
+        this.threads = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * Constructs a new {@link ErrorRecorder} which keeps at least the last {@code capacity} errors.
+     * The capacity is rounded up to a power of two.
+     *
+     * @param capacity Minimum number of errors to keep.
+     * @return New {@link ErrorRecorder}.
+     * @throws IllegalArgumentException Thrown if {@code capacity} is not between 1 and 2^30.
+     */
+    public static ErrorRecorder create(final int capacity) {
+        return create(capacity, System::currentTimeMillis);
+    }
+
+    static ErrorRecorder create(final int capacity, final LongSupplier clock) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity must be between 1 and 2^30: " + capacity);
+        }
+        return new ErrorRecorder(capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1, clock);
+    }
+
+    /**
+     * Records the error value of every {@link Err} created from now on into {@code recorder}.
+     *
+     * @param recorder The recorder, or {@code null} to stop recording.
+     */
+    public static void attachToErrCreation(final ErrorRecorder recorder) {
+        errCreationRecorder = recorder;
+    }
+
+    /**
+     * Records every {@link ResultException} thrown from now on by {@code unwrap}, {@code unwrapErr},
+     * {@code expect} and {@code expectErr} into {@code recorder}.
+     *
+     * @param recorder The recorder, or {@code null} to stop recording.
+     */
+    public static void attachToPanics(final ErrorRecorder recorder) {
+        panicRecorder = recorder;
+    }
+
+    static void errCreated(final Object error) {
+        final ErrorRecorder recorder = errCreationRecorder;
+        if (recorder != null) {
+            recorder.record(error);
+        }
+    }
+
+    static ResultException panic(final ResultException exception) {
+        final ErrorRecorder recorder = panicRecorder;
+        if (recorder != null) {
+            recorder.record(exception);
+        }
+        return exception;
+    }
+
+    /**
+     * Returns the number of slots of the ring buffer.
+     *
+     * @return The number of slots of the ring buffer.
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Returns the total number of errors recorded, including those which have since been overwritten.
+     *
+     * @return The total number of errors recorded.
+     */
+    public long recordedCount() {
+        return cursor.get();
+    }
+
+    /**
+     * Records an error, with the current time and thread.
+     *
+     * <p>This method is safe to call from any number of threads concurrently, takes no lock, and
+     * does not allocate. It only waits if the producer of the record a full capacity earlier is still
+     * writing the same slot.
+     *
+     * @param error The error to record.
+     */
+    public void record(final Object error) {
+        write(cursor.getAndIncrement(), error);
+    }
+
+    /**
+     * Writes record {@code seq} into its slot, unless a newer record owns the slot. If an older record
+     * is still being written into the slot, waits for it to complete first.
+     *
+     * @param seq The sequence number claimed from the cursor.
+     * @param error The error to record.
+     * @return {@code true} if the record was written, {@code false} if it was dropped.
+     */
+    boolean write(final long seq, final Object error) {
+        final int slot = (int) seq & mask;
+        final long writing = (seq << 1) | 1;
+        long current = versions.get(slot);
+        while (current < writing) {
+            if ((current & 1) != 0) {
+                // an older record is being written: it is a few stores from done
+                Thread.yield();
+            } else if (versions.compareAndSet(slot, current, writing)) {
+                timestamps.lazySet(slot, clock.getAsLong());
+                errors.lazySet(slot, error);
+                threads.lazySet(slot, Thread.currentThread());
+                versions.set(slot, (seq + 1) << 1);
+                return true;
+            }
+            current = versions.get(slot);
+        }
+        // a newer record owns the slot, or is being written into it: drop this older one
+        return false;
+    }
+
+    /**
+     * Returns the errors currently held by the recorder, oldest first.
+     *
+     * <p>Every returned {@link Entry} is consistent: its error, timestamp and thread were written by
+     * the same record. Records which are being written or overwritten while the snapshot is taken are
+     * left out.
+     *
+     * @return Unmodifiable list of the recorded errors, oldest first.
+     */
+    public List<Entry> snapshot() {
+        final long end = cursor.get();
+        final long start = Math.max(0, end - capacity());
+        final List<Entry> entries = new ArrayList<>((int) (end - start));
+        for (long seq = start; seq < end; seq++) {
+            final int slot = (int) seq & mask;
+            final long complete = (seq + 1) << 1;
+            if (versions.get(slot) != complete) {
+                continue;
+            }
+            final long timestamp = timestamps.get(slot);
+            final Object error = errors.get(slot);
+            final Thread thread = threads.get(slot);
+            if (versions.get(slot) == complete) {
+                entries.add(new Entry(seq, timestamp, thread.getName(), error));
+            }
+        }
+        return Collections.unmodifiableList(entries);
+    }
+
+    /**
+     * A recorded error.
+     */
+    public static final class Entry {
+        private final long sequence;
+        private final long timestampMillis;
+        private final String threadName;
+        private final Object error;
+
+        private Entry(final long sequence, final long timestampMillis, final String threadName, final Object error) {
+            this.sequence = sequence;
+            this.timestampMillis = timestampMillis;
+            this.threadName = threadName;
+            this.error = error;
+        }
+
+        /**
+         * Returns the position of the record among every error recorded, starting at {@code 0}.
+         *
+         * @return The sequence number of the record.
+         */
+        public long sequence() {
+            return sequence;
+        }
+
+        /**
+         * Returns the time the error was recorded, in milliseconds since the epoch.
+         *
+         * @return The time the error was recorded.
+         */
+        public long timestampMillis() {
+            return timestampMillis;
+        }
+
+        /**
+         * Returns the name of the thread which recorded the error, as of the snapshot.
+         *
+         * @return The name of the recording thread.
+         */
+        public String threadName() {
+            return threadName;
+        }
+
+        /**
+         * Returns the recorded error: the error value of an {@link Err}, or a {@link ResultException}.
+         *
+         * @return The recorded error.
+         */
+        public Object error() {
+            return error;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            return String.format("#%d %s [%s] %s", sequence, Instant.ofEpochMilli(timestampMillis), threadName, error);
+        }
+    }
+}
@@ -0,0 +1,357 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * {@link Result} whose value is computed by a supplier on first use, and memoized.
+ *
+ * <p>The supplier runs at most once, on the first call which needs to know whether the result is an
+ * {@link Ok} or an {@link Err}, such as {@link #isOk()} or {@link #unwrap()}. Results which are built
+ * speculatively and never read, such as parsed configuration sections, therefore cost one small object:
+ *
+ * <pre>{@code
+ *     final Result<Config, String> config = LazyResult.of(() -> parseConfig(path));
+ * }</pre>
+ *
+ * <p>Combinators which return a {@link Result}, such as {@link #map(Function)}, {@link #andThen(Function)} and
+ * {@link #orElse(Function)}, are lazy as well: they return a new {@link LazyResult}, and their function
+ * runs only when that result is read. The other methods evaluate this result. Reading the end of a chain of
+ * combinators evaluates its links one after another rather than recursively, so chains of any depth can be
+ * read without overflowing the stack. Until then, every link stays reachable; each link drops its reference
+ * to the previous one once evaluated.
+ *
+ * <p>Evaluation is thread-safe: concurrent first reads run the supplier once, and every thread observes the
+ * same result. Once evaluated, reads are a single volatile load, without locking. If the supplier throws,
+ * the exception propagates to the reader, and the next read runs the supplier again.
+ *
+ * <p>A {@link LazyResult} is equal only to another {@link LazyResult} whose evaluated result is equal, so that
+ * equality stays symmetric: {@link Ok} and {@link Err} only equal their own kind. Compare a {@link LazyResult}
+ * with an {@link Ok} or {@link Err} through {@link #get()}.
+ *
+ * @param <T> Type of the success value of the result.
+ * @param <E> Type of the error value of the result.
+ */
+public final class LazyResult<T, E> implements Result<T, E> {
+
+    private volatile Result<T, E> result;
+    private volatile Supplier<? extends Result<T, E>> supplier;
+
+    private LazyResult(final Supplier<? extends Result<T, E>> supplier) {
+        this.supplier = supplier;
+    }
+
+    /**
+     * Constructs a new {@link LazyResult} evaluating {@code supplier} on first use.
+     *
+     * @param supplier Computes the result. It must not return {@code null}.
+     * @param <T> Type of the success value.
+     * @param <E> Type of the error value.
+     * @return New, unevaluated {@link LazyResult}.
+     */
+    public static <T, E> LazyResult<T, E> of(final Supplier<? extends Result<T, E>> supplier) {
+        Objects.requireNonNull(supplier);
+        return new LazyResult<>(supplier);
+    }
+
+    /**
+     * Returns whether the supplier has already run and its result is memoized.
+     *
+     * @return {@code true} if this result has been evaluated.
+     */
+    public boolean isEvaluated() {
+        return result != null;
+    }
+
+    /**
+     * Evaluates this result if needed, and returns the memoized {@link Ok} or {@link Err}.
+     *
+     * @return The evaluated result.
+     * @throws NullPointerException Thrown if the supplier returns {@code null}.
+     */
+    public Result<T, E> get() {
+        final Result<T, E> evaluated = result;
+        return evaluated != null ? evaluated : evaluateChain();
+    }
+
+    private Result<T, E> evaluateChain() {
+        LazyResult<?, ?> link = unevaluatedParent();
+        if (link != null) {
+            // evaluate the unevaluated links from the oldest one down, so each step finds its parent memoized
+            final Deque<LazyResult<?, ?>> pending = new ArrayDeque<>();
+            do {
+                pending.push(link);
+                link = link.unevaluatedParent();
+            } while (link != null);
+            while (!pending.isEmpty()) {
+                pending.pop().evaluate();
+            }
+        }
+        return evaluate();
+    }
+
+    private LazyResult<?, ?> unevaluatedParent() {
+        final Supplier<?> pending = supplier;
+        if (pending instanceof Step) {
+            final LazyResult<?, ?> parent = ((Step<?, ?, ?, ?>) pending).parent;
+            return parent.result == null ? parent : null;
+        }
+        return null;
+    }
+
+    private <U, F> LazyResult<U, F> chain(final Function<Result<T, E>, Result<U, F>> op) {
+        return new LazyResult<>(new Step<>(this, op));
+    }
+
+    private synchronized Result<T, E> evaluate() {
+        Result<T, E> evaluated = result;
+        if (evaluated == null) {
+            evaluated = Objects.requireNonNull(supplier.get(), "LazyResult supplier returned null");
+            this.result = evaluated;
+            this.supplier = null;
+        }
+        return evaluated;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isOk() {
+        return get().isOk();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isErr() {
+        return get().isErr();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean contains(final T x) {
+        return get().contains(x);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsErr(final E f) {
+        return get().containsErr(f);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<T> getOk() {
+        return get().getOk();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<E> getErr() {
+        return get().getErr();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T unwrap() throws ResultException {
+        return get().unwrap();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public E unwrapErr() throws ResultException {
+        return get().unwrapErr();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T unwrapOr(final T optb) {
+        return get().unwrapOr(optb);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T unwrapOrElse(final Function<E, T> op) {
+        return get().unwrapOrElse(op);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T expect(final String msg) throws ResultException {
+        return get().expect(msg);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public E expectErr(final String msg) throws ResultException {
+        return get().expectErr(msg);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <U> Result<U, E> and(final Result<U, E> res) {
+        return chain(r -> r.and(res));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <U> Result<U, E> andThen(final Function<T, Result<U, E>> op) {
+        return chain(r -> r.andThen(op));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <U> Result<U, E> map(final Function<T, U> op) {
+        return chain(r -> r.map(op));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <F> Result<T, F> mapErr(final Function<E, F> op) {
+        return chain(r -> r.mapErr(op));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <U> U mapOr(final U defaultValue, final Function<T, U> op) {
+        return get().mapOr(defaultValue, op);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <U> U mapOrElse(final Function<E, U> fallback, final Function<T, U> map) {
+        return get().mapOrElse(fallback, map);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <F> Result<T, F> or(final Result<T, F> res) {
+        return chain(r -> r.or(res));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <F> Result<T, F> orElse(final Function<E, Result<T, F>> op) {
+        return chain(r -> r.orElse(op));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return get().iterator();
+    }
+
+    /**
+     * Returns {@code true} if {@code obj} is a {@link LazyResult} whose evaluated result equals this one's,
+     * evaluating both.
+     *
+     * @param obj The object to compare with.
+     * @return {@code true} if {@code obj} is a {@link LazyResult} with an equal evaluated result.
+     */
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        return obj instanceof LazyResult && get().equals(((LazyResult<?, ?>) obj).get());
+    }
+
+    /**
+     * Evaluates this result, and returns the hash code of the evaluated {@link Ok} or {@link Err}.
+     *
+     * @return The hash code of the evaluated result.
+     */
+    @Override
+    public int hashCode() {
+        return get().hashCode();
+    }
+
+    /**
+     * Supplier of a combinator's result, which applies its function to the evaluated parent.
+     *
+     * @param <S> Type of the success value of the parent.
+     * @param <F> Type of the error value of the parent.
+     * @param <T> Type of the success value of the result.
+     * @param <E> Type of the error value of the result.
+     */
+    private static final class Step<S, F, T, E> implements Supplier<Result<T, E>> {
+        private final LazyResult<S, F> parent;
+        private final Function<Result<S, F>, Result<T, E>> op;
+
+        Step(final LazyResult<S, F> parent, final Function<Result<S, F>, Result<T, E>> op) {
+            this.parent = parent;
+            this.op = op;
+        }
+
+        @Override
+        public Result<T, E> get() {
+            return op.apply(parent.get());
+        }
+    }
+}
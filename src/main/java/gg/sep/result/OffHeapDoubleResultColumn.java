@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result;
+
+import java.nio.ByteBuffer;
+import java.util.OptionalDouble;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoublePredicate;
+
+/**
+ * Off-heap column of {@code double} results: every entry is either an {@link Ok} {@code double} or an
+ * {@link Err} {@code int} error code.
+ *
+ * <p>The bulk operations walk the {@link Ok} bitmap one 64-bit word at a time and read the values
+ * straight from the off-heap pages, so scanning, filtering and aggregating never box a value:
+ *
+ * <pre>{@code
+ *     try (OffHeapDoubleResultColumn latencies = OffHeapDoubleResultColumn.allocate(rows)) {
+ *         for (final Row row : batch) {
+ *             if (row.failed()) {
+ *                 latencies.appendErr(row.errorCode());
+ *             } else {
+ *                 latencies.appendOk(row.latencySeconds());
+ *             }
+ *         }
+ *         final double total = latencies.sum();
+ *     }
+ * }</pre>
+ *
+ * @see OffHeapResultColumn
+ */
+public final class OffHeapDoubleResultColumn extends OffHeapResultColumn {
+
+    private OffHeapDoubleResultColumn(final long capacity, final int pageShift) {
+        super(capacity, pageShift, 3);
+    }
+
+    /**
+     * Constructs an empty column able to hold {@code capacity} entries. Memory is allocated as entries are
+     * appended, not up front.
+     *
+     * @param capacity Maximum number of entries.
+     * @return New, empty column.
+     * @throws IllegalArgumentException Thrown if {@code capacity} is negative.
+     */
+    public static OffHeapDoubleResultColumn allocate(final long capacity) {
+        return new OffHeapDoubleResultColumn(capacity, DEFAULT_PAGE_SHIFT);
+    }
+
+    static OffHeapDoubleResultColumn allocate(final long capacity, final int pageShift) {
+        return new OffHeapDoubleResultColumn(capacity, pageShift);
+    }
+
+    /**
+     * Appends an {@link Ok} entry.
+     *
+     * @param value The {@link Ok} value.
+     * @throws IllegalStateException Thrown if the column is full or closed.
+     */
+    public void appendOk(final double value) {
+        final long index = append(true);
+        values(page(index)).putDouble(slot(index) << 3, value);
+    }
+
+    /**
+     * Returns the value of the {@link Ok} entry at {@code index}.
+     *
+     * @param index The index of the entry.
+     * @return The {@link Ok} value.
+     * @throws IndexOutOfBoundsException Thrown if {@code index} is negative or not less than {@link #size()}.
+     * @throws ResultException Thrown if the entry is an {@link Err}.
+     */
+    public double getOk(final long index) {
+        return okValues(index).getDouble(slot(index) << 3);
+    }
+
+    /**
+     * Returns the entry at {@code index} as a {@link Result}.
+     *
+     * @param index The index of the entry.
+     * @return {@link Ok} of the value, or {@link Err} of the error code.
+     * @throws IndexOutOfBoundsException Thrown if {@code index} is negative or not less than {@link #size()}.
+     */
+    public Result<Double, Integer> get(final long index) {
+        return isOk(index) ? Ok.of(getOk(index)) : Err.of(errorCode(index));
+    }
+
+    /**
+     * Calls {@code action} with every {@link Ok} value, in index order.
+     *
+     * @param action The action to call.
+     */
+    public void forEachOk(final DoubleConsumer action) {
+        forEachOkSlot((values, slot) -> action.accept(values.getDouble(slot << 3)));
+    }
+
+    /**
+     * Copies the {@link Ok} values matching {@code predicate} into a new column, in index order.
+     * {@link Err} entries are not copied.
+     *
+     * @param predicate The predicate selecting the values to keep.
+     * @return New column, which the caller must close.
+     */
+    public OffHeapDoubleResultColumn filter(final DoublePredicate predicate) {
+        final OffHeapDoubleResultColumn filtered = new OffHeapDoubleResultColumn(okCount(), pageShift());
+        try {
+            forEachOk(value -> {
+                if (predicate.test(value)) {
+                    filtered.appendOk(value);
+                }
+            });
+        } catch (final Throwable t) {
+            filtered.close();
+            throw t;
+        }
+        return filtered;
+    }
+
+    /**
+     * Returns the sum of the {@link Ok} values, computed with compensated summation as
+     * {@link java.util.stream.DoubleStream#sum()} does, so the rounding error does not grow with the
+     * number of entries.
+     *
+     * @return The sum, or {@code 0} if there is no {@link Ok} entry.
+     */
+    public double sum() {
+        double sum = 0;
+        double compensation = 0;
+        double simpleSum = 0;
+        final int pages = usedPages();
+        for (int page = 0; page < pages; page++) {
+            final ByteBuffer values = values(page);
+            final ByteBuffer bits = bitmap(page);
+            final int entries = entries(page);
+            for (int base = 0; base < entries; base += 64) {
+                long word = bits.getLong(base >>> 3);
+                while (word != 0) {
+                    final double x = values.getDouble((base + Long.numberOfTrailingZeros(word)) << 3);
+                    final double t = sum + x;
+                    if (Math.abs(sum) >= Math.abs(x)) {
+                        compensation += (sum - t) + x;
+                    } else {
+                        compensation += (x - t) + sum;
+                    }
+                    sum = t;
+                    simpleSum += x;
+                    word &= word - 1;
+                }
+            }
+        }
+        final double total = sum + compensation;
+        // Infinite values turn the compensation into NaN; the naive sum has the right answer then.
+        return Double.isNaN(total) && Double.isInfinite(simpleSum) ? simpleSum : total;
+    }
+
+    /**
+     * Returns the smallest {@link Ok} value.
+     *
+     * @return The smallest value, or an empty {@link OptionalDouble} if there is no {@link Ok} entry.
+     */
+    public OptionalDouble min() {
+        return okCount() == 0 ? OptionalDouble.empty() : OptionalDouble.of(reduce(Double.POSITIVE_INFINITY, Math::min));
+    }
+
+    /**
+     * Returns the largest {@link Ok} value.
+     *
+     * @return The largest value, or an empty {@link OptionalDouble} if there is no {@link Ok} entry.
+     */
+    public OptionalDouble max() {
+        return okCount() == 0 ? OptionalDouble.empty() : OptionalDouble.of(reduce(Double.NEGATIVE_INFINITY, Math::max));
+    }
+
+    /**
+     * Folds the {@link Ok} values, in index order, with {@code op}.
+     *
+     * @param identity The initial value.
+     * @param op The function folding one value into the running result.
+     * @return The folded value, or {@code identity} if there is no {@link Ok} entry.
+     */
+    public double reduce(final double identity, final DoubleBinaryOperator op) {
+        final double[] result = {identity};
+        forEachOk(value -> {
+            result[0] = op.applyAsDouble(result[0], value);
+        });
+        return result[0];
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result;
+
+import java.nio.ByteBuffer;
+import java.util.OptionalInt;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+/**
+ * Off-heap column of {@code int} results: every entry is either an {@link Ok} {@code int} or an
+ * {@link Err} {@code int} error code.
+ *
+ * <p>The bulk operations walk the {@link Ok} bitmap one 64-bit word at a time and read the values
+ * straight from the off-heap pages, so scanning, filtering and aggregating never box a value:
+ *
+ * <pre>{@code
+ *     try (OffHeapIntResultColumn retries = OffHeapIntResultColumn.allocate(rows)) {
+ *         for (final Row row : batch) {
+ *             if (row.failed()) {
+ *                 retries.appendErr(row.errorCode());
+ *             } else {
+ *                 retries.appendOk(row.retries());
+ *             }
+ *         }
+ *         final long total = retries.sum();
+ *     }
+ * }</pre>
+ *
+ * @see OffHeapResultColumn
+ */
+public final class OffHeapIntResultColumn extends OffHeapResultColumn {
+
+    private OffHeapIntResultColumn(final long capacity, final int pageShift) {
+        super(capacity, pageShift, 2);
+    }
+
+    /**
+     * Constructs an empty column able to hold {@code capacity} entries. Memory is allocated as entries are
+     * appended, not up front.
+     *
+     * @param capacity Maximum number of entries.
+     * @return New, empty column.
+     * @throws IllegalArgumentException Thrown if {@code capacity} is negative.
+     */
+    public static OffHeapIntResultColumn allocate(final long capacity) {
+        return new OffHeapIntResultColumn(capacity, DEFAULT_PAGE_SHIFT);
+    }
+
+    static OffHeapIntResultColumn allocate(final long capacity, final int pageShift) {
+        return new OffHeapIntResultColumn(capacity, pageShift);
+    }
+
+    /**
+     * Appends an {@link Ok} entry.
+     *
+     * @param value The {@link Ok} value.
+     * @throws IllegalStateException Thrown if the column is full or closed.
+     */
+    public void appendOk(final int value) {
+        final long index = append(true);
+        values(page(index)).putInt(slot(index) << 2, value);
+    }
+
+    /**
+     * Returns the value of the {@link Ok} entry at {@code index}.
+     *
+     * @param index The index of the entry.
+     * @return The {@link Ok} value.
+     * @throws IndexOutOfBoundsException Thrown if {@code index} is negative or not less than {@link #size()}.
+     * @throws ResultException Thrown if the entry is an {@link Err}.
+     */
+    public int getOk(final long index) {
+        return okValues(index).getInt(slot(index) << 2);
+    }
+
+    /**
+     * Returns the entry at {@code index} as a {@link Result}.
+     *
+     * @param index The index of the entry.
+     * @return {@link Ok} of the value, or {@link Err} of the error code.
+     * @throws IndexOutOfBoundsException Thrown if {@code index} is negative or not less than {@link #size()}.
+     */
+    public Result<Integer, Integer> get(final long index) {
+        return isOk(index) ? Ok.of(getOk(index)) : Err.of(errorCode(index));
+    }
+
+    /**
+     * Calls {@code action} with every {@link Ok} value, in index order.
+     *
+     * @param action The action to call.
+     */
+    public void forEachOk(final IntConsumer action) {
+        forEachOkSlot((values, slot) -> action.accept(values.getInt(slot << 2)));
+    }
+
+    /**
+     * Copies the {@link Ok} values matching {@code predicate} into a new column, in index order.
+     * {@link Err} entries are not copied.
+     *
+     * @param predicate The predicate selecting the values to keep.
+     * @return New column, which the caller must close.
+     */
+    public OffHeapIntResultColumn filter(final IntPredicate predicate) {
+        final OffHeapIntResultColumn filtered = new OffHeapIntResultColumn(okCount(), pageShift());
+        try {
+            forEachOk(value -> {
+                if (predicate.test(value)) {
+                    filtered.appendOk(value);
+                }
+            });
+        } catch (final Throwable t) {
+            filtered.close();
+            throw t;
+        }
+        return filtered;
+    }
+
+    /**
+     * Returns the sum of the {@link Ok} values, computed with {@code long} arithmetic.
+     *
+     * @return The sum, or {@code 0} if there is no {@link Ok} entry.
+     */
+    public long sum() {
+        long sum = 0;
+        final int pages = usedPages();
+        for (int page = 0; page < pages; page++) {
+            final ByteBuffer values = values(page);
+            final ByteBuffer bits = bitmap(page);
+            final int entries = entries(page);
+            for (int base = 0; base < entries; base += 64) {
+                long word = bits.getLong(base >>> 3);
+                while (word != 0) {
+                    sum += values.getInt((base + Long.numberOfTrailingZeros(word)) << 2);
+                    word &= word - 1;
+                }
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the smallest {@link Ok} value.
+     *
+     * @return The smallest value, or an empty {@link OptionalInt} if there is no {@link Ok} entry.
+     */
+    public OptionalInt min() {
+        return okCount() == 0 ? OptionalInt.empty() : OptionalInt.of(reduce(Integer.MAX_VALUE, Math::min));
+    }
+
+    /**
+     * Returns the largest {@link Ok} value.
+     *
+     * @return The largest value, or an empty {@link OptionalInt} if there is no {@link Ok} entry.
+     */
+    public OptionalInt max() {
+        return okCount() == 0 ? OptionalInt.empty() : OptionalInt.of(reduce(Integer.MIN_VALUE, Math::max));
+    }
+
+    /**
+     * Folds the {@link Ok} values, in index order, with {@code op}.
+     *
+     * @param identity The initial value.
+     * @param op The function folding one value into the running result.
+     * @return The folded value, or {@code identity} if there is no {@link Ok} entry.
+     */
+    public int reduce(final int identity, final IntBinaryOperator op) {
+        final int[] result = {identity};
+        forEachOk(value -> {
+            result[0] = op.applyAsInt(result[0], value);
+        });
+        return result[0];
+    }
+}
@@ -0,0 +1,375 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+/**
+ * Append-only column of primitive results whose storage lives outside the Java heap.
+ *
+ * <p>Every entry is either an {@link Ok} primitive value or an {@link Err} {@code int} error code. The
+ * column keeps three parallel off-heap arrays, split into pages of 2<sup>20</sup> entries that are
+ * allocated as the column grows:
+ * <ul>
+ *     <li>the values, whose slot is left unused for errors,</li>
+ *     <li>a bitmap with one set bit per {@link Ok} entry,</li>
+ *     <li>the error codes, allocated for a page only once the page holds an error.</li>
+ * </ul>
+ * The garbage collector only ever sees the page tables, so a column of hundreds of millions of entries
+ * adds nothing to marking or copying work. Pages are allocated with {@link ByteBuffer#allocateDirect(int)}
+ * and count against {@code -XX:MaxDirectMemorySize}.
+ *
+ * <p>{@link #close()} releases the native memory immediately; every other method throws
+ * {@link IllegalStateException} once the column is closed. A column cannot be closed from the callback of
+ * one of its own bulk operations, such as {@link #forEachErr(IntConsumer)}. A column is not thread-safe: it must be filled
+ * by a single thread, and then published safely before it is read by others. Once published, any number of threads
+ * may run bulk operations on it concurrently.
+ */
+public abstract class OffHeapResultColumn implements AutoCloseable {
+
+    /** Number of entries per page, as a power of two. */
+    static final int DEFAULT_PAGE_SHIFT = 20;
+
+    private final long capacity;
+    private final int pageShift;
+    private final int valueShift;
+    private final ByteBuffer[] values;
+    private final ByteBuffer[] bitmaps;
+    private final ByteBuffer[] errorCodes;
+    private long size;
+    private long errCount;
+    private boolean closed;
+    private final AtomicInteger scans = new AtomicInteger();
+
+    OffHeapResultColumn(final long capacity, final int pageShift, final int valueShift) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must not be negative: " + capacity);
+        }
+        final long pages = (capacity + (1L << pageShift) - 1) >>> pageShift;
+        if (pages > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("capacity is too large: " + capacity);
+        }
+        this.capacity = capacity;
+        this.pageShift = pageShift;
+        this.valueShift = valueShift;
+        this.values = new ByteBuffer[(int) pages];
+        this.bitmaps = new ByteBuffer[(int) pages];
+        this.errorCodes = new ByteBuffer[(int) pages];
+    }
+
+    /**
+     * Returns the maximum number of entries the column can hold.
+     *
+     * @return The capacity of the column.
+     */
+    public long capacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of entries appended so far.
+     *
+     * @return The number of entries.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of {@link Ok} entries.
+     *
+     * @return The number of {@link Ok} entries.
+     */
+    public long okCount() {
+        return size - errCount;
+    }
+
+    /**
+     * Returns the number of {@link Err} entries.
+     *
+     * @return The number of {@link Err} entries.
+     */
+    public long errCount() {
+        return errCount;
+    }
+
+    /**
+     * Returns whether the entry at {@code index} is an {@link Ok}.
+     *
+     * @param index The index of the entry.
+     * @return {@code true} if the entry is an {@link Ok}, {@code false} if it is an {@link Err}.
+     * @throws IndexOutOfBoundsException Thrown if {@code index} is negative or not less than {@link #size()}.
+     */
+    public boolean isOk(final long index) {
+        checkIndex(index);
+        final int slot = slot(index);
+        return (bitmaps[page(index)].getLong((slot >>> 6) << 3) & (1L << slot)) != 0;
+    }
+
+    /**
+     * Returns whether the entry at {@code index} is an {@link Err}.
+     *
+     * @param index The index of the entry.
+     * @return {@code true} if the entry is an {@link Err}, {@code false} if it is an {@link Ok}.
+     * @throws IndexOutOfBoundsException Thrown if {@code index} is negative or not less than {@link #size()}.
+     */
+    public boolean isErr(final long index) {
+        return !isOk(index);
+    }
+
+    /**
+     * Returns the error code of the {@link Err} entry at {@code index}.
+     *
+     * @param index The index of the entry.
+     * @return The error code.
+     * @throws IndexOutOfBoundsException Thrown if {@code index} is negative or not less than {@link #size()}.
+     * @throws ResultException Thrown if the entry is an {@link Ok}.
+     */
+    public int errorCode(final long index) {
+        if (isOk(index)) {
+            throw ErrorRecorder.panic(new ResultException("entry " + index + " is Ok"));
+        }
+        return errorCodes[page(index)].getInt(slot(index) << 2);
+    }
+
+    /**
+     * Appends an {@link Err} entry.
+     *
+     * @param code The error code.
+     * @throws IllegalStateException Thrown if the column is full or closed.
+     */
+    public void appendErr(final int code) {
+        final long index = append(false);
+        errorCodes[page(index)].putInt(slot(index) << 2, code);
+    }
+
+    /**
+     * Calls {@code action} with the error code of every {@link Err} entry, in index order.
+     *
+     * @param action The action to call.
+     */
+    public void forEachErr(final IntConsumer action) {
+        scan(errorCodes, false, (codes, slot) -> action.accept(codes.getInt(slot << 2)));
+    }
+
+    /**
+     * Returns whether {@link #close()} has been called.
+     *
+     * @return {@code true} if the column is closed.
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Releases the off-heap memory of the column. Calling this method more than once has no effect.
+     *
+     * @throws IllegalStateException Thrown if called from the callback of a bulk operation on this column,
+     *                               which is still reading its pages.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        if (scans.get() > 0) {
+            throw new IllegalStateException("column cannot be closed during a bulk operation");
+        }
+        closed = true;
+        release(values);
+        release(bitmaps);
+        release(errorCodes);
+    }
+
+    /**
+     * Reserves the next entry, allocating its page if needed.
+     *
+     * @param ok Whether the entry is an {@link Ok}.
+     * @return The index of the new entry.
+     */
+    final long append(final boolean ok) {
+        checkOpen();
+        if (size == capacity) {
+            throw new IllegalStateException("column is full: " + capacity + " entries");
+        }
+        final long index = size;
+        final int page = page(index);
+        final int slot = slot(index);
+        if (values[page] == null) {
+            final int entries = (int) Math.min(1L << pageShift, capacity - ((long) page << pageShift));
+            values[page] = DirectMemory.allocate(entries << valueShift);
+            bitmaps[page] = DirectMemory.allocate(((entries + 63) >>> 6) << 3);
+        }
+        if (ok) {
+            final ByteBuffer bits = bitmaps[page];
+            final int word = (slot >>> 6) << 3;
+            bits.putLong(word, bits.getLong(word) | (1L << slot));
+        } else {
+            if (errorCodes[page] == null) {
+                errorCodes[page] = DirectMemory.allocate(values[page].capacity() >>> valueShift << 2);
+            }
+            errCount++;
+        }
+        size = index + 1;
+        return index;
+    }
+
+    /**
+     * Returns the number of pages holding at least one entry, after checking that the column is open.
+     *
+     * @return The number of pages in use.
+     */
+    final int usedPages() {
+        checkOpen();
+        return (int) ((size + (1L << pageShift) - 1) >>> pageShift);
+    }
+
+    /**
+     * Calls {@code visitor} with the slot of every {@link Ok} entry, in index order. {@link #close()} cannot
+     * free the pages until the scan returns.
+     *
+     * @param visitor The visitor to call with each values page and slot.
+     */
+    final void forEachOkSlot(final SlotVisitor visitor) {
+        scan(values, true, visitor);
+    }
+
+    /**
+     * Walks the bitmap of every page in use one 64-bit word at a time, and calls {@code visitor} with the
+     * slot of every entry of the requested kind. Pages of {@code pages} that were never allocated are skipped.
+     *
+     * @param pages The pages handed to the visitor.
+     * @param ok Whether to visit the {@link Ok} entries or the {@link Err} entries.
+     * @param visitor The visitor to call.
+     */
+    private void scan(final ByteBuffer[] pages, final boolean ok, final SlotVisitor visitor) {
+        final int used = usedPages();
+        scans.incrementAndGet();
+        try {
+            for (int page = 0; page < used; page++) {
+                final ByteBuffer buffer = pages[page];
+                if (buffer == null) {
+                    continue;
+                }
+                final ByteBuffer bits = bitmaps[page];
+                final int entries = entries(page);
+                for (int base = 0; base < entries; base += 64) {
+                    long word = bits.getLong(base >>> 3);
+                    if (!ok) {
+                        word = ~word;
+                    }
+                    if (entries - base < 64) {
+                        word &= (1L << (entries - base)) - 1;
+                    }
+                    while (word != 0) {
+                        visitor.visit(buffer, base + Long.numberOfTrailingZeros(word));
+                        word &= word - 1;
+                    }
+                }
+            }
+        } finally {
+            scans.decrementAndGet();
+        }
+    }
+
+    /**
+     * Returns the number of entries in a page in use.
+     *
+     * @param page The page number.
+     * @return The number of entries appended to the page.
+     */
+    final int entries(final int page) {
+        return (int) Math.min(1L << pageShift, size - ((long) page << pageShift));
+    }
+
+    final ByteBuffer values(final int page) {
+        return values[page];
+    }
+
+    final ByteBuffer bitmap(final int page) {
+        return bitmaps[page];
+    }
+
+    /**
+     * Returns the page holding an entry, after checking the index.
+     *
+     * @param index The index of the entry.
+     * @return The values page holding the entry.
+     */
+    final ByteBuffer okValues(final long index) {
+        if (!isOk(index)) {
+            throw ErrorRecorder.panic(new ResultException("entry " + index + " is Err: " + errorCode(index)));
+        }
+        return values[page(index)];
+    }
+
+    final int page(final long index) {
+        return (int) (index >>> pageShift);
+    }
+
+    final int slot(final long index) {
+        return (int) index & ((1 << pageShift) - 1);
+    }
+
+    final int pageShift() {
+        return pageShift;
+    }
+
+    private void checkIndex(final long index) {
+        checkOpen();
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + " out of bounds for size " + size);
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("column is closed");
+        }
+    }
+
+    private static void release(final ByteBuffer[] pages) {
+        for (int i = 0; i < pages.length; i++) {
+            if (pages[i] != null) {
+                DirectMemory.free(pages[i]);
+                pages[i] = null;
+            }
+        }
+    }
+
+    /**
+     * Receives one entry of a bulk scan.
+     */
+    @FunctionalInterface
+    interface SlotVisitor {
+
+        /**
+         * Visits one entry.
+         *
+         * @param page The page holding the entry.
+         * @param slot The slot of the entry within the page.
+         */
+        void visit(ByteBuffer page, int slot);
+    }
+}
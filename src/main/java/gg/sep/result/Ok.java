@@ -36,9 +36,12 @@ import java.util.function.Function;
 public final class Ok<T, E> implements Result<T, E> {
 
     private final T value;
+    private final boolean cacheHash;
+    private int hash;
 
-    private Ok(final T value) {
+    private Ok(final T value, final boolean cacheHash) {
         this.value = value;
+        this.cacheHash = cacheHash;
     }
 
     /**
@@ -50,7 +53,26 @@ public final class Ok<T, E> implements Result<T, E> {
      */
     public static <T, E> Ok<T, E> of(final T value) {
         Objects.requireNonNull(value);
-        return new Ok<>(value);
+        return new Ok<>(value, false);
+    }
+
+    /**
+     * Constructs a new {@link Ok} result which computes the hash code of its success value once, on the
+     * first call to {@link #hashCode()}, and reuses it afterwards.
+     *
+     * <p>Use this for success values whose {@code hashCode} is expensive, such as large collections, when
+     * the result is used as a key of a hash-based collection. The cached hash codes also let
+     * {@link #equals(Object)} reject most unequal results without comparing their success values. The
+     * success value must not change its hash code once the result is constructed.
+     *
+     * @param value Success value.
+     * @param <T> Type of the success value.
+     * @param <E> Type of the error value.
+     * @return New {@link Ok} result with the provided success value.
+     */
+    public static <T, E> Ok<T, E> withCachedHash(final T value) {
+        Objects.requireNonNull(value);
+        return new Ok<>(value, true);
     }
 
     /**
@@ -114,7 +136,7 @@ public final class Ok<T, E> implements Result<T, E> {
      */
     @Override
     public E unwrapErr() throws ResultException {
-        throw new ResultException(String.format("%s", value));
+        throw ErrorRecorder.panic(new ResultException(String.format("%s", value)));
     }
 
     /**
@@ -146,7 +168,7 @@ public final class Ok<T, E> implements Result<T, E> {
      */
     @Override
     public E expectErr(final String msg) throws ResultException {
-        throw new ResultException(String.format("%s: %s", msg, value));
+        throw ErrorRecorder.panic(new ResultException(String.format("%s: %s", msg, value)));
     }
 
     /**
@@ -248,16 +270,29 @@ public final class Ok<T, E> implements Result<T, E> {
             return true;
         }
         if (obj instanceof Ok) {
-            return ((Ok<?, ?>) obj).value.equals(value);
+            final Ok<?, ?> other = (Ok<?, ?>) obj;
+            if (hash != 0 && other.hash != 0 && hash != other.hash) {
+                return false;
+            }
+            return other.value.equals(value);
         }
         return false;
     }
 
     /**
-     * {@inheritDoc}
+     * Returns the hash code of the value; see {@link Err#hashCode()}.
+     *
+     * @return The hash code of this result.
      */
     @Override
     public int hashCode() {
-        return Objects.hashCode(value);
+        int h = hash;
+        if (h == 0) {
+            h = value.hashCode();
+            if (cacheHash) {
+                hash = h;
+            }
+        }
+        return h;
     }
 }
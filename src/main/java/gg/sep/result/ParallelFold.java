@@ -0,0 +1,314 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Fork/join implementation of {@link Results#foldParallel} and the primitive sums built on it.
+ *
+ * <p>The input is copied once into an array, which is then split into contiguous index ranges until
+ * every range is at most a few thousand elements, or a small multiple of the pool's parallelism. Each
+ * leaf folds its range into its own mutable {@link Partial}, so the hot loop shares no state with other
+ * workers; partials are merged left to right as the tasks join, which keeps the combiners' arguments in
+ * encounter order.
+ *
+ * <p>In {@link Results.FoldMode#FAIL_FAST} mode the first error observed by any worker is published to a
+ * shared {@link AtomicReference}, which every leaf polls once per {@value #CANCEL_CHECK_INTERVAL}
+ * elements. Leaves that have not started yet return immediately.
+ *
+ * @param <T> Type of the {@link Ok} value of the folded results.
+ * @param <E> Type of the {@link Err} value of the folded results.
+ */
+final class ParallelFold<T, E> {
+
+    /** Smallest range worth forking a task for. */
+    static final int MIN_LEAF_SIZE = 4096;
+
+    /** Number of leaves per worker, so that workers finishing early can steal from slower ones. */
+    private static final int LEAVES_PER_WORKER = 8;
+
+    private static final int CANCEL_CHECK_INTERVAL = 1024;
+
+    private final Object[] items;
+    private final Supplier<Partial<T, E>> partials;
+    private final BinaryOperator<E> errCombiner;
+    private final boolean failFast;
+    private final AtomicReference<E> failure = new AtomicReference<>();
+    private final int leafSize;
+
+    private ParallelFold(final Object[] items, final Supplier<Partial<T, E>> partials, final BinaryOperator<E> errCombiner,
+                         final Results.FoldMode mode, final int parallelism) {
+        this.items = items;
+        this.partials = partials;
+        this.errCombiner = errCombiner;
+        this.failFast = mode == Results.FoldMode.FAIL_FAST;
+        this.leafSize = Math.max(MIN_LEAF_SIZE, items.length / (parallelism * LEAVES_PER_WORKER));
+    }
+
+    /**
+     * Folds {@code items}, every element of which must be a {@link Result}.
+     *
+     * @param items The results to fold.
+     * @param partials Factory of the empty, per-leaf accumulator.
+     * @param errCombiner Associative function combining two errors.
+     * @param mode Whether to stop at the first error or to combine every error.
+     * @param pool The pool to run the fold on.
+     * @param <T> Type of the {@link Ok} value of the folded results.
+     * @param <E> Type of the {@link Err} value of the folded results.
+     * @param <R> Type of the folded value.
+     * @return {@link Ok} of the folded value, or {@link Err} as described by {@code mode}.
+     */
+    @SuppressWarnings("unchecked")
+    static <T, E, R> Result<R, E> fold(final Object[] items, final Supplier<Partial<T, E>> partials,
+                                       final BinaryOperator<E> errCombiner, final Results.FoldMode mode,
+                                       final ForkJoinPool pool) {
+        final ParallelFold<T, E> fold = new ParallelFold<>(items, partials, errCombiner, mode, pool.getParallelism());
+        final Partial<T, E> result = items.length <= fold.leafSize
+            ? fold.leaf(0, items.length)
+            : pool.invoke(fold.new Task(0, items.length));
+        final E failed = fold.failure.get();
+        if (failed != null) {
+            return Err.of(failed);
+        }
+        if (result.error != null) {
+            return Err.of(result.error);
+        }
+        return Ok.of((R) result.value());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Partial<T, E> leaf(final int from, final int to) {
+        final Partial<T, E> partial = partials.get();
+        for (int i = from; i < to; i++) {
+            if (failFast && ((i - from) & (CANCEL_CHECK_INTERVAL - 1)) == 0 && failure.get() != null) {
+                break;
+            }
+            final Result<T, E> result = (Result<T, E>) items[i];
+            if (result.isOk()) {
+                if (partial.error == null) {
+                    partial.accept(result.unwrap());
+                }
+            } else if (failFast) {
+                failure.compareAndSet(null, result.unwrapErr());
+                break;
+            } else {
+                partial.error = partial.error == null ? result.unwrapErr() : errCombiner.apply(partial.error, result.unwrapErr());
+            }
+        }
+        return partial;
+    }
+
+    private Partial<T, E> merge(final Partial<T, E> left, final Partial<T, E> right) {
+        if (left.error != null) {
+            if (right.error != null) {
+                left.error = errCombiner.apply(left.error, right.error);
+            }
+            return left;
+        }
+        if (right.error != null) {
+            return right;
+        }
+        left.merge(right);
+        return left;
+    }
+
+    /**
+     * Folds one index range, splitting it in half until it is no larger than {@link #leafSize}.
+     */
+    private final class Task extends RecursiveTask<Partial<T, E>> {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+
+        private Task(final int from, final int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Partial<T, E> compute() {
+            if (to - from <= leafSize) {
+                return leaf(from, to);
+            }
+            final int mid = (from + to) >>> 1;
+            final Task left = new Task(from, mid);
+            left.fork();
+            final Partial<T, E> right = new Task(mid, to).compute();
+            return merge(left.join(), right);
+        }
+    }
+
+    /**
+     * Mutable accumulator owned by a single leaf until it is merged into its left neighbour.
+     *
+     * @param <T> Type of the {@link Ok} value of the folded results.
+     * @param <E> Type of the {@link Err} value of the folded results.
+     */
+    abstract static class Partial<T, E> {
+        private E error;
+
+        /**
+         * Folds the next {@link Ok} value into this partial.
+         *
+         * @param value The {@link Ok} value.
+         */
+        abstract void accept(T value);
+
+        /**
+         * Folds the values of {@code right}, which covers the range just after this one, into this partial.
+         *
+         * @param right The partial of the following range.
+         */
+        abstract void merge(Partial<T, E> right);
+
+        /**
+         * Returns the folded value.
+         *
+         * @return The folded value.
+         */
+        abstract Object value();
+    }
+
+    /**
+     * Partial of {@link Results#foldParallel}.
+     *
+     * @param <T> Type of the {@link Ok} value of the folded results.
+     * @param <E> Type of the {@link Err} value of the folded results.
+     * @param <A> Type of the folded value.
+     */
+    static final class ObjectPartial<T, E, A> extends Partial<T, E> {
+        private final BiFunction<A, ? super T, A> accumulator;
+        private final BinaryOperator<A> combiner;
+        private A acc;
+
+        ObjectPartial(final A identity, final BiFunction<A, ? super T, A> accumulator, final BinaryOperator<A> combiner) {
+            this.acc = identity;
+            this.accumulator = accumulator;
+            this.combiner = combiner;
+        }
+
+        @Override
+        void accept(final T value) {
+            acc = accumulator.apply(acc, value);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        void merge(final Partial<T, E> right) {
+            acc = combiner.apply(acc, ((ObjectPartial<T, E, A>) right).acc);
+        }
+
+        @Override
+        Object value() {
+            return acc;
+        }
+    }
+
+    /**
+     * Partial of {@link Results#sumLongParallel}, which keeps the running sum unboxed.
+     *
+     * @param <T> Type of the {@link Ok} value of the folded results.
+     * @param <E> Type of the {@link Err} value of the folded results.
+     */
+    static final class LongSum<T, E> extends Partial<T, E> {
+        private final ToLongFunction<? super T> mapper;
+        private long sum;
+
+        LongSum(final ToLongFunction<? super T> mapper) {
+            this.mapper = mapper;
+        }
+
+        @Override
+        void accept(final T value) {
+            sum += mapper.applyAsLong(value);
+        }
+
+        @Override
+        void merge(final Partial<T, E> right) {
+            sum += ((LongSum<T, E>) right).sum;
+        }
+
+        @Override
+        Object value() {
+            return sum;
+        }
+    }
+
+    /**
+     * Partial of {@link Results#sumDoubleParallel}, which keeps the running sum unboxed and uses
+     * Neumaier's compensated summation, so that the result does not depend on how the input was split.
+     *
+     * @param <T> Type of the {@link Ok} value of the folded results.
+     * @param <E> Type of the {@link Err} value of the folded results.
+     */
+    static final class DoubleSum<T, E> extends Partial<T, E> {
+        private final ToDoubleFunction<? super T> mapper;
+        private double sum;
+        private double compensation;
+        private double simpleSum;
+
+        DoubleSum(final ToDoubleFunction<? super T> mapper) {
+            this.mapper = mapper;
+        }
+
+        @Override
+        void accept(final T value) {
+            final double x = mapper.applyAsDouble(value);
+            simpleSum += x;
+            add(x);
+        }
+
+        @Override
+        void merge(final Partial<T, E> right) {
+            final DoubleSum<T, E> other = (DoubleSum<T, E>) right;
+            simpleSum += other.simpleSum;
+            add(other.sum);
+            compensation += other.compensation;
+        }
+
+        private void add(final double x) {
+            final double t = sum + x;
+            if (Math.abs(sum) >= Math.abs(x)) {
+                compensation += (sum - t) + x;
+            } else {
+                compensation += (x - t) + sum;
+            }
+            sum = t;
+        }
+
+        @Override
+        Object value() {
+            final double total = sum + compensation;
+            // Infinite inputs turn the compensation into NaN; the naive sum has the right answer then.
+            return Double.isNaN(total) && Double.isInfinite(simpleSum) ? simpleSum : total;
+        }
+    }
+}
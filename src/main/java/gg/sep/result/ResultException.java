@@ -45,4 +45,19 @@ public class ResultException extends RuntimeException {
     public ResultException(final String message) {
         super(message);
     }
+
+    /**
+     * Constructs a new Result exception with the specified detail message, and with suppression and
+     * stack trace recording enabled or disabled. The cause is {@code null}, and may not be initialized later.
+     *
+     * <p>An exception created with both disabled is immutable, and can be preallocated and thrown repeatedly,
+     * as {@link ErrorCode#exception()} is.
+     *
+     * @param message The detail message.
+     * @param enableSuppression Whether suppressed exceptions are recorded.
+     * @param writableStackTrace Whether the stack trace is filled in and writable.
+     */
+    protected ResultException(final String message, final boolean enableSuppression, final boolean writableStackTrace) {
+        super(message, null, enableSuppression, writableStackTrace);
+    }
 }
@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Lazy adapters over iterators of {@link Result}s.
+ *
+ * <p>The adapters pull from their source only as far as the caller reads, so they work over unbounded
+ * sources such as generators, or iterators draining a queue. Each adapter keeps a constant amount of
+ * state, and allocates nothing per element beyond what it returns: {@link Err} inputs are passed through
+ * as the same instances, and only {@link #mapOk} and {@link #chunkOk} build new {@link Ok}s.
+ *
+ * <pre>{@code
+ *     final Iterator<Result<Event, String>> events = ...;
+ *     final Iterator<Result<List<Event>, String>> batches = ResultIterators.chunkOk(events, 500);
+ * }</pre>
+ *
+ * <p>A {@link java.util.stream.Stream} of results can be adapted through its {@link java.util.stream.Stream#iterator()}.
+ * The adapters are not thread-safe, and do not support {@link Iterator#remove()}.
+ */
+public final class ResultIterators {
+
+    private ResultIterators() {
+    }
+
+    /**
+     * Returns the {@link Ok} values of {@code source}, skipping its {@link Err}s.
+     *
+     * @param source The results to filter.
+     * @param <T> Type of the success value of the results.
+     * @param <E> Type of the error value of the results.
+     * @return Lazy iterator over the {@link Ok} values.
+     */
+    public static <T, E> Iterator<T> filterOk(final Iterator<? extends Result<T, E>> source) {
+        Objects.requireNonNull(source);
+        return new LookaheadIterator<T>() {
+            @Override
+            T computeNext() {
+                while (source.hasNext()) {
+                    final Result<T, E> result = source.next();
+                    if (result.isOk()) {
+                        return result.unwrap();
+                    }
+                }
+                return null;
+            }
+        };
+    }
+
+    /**
+     * Returns the error values of {@code source}, skipping its {@link Ok}s.
+     *
+     * @param source The results to filter.
+     * @param <T> Type of the success value of the results.
+     * @param <E> Type of the error value of the results.
+     * @return Lazy iterator over the {@link Err} values.
+     */
+    public static <T, E> Iterator<E> errorsOnly(final Iterator<? extends Result<T, E>> source) {
+        Objects.requireNonNull(source);
+        return new LookaheadIterator<E>() {
+            @Override
+            E computeNext() {
+                while (source.hasNext()) {
+                    final Result<T, E> result = source.next();
+                    if (result.isErr()) {
+                        return result.unwrapErr();
+                    }
+                }
+                return null;
+            }
+        };
+    }
+
+    /**
+     * Applies {@code op} to the {@link Ok} values of {@code source}, as {@link Result#map(Function)} does,
+     * passing its {@link Err}s through unchanged.
+     *
+     * @param source The results to map.
+     * @param op The function to apply to each {@link Ok} value.
+     * @param <T> Type of the success value of the results.
+     * @param <U> Type of the value returned by {@code op}.
+     * @param <E> Type of the error value of the results.
+     * @return Lazy iterator over the mapped results.
+     */
+    public static <T, U, E> Iterator<Result<U, E>> mapOk(final Iterator<? extends Result<T, E>> source,
+                                                          final Function<? super T, ? extends U> op) {
+        Objects.requireNonNull(source);
+        Objects.requireNonNull(op);
+        return new Iterator<Result<U, E>>() {
+            @Override
+            public boolean hasNext() {
+                return source.hasNext();
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public Result<U, E> next() {
+                final Result<T, E> result = source.next();
+                return result.isOk() ? Ok.of(op.apply(result.unwrap())) : (Result<U, E>) result;
+            }
+        };
+    }
+
+    /**
+     * Returns the results of {@code source} up to and including its first {@link Err}, after which the
+     * iterator ends without reading further from {@code source}.
+     *
+     * @param source The results to read.
+     * @param <T> Type of the success value of the results.
+     * @param <E> Type of the error value of the results.
+     * @return Lazy iterator over the results up to the first {@link Err}.
+     */
+    public static <T, E> Iterator<Result<T, E>> takeUntilErr(final Iterator<? extends Result<T, E>> source) {
+        Objects.requireNonNull(source);
+        return new Iterator<Result<T, E>>() {
+            private boolean stopped;
+
+            @Override
+            public boolean hasNext() {
+                return !stopped && source.hasNext();
+            }
+
+            @Override
+            public Result<T, E> next() {
+                if (stopped) {
+                    throw new NoSuchElementException();
+                }
+                final Result<T, E> result = source.next();
+                this.stopped = result.isErr();
+                return result;
+            }
+        };
+    }
+
+    /**
+     * Groups consecutive {@link Ok} values of {@code source} into lists of {@code size} elements.
+     *
+     * <p>An {@link Err} ends the chunk in progress: the partial chunk is returned first, then the
+     * {@link Err} itself, so errors are neither lost nor reordered. The last chunk may also be partial.
+     * Each chunk is a new list, owned by the caller.
+     *
+     * @param source The results to group.
+     * @param size The maximum number of values in a chunk.
+     * @param <T> Type of the success value of the results.
+     * @param <E> Type of the error value of the results.
+     * @return Lazy iterator over {@link Ok} chunks and the {@link Err}s between them.
+     * @throws IllegalArgumentException Thrown if {@code size} is not positive.
+     */
+    public static <T, E> Iterator<Result<List<T>, E>> chunkOk(final Iterator<? extends Result<T, E>> source,
+                                                               final int size) {
+        Objects.requireNonNull(source);
+        if (size < 1) {
+            throw new IllegalArgumentException("size must be positive: " + size);
+        }
+        return new LookaheadIterator<Result<List<T>, E>>() {
+            private Result<List<T>, E> pendingErr;
+
+            @Override
+            @SuppressWarnings("unchecked")
+            Result<List<T>, E> computeNext() {
+                final Result<List<T>, E> err = pendingErr;
+                if (err != null) {
+                    this.pendingErr = null;
+                    return err;
+                }
+                List<T> chunk = null;
+                while (source.hasNext()) {
+                    final Result<T, E> result = source.next();
+                    if (result.isErr()) {
+                        if (chunk == null) {
+                            return (Result<List<T>, E>) result;
+                        }
+                        this.pendingErr = (Result<List<T>, E>) result;
+                        return Ok.of(chunk);
+                    }
+                    if (chunk == null) {
+                        // the chunk grows as values arrive, so a huge size does not allocate up front
+                        chunk = new ArrayList<>(Math.min(size, 16));
+                    }
+                    chunk.add(result.unwrap());
+                    if (chunk.size() == size) {
+                        return Ok.of(chunk);
+                    }
+                }
+                return chunk == null ? null : Ok.of(chunk);
+            }
+        };
+    }
+
+    /**
+     * Iterator which computes each element ahead of {@link #next()}, when {@link #hasNext()} is asked.
+     *
+     * @param <R> Type of the elements.
+     */
+    private abstract static class LookaheadIterator<R> implements Iterator<R> {
+        private R next;
+
+        /**
+         * Reads the source up to the next element.
+         *
+         * @return The next element, or {@code null} if the source is exhausted.
+         */
+        abstract R computeNext();
+
+        @Override
+        public final boolean hasNext() {
+            if (next == null) {
+                this.next = computeNext();
+            }
+            return next != null;
+        }
+
+        @Override
+        public final R next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final R element = next;
+            this.next = null;
+            return element;
+        }
+    }
+}
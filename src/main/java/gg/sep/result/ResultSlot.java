@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result;
+
+import java.util.Objects;
+
+/**
+ * Mutable, reusable holder for the outcome of an operation, for allocation-free tight loops.
+ *
+ * <p>A decoder can write its outcome into a caller-provided slot instead of returning a new
+ * {@link Result}. The slot is then reused for the next call, so the loop allocates nothing per
+ * iteration. The outcome is converted to an immutable {@link Ok} or {@link Err} with
+ * {@link #toResult()} only when it must escape the loop:
+ *
+ * <pre>{@code
+ *     final ResultSlot<Token, String> slot = new ResultSlot<>();
+ *     while (lexer.next(slot)) {
+ *         if (slot.isErr()) {
+ *             return slot.toResult();
+ *         }
+ *         handle(slot.value());
+ *     }
+ * }</pre>
+ *
+ * <p>A slot is not thread-safe, and is intended to be confined to the thread that owns it.
+ *
+ * @param <T> Type of the success value.
+ * @param <E> Type of the error value.
+ */
+public final class ResultSlot<T, E> {
+
+    private T value;
+    private E error;
+
+    /**
+     * Sets the slot to a success value, replacing any previous outcome.
+     *
+     * @param okValue Success value.
+     * @return This slot.
+     */
+    public ResultSlot<T, E> setOk(final T okValue) {
+        Objects.requireNonNull(okValue);
+        this.value = okValue;
+        this.error = null;
+        return this;
+    }
+
+    /**
+     * Sets the slot to an error value, replacing any previous outcome.
+     *
+     * @param errValue Error value.
+     * @return This slot.
+     */
+    public ResultSlot<T, E> setErr(final E errValue) {
+        Objects.requireNonNull(errValue);
+        this.value = null;
+        this.error = errValue;
+        return this;
+    }
+
+    /**
+     * Returns {@code true} if the slot holds a success value.
+     *
+     * @return {@code true} if the slot holds a success value.
+     */
+    public boolean isOk() {
+        return value != null;
+    }
+
+    /**
+     * Returns {@code true} if the slot holds an error value.
+     *
+     * @return {@code true} if the slot holds an error value.
+     */
+    public boolean isErr() {
+        return error != null;
+    }
+
+    /**
+     * Returns the success value held by the slot.
+     *
+     * @return The success value.
+     * @throws ResultException Thrown if the slot does not hold a success value.
+     */
+    public T value() throws ResultException {
+        if (value == null) {
+            throw ErrorRecorder.panic(new ResultException(String.format("%s", error)));
+        }
+        return value;
+    }
+
+    /**
+     * Returns the error value held by the slot.
+     *
+     * @return The error value.
+     * @throws ResultException Thrown if the slot does not hold an error value.
+     */
+    public E error() throws ResultException {
+        if (error == null) {
+            throw ErrorRecorder.panic(new ResultException(String.format("%s", value)));
+        }
+        return error;
+    }
+
+    /**
+     * Clears the slot, so that it holds neither a success nor an error value.
+     */
+    public void clear() {
+        this.value = null;
+        this.error = null;
+    }
+
+    /**
+     * Converts the outcome held by the slot into an immutable {@link Result}.
+     *
+     * @return {@link Ok} with the success value, or {@link Err} with the error value.
+     * @throws ResultException Thrown if the slot is empty.
+     */
+    public Result<T, E> toResult() throws ResultException {
+        if (value != null) {
+            return Ok.of(value);
+        }
+        if (error != null) {
+            return Err.of(error);
+        }
+        throw ErrorRecorder.panic(new ResultException("ResultSlot is empty."));
+    }
+}
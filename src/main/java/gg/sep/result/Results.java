@@ -0,0 +1,582 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result;
+
+import gg.sep.result.function.Function3;
+import gg.sep.result.function.Function4;
+import gg.sep.result.function.Function5;
+import gg.sep.result.function.Function6;
+import gg.sep.result.function.Function7;
+import gg.sep.result.function.Function8;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Static utility methods for working with several {@link Result} values at once.
+ *
+ * <p>Combining independent results by nesting {@link Result#andThen(java.util.function.Function)} and
+ * {@link Result#map(java.util.function.Function)} allocates a capturing lambda and an intermediate {@link Ok}
+ * at every level. The {@code zip} family checks every input up front instead, and calls the
+ * combining function exactly once:
+ *
+ * <pre>{@code
+ *     final Result<User, String> user = Results.zip3(parseName(name), parseAge(age), parseEmail(email), User::new);
+ * }</pre>
+ */
+public final class Results {
+
+    private Results() {
+    }
+
+    /**
+     * How {@link #foldParallel} and the parallel sums handle {@link Err} inputs.
+     */
+    public enum FoldMode {
+        /**
+         * Stop at the first {@link Err} observed and return it. Workers still running are cancelled
+         * cooperatively. When several inputs are {@link Err}, which one is returned is unspecified.
+         */
+        FAIL_FAST,
+
+        /**
+         * Visit every input and combine every {@link Err} value, in encounter order, with the error combiner.
+         */
+        COLLECT_ALL
+    }
+
+    /**
+     * Runs a block of sequential steps, each unwrapping the result of the previous one through
+     * {@link BlockContext#bind(Result)}, and returns the first {@link Err} encountered, or the result of
+     * the block. This is the equivalent of a chain of {@link Result#andThen(Function)}
+     * calls, written as straight-line code without a capturing lambda per step:
+     *
+     * <pre>{@code
+     *     final Result<Order, String> order = Results.block(ctx -> {
+     *         final User user = ctx.bind(findUser(id));
+     *         final Cart cart = ctx.bind(loadCart(user));
+     *         return Ok.of(new Order(user, cart));
+     *     });
+     * }</pre>
+     *
+     * <p>Blocks may be nested, and binding the context of an enclosing block exits up to that block.
+     *
+     * @param block The block to run.
+     * @param <T> The type of the {@link Ok} value of the block.
+     * @param <E> The type of the {@link Err} value of the block.
+     * @return The result returned by {@code block}, or the first {@link Err} it bound.
+     */
+    public static <T, E> Result<T, E> block(final Function<BlockContext<E>, Result<T, E>> block) {
+        return BlockContext.run(block);
+    }
+
+    /**
+     * Combines two independent results, calling {@code combiner} once with every {@link Ok} value
+     * if all of them are {@link Ok}. Otherwise, returns the first {@link Err}, in argument order.
+     *
+     * @param r1 The first result.
+     * @param r2 The second result.
+     * @param combiner The function to call with the {@link Ok} values.
+     * @param <T1> The type of the first {@link Ok} value.
+     * @param <T2> The type of the second {@link Ok} value.
+     * @param <R> The type of the {@link Ok} value returned by {@code combiner}.
+     * @param <E> The type of the {@link Err} value of every result.
+     * @return {@link Ok} containing the value of {@code combiner} if every result is an {@link Ok},
+     *         otherwise the first {@link Err}.
+     */
+    public static <T1, T2, R, E> Result<R, E> zip(final Result<T1, E> r1, final Result<T2, E> r2,
+            final BiFunction<T1, T2, R> combiner) {
+        if (r1.isErr()) {
+            return recast(r1);
+        }
+        if (r2.isErr()) {
+            return recast(r2);
+        }
+        return Ok.of(combiner.apply(r1.unwrap(), r2.unwrap()));
+    }
+
+    /**
+     * Combines three independent results, calling {@code combiner} once with every {@link Ok} value
+     * if all of them are {@link Ok}. Otherwise, returns the first {@link Err}, in argument order.
+     *
+     * @param r1 The first result.
+     * @param r2 The second result.
+     * @param r3 The third result.
+     * @param combiner The function to call with the {@link Ok} values.
+     * @param <T1> The type of the first {@link Ok} value.
+     * @param <T2> The type of the second {@link Ok} value.
+     * @param <T3> The type of the third {@link Ok} value.
+     * @param <R> The type of the {@link Ok} value returned by {@code combiner}.
+     * @param <E> The type of the {@link Err} value of every result.
+     * @return {@link Ok} containing the value of {@code combiner} if every result is an {@link Ok},
+     *         otherwise the first {@link Err}.
+     */
+    public static <T1, T2, T3, R, E> Result<R, E> zip3(final Result<T1, E> r1, final Result<T2, E> r2,
+            final Result<T3, E> r3, final Function3<T1, T2, T3, R> combiner) {
+        if (r1.isErr()) {
+            return recast(r1);
+        }
+        if (r2.isErr()) {
+            return recast(r2);
+        }
+        if (r3.isErr()) {
+            return recast(r3);
+        }
+        return Ok.of(combiner.apply(r1.unwrap(), r2.unwrap(), r3.unwrap()));
+    }
+
+    /**
+     * Combines four independent results, calling {@code combiner} once with every {@link Ok} value
+     * if all of them are {@link Ok}. Otherwise, returns the first {@link Err}, in argument order.
+     *
+     * @param r1 The first result.
+     * @param r2 The second result.
+     * @param r3 The third result.
+     * @param r4 The fourth result.
+     * @param combiner The function to call with the {@link Ok} values.
+     * @param <T1> The type of the first {@link Ok} value.
+     * @param <T2> The type of the second {@link Ok} value.
+     * @param <T3> The type of the third {@link Ok} value.
+     * @param <T4> The type of the fourth {@link Ok} value.
+     * @param <R> The type of the {@link Ok} value returned by {@code combiner}.
+     * @param <E> The type of the {@link Err} value of every result.
+     * @return {@link Ok} containing the value of {@code combiner} if every result is an {@link Ok},
+     *         otherwise the first {@link Err}.
+     */
+    public static <T1, T2, T3, T4, R, E> Result<R, E> zip4(final Result<T1, E> r1, final Result<T2, E> r2,
+            final Result<T3, E> r3, final Result<T4, E> r4, final Function4<T1, T2, T3, T4, R> combiner) {
+        if (r1.isErr()) {
+            return recast(r1);
+        }
+        if (r2.isErr()) {
+            return recast(r2);
+        }
+        if (r3.isErr()) {
+            return recast(r3);
+        }
+        if (r4.isErr()) {
+            return recast(r4);
+        }
+        return Ok.of(combiner.apply(r1.unwrap(), r2.unwrap(), r3.unwrap(), r4.unwrap()));
+    }
+
+    /**
+     * Combines five independent results, calling {@code combiner} once with every {@link Ok} value
+     * if all of them are {@link Ok}. Otherwise, returns the first {@link Err}, in argument order.
+     *
+     * @param r1 The first result.
+     * @param r2 The second result.
+     * @param r3 The third result.
+     * @param r4 The fourth result.
+     * @param r5 The fifth result.
+     * @param combiner The function to call with the {@link Ok} values.
+     * @param <T1> The type of the first {@link Ok} value.
+     * @param <T2> The type of the second {@link Ok} value.
+     * @param <T3> The type of the third {@link Ok} value.
+     * @param <T4> The type of the fourth {@link Ok} value.
+     * @param <T5> The type of the fifth {@link Ok} value.
+     * @param <R> The type of the {@link Ok} value returned by {@code combiner}.
+     * @param <E> The type of the {@link Err} value of every result.
+     * @return {@link Ok} containing the value of {@code combiner} if every result is an {@link Ok},
+     *         otherwise the first {@link Err}.
+     */
+    public static <T1, T2, T3, T4, T5, R, E> Result<R, E> zip5(final Result<T1, E> r1, final Result<T2, E> r2,
+            final Result<T3, E> r3, final Result<T4, E> r4, final Result<T5, E> r5,
+            final Function5<T1, T2, T3, T4, T5, R> combiner) {
+        if (r1.isErr()) {
+            return recast(r1);
+        }
+        if (r2.isErr()) {
+            return recast(r2);
+        }
+        if (r3.isErr()) {
+            return recast(r3);
+        }
+        if (r4.isErr()) {
+            return recast(r4);
+        }
+        if (r5.isErr()) {
+            return recast(r5);
+        }
+        return Ok.of(combiner.apply(r1.unwrap(), r2.unwrap(), r3.unwrap(), r4.unwrap(), r5.unwrap()));
+    }
+
+    /**
+     * Combines six independent results, calling {@code combiner} once with every {@link Ok} value
+     * if all of them are {@link Ok}. Otherwise, returns the first {@link Err}, in argument order.
+     *
+     * @param r1 The first result.
+     * @param r2 The second result.
+     * @param r3 The third result.
+     * @param r4 The fourth result.
+     * @param r5 The fifth result.
+     * @param r6 The sixth result.
+     * @param combiner The function to call with the {@link Ok} values.
+     * @param <T1> The type of the first {@link Ok} value.
+     * @param <T2> The type of the second {@link Ok} value.
+     * @param <T3> The type of the third {@link Ok} value.
+     * @param <T4> The type of the fourth {@link Ok} value.
+     * @param <T5> The type of the fifth {@link Ok} value.
+     * @param <T6> The type of the sixth {@link Ok} value.
+     * @param <R> The type of the {@link Ok} value returned by {@code combiner}.
+     * @param <E> The type of the {@link Err} value of every result.
+     * @return {@link Ok} containing the value of {@code combiner} if every result is an {@link Ok},
+     *         otherwise the first {@link Err}.
+     */
+    public static <T1, T2, T3, T4, T5, T6, R, E> Result<R, E> zip6(final Result<T1, E> r1, final Result<T2, E> r2,
+            final Result<T3, E> r3, final Result<T4, E> r4, final Result<T5, E> r5, final Result<T6, E> r6,
+            final Function6<T1, T2, T3, T4, T5, T6, R> combiner) {
+        if (r1.isErr()) {
+            return recast(r1);
+        }
+        if (r2.isErr()) {
+            return recast(r2);
+        }
+        if (r3.isErr()) {
+            return recast(r3);
+        }
+        if (r4.isErr()) {
+            return recast(r4);
+        }
+        if (r5.isErr()) {
+            return recast(r5);
+        }
+        if (r6.isErr()) {
+            return recast(r6);
+        }
+        return Ok.of(combiner.apply(r1.unwrap(), r2.unwrap(), r3.unwrap(), r4.unwrap(), r5.unwrap(), r6.unwrap()));
+    }
+
+    /**
+     * Combines seven independent results, calling {@code combiner} once with every {@link Ok} value
+     * if all of them are {@link Ok}. Otherwise, returns the first {@link Err}, in argument order.
+     *
+     * @param r1 The first result.
+     * @param r2 The second result.
+     * @param r3 The third result.
+     * @param r4 The fourth result.
+     * @param r5 The fifth result.
+     * @param r6 The sixth result.
+     * @param r7 The seventh result.
+     * @param combiner The function to call with the {@link Ok} values.
+     * @param <T1> The type of the first {@link Ok} value.
+     * @param <T2> The type of the second {@link Ok} value.
+     * @param <T3> The type of the third {@link Ok} value.
+     * @param <T4> The type of the fourth {@link Ok} value.
+     * @param <T5> The type of the fifth {@link Ok} value.
+     * @param <T6> The type of the sixth {@link Ok} value.
+     * @param <T7> The type of the seventh {@link Ok} value.
+     * @param <R> The type of the {@link Ok} value returned by {@code combiner}.
+     * @param <E> The type of the {@link Err} value of every result.
+     * @return {@link Ok} containing the value of {@code combiner} if every result is an {@link Ok},
+     *         otherwise the first {@link Err}.
+     */
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    public static <T1, T2, T3, T4, T5, T6, T7, R, E> Result<R, E> zip7(final Result<T1, E> r1, final Result<T2, E> r2,
+            final Result<T3, E> r3, final Result<T4, E> r4, final Result<T5, E> r5, final Result<T6, E> r6,
+            final Result<T7, E> r7, final Function7<T1, T2, T3, T4, T5, T6, T7, R> combiner) {
+        if (r1.isErr()) {
+            return recast(r1);
+        }
+        if (r2.isErr()) {
+            return recast(r2);
+        }
+        if (r3.isErr()) {
+            return recast(r3);
+        }
+        if (r4.isErr()) {
+            return recast(r4);
+        }
+        if (r5.isErr()) {
+            return recast(r5);
+        }
+        if (r6.isErr()) {
+            return recast(r6);
+        }
+        if (r7.isErr()) {
+            return recast(r7);
+        }
+        return Ok.of(combiner.apply(r1.unwrap(), r2.unwrap(), r3.unwrap(), r4.unwrap(),
+            r5.unwrap(), r6.unwrap(), r7.unwrap()));
+    }
+
+    /**
+     * Combines eight independent results, calling {@code combiner} once with every {@link Ok} value
+     * if all of them are {@link Ok}. Otherwise, returns the first {@link Err}, in argument order.
+     *
+     * @param r1 The first result.
+     * @param r2 The second result.
+     * @param r3 The third result.
+     * @param r4 The fourth result.
+     * @param r5 The fifth result.
+     * @param r6 The sixth result.
+     * @param r7 The seventh result.
+     * @param r8 The eighth result.
+     * @param combiner The function to call with the {@link Ok} values.
+     * @param <T1> The type of the first {@link Ok} value.
+     * @param <T2> The type of the second {@link Ok} value.
+     * @param <T3> The type of the third {@link Ok} value.
+     * @param <T4> The type of the fourth {@link Ok} value.
+     * @param <T5> The type of the fifth {@link Ok} value.
+     * @param <T6> The type of the sixth {@link Ok} value.
+     * @param <T7> The type of the seventh {@link Ok} value.
+     * @param <T8> The type of the eighth {@link Ok} value.
+     * @param <R> The type of the {@link Ok} value returned by {@code combiner}.
+     * @param <E> The type of the {@link Err} value of every result.
+     * @return {@link Ok} containing the value of {@code combiner} if every result is an {@link Ok},
+     *         otherwise the first {@link Err}.
+     */
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    public static <T1, T2, T3, T4, T5, T6, T7, T8, R, E> Result<R, E> zip8(final Result<T1, E> r1,
+            final Result<T2, E> r2, final Result<T3, E> r3, final Result<T4, E> r4, final Result<T5, E> r5,
+            final Result<T6, E> r6, final Result<T7, E> r7, final Result<T8, E> r8,
+            final Function8<T1, T2, T3, T4, T5, T6, T7, T8, R> combiner) {
+        if (r1.isErr()) {
+            return recast(r1);
+        }
+        if (r2.isErr()) {
+            return recast(r2);
+        }
+        if (r3.isErr()) {
+            return recast(r3);
+        }
+        if (r4.isErr()) {
+            return recast(r4);
+        }
+        if (r5.isErr()) {
+            return recast(r5);
+        }
+        if (r6.isErr()) {
+            return recast(r6);
+        }
+        if (r7.isErr()) {
+            return recast(r7);
+        }
+        if (r8.isErr()) {
+            return recast(r8);
+        }
+        return Ok.of(combiner.apply(r1.unwrap(), r2.unwrap(), r3.unwrap(), r4.unwrap(),
+            r5.unwrap(), r6.unwrap(), r7.unwrap(), r8.unwrap()));
+    }
+
+    /**
+     * Collects the {@link Ok} values of every result into a list, if all of them are {@link Ok}.
+     * Otherwise, returns the first {@link Err}, in iteration order.
+     *
+     * @param results The results to combine.
+     * @param <T> The type of the {@link Ok} value of every result.
+     * @param <E> The type of the {@link Err} value of every result.
+     * @return {@link Ok} containing every {@link Ok} value in iteration order, otherwise the first {@link Err}.
+     */
+    public static <T, E> Result<List<T>, E> zipAll(final Iterable<? extends Result<T, E>> results) {
+        final List<T> values = new ArrayList<>();
+        for (final Result<T, E> result : results) {
+            if (result.isErr()) {
+                return recast(result);
+            }
+            values.add(result.unwrap());
+        }
+        return Ok.of(values);
+    }
+
+    /**
+     * Collects the {@link Ok} values of every result into a list, if all of them are {@link Ok}.
+     * Otherwise, returns every {@link Err} value, rather than only the first one.
+     *
+     * @param results The results to combine.
+     * @param <T> The type of the {@link Ok} value of every result.
+     * @param <E> The type of the {@link Err} value of every result.
+     * @return {@link Ok} containing every {@link Ok} value in iteration order, otherwise {@link Err}
+     *         containing every {@link Err} value in iteration order.
+     */
+    public static <T, E> Result<List<T>, List<E>> zipAllErrors(final Iterable<? extends Result<T, E>> results) {
+        final List<T> values = new ArrayList<>();
+        List<E> errors = null;
+        for (final Result<T, E> result : results) {
+            if (result.isOk()) {
+                values.add(result.unwrap());
+            } else {
+                if (errors == null) {
+                    errors = new ArrayList<>();
+                }
+                errors.add(result.unwrapErr());
+            }
+        }
+        return errors == null ? Ok.of(values) : Err.of(errors);
+    }
+
+    /**
+     * Folds the {@link Ok} values of {@code results} in parallel on the common {@link ForkJoinPool}.
+     *
+     * @param results The results to fold.
+     * @param identity The initial value of every partial fold; must be an identity for {@code okCombiner}.
+     * @param accumulator Function folding one {@link Ok} value into a partial result.
+     * @param okCombiner Associative function combining two partial results.
+     * @param errCombiner Associative function combining two errors, used in {@link FoldMode#COLLECT_ALL} mode.
+     * @param mode Whether to stop at the first {@link Err} or to combine every {@link Err}.
+     * @param <T> The type of the {@link Ok} value of every result.
+     * @param <A> The type of the folded value.
+     * @param <E> The type of the {@link Err} value of every result.
+     * @return {@link Ok} containing the folded value if every result is an {@link Ok}, otherwise an {@link Err}
+     *         as described by {@code mode}.
+     * @see #foldParallel(Collection, Object, BiFunction, BinaryOperator, BinaryOperator, FoldMode, ForkJoinPool)
+     */
+    public static <T, A, E> Result<A, E> foldParallel(final Collection<? extends Result<T, E>> results, final A identity,
+                                                      final BiFunction<A, ? super T, A> accumulator,
+                                                      final BinaryOperator<A> okCombiner,
+                                                      final BinaryOperator<E> errCombiner, final FoldMode mode) {
+        return foldParallel(results, identity, accumulator, okCombiner, errCombiner, mode, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Folds the {@link Ok} values of {@code results} in parallel on {@code pool}.
+     *
+     * <p>The input is split into contiguous ranges, each folded from {@code identity} with {@code accumulator},
+     * and the partial results are merged with {@code okCombiner} in encounter order. As with
+     * {@link java.util.stream.Stream#reduce(Object, BiFunction, BinaryOperator)}, {@code okCombiner} must be
+     * associative and compatible with {@code accumulator}, and {@code identity} must be its identity; all
+     * three functions must be safe to call from several threads at once.
+     *
+     * <p>Inputs smaller than a few thousand results are folded on the calling thread.
+     *
+     * @param results The results to fold.
+     * @param identity The initial value of every partial fold; must be an identity for {@code okCombiner}.
+     * @param accumulator Function folding one {@link Ok} value into a partial result.
+     * @param okCombiner Associative function combining two partial results.
+     * @param errCombiner Associative function combining two errors, used in {@link FoldMode#COLLECT_ALL} mode.
+     * @param mode Whether to stop at the first {@link Err} or to combine every {@link Err}.
+     * @param pool The pool to run the fold on.
+     * @param <T> The type of the {@link Ok} value of every result.
+     * @param <A> The type of the folded value.
+     * @param <E> The type of the {@link Err} value of every result.
+     * @return {@link Ok} containing the folded value if every result is an {@link Ok}, otherwise an {@link Err}
+     *         as described by {@code mode}.
+     */
+    public static <T, A, E> Result<A, E> foldParallel(final Collection<? extends Result<T, E>> results, final A identity,
+                                                      final BiFunction<A, ? super T, A> accumulator,
+                                                      final BinaryOperator<A> okCombiner,
+                                                      final BinaryOperator<E> errCombiner, final FoldMode mode,
+                                                      final ForkJoinPool pool) {
+        return ParallelFold.fold(results.toArray(), () -> new ParallelFold.ObjectPartial<>(identity, accumulator, okCombiner),
+            errCombiner, mode, pool);
+    }
+
+    /**
+     * Sums the {@link Ok} values of {@code results}, mapped to {@code long}, in parallel on the common
+     * {@link ForkJoinPool}.
+     *
+     * @param results The results to sum.
+     * @param mapper Function mapping an {@link Ok} value to the {@code long} to add.
+     * @param errCombiner Associative function combining two errors, used in {@link FoldMode#COLLECT_ALL} mode.
+     * @param mode Whether to stop at the first {@link Err} or to combine every {@link Err}.
+     * @param <T> The type of the {@link Ok} value of every result.
+     * @param <E> The type of the {@link Err} value of every result.
+     * @return {@link Ok} containing the sum if every result is an {@link Ok}, otherwise an {@link Err}
+     *         as described by {@code mode}.
+     * @see #sumLongParallel(Collection, ToLongFunction, BinaryOperator, FoldMode, ForkJoinPool)
+     */
+    public static <T, E> Result<Long, E> sumLongParallel(final Collection<? extends Result<T, E>> results,
+                                                         final ToLongFunction<? super T> mapper,
+                                                         final BinaryOperator<E> errCombiner, final FoldMode mode) {
+        return sumLongParallel(results, mapper, errCombiner, mode, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Sums the {@link Ok} values of {@code results}, mapped to {@code long}, in parallel on {@code pool}.
+     *
+     * <p>Unlike {@link #foldParallel} with a boxed accumulator, every worker keeps its running sum in a
+     * primitive field, so no {@link Long} is allocated per element. Overflow wraps around silently, as it
+     * does for {@link java.util.stream.LongStream#sum()}.
+     *
+     * @param results The results to sum.
+     * @param mapper Function mapping an {@link Ok} value to the {@code long} to add.
+     * @param errCombiner Associative function combining two errors, used in {@link FoldMode#COLLECT_ALL} mode.
+     * @param mode Whether to stop at the first {@link Err} or to combine every {@link Err}.
+     * @param pool The pool to run the sum on.
+     * @param <T> The type of the {@link Ok} value of every result.
+     * @param <E> The type of the {@link Err} value of every result.
+     * @return {@link Ok} containing the sum if every result is an {@link Ok}, otherwise an {@link Err}
+     *         as described by {@code mode}.
+     */
+    public static <T, E> Result<Long, E> sumLongParallel(final Collection<? extends Result<T, E>> results,
+                                                         final ToLongFunction<? super T> mapper,
+                                                         final BinaryOperator<E> errCombiner, final FoldMode mode,
+                                                         final ForkJoinPool pool) {
+        return ParallelFold.fold(results.toArray(), () -> new ParallelFold.LongSum<>(mapper), errCombiner, mode, pool);
+    }
+
+    /**
+     * Sums the {@link Ok} values of {@code results}, mapped to {@code double}, in parallel on the common
+     * {@link ForkJoinPool}.
+     *
+     * @param results The results to sum.
+     * @param mapper Function mapping an {@link Ok} value to the {@code double} to add.
+     * @param errCombiner Associative function combining two errors, used in {@link FoldMode#COLLECT_ALL} mode.
+     * @param mode Whether to stop at the first {@link Err} or to combine every {@link Err}.
+     * @param <T> The type of the {@link Ok} value of every result.
+     * @param <E> The type of the {@link Err} value of every result.
+     * @return {@link Ok} containing the sum if every result is an {@link Ok}, otherwise an {@link Err}
+     *         as described by {@code mode}.
+     * @see #sumDoubleParallel(Collection, ToDoubleFunction, BinaryOperator, FoldMode, ForkJoinPool)
+     */
+    public static <T, E> Result<Double, E> sumDoubleParallel(final Collection<? extends Result<T, E>> results,
+                                                             final ToDoubleFunction<? super T> mapper,
+                                                             final BinaryOperator<E> errCombiner, final FoldMode mode) {
+        return sumDoubleParallel(results, mapper, errCombiner, mode, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Sums the {@link Ok} values of {@code results}, mapped to {@code double}, in parallel on {@code pool}.
+     *
+     * <p>Every worker keeps its running sum in primitive fields and uses compensated summation, as
+     * {@link java.util.stream.DoubleStream#sum()} does, so the rounding error stays small and largely
+     * independent of how the input was split between workers.
+     *
+     * @param results The results to sum.
+     * @param mapper Function mapping an {@link Ok} value to the {@code double} to add.
+     * @param errCombiner Associative function combining two errors, used in {@link FoldMode#COLLECT_ALL} mode.
+     * @param mode Whether to stop at the first {@link Err} or to combine every {@link Err}.
+     * @param pool The pool to run the sum on.
+     * @param <T> The type of the {@link Ok} value of every result.
+     * @param <E> The type of the {@link Err} value of every result.
+     * @return {@link Ok} containing the sum if every result is an {@link Ok}, otherwise an {@link Err}
+     *         as described by {@code mode}.
+     */
+    public static <T, E> Result<Double, E> sumDoubleParallel(final Collection<? extends Result<T, E>> results,
+                                                             final ToDoubleFunction<? super T> mapper,
+                                                             final BinaryOperator<E> errCombiner, final FoldMode mode,
+                                                             final ForkJoinPool pool) {
+        return ParallelFold.fold(results.toArray(), () -> new ParallelFold.DoubleSum<>(mapper), errCombiner, mode, pool);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <R, E> Result<R, E> recast(final Result<?, E> err) {
+        return (Result<R, E>) err;
+    }
+}
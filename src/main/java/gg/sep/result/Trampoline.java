@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result;
+
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Stack-safe description of a chain of {@link Result#andThen(Function)} calls.
+ *
+ * <p>Recursive algorithms written directly with {@link Result#andThen(Function)}, such as parsers
+ * or tree walks, grow the call stack by at least one frame per step, and fail with a
+ * {@link StackOverflowError} on deep inputs. A {@link Trampoline} records each step instead of
+ * running it, and {@link #run()} then evaluates the whole chain in a loop, keeping pending
+ * continuations on the heap. The stack depth stays constant however deep the chain is:
+ *
+ * <pre>{@code
+ *     Trampoline<Integer, String> depth(final Node node) {
+ *         if (node.isLeaf()) {
+ *             return Trampoline.ok(0);
+ *         }
+ *         return Trampoline.defer(() -> depth(node.child())).map(d -> d + 1);
+ *     }
+ *
+ *     final Result<Integer, String> result = depth(root).run();
+ * }</pre>
+ *
+ * <p>As with {@link Result}, the chain short-circuits on the first {@link Err}: the remaining
+ * continuations are discarded without being called.
+ *
+ * @param <T> Type of the success value of the result.
+ * @param <E> Type of the error value of the result.
+ */
+public abstract class Trampoline<T, E> {
+
+    private static final int SHALLOW_DEPTH = 16;
+
+    Trampoline() {
+    }
+
+    /**
+     * Constructs a {@link Trampoline} which is already complete with the given result.
+     *
+     * @param result The result of the computation.
+     * @param <T> Type of the success value.
+     * @param <E> Type of the error value.
+     * @return New completed {@link Trampoline}.
+     */
+    public static <T, E> Trampoline<T, E> done(final Result<T, E> result) {
+        Objects.requireNonNull(result);
+        return new Done<>(null, result);
+    }
+
+    /**
+     * Constructs a {@link Trampoline} which is already complete with an {@link Ok} value.
+     *
+     * @param value Success value.
+     * @param <T> Type of the success value.
+     * @param <E> Type of the error value.
+     * @return New completed {@link Trampoline}.
+     */
+    public static <T, E> Trampoline<T, E> ok(final T value) {
+        Objects.requireNonNull(value);
+        return new Done<>(value, null);
+    }
+
+    /**
+     * Constructs a {@link Trampoline} which is already complete with an {@link Err} value.
+     *
+     * @param error Error value.
+     * @param <T> Type of the success value.
+     * @param <E> Type of the error value.
+     * @return New completed {@link Trampoline}.
+     */
+    public static <T, E> Trampoline<T, E> err(final E error) {
+        return new Done<>(null, Err.of(error));
+    }
+
+    /**
+     * Constructs a {@link Trampoline} whose computation is deferred until {@link #run()}.
+     *
+     * <p>Recursive calls should be wrapped in {@code defer}, so that building the chain does not
+     * itself recurse.
+     *
+     * @param thunk Supplies the rest of the computation when it is run.
+     * @param <T> Type of the success value.
+     * @param <E> Type of the error value.
+     * @return New deferred {@link Trampoline}.
+     */
+    public static <T, E> Trampoline<T, E> defer(final Supplier<Trampoline<T, E>> thunk) {
+        Objects.requireNonNull(thunk);
+        return new Defer<>(thunk);
+    }
+
+    /**
+     * Stack-safe form of {@link Result#andThen(Function)}: when run, calls {@code op} with the
+     * {@link Ok} value of this computation, and continues with the {@link Trampoline} it returns.
+     *
+     * @param op The function to call on the {@link Ok} value.
+     * @param <U> The type of the {@link Ok} value of the {@link Trampoline} returned by {@code op}.
+     * @return New {@link Trampoline} running this computation followed by {@code op}.
+     */
+    public <U> Trampoline<U, E> andThen(final Function<T, Trampoline<U, E>> op) {
+        Objects.requireNonNull(op);
+        return new Bind<>(this, op);
+    }
+
+    /**
+     * Stack-safe form of {@link Result#map(Function)}.
+     *
+     * @param op The function to apply to the {@link Ok} value.
+     * @param <U> The type of the {@link Ok} value returned by {@code op}.
+     * @return New {@link Trampoline} running this computation, then mapping its {@link Ok} value.
+     */
+    public <U> Trampoline<U, E> map(final Function<T, U> op) {
+        Objects.requireNonNull(op);
+        return andThen(value -> ok(op.apply(value)));
+    }
+
+    /**
+     * Runs the computation in constant stack space, and returns its result.
+     *
+     * @return The {@link Result} of the computation.
+     */
+    public Result<T, E> run() {
+        return evaluate(this, SHALLOW_DEPTH).result();
+    }
+
+    /**
+     * Evaluates shallow chains directly on the call stack, which avoids allocating continuations.
+     * Once {@code budget} nested calls have been used, the rest of the chain is handed to
+     * {@link #runOnHeap()}, which bounds the stack depth of the whole evaluation.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T, E> Done<T, E> evaluate(final Trampoline<T, E> trampoline, final int budget) {
+        if (budget == 0) {
+            return trampoline.runOnHeap();
+        }
+        Trampoline<T, E> current = trampoline;
+        while (true) {
+            if (current instanceof Done) {
+                return (Done<T, E>) current;
+            } else if (current instanceof Defer) {
+                current = ((Defer<T, E>) current).thunk.get();
+            } else {
+                final Bind<Object, T, E> bind = (Bind<Object, T, E>) current;
+                final Done<Object, E> source = evaluate(bind.source, budget - 1);
+                if (source.isErr()) {
+                    return (Done<T, E>) (Done<?, E>) source;
+                }
+                current = bind.op.apply(source.okValue());
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Done<T, E> runOnHeap() {
+        Trampoline<Object, E> current = (Trampoline<Object, E>) this;
+        Continuation<E> continuations = null;
+        while (true) {
+            if (current instanceof Done) {
+                final Done<Object, E> done = (Done<Object, E>) current;
+                if (done.isErr() || continuations == null) {
+                    return (Done<T, E>) (Done<?, E>) done;
+                }
+                current = continuations.op.apply(done.okValue());
+                continuations = continuations.next;
+            } else if (current instanceof Defer) {
+                current = ((Defer<Object, E>) current).thunk.get();
+            } else {
+                final Bind<Object, Object, E> bind = (Bind<Object, Object, E>) current;
+                continuations = new Continuation<>(bind.op, continuations);
+                current = bind.source;
+            }
+        }
+    }
+
+    /**
+     * Pending continuations of {@link #runOnHeap()}, as a linked stack.
+     *
+     * @param <E> Type of the error value of the result.
+     */
+    private static final class Continuation<E> {
+        private final Function<Object, Trampoline<Object, E>> op;
+        private final Continuation<E> next;
+
+        private Continuation(final Function<Object, Trampoline<Object, E>> op, final Continuation<E> next) {
+            this.op = op;
+            this.next = next;
+        }
+    }
+
+    /**
+     * Completed computation. Values from {@link #ok(Object)} are kept unwrapped, so that the
+     * intermediate steps of a chain do not each allocate an {@link Ok}.
+     *
+     * @param <T> Type of the success value of the result.
+     * @param <E> Type of the error value of the result.
+     */
+    private static final class Done<T, E> extends Trampoline<T, E> {
+        private final T value;
+        private final Result<T, E> result;
+
+        private Done(final T value, final Result<T, E> result) {
+            this.value = value;
+            this.result = result;
+        }
+
+        private boolean isErr() {
+            return result != null && result.isErr();
+        }
+
+        private T okValue() {
+            return result == null ? value : result.unwrap();
+        }
+
+        private Result<T, E> result() {
+            return result == null ? Ok.of(value) : result;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <U> Trampoline<U, E> andThen(final Function<T, Trampoline<U, E>> op) {
+            Objects.requireNonNull(op);
+            // an Err never reaches op, so there is nothing to defer
+            return isErr() ? (Trampoline<U, E>) this : new Bind<>(this, op);
+        }
+    }
+
+    private static final class Defer<T, E> extends Trampoline<T, E> {
+        private final Supplier<Trampoline<T, E>> thunk;
+
+        private Defer(final Supplier<Trampoline<T, E>> thunk) {
+            this.thunk = thunk;
+        }
+    }
+
+    private static final class Bind<S, T, E> extends Trampoline<T, E> {
+        private final Trampoline<S, E> source;
+        private final Function<S, Trampoline<T, E>> op;
+
+        private Bind(final Trampoline<S, E> source, final Function<S, Trampoline<T, E>> op) {
+            this.source = source;
+            this.op = op;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Outcome of a validation which, unlike {@link Result}, keeps every error rather than only the first.
+ *
+ * <p>A {@link Validated} is either <em>valid</em>, containing a value of type {@code T}, or
+ * <em>invalid</em>, containing a non-empty {@link ErrorList} of {@code E}. Combining two invalid
+ * values with {@link #combine(Validated, BiFunction)} or {@link #sequence(Iterable)} concatenates
+ * their errors in constant time, so validating a payload of {@code n} fields costs {@code O(n)}:
+ *
+ * <pre>{@code
+ *     final Validated<User, String> user = validateName(form)
+ *         .combine(validateEmail(form), NameAndEmail::new)
+ *         .combine(validateAge(form), User::new);
+ *
+ *     final Result<User, ErrorList<String>> result = user.toResult();
+ * }</pre>
+ *
+ * @param <T> Type of the valid value.
+ * @param <E> Type of the error values.
+ */
+public final class Validated<T, E> {
+
+    private final T value;
+    private final ErrorList<E> errors;
+
+    private Validated(final T value, final ErrorList<E> errors) {
+        this.value = value;
+        this.errors = errors;
+    }
+
+    /**
+     * Constructs a new valid {@link Validated} with the provided value.
+     *
+     * @param value The valid value.
+     * @param <T> Type of the valid value.
+     * @param <E> Type of the error values.
+     * @return New valid {@link Validated}.
+     */
+    public static <T, E> Validated<T, E> valid(final T value) {
+        Objects.requireNonNull(value);
+        return new Validated<>(value, null);
+    }
+
+    /**
+     * Constructs a new invalid {@link Validated} with a single error.
+     *
+     * @param error The error value.
+     * @param <T> Type of the valid value.
+     * @param <E> Type of the error values.
+     * @return New invalid {@link Validated}.
+     */
+    public static <T, E> Validated<T, E> invalid(final E error) {
+        return new Validated<>(null, ErrorList.of(error));
+    }
+
+    /**
+     * Constructs a new invalid {@link Validated} with the provided errors.
+     *
+     * @param errors The error values.
+     * @param <T> Type of the valid value.
+     * @param <E> Type of the error values.
+     * @return New invalid {@link Validated}.
+     */
+    public static <T, E> Validated<T, E> invalid(final ErrorList<E> errors) {
+        Objects.requireNonNull(errors);
+        return new Validated<>(null, errors);
+    }
+
+    /**
+     * Converts a {@link Result} into a {@link Validated}, where an {@link Err} becomes an invalid
+     * {@link Validated} with a single error.
+     *
+     * @param result The result to convert.
+     * @param <T> Type of the valid value.
+     * @param <E> Type of the error values.
+     * @return Valid {@link Validated} if {@code result} is an {@link Ok}, otherwise invalid.
+     */
+    public static <T, E> Validated<T, E> fromResult(final Result<T, E> result) {
+        return result.isOk() ? valid(result.unwrap()) : invalid(result.unwrapErr());
+    }
+
+    /**
+     * Converts a {@link Result} holding accumulated errors, as returned by {@link #toResult()},
+     * back into a {@link Validated}.
+     *
+     * @param result The result to convert.
+     * @param <T> Type of the valid value.
+     * @param <E> Type of the error values.
+     * @return Valid {@link Validated} if {@code result} is an {@link Ok}, otherwise invalid.
+     */
+    public static <T, E> Validated<T, E> fromErrors(final Result<T, ErrorList<E>> result) {
+        return result.isOk() ? valid(result.unwrap()) : invalid(result.unwrapErr());
+    }
+
+    /**
+     * Combines every validation into a single {@link Validated} holding a list of their values,
+     * if all of them are valid. Otherwise, returns every error of every invalid validation, in order.
+     *
+     * @param validations The validations to combine.
+     * @param <T> Type of the valid values.
+     * @param <E> Type of the error values.
+     * @return Valid {@link Validated} containing every value in iteration order, otherwise invalid
+     *         {@link Validated} containing every error in iteration order.
+     */
+    public static <T, E> Validated<List<T>, E> sequence(final Iterable<Validated<T, E>> validations) {
+        final List<T> values = new ArrayList<>();
+        ErrorList<E> accumulated = null;
+        for (final Validated<T, E> validation : validations) {
+            if (validation.errors == null) {
+                values.add(validation.value);
+            } else {
+                accumulated = accumulated == null ? validation.errors : accumulated.concat(validation.errors);
+            }
+        }
+        return accumulated == null ? valid(values) : invalid(accumulated);
+    }
+
+    /**
+     * Returns {@code true} if this validation is valid.
+     *
+     * @return {@code true} if this validation is valid.
+     */
+    public boolean isValid() {
+        return errors == null;
+    }
+
+    /**
+     * Returns {@code true} if this validation is invalid.
+     *
+     * @return {@code true} if this validation is invalid.
+     */
+    public boolean isInvalid() {
+        return errors != null;
+    }
+
+    /**
+     * Returns the valid value, if any.
+     *
+     * @return {@link Optional} containing the valid value, otherwise empty.
+     */
+    public Optional<T> getValid() {
+        return Optional.ofNullable(value);
+    }
+
+    /**
+     * Returns the accumulated errors, if any.
+     *
+     * @return {@link Optional} containing the accumulated errors, otherwise empty.
+     */
+    public Optional<ErrorList<E>> getErrors() {
+        return Optional.ofNullable(errors);
+    }
+
+    /**
+     * Maps the valid value by applying a function to it, leaving the errors untouched, if any.
+     *
+     * @param op The function to apply to the valid value.
+     * @param <U> The type of the valid value returned by {@code op}.
+     * @return Valid {@link Validated} containing the result of {@code op}, otherwise {@code this}
+     *         cast to {@code Validated<U, E>}.
+     */
+    @SuppressWarnings("unchecked")
+    public <U> Validated<U, E> map(final Function<T, U> op) {
+        return errors == null ? valid(op.apply(value)) : (Validated<U, E>) this;
+    }
+
+    /**
+     * Combines this validation with {@code other}. If both are valid, calls {@code op} with both values.
+     * Otherwise, returns the errors of this validation followed by the errors of {@code other}.
+     *
+     * @param other The validation to combine with.
+     * @param op The function to call with both valid values.
+     * @param <U> The type of the valid value of {@code other}.
+     * @param <R> The type of the valid value returned by {@code op}.
+     * @return Valid {@link Validated} containing the result of {@code op} if both are valid, otherwise
+     *         invalid {@link Validated} containing the errors of both.
+     */
+    @SuppressWarnings("unchecked")
+    public <U, R> Validated<R, E> combine(final Validated<U, E> other, final BiFunction<T, U, R> op) {
+        if (errors == null) {
+            return other.errors == null ? valid(op.apply(value, other.value)) : (Validated<R, E>) other;
+        }
+        return other.errors == null ? (Validated<R, E>) this : invalid(errors.concat(other.errors));
+    }
+
+    /**
+     * Calls {@code op} with the valid value, if any. Like {@link Result#andThen(Function)}, this
+     * does not accumulate: an invalid validation is returned as is, without calling {@code op}.
+     *
+     * @param op The function to call with the valid value.
+     * @param <U> The type of the valid value returned by {@code op}.
+     * @return The result of {@code op} if this validation is valid, otherwise {@code this} cast to
+     *         {@code Validated<U, E>}.
+     */
+    @SuppressWarnings("unchecked")
+    public <U> Validated<U, E> andThen(final Function<T, Validated<U, E>> op) {
+        return errors == null ? op.apply(value) : (Validated<U, E>) this;
+    }
+
+    /**
+     * Converts this validation into a {@link Result} holding every accumulated error.
+     *
+     * @return {@link Ok} containing the valid value, otherwise {@link Err} containing every error.
+     */
+    public Result<T, ErrorList<E>> toResult() {
+        return errors == null ? Ok.of(value) : Err.of(errors);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (obj instanceof Validated) {
+            final Validated<?, ?> other = (Validated<?, ?>) obj;
+            return Objects.equals(other.value, value) && Objects.equals(other.errors, errors);
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return errors == null ? value.hashCode() : ~errors.hashCode();
+    }
+}
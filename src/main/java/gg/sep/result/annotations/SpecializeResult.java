@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Requests a specialized, non-generic result type for one pair of success and error types, to be
+ * generated at compile time by the {@code result-processor} annotation processor.
+ *
+ * <p>The generated class is a final class in the package of the annotated type, with unboxed fields
+ * for primitive types, the method set of {@link gg.sep.result.Result} using nested functional
+ * interfaces which take the specialized types directly, and {@code toResult()} /
+ * {@code fromResult(Result)} adapters to the generic {@link gg.sep.result.Result}:
+ *
+ * <pre>{@code
+ *     @SpecializeResult(ok = int.class, err = ParseError.class)
+ *     final class Parsers {
+ *         static IntParseErrorResult parseDigit(final char c) {
+ *             return c >= '0' && c <= '9' ? IntParseErrorResult.ok(c - '0') : IntParseErrorResult.err(ParseError.NOT_A_DIGIT);
+ *         }
+ *     }
+ * }</pre>
+ *
+ * <p>Both types must be primitive types, or non-generic classes or interfaces.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+@Repeatable(SpecializeResult.List.class)
+public @interface SpecializeResult {
+
+    /**
+     * The type of the success value.
+     *
+     * @return The type of the success value.
+     */
+    Class<?> ok();
+
+    /**
+     * The type of the error value.
+     *
+     * @return The type of the error value.
+     */
+    Class<?> err();
+
+    /**
+     * The simple name of the generated class. Defaults to the simple names of the success and error
+     * types followed by {@code Result}, such as {@code IntParseErrorResult}.
+     *
+     * @return The simple name of the generated class, or an empty string for the default name.
+     */
+    String name() default "";
+
+    /**
+     * Container for several {@link SpecializeResult} annotations on the same type.
+     */
+    @Retention(RetentionPolicy.SOURCE)
+    @Target(ElementType.TYPE)
+    @interface List {
+
+        /**
+         * The specializations to generate.
+         *
+         * @return The specializations to generate.
+         */
+        SpecializeResult[] value();
+    }
+}
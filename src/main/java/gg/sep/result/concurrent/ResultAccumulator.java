@@ -0,0 +1,323 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result.concurrent;
+
+import gg.sep.result.Err;
+import gg.sep.result.Ok;
+import gg.sep.result.Result;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Aggregates {@link Result} outcomes reported by many producer threads into a single summary.
+ *
+ * <p>Each producer thread writes into its own buffer, so {@link #add(Result)} never takes a lock
+ * and never contends with other producers. The buffers are merged only when a {@link Snapshot}
+ * is requested, which makes the accumulator a good fit for job summaries where many workers
+ * report outcomes and the totals are read once, or rarely.
+ *
+ * <p>The accumulator keeps:
+ * <ul>
+ *     <li>the number of {@link Ok} and {@link Err} outcomes reported,</li>
+ *     <li>the first {@code maxErrors} {@link Err} values, ordered by the time they were reported,</li>
+ *     <li>optionally, every {@link Ok} value (see {@link #retainingOk(int)}).</li>
+ * </ul>
+ *
+ * <p>A snapshot taken while producers are still running is weakly consistent: it reflects every
+ * outcome whose {@link #add(Result)} call completed before the snapshot started, and possibly some
+ * that were reported concurrently.
+ *
+ * <p>Buffers are owned by the producer threads and are released once the accumulator itself is
+ * no longer reachable.
+ *
+ * @param <T> Type of the success value of the accumulated results.
+ * @param <E> Type of the error value of the accumulated results.
+ */
+public final class ResultAccumulator<T, E> {
+
+    private final int maxErrors;
+    private final boolean retainOk;
+    private final Queue<Buffer> buffers = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<Buffer> localBuffer = ThreadLocal.withInitial(this::register);
+
+    private ResultAccumulator(final int maxErrors, final boolean retainOk) {
+        if (maxErrors < 0) {
+            throw new IllegalArgumentException("maxErrors must not be negative: " + maxErrors);
+        }
+        this.maxErrors = maxErrors;
+        this.retainOk = retainOk;
+    }
+
+    /**
+     * Constructs a new {@link ResultAccumulator} which counts outcomes and keeps the first
+     * {@code maxErrors} {@link Err} values, discarding {@link Ok} values.
+     *
+     * @param maxErrors Maximum number of {@link Err} values to keep.
+     * @param <T> Type of the success value.
+     * @param <E> Type of the error value.
+     * @return New {@link ResultAccumulator}.
+     * @throws IllegalArgumentException Thrown if {@code maxErrors} is negative.
+     */
+    public static <T, E> ResultAccumulator<T, E> create(final int maxErrors) {
+        return new ResultAccumulator<>(maxErrors, false);
+    }
+
+    /**
+     * Constructs a new {@link ResultAccumulator} which counts outcomes, keeps the first
+     * {@code maxErrors} {@link Err} values and keeps every {@link Ok} value.
+     *
+     * @param maxErrors Maximum number of {@link Err} values to keep.
+     * @param <T> Type of the success value.
+     * @param <E> Type of the error value.
+     * @return New {@link ResultAccumulator}.
+     * @throws IllegalArgumentException Thrown if {@code maxErrors} is negative.
+     */
+    public static <T, E> ResultAccumulator<T, E> retainingOk(final int maxErrors) {
+        return new ResultAccumulator<>(maxErrors, true);
+    }
+
+    /**
+     * Reports an outcome to the accumulator.
+     *
+     * <p>This method is safe to call from any number of threads concurrently, and never blocks.
+     *
+     * @param result The outcome to record.
+     */
+    public void add(final Result<T, E> result) {
+        final Buffer buffer = localBuffer.get();
+        if (result.isOk()) {
+            buffer.addOk(result.unwrap());
+        } else {
+            buffer.addErr(result.unwrapErr());
+        }
+    }
+
+    /**
+     * Merges the buffers of every producer thread into a {@link Snapshot}.
+     *
+     * @return Merged view of every outcome reported so far.
+     */
+    @SuppressWarnings("unchecked")
+    public Snapshot<T, E> snapshot() {
+        long okCount = 0;
+        long errCount = 0;
+        final List<TimedError> errors = new ArrayList<>();
+        final List<T> okValues = new ArrayList<>();
+        for (final Buffer buffer : buffers) {
+            final long bufferOk = buffer.okCount;
+            okCount += bufferOk;
+            errCount += buffer.errCount;
+            buffer.collectErrors(errors);
+            if (retainOk) {
+                buffer.collectOk((List<Object>) okValues, bufferOk);
+            }
+        }
+        errors.sort(Comparator.comparingLong(e -> e.nanos));
+        final List<E> firstErrors = new ArrayList<>(Math.min(errors.size(), maxErrors));
+        for (int i = 0; i < errors.size() && i < maxErrors; i++) {
+            firstErrors.add((E) errors.get(i).error);
+        }
+        return new Snapshot<>(okCount, errCount, firstErrors, okValues);
+    }
+
+    private Buffer register() {
+        final Buffer buffer = new Buffer(maxErrors, retainOk);
+        buffers.add(buffer);
+        return buffer;
+    }
+
+    /**
+     * Merged, immutable view of the outcomes reported to a {@link ResultAccumulator}.
+     *
+     * @param <T> Type of the success value of the accumulated results.
+     * @param <E> Type of the error value of the accumulated results.
+     */
+    public static final class Snapshot<T, E> {
+        private final long okCount;
+        private final long errCount;
+        private final List<E> errors;
+        private final List<T> okValues;
+
+        private Snapshot(final long okCount, final long errCount, final List<E> errors, final List<T> okValues) {
+            this.okCount = okCount;
+            this.errCount = errCount;
+            this.errors = Collections.unmodifiableList(errors);
+            this.okValues = Collections.unmodifiableList(okValues);
+        }
+
+        /**
+         * Returns the number of {@link Ok} outcomes reported.
+         *
+         * @return The number of {@link Ok} outcomes reported.
+         */
+        public long okCount() {
+            return okCount;
+        }
+
+        /**
+         * Returns the number of {@link Err} outcomes reported.
+         *
+         * @return The number of {@link Err} outcomes reported.
+         */
+        public long errCount() {
+            return errCount;
+        }
+
+        /**
+         * Returns the total number of outcomes reported.
+         *
+         * @return The total number of outcomes reported.
+         */
+        public long count() {
+            return okCount + errCount;
+        }
+
+        /**
+         * Returns the first {@link Err} values reported, ordered by the time they were reported.
+         *
+         * @return Unmodifiable list of at most {@code maxErrors} error values.
+         */
+        public List<E> errors() {
+            return errors;
+        }
+
+        /**
+         * Returns every {@link Ok} value reported, grouped by producer thread.
+         *
+         * @return Unmodifiable list of the {@link Ok} values, or an empty list if the accumulator
+         *         was not created with {@link ResultAccumulator#retainingOk(int)}.
+         */
+        public List<T> okValues() {
+            return okValues;
+        }
+    }
+
+    private static final class TimedError {
+        private final long nanos;
+        private final Object error;
+
+        private TimedError(final long nanos, final Object error) {
+            this.nanos = nanos;
+            this.error = error;
+        }
+    }
+
+    private static final class Chunk {
+        private static final int SIZE = 1024;
+
+        private final Object[] items = new Object[SIZE];
+        private volatile Chunk next;
+    }
+
+    /**
+     * Single-writer buffer owned by one producer thread. Counters are published with ordered
+     * writes, so the snapshot reader observes every element written before the count it reads.
+     */
+    private static final class Buffer {
+        private static final AtomicLongFieldUpdater<Buffer> OK_COUNT =
+            AtomicLongFieldUpdater.newUpdater(Buffer.class, "okCount");
+        private static final AtomicLongFieldUpdater<Buffer> ERR_COUNT =
+            AtomicLongFieldUpdater.newUpdater(Buffer.class, "errCount");
+        private static final AtomicIntegerFieldUpdater<Buffer> ERROR_SIZE =
+            AtomicIntegerFieldUpdater.newUpdater(Buffer.class, "errorSize");
+
+        private static final int INITIAL_ERRORS = 16;
+
+        // allocated on the first error and grown by doubling up to maxErrors, so that threads which report
+        // few or no errors do not each hold two arrays of maxErrors elements
+        private final int maxErrors;
+        private Object[] errors;
+        private long[] errorNanos;
+        private final Chunk okHead;
+        private final boolean retainOk;
+        private Chunk okTail;
+        private int okTailSize;
+
+        private volatile long okCount;
+        private volatile long errCount;
+        private volatile int errorSize;
+
+        private Buffer(final int maxErrors, final boolean retainOk) {
+            this.maxErrors = maxErrors;
+            this.retainOk = retainOk;
+            this.okHead = retainOk ? new Chunk() : null;
+            this.okTail = okHead;
+        }
+
+        private void addOk(final Object value) {
+            if (retainOk) {
+                if (okTailSize == Chunk.SIZE) {
+                    final Chunk chunk = new Chunk();
+                    okTail.next = chunk;
+                    okTail = chunk;
+                    okTailSize = 0;
+                }
+                okTail.items[okTailSize++] = value;
+            }
+            OK_COUNT.lazySet(this, okCount + 1);
+        }
+
+        private void addErr(final Object error) {
+            final int size = errorSize;
+            if (size < maxErrors) {
+                if (errors == null || size == errors.length) {
+                    // published to collectErrors by the lazySet of errorSize below
+                    final int capacity = Math.min(maxErrors, Math.max(INITIAL_ERRORS, size * 2));
+                    errors = size == 0 ? new Object[capacity] : Arrays.copyOf(errors, capacity);
+                    errorNanos = size == 0 ? new long[capacity] : Arrays.copyOf(errorNanos, capacity);
+                }
+                errors[size] = error;
+                errorNanos[size] = System.nanoTime();
+                ERROR_SIZE.lazySet(this, size + 1);
+            }
+            ERR_COUNT.lazySet(this, errCount + 1);
+        }
+
+        private void collectErrors(final List<TimedError> into) {
+            final int size = errorSize;
+            for (int i = 0; i < size; i++) {
+                into.add(new TimedError(errorNanos[i], errors[i]));
+            }
+        }
+
+        private void collectOk(final List<Object> into, final long count) {
+            Chunk chunk = okHead;
+            long remaining = count;
+            while (remaining > 0) {
+                final int n = (int) Math.min(remaining, Chunk.SIZE);
+                for (int i = 0; i < n; i++) {
+                    into.add(chunk.items[i]);
+                }
+                remaining -= n;
+                chunk = chunk.next;
+            }
+        }
+    }
+}
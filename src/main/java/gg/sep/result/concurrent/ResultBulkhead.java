@@ -0,0 +1,325 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result.concurrent;
+
+import gg.sep.result.Err;
+import gg.sep.result.Result;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Limits the number of concurrent calls to a downstream dependency, returning a preconfigured {@link Err}
+ * immediately when the limit is reached, instead of queueing the calling thread.
+ *
+ * <p>The limit adapts to the dependency with additive-increase/multiplicative-decrease control, as TCP
+ * congestion control does:
+ * <ul>
+ *     <li>a call which took longer than the latency threshold, returned a congestion {@link Err}, or threw,
+ *     multiplies the limit by the backoff ratio, unless the limit was already cut while the call was in
+ *     flight: as TCP cuts its window at most once per round trip, a burst of failures among calls in flight
+ *     together cuts the limit once, rather than once per failure;</li>
+ *     <li>any other call, started while at least half the limit was in use, raises the limit by one.</li>
+ * </ul>
+ * The limit therefore settles just under the concurrency the dependency serves within the threshold, and
+ * calls beyond it are shed at the cost of a compare-and-set rather than a queue wait:
+ *
+ * <pre>{@code
+ *     final ResultBulkhead<ApiError> bulkhead = ResultBulkhead.builder(ApiError.OVERLOADED)
+ *         .latencyThreshold(50, TimeUnit.MILLISECONDS)
+ *         .build();
+ *
+ *     final Result<Quote, ApiError> quote = bulkhead.call(() -> pricing.quote(request));
+ * }</pre>
+ *
+ * <p>Permits are taken and returned with atomic compare-and-set on a counter, and the limit is updated
+ * the same way, so no call ever blocks on the bulkhead itself.
+ *
+ * @param <E> Type of the error value of the guarded calls.
+ */
+public final class ResultBulkhead<E> {
+
+    private final Result<?, E> rejection;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final Predicate<? super E> isCongestion;
+    private final LongSupplier nanoClock;
+    // (number of cuts << 32) | limit, so that a cut and the check that no other cut happened are one CAS
+    private final AtomicLong limitState;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+
+    private ResultBulkhead(final Builder<E> builder) {
+        if (builder.minLimit > builder.initialLimit || builder.initialLimit > builder.maxLimit) {
+            throw new IllegalArgumentException(String.format("limits must satisfy min <= initial <= max: %d, %d, %d",
+                builder.minLimit, builder.initialLimit, builder.maxLimit));
+        }
+        this.rejection = Err.of(builder.rejection);
+        this.minLimit = builder.minLimit;
+        this.maxLimit = builder.maxLimit;
+        this.latencyThresholdNanos = builder.latencyThresholdNanos;
+        this.backoffRatio = builder.backoffRatio;
+        this.isCongestion = builder.isCongestion;
+        this.nanoClock = builder.nanoClock;
+        this.limitState = new AtomicLong(builder.initialLimit);
+    }
+
+    /**
+     * Starts building a bulkhead.
+     *
+     * @param rejection The error returned, as an {@link Err}, by calls rejected because the limit is reached.
+     * @param <E> Type of the error value of the guarded calls.
+     * @return New builder.
+     */
+    public static <E> Builder<E> builder(final E rejection) {
+        return new Builder<>(rejection);
+    }
+
+    /**
+     * Calls {@code supplier} if fewer calls than the current limit are in flight, and feeds its outcome and
+     * latency back into the limit.
+     *
+     * @param supplier The guarded call.
+     * @param <T> Type of the success value of the call.
+     * @return The result of {@code supplier}, or the rejection {@link Err} if the limit is reached.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Result<T, E> call(final Supplier<Result<T, E>> supplier) {
+        final long cuts = limitState.get() >>> Integer.SIZE;
+        final int concurrency = tryAcquire();
+        if (concurrency == 0) {
+            rejected.increment();
+            return (Result<T, E>) rejection;
+        }
+        final long start = nanoClock.getAsLong();
+        boolean congested = true;
+        try {
+            final Result<T, E> result = supplier.get();
+            congested = result.isErr() && isCongestion.test(result.unwrapErr());
+            return result;
+        } finally {
+            inFlight.decrementAndGet();
+            adjustLimit(congested || nanoClock.getAsLong() - start > latencyThresholdNanos, concurrency, cuts);
+        }
+    }
+
+    /**
+     * Returns the current concurrency limit.
+     *
+     * @return The current limit.
+     */
+    public int limit() {
+        return (int) limitState.get();
+    }
+
+    /**
+     * Returns the number of calls in flight.
+     *
+     * @return The number of calls in flight.
+     */
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Returns the number of calls rejected so far.
+     *
+     * @return The number of rejected calls.
+     */
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Takes a permit if one is available.
+     *
+     * @return The number of calls in flight, including this one, or {@code 0} if the limit is reached.
+     */
+    private int tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit()) {
+                return 0;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return current + 1;
+    }
+
+    /**
+     * Feeds the outcome of a call back into the limit.
+     *
+     * @param congested Whether the call signalled congestion.
+     * @param concurrency The number of calls in flight when the call started, including itself.
+     * @param cuts The number of cuts of the limit before the call started.
+     */
+    private void adjustLimit(final boolean congested, final int concurrency, final long cuts) {
+        long state;
+        long next;
+        do {
+            state = limitState.get();
+            final int current = (int) state;
+            if (congested) {
+                if (state >>> Integer.SIZE != cuts) {
+                    return; // already cut while this call was in flight
+                }
+                next = ((cuts + 1) << Integer.SIZE) | Math.max(minLimit, (int) (current * backoffRatio));
+            } else if (concurrency * 2 >= current) {
+                next = state - current + Math.min(maxLimit, current + 1);
+            } else {
+                return;
+            }
+        } while (next != state && !limitState.compareAndSet(state, next));
+    }
+
+    /**
+     * Builder of {@link ResultBulkhead}s.
+     *
+     * @param <E> Type of the error value of the guarded calls.
+     */
+    public static final class Builder<E> {
+        private final E rejection;
+        private int initialLimit = 20;
+        private int minLimit = 1;
+        private int maxLimit = 1000;
+        private long latencyThresholdNanos = TimeUnit.SECONDS.toNanos(1);
+        private double backoffRatio = 0.9;
+        private Predicate<? super E> isCongestion = error -> true;
+        private LongSupplier nanoClock = System::nanoTime;
+
+        private Builder(final E rejection) {
+            if (rejection == null) {
+                throw new NullPointerException("rejection");
+            }
+            this.rejection = rejection;
+        }
+
+        /**
+         * Sets the limit the bulkhead starts with. Defaults to 20.
+         *
+         * @param limit The initial limit.
+         * @return This builder.
+         */
+        public Builder<E> initialLimit(final int limit) {
+            this.initialLimit = limit;
+            return this;
+        }
+
+        /**
+         * Sets the lowest limit the bulkhead backs off to. Defaults to 1.
+         *
+         * @param limit The minimum limit.
+         * @return This builder.
+         * @throws IllegalArgumentException Thrown if {@code limit} is not positive.
+         */
+        public Builder<E> minLimit(final int limit) {
+            if (limit < 1) {
+                throw new IllegalArgumentException("minLimit must be positive: " + limit);
+            }
+            this.minLimit = limit;
+            return this;
+        }
+
+        /**
+         * Sets the highest limit the bulkhead grows to. Defaults to 1000.
+         *
+         * @param limit The maximum limit.
+         * @return This builder.
+         */
+        public Builder<E> maxLimit(final int limit) {
+            this.maxLimit = limit;
+            return this;
+        }
+
+        /**
+         * Sets the latency above which a call counts as a sign of congestion. Defaults to one second.
+         *
+         * @param threshold The latency threshold.
+         * @param unit The unit of {@code threshold}.
+         * @return This builder.
+         * @throws IllegalArgumentException Thrown if {@code threshold} is not positive.
+         */
+        public Builder<E> latencyThreshold(final long threshold, final TimeUnit unit) {
+            if (threshold <= 0) {
+                throw new IllegalArgumentException("latencyThreshold must be positive: " + threshold);
+            }
+            this.latencyThresholdNanos = unit.toNanos(threshold);
+            return this;
+        }
+
+        /**
+         * Sets the factor the limit is multiplied by on congestion. Defaults to 0.9.
+         *
+         * @param ratio The backoff ratio, greater than 0 and less than 1.
+         * @return This builder.
+         * @throws IllegalArgumentException Thrown if {@code ratio} is not between 0 and 1, exclusive.
+         */
+        public Builder<E> backoffRatio(final double ratio) {
+            if (!(ratio > 0 && ratio < 1)) {
+                throw new IllegalArgumentException("backoffRatio must be between 0 and 1: " + ratio);
+            }
+            this.backoffRatio = ratio;
+            return this;
+        }
+
+        /**
+         * Sets which {@link Err} values signal congestion, as opposed to errors unrelated to load, such as
+         * validation failures. Defaults to every error.
+         *
+         * @param predicate Returns {@code true} for errors which signal congestion.
+         * @return This builder.
+         */
+        public Builder<E> congestionErrors(final Predicate<? super E> predicate) {
+            this.isCongestion = Objects.requireNonNull(predicate, "congestionErrors");
+            return this;
+        }
+
+        /**
+         * Sets the clock used to measure call latency, in nanoseconds. Defaults to {@link System#nanoTime()}.
+         *
+         * @param clock The clock.
+         * @return This builder.
+         */
+        public Builder<E> nanoClock(final LongSupplier clock) {
+            this.nanoClock = Objects.requireNonNull(clock, "nanoClock");
+            return this;
+        }
+
+        /**
+         * Builds the bulkhead.
+         *
+         * @return New bulkhead.
+         * @throws IllegalArgumentException Thrown unless min limit &lt;= initial limit &lt;= max limit.
+         */
+        public ResultBulkhead<E> build() {
+            return new ResultBulkhead<>(this);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result.concurrent;
+
+import gg.sep.result.Err;
+import gg.sep.result.Ok;
+import gg.sep.result.Result;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Submits tasks to an {@link ExecutorService}, capturing their outcome as a {@link Result}.
+ *
+ * <p>A task which throws completes with an {@link Err} holding the thrown {@link Throwable}, or the error it
+ * maps to, caught at the task boundary on the worker thread. {@link Future#get()} on the returned futures
+ * therefore never throws {@link ExecutionException} for a failed task, and no wrapping exception is
+ * allocated:
+ *
+ * <pre>{@code
+ *     final ResultExecutor<Throwable> executor = ResultExecutor.of(Executors.newFixedThreadPool(8));
+ *     final Future<Result<Page, Throwable>> page = executor.submit(() -> fetch(url));
+ * }</pre>
+ *
+ * <p>Any {@link ExecutorService} can be wrapped, including thread pools and, on Java 21 and later, a
+ * virtual-thread-per-task executor. The wrapper holds no locks, and the executor's lifecycle remains with
+ * the caller.
+ *
+ * @param <E> Type of the error value of the submitted tasks' results.
+ */
+public final class ResultExecutor<E> {
+
+    private final ExecutorService executor;
+    private final Function<? super Throwable, ? extends E> errorMapper;
+
+    private ResultExecutor(final ExecutorService executor, final Function<? super Throwable, ? extends E> errorMapper) {
+        this.executor = Objects.requireNonNull(executor);
+        this.errorMapper = Objects.requireNonNull(errorMapper);
+    }
+
+    /**
+     * Constructs a new {@link ResultExecutor} whose {@link Err} values are the {@link Throwable}s thrown by tasks.
+     *
+     * @param executor The executor running the tasks.
+     * @return New {@link ResultExecutor}.
+     */
+    public static ResultExecutor<Throwable> of(final ExecutorService executor) {
+        return new ResultExecutor<>(executor, Function.identity());
+    }
+
+    /**
+     * Constructs a new {@link ResultExecutor} whose {@link Err} values are mapped from the {@link Throwable}s
+     * thrown by tasks.
+     *
+     * <p>The mapper runs on the worker thread. If it throws, the task fails as a plain {@link Future} would,
+     * with an {@link ExecutionException}.
+     *
+     * @param executor The executor running the tasks.
+     * @param errorMapper Maps a {@link Throwable} thrown by a task to its error value.
+     * @param <E> Type of the error value.
+     * @return New {@link ResultExecutor}.
+     */
+    public static <E> ResultExecutor<E> of(final ExecutorService executor,
+                                           final Function<? super Throwable, ? extends E> errorMapper) {
+        return new ResultExecutor<>(executor, errorMapper);
+    }
+
+    /**
+     * Submits a task for execution.
+     *
+     * <p>A task returning {@code null} completes with an {@link Err} of {@link NullPointerException}, since
+     * an {@link Ok} value may not be {@code null}.
+     *
+     * @param task The task to run.
+     * @param <T> Type of the value returned by the task.
+     * @return Future completing with {@link Ok} of the task's value, or {@link Err} of what it threw.
+     */
+    public <T> Future<Result<T, E>> submit(final Callable<? extends T> task) {
+        return executor.submit(new Task<>(task));
+    }
+
+    /**
+     * Runs every task and waits for all of them to complete.
+     *
+     * @param tasks The tasks to run.
+     * @param <T> Type of the value returned by the tasks.
+     * @return The result of each task, in the iteration order of {@code tasks}.
+     * @throws InterruptedException Thrown if the calling thread is interrupted while waiting. Unfinished
+     *                              tasks are cancelled.
+     * @throws CompletionException Thrown if the error mapper threw for a task; its cause is what the mapper threw.
+     */
+    public <T> List<Result<T, E>> invokeAll(final Collection<? extends Callable<? extends T>> tasks)
+        throws InterruptedException {
+        return results(executor.invokeAll(wrap(tasks)));
+    }
+
+    /**
+     * Runs every task and waits for all of them to complete, or for the timeout to expire, whichever comes
+     * first. Tasks which have not completed when the timeout expires are cancelled, and their result is an
+     * {@link Err} of {@link CancellationException}, mapped on the calling thread, whatever the task itself
+     * did once interrupted.
+     *
+     * @param tasks The tasks to run.
+     * @param timeout The maximum time to wait.
+     * @param unit The unit of {@code timeout}.
+     * @param <T> Type of the value returned by the tasks.
+     * @return The result of each task, in the iteration order of {@code tasks}.
+     * @throws InterruptedException Thrown if the calling thread is interrupted while waiting. Unfinished
+     *                              tasks are cancelled.
+     * @throws CompletionException Thrown if the error mapper threw for a task; its cause is what the mapper threw.
+     */
+    public <T> List<Result<T, E>> invokeAll(final Collection<? extends Callable<? extends T>> tasks,
+                                            final long timeout, final TimeUnit unit) throws InterruptedException {
+        return results(executor.invokeAll(wrap(tasks), timeout, unit));
+    }
+
+    private <T> List<Task<T>> wrap(final Collection<? extends Callable<? extends T>> tasks) {
+        final List<Task<T>> wrapped = new ArrayList<>(tasks.size());
+        for (final Callable<? extends T> task : tasks) {
+            wrapped.add(new Task<>(task));
+        }
+        return wrapped;
+    }
+
+    /**
+     * Collects the results of futures which are all done, as {@link ExecutorService#invokeAll} returns them.
+     */
+    private <T> List<Result<T, E>> results(final List<Future<Result<T, E>>> futures) throws InterruptedException {
+        final List<Result<T, E>> results = new ArrayList<>(futures.size());
+        for (final Future<Result<T, E>> future : futures) {
+            if (future.isCancelled()) {
+                results.add(Err.of(errorMapper.apply(new CancellationException("timed out"))));
+                continue;
+            }
+            try {
+                results.add(future.get());
+            } catch (final ExecutionException e) {
+                throw new CompletionException(e.getCause());
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Runs a task, capturing its outcome.
+     *
+     * @param <T> Type of the value returned by the task.
+     */
+    private final class Task<T> implements Callable<Result<T, E>> {
+        private final Callable<? extends T> task;
+
+        private Task(final Callable<? extends T> task) {
+            this.task = Objects.requireNonNull(task);
+        }
+
+        @Override
+        public Result<T, E> call() {
+            try {
+                return Ok.of(task.call());
+            } catch (final Throwable t) {
+                return Err.of(errorMapper.apply(t));
+            }
+        }
+    }
+}
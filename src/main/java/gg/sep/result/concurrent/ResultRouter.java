@@ -0,0 +1,492 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result.concurrent;
+
+import gg.sep.result.Err;
+import gg.sep.result.Ok;
+import gg.sep.result.Result;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Routes {@link Ok} values to a consumer on the calling thread, and offloads {@link Err} values to a
+ * slower sink, such as an audit log or a retry queue, through a bounded queue.
+ *
+ * <p>A single background thread drains the queue, handing errors to the sink in batches of up to
+ * {@code batchSize}. When errors arrive faster than the sink accepts them and the queue fills up, the
+ * {@link OverflowPolicy} decides what happens to the next error, so the {@link Ok} path only ever waits for
+ * the sink if {@link OverflowPolicy#BLOCK} is chosen:
+ *
+ * <pre>{@code
+ *     try (ResultRouter<Order, OrderError> router = ResultRouter.builder(fulfilment::ship, audit::writeAll)
+ *             .capacity(10_000)
+ *             .overflowPolicy(ResultRouter.OverflowPolicy.SAMPLE)
+ *             .build()) {
+ *         orders.forEach(order -> router.route(validate(order)));
+ *     }
+ * }</pre>
+ *
+ * <p>{@link #metrics()} reports the queue depth and how many errors were queued, dropped and delivered.
+ *
+ * <p>Queuing an error and {@link #close()} exclude each other, so every error a route reports as queued
+ * reaches the sink. Should the background thread ever stop on its own, routing an {@link Err} throws
+ * instead of queuing an error nobody will take.
+ *
+ * @param <T> Type of the success value of the routed results.
+ * @param <E> Type of the error value of the routed results.
+ */
+public final class ResultRouter<T, E> implements AutoCloseable {
+
+    private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+    private static final Object CLOSE = new Object();
+    private static final long POLL_MILLIS = 10;
+
+    /**
+     * What {@link #route(Result)} does with an {@link Err} while the queue is full, or filling up.
+     */
+    public enum OverflowPolicy {
+        /** Drop the error if the queue is full. */
+        DROP,
+
+        /** Wait for the sink to make room in the queue. */
+        BLOCK,
+
+        /**
+         * Once the queue is half full, queue only one error in every {@code sampleRate} and drop the others;
+         * drop every error if the queue is full. The errors reaching the sink stay representative of the
+         * whole stream instead of being only the oldest ones.
+         */
+        SAMPLE
+    }
+
+    private final Consumer<? super T> okConsumer;
+    private final Consumer<? super List<E>> errSink;
+    private final BlockingQueue<Object> queue;
+    private final int capacity;
+    private final int batchSize;
+    private final OverflowPolicy overflowPolicy;
+    private final int sampleRate;
+    private final Thread drainer;
+    private final AtomicLong sampleCounter = new AtomicLong();
+    private final LongAdder okCount = new LongAdder();
+    private final LongAdder errCount = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder sinkFailures = new LongAdder();
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private volatile boolean closed;
+    private boolean closeQueued;
+
+    private ResultRouter(final Builder<T, E> builder) {
+        this.okConsumer = builder.okConsumer;
+        this.errSink = builder.errSink;
+        this.capacity = builder.capacity;
+        this.queue = new ArrayBlockingQueue<>(builder.capacity);
+        this.batchSize = builder.batchSize;
+        this.overflowPolicy = builder.overflowPolicy;
+        this.sampleRate = builder.sampleRate;
+        this.drainer = builder.threadFactory.newThread(this::drainLoop);
+    }
+
+    /**
+     * Starts building a router.
+     *
+     * @param okConsumer Consumer of the {@link Ok} values, called on the routing thread.
+     * @param errSink Sink of the {@link Err} values, called with batches on the router's background thread.
+     * @param <T> Type of the success value of the routed results.
+     * @param <E> Type of the error value of the routed results.
+     * @return New builder.
+     */
+    public static <T, E> Builder<T, E> builder(final Consumer<? super T> okConsumer, final Consumer<? super List<E>> errSink) {
+        return new Builder<>(okConsumer, errSink);
+    }
+
+    /**
+     * Routes a result: an {@link Ok} value is passed to the {@link Ok} consumer before this method returns,
+     * and an {@link Err} value is queued for the sink according to the {@link OverflowPolicy}.
+     *
+     * @param result The result to route.
+     * @return {@code false} if the result is an {@link Err} which was dropped, {@code true} otherwise.
+     * @throws IllegalStateException Thrown if the router is closed, or if its background thread has stopped.
+     * @throws InterruptedException Thrown if the thread is interrupted while waiting for room in the queue.
+     */
+    public boolean route(final Result<T, E> result) throws InterruptedException {
+        if (closed) {
+            throw new IllegalStateException("router is closed");
+        }
+        if (result.isOk()) {
+            okCount.increment();
+            okConsumer.accept(result.unwrap());
+            return true;
+        }
+        final Lock routing = closeLock.readLock();
+        routing.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("router is closed");
+            }
+            errCount.increment();
+            final boolean queued = enqueue(result.unwrapErr());
+            if (!queued) {
+                dropped.increment();
+            }
+            return queued;
+        } finally {
+            routing.unlock();
+        }
+    }
+
+    private boolean enqueue(final E error) throws InterruptedException {
+        final boolean queued;
+        switch (overflowPolicy) {
+            case BLOCK:
+                while (!queue.offer(error, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    if (!drainer.isAlive()) {
+                        throw drainerStopped();
+                    }
+                }
+                queued = true;
+                break;
+            case SAMPLE:
+                queued = (queue.size() < capacity / 2 || sampleCounter.getAndIncrement() % sampleRate == 0) && queue.offer(error);
+                break;
+            default:
+                queued = queue.offer(error);
+                break;
+        }
+        if (queued && !drainer.isAlive() && queue.remove(error)) {
+            throw drainerStopped();
+        }
+        return queued;
+    }
+
+    private static IllegalStateException drainerStopped() {
+        return new IllegalStateException("router's background thread has stopped");
+    }
+
+    /**
+     * Returns a snapshot of the router's counters.
+     *
+     * @return The current metrics.
+     */
+    public Metrics metrics() {
+        return new Metrics(this);
+    }
+
+    /**
+     * Stops accepting results, waits for routes already queuing an error, waits until every queued error has
+     * been handed to the sink, and stops the background thread. Calling this method again after it returned
+     * has no effect.
+     *
+     * <p>If the thread is interrupted while waiting, its interrupt status is restored and an
+     * {@link IllegalStateException} is thrown; the router no longer accepts results, and calling this method
+     * again resumes waiting for the queued errors.
+     *
+     * @throws IllegalStateException Thrown if the thread is interrupted while waiting.
+     */
+    @Override
+    public void close() {
+        final Lock closing = closeLock.writeLock();
+        closing.lock();
+        try {
+            closed = true;
+            while (!closeQueued && drainer.isAlive()) {
+                closeQueued = queue.offer(CLOSE, POLL_MILLIS, TimeUnit.MILLISECONDS);
+            }
+            drainer.join();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while closing the router", e);
+        } finally {
+            closing.unlock();
+        }
+    }
+
+    private ResultRouter<T, E> start() {
+        drainer.start();
+        return this;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void drainLoop() {
+        final List<Object> batch = new ArrayList<>(batchSize);
+        boolean running = true;
+        while (running) {
+            try {
+                batch.add(queue.take());
+            } catch (final InterruptedException e) {
+                // The thread belongs to the router, and only close() stops it.
+                continue;
+            }
+            queue.drainTo(batch, batchSize - 1);
+            running = !batch.remove(CLOSE);
+            if (!running) {
+                // Errors queued by routes which raced with close() are still delivered.
+                queue.drainTo(batch);
+            }
+            for (int from = 0; from < batch.size(); from += batchSize) {
+                deliver((List<E>) batch.subList(from, Math.min(batch.size(), from + batchSize)));
+            }
+            batch.clear();
+        }
+    }
+
+    private void deliver(final List<E> errors) {
+        try {
+            errSink.accept(Collections.unmodifiableList(new ArrayList<>(errors)));
+            delivered.add(errors.size());
+        } catch (final Throwable t) {
+            // An Error from the sink must not stop the thread, or routes would wait for it forever.
+            sinkFailures.increment();
+        }
+        batches.increment();
+    }
+
+    /**
+     * Point-in-time view of a {@link ResultRouter}'s counters. Counters are read one after the other while
+     * routing may continue, so they are only approximately consistent with each other.
+     */
+    public static final class Metrics {
+        private final int queueDepth;
+        private final int capacity;
+        private final long okCount;
+        private final long errCount;
+        private final long dropped;
+        private final long delivered;
+        private final long batches;
+        private final long sinkFailures;
+
+        private Metrics(final ResultRouter<?, ?> router) {
+            this.queueDepth = router.queue.size();
+            this.capacity = router.capacity;
+            this.okCount = router.okCount.sum();
+            this.errCount = router.errCount.sum();
+            this.dropped = router.dropped.sum();
+            this.delivered = router.delivered.sum();
+            this.batches = router.batches.sum();
+            this.sinkFailures = router.sinkFailures.sum();
+        }
+
+        /**
+         * Returns the number of errors waiting in the queue.
+         *
+         * @return The queue depth.
+         */
+        public int queueDepth() {
+            return queueDepth;
+        }
+
+        /**
+         * Returns the maximum number of errors the queue holds.
+         *
+         * @return The queue capacity.
+         */
+        public int capacity() {
+            return capacity;
+        }
+
+        /**
+         * Returns the number of {@link Ok} results routed.
+         *
+         * @return The number of {@link Ok} results.
+         */
+        public long okCount() {
+            return okCount;
+        }
+
+        /**
+         * Returns the number of {@link Err} results routed, whether they were queued or dropped.
+         *
+         * @return The number of {@link Err} results.
+         */
+        public long errCount() {
+            return errCount;
+        }
+
+        /**
+         * Returns the number of errors dropped by the {@link OverflowPolicy}.
+         *
+         * @return The number of dropped errors.
+         */
+        public long dropped() {
+            return dropped;
+        }
+
+        /**
+         * Returns the number of errors the sink accepted without throwing.
+         *
+         * @return The number of delivered errors.
+         */
+        public long delivered() {
+            return delivered;
+        }
+
+        /**
+         * Returns the number of batches handed to the sink.
+         *
+         * @return The number of batches.
+         */
+        public long batches() {
+            return batches;
+        }
+
+        /**
+         * Returns the number of batches for which the sink threw, including {@link Error}s; their errors are lost.
+         *
+         * @return The number of failed batches.
+         */
+        public long sinkFailures() {
+            return sinkFailures;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Metrics[queueDepth=%d/%d, ok=%d, err=%d, dropped=%d, delivered=%d, batches=%d, sinkFailures=%d]",
+                queueDepth, capacity, okCount, errCount, dropped, delivered, batches, sinkFailures);
+        }
+    }
+
+    /**
+     * Builder of {@link ResultRouter}s.
+     *
+     * @param <T> Type of the success value of the routed results.
+     * @param <E> Type of the error value of the routed results.
+     */
+    public static final class Builder<T, E> {
+        private final Consumer<? super T> okConsumer;
+        private final Consumer<? super List<E>> errSink;
+        private int capacity = 1024;
+        private int batchSize = 64;
+        private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+        private int sampleRate = 10;
+        private ThreadFactory threadFactory = runnable -> {
+            final Thread thread = new Thread(runnable, "result-router-" + THREAD_NUMBER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+
+        private Builder(final Consumer<? super T> okConsumer, final Consumer<? super List<E>> errSink) {
+            if (okConsumer == null || errSink == null) {
+                throw new NullPointerException("okConsumer and errSink must not be null");
+            }
+            this.okConsumer = okConsumer;
+            this.errSink = errSink;
+        }
+
+        /**
+         * Sets the maximum number of errors waiting for the sink. Defaults to 1024.
+         *
+         * @param queueCapacity The queue capacity.
+         * @return This builder.
+         * @throws IllegalArgumentException Thrown if {@code queueCapacity} is not positive.
+         */
+        public Builder<T, E> capacity(final int queueCapacity) {
+            if (queueCapacity < 1) {
+                throw new IllegalArgumentException("capacity must be positive: " + queueCapacity);
+            }
+            this.capacity = queueCapacity;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of errors handed to the sink at once. Defaults to 64.
+         *
+         * @param maxBatchSize The maximum batch size.
+         * @return This builder.
+         * @throws IllegalArgumentException Thrown if {@code maxBatchSize} is not positive.
+         */
+        public Builder<T, E> batchSize(final int maxBatchSize) {
+            if (maxBatchSize < 1) {
+                throw new IllegalArgumentException("batchSize must be positive: " + maxBatchSize);
+            }
+            this.batchSize = maxBatchSize;
+            return this;
+        }
+
+        /**
+         * Sets what happens to errors while the queue is full. Defaults to {@link OverflowPolicy#DROP}.
+         *
+         * @param policy The overflow policy.
+         * @return This builder.
+         */
+        public Builder<T, E> overflowPolicy(final OverflowPolicy policy) {
+            if (policy == null) {
+                throw new NullPointerException("overflowPolicy");
+            }
+            this.overflowPolicy = policy;
+            return this;
+        }
+
+        /**
+         * Sets how many errors {@link OverflowPolicy#SAMPLE} sees for every one it queues under pressure.
+         * Defaults to 10.
+         *
+         * @param rate One error in {@code rate} is queued.
+         * @return This builder.
+         * @throws IllegalArgumentException Thrown if {@code rate} is not positive.
+         */
+        public Builder<T, E> sampleRate(final int rate) {
+            if (rate < 1) {
+                throw new IllegalArgumentException("sampleRate must be positive: " + rate);
+            }
+            this.sampleRate = rate;
+            return this;
+        }
+
+        /**
+         * Sets the factory of the background thread. Defaults to daemon threads named {@code result-router-N}.
+         *
+         * @param factory The thread factory.
+         * @return This builder.
+         */
+        public Builder<T, E> threadFactory(final ThreadFactory factory) {
+            if (factory == null) {
+                throw new NullPointerException("threadFactory");
+            }
+            this.threadFactory = factory;
+            return this;
+        }
+
+        /**
+         * Builds the router and starts its background thread.
+         *
+         * @return New, running router.
+         */
+        public ResultRouter<T, E> build() {
+            return new ResultRouter<>(this).start();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result.flow;
+
+import gg.sep.result.Result;
+
+import java.util.Objects;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+
+/**
+ * Processor calling an asynchronous function for every {@link gg.sep.result.Ok} value, with at most
+ * {@code maxConcurrency} calls in flight, and emitting their results in upstream order.
+ * {@link gg.sep.result.Err} items take a slot too, and pass through unchanged.
+ *
+ * <p>Calls in flight occupy a ring of slots. A completing call stores its result in its slot and runs the
+ * drain loop, which emits completed slots from the head of the ring for as long as downstream demand
+ * allows, then starts calls for the next queued items. A stage completing exceptionally, or with
+ * {@code null}, fails the stream.
+ *
+ * @param <T> Type of the success value of the received results.
+ * @param <U> Type of the success value of the published results.
+ * @param <E> Type of the error value of the results.
+ */
+final class AndThenAsyncProcessor<T, U, E> extends QueueDrainProcessor<Result<T, E>, Result<U, E>> {
+
+    private final Function<? super T, ? extends CompletionStage<Result<U, E>>> op;
+    private final Slot[] slots;
+
+    // Owned by the drain loop.
+    private int head;
+    private int tail;
+    private int inFlight;
+
+    AndThenAsyncProcessor(final Function<? super T, ? extends CompletionStage<Result<U, E>>> op, final int maxConcurrency) {
+        super(maxConcurrency);
+        this.op = op;
+        this.slots = new Slot[maxConcurrency];
+        for (int i = 0; i < maxConcurrency; i++) {
+            slots[i] = new Slot();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    void drainLoop(final ResultFlow.Subscriber<? super Result<U, E>> subscriber) {
+        final long requested = requested();
+        long emitted = 0;
+        for (;;) {
+            while (inFlight < slots.length) {
+                final Result<T, E> item = poll();
+                if (item == null) {
+                    break;
+                }
+                final Slot slot = slots[tail];
+                tail = tail + 1 == slots.length ? 0 : tail + 1;
+                inFlight++;
+                start(slot, item);
+            }
+            final boolean isDone = isDone();
+            final Object value = inFlight == 0 ? null : slots[head].value;
+            if (checkTerminated(subscriber, isDone, inFlight == 0 && queue.isEmpty())) {
+                return;
+            }
+            if (value == null || emitted == requested) {
+                break;
+            }
+            if (value instanceof Failure) {
+                fail(((Failure) value).throwable);
+                continue;
+            }
+            slots[head].value = null;
+            head = head + 1 == slots.length ? 0 : head + 1;
+            inFlight--;
+            subscriber.onNext((Result<U, E>) value);
+            emitted++;
+        }
+        produced(emitted);
+    }
+
+    private void start(final Slot slot, final Result<T, E> item) {
+        if (item.isErr()) {
+            slot.value = item;
+            return;
+        }
+        final CompletionStage<Result<U, E>> stage;
+        try {
+            stage = Objects.requireNonNull(op.apply(item.unwrap()), "op returned null");
+        } catch (final RuntimeException e) {
+            slot.value = new Failure(e);
+            return;
+        }
+        stage.whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                slot.value = new Failure(throwable);
+            } else if (result == null) {
+                slot.value = new Failure(new NullPointerException("stage completed with null"));
+            } else {
+                slot.value = result;
+            }
+            drain();
+        });
+    }
+
+    /**
+     * Position in the ring of calls in flight. {@code value} is {@code null} until the call completes.
+     */
+    private static final class Slot {
+        private volatile Object value;
+    }
+
+    /**
+     * Outcome of a call that threw or completed exceptionally.
+     */
+    private static final class Failure {
+        private final Throwable throwable;
+
+        private Failure(final Throwable throwable) {
+            this.throwable = throwable;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result.flow;
+
+import gg.sep.result.Result;
+
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Pass-through function which throws {@link ErrorBudgetExceededException} at the first {@link gg.sep.result.Err}
+ * that makes more than {@code maxErrors} errors within {@code windowNanos}.
+ *
+ * <p>The times of the last {@code maxErrors} errors are kept in a ring; the budget is exceeded when a new
+ * error arrives less than a window after the oldest of them. The ring starts small and doubles as errors
+ * arrive, so a generous budget costs nothing until it is used. The function is stateful, and is only ever
+ * called from the serialized drain loop of a {@link MapProcessor}.
+ *
+ * @param <T> Type of the success value of the results.
+ * @param <E> Type of the error value of the results.
+ */
+final class ErrBudget<T, E> implements UnaryOperator<Result<T, E>> {
+
+    private final int maxErrors;
+    private final long windowNanos;
+    private final LongSupplier nanoClock;
+    private static final int INITIAL_RING_SIZE = 16;
+
+    private long[] errorTimes;
+    private int next;
+    private int count;
+
+    ErrBudget(final int maxErrors, final long windowNanos, final LongSupplier nanoClock) {
+        if (maxErrors < 0) {
+            throw new IllegalArgumentException("maxErrors must not be negative: " + maxErrors);
+        }
+        if (windowNanos <= 0) {
+            throw new IllegalArgumentException("window must be positive: " + windowNanos + "ns");
+        }
+        this.maxErrors = maxErrors;
+        this.windowNanos = windowNanos;
+        this.nanoClock = nanoClock;
+        this.errorTimes = new long[Math.min(maxErrors, INITIAL_RING_SIZE)];
+    }
+
+    @Override
+    public Result<T, E> apply(final Result<T, E> result) {
+        if (result.isOk()) {
+            return result;
+        }
+        final long now = nanoClock.getAsLong();
+        if (count == maxErrors) {
+            if (maxErrors == 0 || now - errorTimes[next] < windowNanos) {
+                throw new ErrorBudgetExceededException(
+                    String.format("more than %d errors within %dns, last: %s", maxErrors, windowNanos, result.unwrapErr()));
+            }
+        } else {
+            if (count == errorTimes.length) {
+                // The ring is full and has never wrapped past its oldest entry, so next is 0.
+                errorTimes = Arrays.copyOf(errorTimes, (int) Math.min(maxErrors, errorTimes.length * 2L));
+                next = count;
+            }
+            count++;
+        }
+        errorTimes[next] = now;
+        next = next + 1 == errorTimes.length ? 0 : next + 1;
+        return result;
+    }
+}
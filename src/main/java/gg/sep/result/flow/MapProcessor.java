@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result.flow;
+
+import java.util.function.Function;
+
+/**
+ * Processor emitting one item per upstream item, computed by a function. A {@link RuntimeException}
+ * thrown by the function cancels upstream and fails the stream with that exception.
+ *
+ * @param <T> Type of the received items.
+ * @param <R> Type of the published items.
+ */
+final class MapProcessor<T, R> extends QueueDrainProcessor<T, R> {
+
+    private final Function<? super T, ? extends R> mapper;
+
+    MapProcessor(final Function<? super T, ? extends R> mapper, final int prefetch) {
+        super(prefetch);
+        this.mapper = mapper;
+    }
+
+    @Override
+    void drainLoop(final ResultFlow.Subscriber<? super R> subscriber) {
+        final long requested = requested();
+        long emitted = 0;
+        while (emitted != requested) {
+            final boolean isDone = isDone();
+            final T item = poll();
+            if (checkTerminated(subscriber, isDone, item == null)) {
+                return;
+            }
+            if (item == null) {
+                break;
+            }
+            final R mapped;
+            try {
+                mapped = mapper.apply(item);
+            } catch (final RuntimeException e) {
+                fail(e);
+                continue;
+            }
+            subscriber.onNext(mapped);
+            emitted++;
+        }
+        if (emitted == requested && checkTerminated(subscriber, isDone(), queue.isEmpty())) {
+            return;
+        }
+        produced(emitted);
+    }
+}
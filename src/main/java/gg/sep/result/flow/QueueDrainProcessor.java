@@ -0,0 +1,296 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result.flow;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Base of the processors in {@link ResultProcessors}: a single-subscriber {@link ResultFlow.Processor} which
+ * buffers upstream items in a bounded {@link SpscArrayQueue} and emits them from a serialized drain loop.
+ *
+ * <p>Signals from upstream ({@code onNext}, {@code onError}, {@code onComplete}), from downstream
+ * ({@code request}, {@code cancel}) and from asynchronous work all end in {@link #drain()}. The thread
+ * which increments the work counter from zero runs the loop, and any other thread only records that more
+ * work is pending, so {@link #drainLoop(ResultFlow.Subscriber)} never runs concurrently with itself and
+ * needs no lock.
+ *
+ * <p>Upstream demand is decoupled from downstream demand: the processor requests {@code prefetch} items
+ * up front, then requests more in batches of three quarters of {@code prefetch} as the loop consumes
+ * them, however small the downstream requests are.
+ *
+ * @param <T> Type of the received items.
+ * @param <R> Type of the published items.
+ */
+abstract class QueueDrainProcessor<T, R> implements ResultFlow.Processor<T, R>, ResultFlow.Subscription {
+
+    final SpscArrayQueue<T> queue;
+
+    private final AtomicReference<ResultFlow.Subscription> upstream = new AtomicReference<>();
+    private final AtomicReference<ResultFlow.Subscriber<? super R>> downstream = new AtomicReference<>();
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final int prefetch;
+    private final int limit;
+
+    private volatile boolean done;
+    private volatile boolean failed;
+    private volatile boolean cancelled;
+    private Throwable error;
+
+    // Owned by the drain loop.
+    private int consumed;
+    private boolean terminated;
+
+    QueueDrainProcessor(final int prefetch) {
+        if (prefetch < 1) {
+            throw new IllegalArgumentException("prefetch must be positive: " + prefetch);
+        }
+        this.queue = new SpscArrayQueue<>(prefetch);
+        this.prefetch = prefetch;
+        this.limit = prefetch - (prefetch >> 2);
+    }
+
+    @Override
+    public void subscribe(final ResultFlow.Subscriber<? super R> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("subscriber");
+        }
+        if (!downstream.compareAndSet(null, subscriber)) {
+            subscriber.onSubscribe(CancelledSubscription.INSTANCE);
+            subscriber.onError(new IllegalStateException("processor allows a single subscriber"));
+            return;
+        }
+        subscriber.onSubscribe(this);
+        drain();
+    }
+
+    @Override
+    public void onSubscribe(final ResultFlow.Subscription subscription) {
+        if (cancelled || !upstream.compareAndSet(null, subscription)) {
+            subscription.cancel();
+            return;
+        }
+        onUpstream();
+        subscription.request(prefetch);
+    }
+
+    @Override
+    public void onNext(final T item) {
+        if (done) {
+            return;
+        }
+        if (!queue.offer(item)) {
+            fail(new IllegalStateException("upstream sent more items than requested"));
+            return;
+        }
+        drain();
+    }
+
+    @Override
+    public void onError(final Throwable throwable) {
+        if (done) {
+            return;
+        }
+        error = throwable;
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void request(final long n) {
+        if (n <= 0) {
+            fail(new IllegalArgumentException("request must be positive: " + n));
+            return;
+        }
+        long current;
+        long next;
+        do {
+            current = requested.get();
+            next = current + n < 0 ? Long.MAX_VALUE : current + n;
+        } while (!requested.compareAndSet(current, next));
+        drain();
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+        cancelUpstream();
+        drain();
+    }
+
+    /**
+     * Called once the upstream subscription is set, before the first items are requested.
+     */
+    void onUpstream() {
+    }
+
+    /**
+     * Called from the drain loop when the downstream subscriber has cancelled.
+     */
+    void onCancelled() {
+    }
+
+    /**
+     * Called from the drain loop just before the terminal signal is sent downstream.
+     *
+     * @param throwable The failure, or {@code null} if the stream completes normally.
+     */
+    void onTerminated(final Throwable throwable) {
+    }
+
+    /**
+     * Emits what downstream demand allows. Never runs concurrently with itself.
+     *
+     * @param subscriber The downstream subscriber.
+     */
+    abstract void drainLoop(ResultFlow.Subscriber<? super R> subscriber);
+
+    /**
+     * Schedules the drain loop, running it on the calling thread unless another thread is already in it.
+     */
+    final void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            final ResultFlow.Subscriber<? super R> subscriber = downstream.get();
+            if (subscriber != null && !terminated) {
+                drainLoop(subscriber);
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /**
+     * Fails the stream with {@code throwable} as soon as possible, dropping buffered items.
+     *
+     * @param throwable The failure.
+     */
+    final void fail(final Throwable throwable) {
+        cancelUpstream();
+        error = throwable;
+        failed = true;
+        done = true;
+        drain();
+    }
+
+    /**
+     * Removes the next item from the queue, requesting another batch from upstream when due.
+     *
+     * @return The next item, or {@code null} if the queue is empty.
+     */
+    final T poll() {
+        final T item = queue.poll();
+        if (item != null && ++consumed == limit) {
+            consumed = 0;
+            upstream.get().request(limit);
+        }
+        return item;
+    }
+
+    /**
+     * Returns the number of items downstream has requested and not yet received.
+     *
+     * @return The outstanding demand.
+     */
+    final long requested() {
+        return requested.get();
+    }
+
+    /**
+     * Records that {@code n} items were emitted downstream.
+     *
+     * @param n Number of items emitted.
+     */
+    final void produced(final long n) {
+        if (n != 0 && requested.get() != Long.MAX_VALUE) {
+            requested.addAndGet(-n);
+        }
+    }
+
+    /**
+     * Sends the terminal signal, or clears the queue after cancellation, if the stream is over.
+     *
+     * @param subscriber The downstream subscriber.
+     * @param isDone Whether upstream had terminated before the caller checked for pending work.
+     * @param empty Whether no item is left to emit.
+     * @return {@code true} if the drain loop must stop for good.
+     */
+    final boolean checkTerminated(final ResultFlow.Subscriber<? super R> subscriber, final boolean isDone,
+                                  final boolean empty) {
+        if (cancelled) {
+            terminated = true;
+            queue.clear();
+            onCancelled();
+            return true;
+        }
+        if (failed || isDone && empty) {
+            terminated = true;
+            queue.clear();
+            final Throwable throwable = error;
+            onTerminated(throwable);
+            if (throwable != null) {
+                subscriber.onError(throwable);
+            } else {
+                subscriber.onComplete();
+            }
+            return true;
+        }
+        return false;
+    }
+
+    final boolean isDone() {
+        return done;
+    }
+
+    private void cancelUpstream() {
+        final ResultFlow.Subscription subscription = upstream.getAndSet(CancelledSubscription.INSTANCE);
+        if (subscription != null) {
+            subscription.cancel();
+        }
+    }
+
+    /**
+     * Subscription which ignores every call, given to rejected subscribers and stored once cancelled.
+     */
+    enum CancelledSubscription implements ResultFlow.Subscription {
+        /** The single instance. */
+        INSTANCE;
+
+        @Override
+        public void request(final long n) {
+        }
+
+        @Override
+        public void cancel() {
+        }
+    }
+}
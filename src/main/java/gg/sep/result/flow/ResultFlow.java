@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result.flow;
+
+/**
+ * Interfaces for asynchronous streams with non-blocking backpressure, with the same methods and
+ * contracts as {@code java.util.concurrent.Flow} (and the Reactive Streams specification it adopts).
+ *
+ * <p>{@code java.util.concurrent.Flow} only exists from Java 9, and this library targets Java 8 without
+ * dependencies, so the operators in {@link ResultProcessors} are written against these interfaces instead.
+ * Because the signatures match, bridging to {@code Flow} or to {@code org.reactivestreams} only takes a thin
+ * wrapper forwarding every method.
+ */
+public final class ResultFlow {
+
+    private ResultFlow() {
+    }
+
+    /**
+     * Producer of items, which are received by {@link Subscriber}s as they request them.
+     *
+     * @param <T> Type of the published items.
+     */
+    @FunctionalInterface
+    public interface Publisher<T> {
+        /**
+         * Adds {@code subscriber}, which then receives {@link Subscriber#onSubscribe(Subscription)} before
+         * any other signal.
+         *
+         * @param subscriber The subscriber.
+         * @throws NullPointerException Thrown if {@code subscriber} is {@code null}.
+         */
+        void subscribe(Subscriber<? super T> subscriber);
+    }
+
+    /**
+     * Receiver of items. Its methods are called serially, never concurrently.
+     *
+     * @param <T> Type of the received items.
+     */
+    public interface Subscriber<T> {
+        /**
+         * Called once, before any other method, with the subscription used to request items.
+         *
+         * @param subscription The subscription.
+         */
+        void onSubscribe(Subscription subscription);
+
+        /**
+         * Called with the next item, only after it was requested.
+         *
+         * @param item The item.
+         */
+        void onNext(T item);
+
+        /**
+         * Called once when the stream fails; no other method is called afterwards.
+         *
+         * @param throwable The failure.
+         */
+        void onError(Throwable throwable);
+
+        /**
+         * Called once when the stream ends normally; no other method is called afterwards.
+         */
+        void onComplete();
+    }
+
+    /**
+     * Link between a {@link Publisher} and one of its {@link Subscriber}s.
+     */
+    public interface Subscription {
+        /**
+         * Adds {@code n} to the number of items the subscriber is ready to receive. A non-positive
+         * {@code n} fails the stream with {@link IllegalArgumentException}.
+         *
+         * @param n Number of additional items to deliver.
+         */
+        void request(long n);
+
+        /**
+         * Asks the publisher to stop sending items. Items already in flight may still be delivered.
+         */
+        void cancel();
+    }
+
+    /**
+     * Stage which is both a {@link Subscriber} of its upstream and a {@link Publisher} to its downstream.
+     *
+     * @param <T> Type of the received items.
+     * @param <R> Type of the published items.
+     */
+    public interface Processor<T, R> extends Subscriber<T>, Publisher<R> {
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result.flow;
+
+import gg.sep.result.Result;
+
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Backpressure-aware {@link ResultFlow.Processor}s for asynchronous streams of {@link Result}s, so that each
+ * pipeline stage states explicitly what an {@link gg.sep.result.Err} does to the stream:
+ *
+ * <pre>{@code
+ *     final ResultFlow.Processor<Result<Event, String>, Result<Event, String>> budget =
+ *         ResultProcessors.errBudget(100, 1, TimeUnit.MINUTES);
+ *     final ResultFlow.Processor<Result<Event, String>, Result<User, String>> enrich =
+ *         ResultProcessors.andThenAsync(users::lookup, 16);
+ *     final ResultFlow.Processor<Result<User, String>, User> split = ResultProcessors.splitErr(deadLetters);
+ *
+ *     events.subscribe(budget);
+ *     budget.subscribe(enrich);
+ *     enrich.subscribe(split);
+ *     split.subscribe(sink);
+ * }</pre>
+ *
+ * <p>Every processor accepts a single downstream subscriber. It buffers upstream items in a bounded,
+ * lock-free single-producer single-consumer queue, and requests them from upstream in batches rather than
+ * one by one, so a slow consumer pauses the producer instead of growing a buffer, and a fast one does not
+ * pay a round trip per item. Emission runs in a serialized drain loop on whichever thread signals new work,
+ * without locks.
+ */
+public final class ResultProcessors {
+
+    /** Number of items requested from upstream up front; the same default as {@code Flow.defaultBufferSize()}. */
+    public static final int DEFAULT_PREFETCH = 256;
+
+    private ResultProcessors() {
+    }
+
+    /**
+     * Returns a processor applying {@code mapper} to the value of every {@link gg.sep.result.Ok}, and passing
+     * every {@link gg.sep.result.Err} through, as {@link Result#map(Function)} does. An exception thrown by
+     * {@code mapper} fails the stream.
+     *
+     * @param mapper The function to apply to {@link gg.sep.result.Ok} values.
+     * @param <T> Type of the success value of the received results.
+     * @param <U> Type of the success value of the published results.
+     * @param <E> Type of the error value of the results.
+     * @return New processor.
+     */
+    public static <T, U, E> ResultFlow.Processor<Result<T, E>, Result<U, E>> mapOk(final Function<? super T, ? extends U> mapper) {
+        return new MapProcessor<>(result -> result.map(mapper::apply), DEFAULT_PREFETCH);
+    }
+
+    /**
+     * Returns a processor calling the asynchronous {@code op} with the value of every {@link gg.sep.result.Ok}
+     * and emitting the results it completes with, as {@link Result#andThen(Function)} does. Every
+     * {@link gg.sep.result.Err} passes through unchanged, and the output keeps the upstream order.
+     *
+     * <p>At most {@code maxConcurrency} calls are in flight at once. A call which throws, or whose stage
+     * completes exceptionally or with {@code null}, fails the stream.
+     *
+     * @param op The asynchronous function to call with {@link gg.sep.result.Ok} values.
+     * @param maxConcurrency Maximum number of calls in flight.
+     * @param <T> Type of the success value of the received results.
+     * @param <U> Type of the success value of the published results.
+     * @param <E> Type of the error value of the results.
+     * @return New processor.
+     * @throws IllegalArgumentException Thrown if {@code maxConcurrency} is not positive.
+     */
+    public static <T, U, E> ResultFlow.Processor<Result<T, E>, Result<U, E>> andThenAsync(
+            final Function<? super T, ? extends CompletionStage<Result<U, E>>> op, final int maxConcurrency) {
+        return new AndThenAsyncProcessor<>(op, maxConcurrency);
+    }
+
+    /**
+     * Returns a processor emitting the value of every {@link gg.sep.result.Ok} downstream, and routing the
+     * value of every {@link gg.sep.result.Err} to {@code errors}.
+     *
+     * <p>{@code errors} is subscribed when the processor is, and has its own demand. Items are routed in
+     * order, so both subscribers wait while the next item is for one without demand. If {@code errors}
+     * cancels, later errors are dropped. When the stream terminates, or the downstream subscriber cancels,
+     * {@code errors} receives the same terminal signal, or {@code onComplete}.
+     *
+     * @param errors The subscriber receiving the {@link gg.sep.result.Err} values.
+     * @param <T> Type of the success value of the results.
+     * @param <E> Type of the error value of the results.
+     * @return New processor.
+     */
+    public static <T, E> ResultFlow.Processor<Result<T, E>, T> splitErr(final ResultFlow.Subscriber<? super E> errors) {
+        return new SplitErrProcessor<>(errors, DEFAULT_PREFETCH);
+    }
+
+    /**
+     * Returns a processor passing every result through, until more than {@code maxErrors}
+     * {@link gg.sep.result.Err}s arrive within {@code window}: it then cancels upstream and fails downstream
+     * with {@link ErrorBudgetExceededException}, instead of emitting the offending error.
+     *
+     * @param maxErrors Number of errors tolerated within any window.
+     * @param window Length of the window.
+     * @param unit Unit of {@code window}.
+     * @param <T> Type of the success value of the results.
+     * @param <E> Type of the error value of the results.
+     * @return New processor.
+     * @throws IllegalArgumentException Thrown if {@code maxErrors} is negative or {@code window} is not positive.
+     */
+    public static <T, E> ResultFlow.Processor<Result<T, E>, Result<T, E>> errBudget(final int maxErrors, final long window,
+                                                                                    final TimeUnit unit) {
+        return errBudget(maxErrors, unit.toNanos(window), System::nanoTime);
+    }
+
+    static <T, E> ResultFlow.Processor<Result<T, E>, Result<T, E>> errBudget(final int maxErrors, final long windowNanos,
+                                                                             final LongSupplier nanoClock) {
+        return new MapProcessor<>(new ErrBudget<T, E>(maxErrors, windowNanos, nanoClock), DEFAULT_PREFETCH);
+    }
+}
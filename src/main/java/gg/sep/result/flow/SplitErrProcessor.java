@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result.flow;
+
+import gg.sep.result.Result;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Processor emitting the {@link gg.sep.result.Ok} values downstream and routing the
+ * {@link gg.sep.result.Err} values to a side subscriber, each at the pace of its own demand.
+ *
+ * <p>Items leave the queue in order: when the next item is for a subscriber without demand, the other
+ * subscriber waits too, so a slow side subscriber slows the whole stream down instead of letting the
+ * queue grow. Once the side subscriber cancels, errors are dropped.
+ *
+ * @param <T> Type of the success value of the results.
+ * @param <E> Type of the error value of the results.
+ */
+final class SplitErrProcessor<T, E> extends QueueDrainProcessor<Result<T, E>, T> {
+
+    private final ResultFlow.Subscriber<? super E> side;
+    private final AtomicLong sideRequested = new AtomicLong();
+    private volatile boolean sideCancelled;
+
+    SplitErrProcessor(final ResultFlow.Subscriber<? super E> side, final int prefetch) {
+        super(prefetch);
+        if (side == null) {
+            throw new NullPointerException("side");
+        }
+        this.side = side;
+    }
+
+    @Override
+    void onUpstream() {
+        side.onSubscribe(new ResultFlow.Subscription() {
+            @Override
+            public void request(final long n) {
+                if (n <= 0) {
+                    fail(new IllegalArgumentException("request must be positive: " + n));
+                    return;
+                }
+                long current;
+                long next;
+                do {
+                    current = sideRequested.get();
+                    next = current + n < 0 ? Long.MAX_VALUE : current + n;
+                } while (!sideRequested.compareAndSet(current, next));
+                drain();
+            }
+
+            @Override
+            public void cancel() {
+                sideCancelled = true;
+                drain();
+            }
+        });
+    }
+
+    @Override
+    void drainLoop(final ResultFlow.Subscriber<? super T> subscriber) {
+        final long requested = requested();
+        final long sideDemand = sideRequested.get();
+        long emitted = 0;
+        long sideEmitted = 0;
+        for (;;) {
+            final boolean isDone = isDone();
+            final Result<T, E> item = queue.peek();
+            if (checkTerminated(subscriber, isDone, item == null)) {
+                return;
+            }
+            if (item == null) {
+                break;
+            }
+            if (item.isOk()) {
+                if (emitted == requested) {
+                    break;
+                }
+                poll();
+                subscriber.onNext(item.unwrap());
+                emitted++;
+            } else if (sideCancelled) {
+                poll();
+            } else {
+                if (sideEmitted == sideDemand) {
+                    break;
+                }
+                poll();
+                side.onNext(item.unwrapErr());
+                sideEmitted++;
+            }
+        }
+        produced(emitted);
+        if (sideEmitted != 0 && sideDemand != Long.MAX_VALUE) {
+            sideRequested.addAndGet(-sideEmitted);
+        }
+    }
+
+    @Override
+    void onCancelled() {
+        if (!sideCancelled) {
+            side.onComplete();
+        }
+    }
+
+    @Override
+    void onTerminated(final Throwable throwable) {
+        if (sideCancelled) {
+            return;
+        }
+        if (throwable != null) {
+            side.onError(throwable);
+        } else {
+            side.onComplete();
+        }
+    }
+}
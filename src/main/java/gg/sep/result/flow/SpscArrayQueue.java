@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result.flow;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, lock-free queue for one producer thread and one consumer thread at a time.
+ *
+ * <p>The producer and the consumer each own their index, and communicate only through the slots of the
+ * array: a slot is free when it holds {@code null}. Writes are ordered, so a consumer that sees an item
+ * also sees everything the producer wrote before offering it.
+ *
+ * @param <T> Type of the queued items.
+ */
+final class SpscArrayQueue<T> {
+
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private final AtomicReferenceArray<T> buffer;
+    private final int mask;
+    private long producerIndex;
+    private long consumerIndex;
+
+    /**
+     * Constructs an empty queue holding at least {@code capacity} items.
+     *
+     * @param capacity Minimum capacity, rounded up to a power of two.
+     */
+    SpscArrayQueue(final int capacity) {
+        if (capacity < 1 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("capacity must be between 1 and 2^30: " + capacity);
+        }
+        final int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.buffer = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Adds an item. Called by the producer only.
+     *
+     * @param item The item, not {@code null}.
+     * @return {@code true} if the item was added, {@code false} if the queue is full.
+     */
+    boolean offer(final T item) {
+        final int offset = (int) producerIndex & mask;
+        if (buffer.get(offset) != null) {
+            return false;
+        }
+        buffer.lazySet(offset, item);
+        producerIndex++;
+        return true;
+    }
+
+    /**
+     * Returns the next item without removing it. Called by the consumer only.
+     *
+     * @return The next item, or {@code null} if the queue is empty.
+     */
+    T peek() {
+        return buffer.get((int) consumerIndex & mask);
+    }
+
+    /**
+     * Removes and returns the next item. Called by the consumer only.
+     *
+     * @return The next item, or {@code null} if the queue is empty.
+     */
+    T poll() {
+        final int offset = (int) consumerIndex & mask;
+        final T item = buffer.get(offset);
+        if (item != null) {
+            buffer.lazySet(offset, null);
+            consumerIndex++;
+        }
+        return item;
+    }
+
+    boolean isEmpty() {
+        return peek() == null;
+    }
+
+    /**
+     * Removes every item. Called by the consumer only.
+     */
+    void clear() {
+        T item = poll();
+        while (item != null) {
+            item = poll();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result.function;
+
+/**
+ * Represents a function that accepts three arguments and produces a result.
+ *
+ * <p>This is the three-arity specialization of {@link java.util.function.Function}.
+ *
+ * @param <T1> Type of the first argument.
+ * @param <T2> Type of the second argument.
+ * @param <T3> Type of the third argument.
+ * @param <R> Type of the result of the function.
+ */
+@FunctionalInterface
+public interface Function3<T1, T2, T3, R> {
+
+    /**
+     * Applies this function to the given arguments.
+     *
+     * @param t1 The first argument.
+     * @param t2 The second argument.
+     * @param t3 The third argument.
+     * @return The function result.
+     */
+    R apply(T1 t1, T2 t2, T3 t3);
+}
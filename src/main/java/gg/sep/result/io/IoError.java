@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result.io;
+
+import java.io.IOException;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.NotDirectoryException;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Structured error value for file operations which return a {@link gg.sep.result.Result}.
+ *
+ * <p>The {@link Kind} lets callers handle the common failures without inspecting exception types
+ * or messages. When the error was caused by an {@link IOException}, it is available from
+ * {@link #cause()}.
+ */
+public final class IoError {
+
+    /**
+     * The kind of failure.
+     */
+    public enum Kind {
+        /**
+         * The file, or its parent directory, does not exist.
+         */
+        NOT_FOUND,
+
+        /**
+         * The path is a directory, but a regular file was expected.
+         */
+        IS_DIRECTORY,
+
+        /**
+         * The file cannot be read or written by this process.
+         */
+        ACCESS_DENIED,
+
+        /**
+         * The file is too large for the requested operation.
+         */
+        TOO_LARGE,
+
+        /**
+         * Any other I/O failure.
+         */
+        OTHER
+    }
+
+    private final Kind kind;
+    private final Path path;
+    private final String message;
+    private final IOException cause;
+
+    private IoError(final Kind kind, final Path path, final String message, final IOException cause) {
+        this.kind = kind;
+        this.path = path;
+        this.message = message;
+        this.cause = cause;
+    }
+
+    /**
+     * Constructs a new {@link IoError}.
+     *
+     * @param kind The kind of failure.
+     * @param path The path of the file the operation failed on.
+     * @param message Description of the failure.
+     * @return New {@link IoError}.
+     */
+    public static IoError of(final Kind kind, final Path path, final String message) {
+        Objects.requireNonNull(kind);
+        Objects.requireNonNull(path);
+        Objects.requireNonNull(message);
+        return new IoError(kind, path, message, null);
+    }
+
+    /**
+     * Constructs a new {@link IoError} from the {@link IOException} which caused it, choosing the
+     * {@link Kind} from the exception's type.
+     *
+     * @param path The path of the file the operation failed on.
+     * @param cause The exception thrown by the operation.
+     * @return New {@link IoError}.
+     */
+    public static IoError of(final Path path, final IOException cause) {
+        Objects.requireNonNull(path);
+        final Kind kind;
+        if (cause instanceof NoSuchFileException || cause instanceof NotDirectoryException) {
+            kind = Kind.NOT_FOUND;
+        } else if (cause instanceof AccessDeniedException) {
+            kind = Kind.ACCESS_DENIED;
+        } else {
+            kind = Kind.OTHER;
+        }
+        return new IoError(kind, path, String.valueOf(cause.getMessage()), cause);
+    }
+
+    /**
+     * Returns the kind of failure.
+     *
+     * @return The kind of failure.
+     */
+    public Kind kind() {
+        return kind;
+    }
+
+    /**
+     * Returns the path of the file the operation failed on.
+     *
+     * @return The path of the file the operation failed on.
+     */
+    public Path path() {
+        return path;
+    }
+
+    /**
+     * Returns the description of the failure.
+     *
+     * @return The description of the failure.
+     */
+    public String message() {
+        return message;
+    }
+
+    /**
+     * Returns the exception which caused the failure, if any.
+     *
+     * @return {@link Optional} containing the exception which caused the failure, otherwise empty.
+     */
+    public Optional<IOException> cause() {
+        return Optional.ofNullable(cause);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (obj instanceof IoError) {
+            final IoError other = (IoError) obj;
+            return other.kind == kind && other.path.equals(path) && other.message.equals(message)
+                && Objects.equals(other.cause, cause);
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(kind, path, message, cause);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return String.format("%s: %s (%s)", kind, path, message);
+    }
+}
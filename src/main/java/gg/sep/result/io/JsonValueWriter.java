@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result.io;
+
+import java.io.IOException;
+
+/**
+ * Writes the {@link gg.sep.result.Ok} or {@link gg.sep.result.Err} value of a
+ * {@link gg.sep.result.Result} as JSON for a {@link ResultJsonWriter}.
+ *
+ * <p>Implementations append exactly one JSON value to the output. Writers for common types are
+ * provided by {@link JsonValueWriters}.
+ *
+ * @param <V> Type of the value.
+ */
+@FunctionalInterface
+public interface JsonValueWriter<V> {
+
+    /**
+     * Appends {@code value} to {@code out} as a single JSON value.
+     *
+     * @param value The value to write.
+     * @param out The output to append to.
+     * @throws IOException Thrown if {@code out} fails to append.
+     */
+    void write(V value, Appendable out) throws IOException;
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result.io;
+
+import java.io.IOException;
+
+/**
+ * {@link JsonValueWriter} implementations for strings, numbers, booleans and arrays.
+ */
+public final class JsonValueWriters {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /**
+     * Writer for {@link CharSequence} values, as an escaped JSON string.
+     */
+    public static final JsonValueWriter<CharSequence> STRING = JsonValueWriters::writeString;
+
+    /**
+     * Writer for {@link Number} values, as a JSON number. {@code NaN} and infinite values, which
+     * JSON cannot represent, are written as {@code null}.
+     */
+    public static final JsonValueWriter<Number> NUMBER = JsonValueWriters::writeNumber;
+
+    /**
+     * Writer for {@link Boolean} values, as {@code true} or {@code false}.
+     */
+    public static final JsonValueWriter<Boolean> BOOLEAN = (value, out) -> out.append(value ? "true" : "false");
+
+    /**
+     * Writer for any value, as the JSON string of its {@link Object#toString()}.
+     */
+    public static final JsonValueWriter<Object> TO_STRING = (value, out) -> writeString(value.toString(), out);
+
+    private JsonValueWriters() {
+    }
+
+    /**
+     * Returns a writer for an {@link Iterable} of values, as a JSON array. Elements are streamed
+     * directly to the output, and {@code null} elements are written as {@code null}.
+     *
+     * @param elementWriter Writer for the elements of the array.
+     * @param <V> Type of the elements.
+     * @return Writer for arrays of {@code V}.
+     */
+    public static <V> JsonValueWriter<Iterable<? extends V>> arrayOf(final JsonValueWriter<? super V> elementWriter) {
+        return (values, out) -> {
+            out.append('[');
+            boolean first = true;
+            for (final V value : values) {
+                if (!first) {
+                    out.append(',');
+                }
+                first = false;
+                if (value == null) {
+                    out.append("null");
+                } else {
+                    elementWriter.write(value, out);
+                }
+            }
+            out.append(']');
+        };
+    }
+
+    /**
+     * Appends {@code value} as a quoted JSON string, escaping it in a single pass. Runs of characters
+     * which need no escaping are appended as one range.
+     *
+     * @param value The string to write.
+     * @param out The output to append to.
+     * @throws IOException Thrown if {@code out} fails to append.
+     */
+    public static void writeString(final CharSequence value, final Appendable out) throws IOException {
+        out.append('"');
+        final int length = value.length();
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            final char c = value.charAt(i);
+            if (c >= ' ' && c != '"' && c != '\\') {
+                continue;
+            }
+            out.append(value, start, i);
+            start = i + 1;
+            switch (c) {
+                case '"':
+                    out.append("\\\"");
+                    break;
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                case '\t':
+                    out.append("\\t");
+                    break;
+                default:
+                    out.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+                    break;
+            }
+        }
+        out.append(value, start, length);
+        out.append('"');
+    }
+
+    private static void writeNumber(final Number value, final Appendable out) throws IOException {
+        if (value instanceof Double || value instanceof Float) {
+            final double d = value.doubleValue();
+            if (Double.isNaN(d) || Double.isInfinite(d)) {
+                out.append("null");
+                return;
+            }
+        }
+        if (out instanceof StringBuilder && (value instanceof Integer || value instanceof Long)) {
+            // appends the digits without an intermediate String
+            ((StringBuilder) out).append(value.longValue());
+        } else {
+            out.append(value.toString());
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result.io;
+
+import java.util.Objects;
+
+/**
+ * Error value for a single line of input, reported by a {@link ResultLineReader}.
+ *
+ * <p>Wraps the error returned by the line parser with the position of the line, so that invalid
+ * records can be located in the original file.
+ *
+ * @param <E> Type of the error returned by the line parser.
+ */
+public final class LineError<E> {
+
+    private final long lineNumber;
+    private final long byteOffset;
+    private final E error;
+
+    private LineError(final long lineNumber, final long byteOffset, final E error) {
+        this.lineNumber = lineNumber;
+        this.byteOffset = byteOffset;
+        this.error = error;
+    }
+
+    /**
+     * Constructs a new {@link LineError}.
+     *
+     * @param lineNumber The 1-based number of the line.
+     * @param byteOffset The offset, in bytes from the start of the file, of the first byte of the line.
+     * @param error The error returned by the line parser.
+     * @param <E> Type of the error returned by the line parser.
+     * @return New {@link LineError}.
+     */
+    public static <E> LineError<E> of(final long lineNumber, final long byteOffset, final E error) {
+        return new LineError<>(lineNumber, byteOffset, error);
+    }
+
+    /**
+     * Returns the 1-based number of the line.
+     *
+     * @return The 1-based number of the line.
+     */
+    public long lineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Returns the offset, in bytes from the start of the file, of the first byte of the line.
+     *
+     * @return The offset of the first byte of the line.
+     */
+    public long byteOffset() {
+        return byteOffset;
+    }
+
+    /**
+     * Returns the error returned by the line parser.
+     *
+     * @return The error returned by the line parser.
+     */
+    public E error() {
+        return error;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (obj instanceof LineError) {
+            final LineError<?> other = (LineError<?>) obj;
+            return other.lineNumber == lineNumber && other.byteOffset == byteOffset && Objects.equals(other.error, error);
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(lineNumber, byteOffset, error);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return String.format("line %d (byte %d): %s", lineNumber, byteOffset, error);
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result.io;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Encodes and decodes the {@link gg.sep.result.Ok} or {@link gg.sep.result.Err} value of a
+ * {@link gg.sep.result.Result} for a {@link ResultCodec}.
+ *
+ * <p>Implementations read and write directly at the buffer's current position, and must advance
+ * the position past the bytes they consume or produce. Codecs for common types are provided by
+ * {@link PayloadCodecs}.
+ *
+ * @param <V> Type of the value.
+ */
+public interface PayloadCodec<V> {
+
+    /**
+     * Returns the number of bytes {@link #encode(Object, ByteBuffer)} will write for {@code value}.
+     *
+     * @param value The value to measure.
+     * @return The encoded size of {@code value}, in bytes.
+     */
+    int encodedSize(V value);
+
+    /**
+     * Writes {@code value} at the buffer's current position.
+     *
+     * @param value The value to encode.
+     * @param buffer The buffer to write into.
+     * @throws java.nio.BufferOverflowException Thrown if the buffer does not have enough space remaining.
+     */
+    void encode(V value, ByteBuffer buffer);
+
+    /**
+     * Reads a value at the buffer's current position.
+     *
+     * @param buffer The buffer to read from.
+     * @return The decoded value.
+     * @throws java.nio.BufferUnderflowException Thrown if the buffer does not contain a whole value.
+     */
+    V decode(ByteBuffer buffer);
+}
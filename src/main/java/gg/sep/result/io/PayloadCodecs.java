@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result.io;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link PayloadCodec} implementations for primitives and {@link String}.
+ *
+ * <p>Numbers are written in the buffer's byte order. Strings are written as a four-byte length,
+ * followed by their UTF-8 encoding, directly into the buffer without an intermediate
+ * {@code byte[]}. Unpaired surrogates are encoded as {@code '?'}, as {@link String#getBytes} does.
+ */
+public final class PayloadCodecs {
+
+    /**
+     * Codec for {@link Integer} values, as four bytes.
+     */
+    public static final PayloadCodec<Integer> INT = new PayloadCodec<Integer>() {
+        @Override
+        public int encodedSize(final Integer value) {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void encode(final Integer value, final ByteBuffer buffer) {
+            buffer.putInt(value);
+        }
+
+        @Override
+        public Integer decode(final ByteBuffer buffer) {
+            return buffer.getInt();
+        }
+    };
+
+    /**
+     * Codec for {@link Long} values, as eight bytes.
+     */
+    public static final PayloadCodec<Long> LONG = new PayloadCodec<Long>() {
+        @Override
+        public int encodedSize(final Long value) {
+            return Long.BYTES;
+        }
+
+        @Override
+        public void encode(final Long value, final ByteBuffer buffer) {
+            buffer.putLong(value);
+        }
+
+        @Override
+        public Long decode(final ByteBuffer buffer) {
+            return buffer.getLong();
+        }
+    };
+
+    /**
+     * Codec for {@link Double} values, as eight bytes.
+     */
+    public static final PayloadCodec<Double> DOUBLE = new PayloadCodec<Double>() {
+        @Override
+        public int encodedSize(final Double value) {
+            return Double.BYTES;
+        }
+
+        @Override
+        public void encode(final Double value, final ByteBuffer buffer) {
+            buffer.putDouble(value);
+        }
+
+        @Override
+        public Double decode(final ByteBuffer buffer) {
+            return buffer.getDouble();
+        }
+    };
+
+    /**
+     * Codec for {@link String} values, as a four-byte length followed by UTF-8 bytes. Decoding throws
+     * {@link IllegalArgumentException} if the length is negative.
+     */
+    public static final PayloadCodec<String> STRING = new PayloadCodec<String>() {
+        @Override
+        public int encodedSize(final String value) {
+            return Integer.BYTES + utf8Length(value);
+        }
+
+        @Override
+        public void encode(final String value, final ByteBuffer buffer) {
+            buffer.putInt(utf8Length(value));
+            writeUtf8(value, buffer);
+        }
+
+        @Override
+        public String decode(final ByteBuffer buffer) {
+            final int length = buffer.getInt();
+            if (length < 0) {
+                throw new IllegalArgumentException("Negative string length: " + length);
+            }
+            if (length > buffer.remaining()) {
+                throw new BufferUnderflowException();
+            }
+            final int start = buffer.position();
+            buffer.position(start + length);
+            if (buffer.hasArray()) {
+                return new String(buffer.array(), buffer.arrayOffset() + start, length, StandardCharsets.UTF_8);
+            }
+            return readUtf8(buffer, start, length);
+        }
+    };
+
+    private PayloadCodecs() {
+    }
+
+    static int utf8Length(final String value) {
+        final int chars = value.length();
+        int length = 0;
+        for (int i = 0; i < chars; i++) {
+            final char c = value.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (isSurrogatePair(value, i)) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                length += 1;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    private static void writeUtf8(final String value, final ByteBuffer buffer) {
+        final int chars = value.length();
+        for (int i = 0; i < chars; i++) {
+            final char c = value.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | (c >> 6)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            } else if (isSurrogatePair(value, i)) {
+                final int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer.put((byte) (0xF0 | (codePoint >> 18)));
+                buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                buffer.put((byte) '?');
+            } else {
+                buffer.put((byte) (0xE0 | (c >> 12)));
+                buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    private static boolean isSurrogatePair(final String value, final int index) {
+        return Character.isHighSurrogate(value.charAt(index)) && index + 1 < value.length()
+            && Character.isLowSurrogate(value.charAt(index + 1));
+    }
+
+    /**
+     * Decodes UTF-8 from a buffer without an accessible array (such as a direct buffer) without first
+     * copying it into a {@code byte[]}. Leading ASCII is decoded with absolute reads; the remainder is
+     * decoded from a duplicate by {@link java.nio.charset.Charset#decode}, which replaces malformed input
+     * exactly as the heap path's {@link String#String(byte[], int, int, java.nio.charset.Charset)} does.
+     */
+    private static String readUtf8(final ByteBuffer buffer, final int start, final int length) {
+        final int end = start + length;
+        int i = start;
+        while (i < end && buffer.get(i) >= 0) {
+            i++;
+        }
+        final char[] ascii = new char[i - start];
+        for (int j = 0; j < ascii.length; j++) {
+            ascii[j] = (char) buffer.get(start + j);
+        }
+        if (i == end) {
+            return new String(ascii);
+        }
+        final ByteBuffer rest = buffer.duplicate();
+        rest.limit(end).position(i);
+        return new StringBuilder(length).append(ascii).append(StandardCharsets.UTF_8.decode(rest)).toString();
+    }
+}
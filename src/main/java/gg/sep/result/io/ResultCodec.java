@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result.io;
+
+import gg.sep.result.Err;
+import gg.sep.result.Ok;
+import gg.sep.result.Result;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Compact binary encoding of {@link Result} values, for shipping outcomes between JVMs through
+ * caches and queues.
+ *
+ * <p>Each result is encoded as a one-byte tag, {@value #OK_TAG} for {@link Ok} or {@value #ERR_TAG}
+ * for {@link Err}, followed by its value as written by the matching {@link PayloadCodec}. Encoding
+ * and decoding work directly on heap or direct {@link ByteBuffer}s, at the buffer's current position:
+ *
+ * <pre>{@code
+ *     final ResultCodec<Long, String> codec = ResultCodec.of(PayloadCodecs.LONG, PayloadCodecs.STRING);
+ *     final ByteBuffer buffer = ByteBuffer.allocateDirect(codec.encodedSize(result));
+ *     codec.encode(result, buffer);
+ *     buffer.flip();
+ *     final Result<Long, String> decoded = codec.decode(buffer);
+ * }</pre>
+ *
+ * <p>Instances are immutable and thread-safe, provided the payload codecs are.
+ *
+ * @param <T> Type of the success value of the result.
+ * @param <E> Type of the error value of the result.
+ */
+public final class ResultCodec<T, E> {
+
+    /**
+     * Tag byte written before the value of an {@link Ok}.
+     */
+    public static final byte OK_TAG = 0;
+
+    /**
+     * Tag byte written before the value of an {@link Err}.
+     */
+    public static final byte ERR_TAG = 1;
+
+    private final PayloadCodec<T> okCodec;
+    private final PayloadCodec<E> errCodec;
+
+    private ResultCodec(final PayloadCodec<T> okCodec, final PayloadCodec<E> errCodec) {
+        this.okCodec = okCodec;
+        this.errCodec = errCodec;
+    }
+
+    /**
+     * Constructs a new {@link ResultCodec} with the provided payload codecs.
+     *
+     * @param okCodec Codec for the {@link Ok} value.
+     * @param errCodec Codec for the {@link Err} value.
+     * @param <T> Type of the success value.
+     * @param <E> Type of the error value.
+     * @return New {@link ResultCodec}.
+     */
+    public static <T, E> ResultCodec<T, E> of(final PayloadCodec<T> okCodec, final PayloadCodec<E> errCodec) {
+        Objects.requireNonNull(okCodec);
+        Objects.requireNonNull(errCodec);
+        return new ResultCodec<>(okCodec, errCodec);
+    }
+
+    /**
+     * Returns the number of bytes {@link #encode(Result, ByteBuffer)} will write for {@code result}.
+     *
+     * @param result The result to measure.
+     * @return The encoded size of {@code result}, in bytes.
+     */
+    public int encodedSize(final Result<T, E> result) {
+        return 1 + (result.isOk() ? okCodec.encodedSize(result.unwrap()) : errCodec.encodedSize(result.unwrapErr()));
+    }
+
+    /**
+     * Writes {@code result} at the buffer's current position.
+     *
+     * @param result The result to encode.
+     * @param buffer The buffer to write into.
+     * @throws java.nio.BufferOverflowException Thrown if the buffer does not have enough space remaining.
+     */
+    public void encode(final Result<T, E> result, final ByteBuffer buffer) {
+        if (result.isOk()) {
+            buffer.put(OK_TAG);
+            okCodec.encode(result.unwrap(), buffer);
+        } else {
+            buffer.put(ERR_TAG);
+            errCodec.encode(result.unwrapErr(), buffer);
+        }
+    }
+
+    /**
+     * Reads a result at the buffer's current position.
+     *
+     * @param buffer The buffer to read from.
+     * @return The decoded result.
+     * @throws java.nio.BufferUnderflowException Thrown if the buffer does not contain a whole result.
+     * @throws IllegalArgumentException Thrown if the tag byte is neither {@value #OK_TAG} nor {@value #ERR_TAG}.
+     */
+    public Result<T, E> decode(final ByteBuffer buffer) {
+        final byte tag = buffer.get();
+        if (tag == OK_TAG) {
+            return Ok.of(okCodec.decode(buffer));
+        }
+        if (tag == ERR_TAG) {
+            return Err.of(errCodec.decode(buffer));
+        }
+        throw new IllegalArgumentException("Unknown Result tag: " + tag);
+    }
+
+    /**
+     * Returns the number of bytes {@link #encodeAll(Collection, ByteBuffer)} will write for {@code results}.
+     *
+     * @param results The results to measure.
+     * @return The encoded size of {@code results}, in bytes.
+     */
+    public int encodedSize(final Collection<Result<T, E>> results) {
+        int size = Integer.BYTES;
+        for (final Result<T, E> result : results) {
+            size += encodedSize(result);
+        }
+        return size;
+    }
+
+    /**
+     * Writes every result into one buffer, as a four-byte count followed by each encoded result.
+     *
+     * @param results The results to encode.
+     * @param buffer The buffer to write into.
+     * @throws java.nio.BufferOverflowException Thrown if the buffer does not have enough space remaining.
+     */
+    public void encodeAll(final Collection<Result<T, E>> results, final ByteBuffer buffer) {
+        buffer.putInt(results.size());
+        for (final Result<T, E> result : results) {
+            encode(result, buffer);
+        }
+    }
+
+    /**
+     * Reads every result written by {@link #encodeAll(Collection, ByteBuffer)}.
+     *
+     * @param buffer The buffer to read from.
+     * @return The decoded results, in the order they were written.
+     * @throws java.nio.BufferUnderflowException Thrown if the buffer does not contain every result.
+     * @throws IllegalArgumentException Thrown if the count is negative, or a tag byte is neither {@value #OK_TAG}
+     *                                  nor {@value #ERR_TAG}.
+     */
+    public List<Result<T, E>> decodeAll(final ByteBuffer buffer) {
+        final int count = buffer.getInt();
+        if (count < 0) {
+            throw new IllegalArgumentException("Negative result count: " + count);
+        }
+        final List<Result<T, E>> results = new ArrayList<>(Math.min(count, buffer.remaining()));
+        for (int i = 0; i < count; i++) {
+            results.add(decode(buffer));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result.io;
+
+import gg.sep.result.Err;
+import gg.sep.result.Ok;
+import gg.sep.result.Result;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * File utilities which return a {@link Result} instead of throwing {@link IOException}.
+ *
+ * <p>The common failures (a missing file, a directory where a file was expected, or missing
+ * permissions) are detected up front, and returned as an {@link Err} of {@link IoError} without
+ * an exception ever being thrown. Only unexpected failures during the operation itself go
+ * through an {@link IOException}, which is then converted with {@link IoError#of(Path, IOException)}:
+ *
+ * <pre>{@code
+ *     final Result<String, IoError> contents = ResultFiles.readAll(path);
+ *     if (contents.isErr() && contents.unwrapErr().kind() == IoError.Kind.NOT_FOUND) {
+ *         displayMessageToUser("That file path does not exist.");
+ *     }
+ * }</pre>
+ *
+ * <p>Reads use a {@link FileChannel}, and files of at least {@value #MAP_THRESHOLD} bytes are
+ * memory-mapped rather than copied into a heap buffer. The mapping is released as soon as the
+ * contents are decoded, so it neither lingers until garbage collection nor keeps the file locked.
+ */
+public final class ResultFiles {
+
+    /**
+     * Size, in bytes, from which files are memory-mapped when read.
+     */
+    public static final long MAP_THRESHOLD = 1024 * 1024;
+
+    private ResultFiles() {
+    }
+
+    /**
+     * Returns the size of a regular file.
+     *
+     * @param path The file.
+     * @return {@link Ok} containing the size of the file in bytes, otherwise {@link Err}.
+     */
+    public static Result<Long, IoError> size(final Path path) {
+        return checkFile(path).andThen(file -> attempt(file, () -> Ok.of(Files.size(file))));
+    }
+
+    /**
+     * Reads the entire contents of a file as UTF-8.
+     *
+     * @param path The file to read.
+     * @return {@link Ok} containing the contents of the file, otherwise {@link Err}.
+     */
+    public static Result<String, IoError> readAll(final Path path) {
+        return readAll(path, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads the entire contents of a file. Malformed input is replaced with the charset's
+     * replacement string.
+     *
+     * @param path The file to read.
+     * @param charset The charset the file is encoded in.
+     * @return {@link Ok} containing the contents of the file, otherwise {@link Err}.
+     */
+    public static Result<String, IoError> readAll(final Path path, final Charset charset) {
+        return checkReadable(path).andThen(file -> read(file, buffer -> charset.decode(buffer).toString()));
+    }
+
+    /**
+     * Reads every line of a file as UTF-8.
+     *
+     * @param path The file to read.
+     * @return {@link Ok} containing the lines of the file, otherwise {@link Err}.
+     * @see #readLines(Path, Charset)
+     */
+    public static Result<List<String>, IoError> readLines(final Path path) {
+        return readLines(path, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads every line of a file. Lines are terminated by {@code \n}, {@code \r\n} or {@code \r},
+     * and the terminators are not included in the lines.
+     *
+     * @param path The file to read.
+     * @param charset The charset the file is encoded in.
+     * @return {@link Ok} containing the lines of the file, otherwise {@link Err}.
+     */
+    public static Result<List<String>, IoError> readLines(final Path path, final Charset charset) {
+        return checkReadable(path).andThen(file -> read(file, buffer -> splitLines(charset.decode(buffer))));
+    }
+
+    /**
+     * Writes {@code content} to a file as UTF-8, creating the file or replacing its contents.
+     *
+     * @param path The file to write.
+     * @param content The content to write.
+     * @return {@link Ok} containing the number of bytes written, otherwise {@link Err}.
+     */
+    public static Result<Long, IoError> write(final Path path, final CharSequence content) {
+        return write(path, content, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes {@code content} to a file, creating the file or replacing its contents.
+     *
+     * @param path The file to write.
+     * @param content The content to write.
+     * @param charset The charset to encode the content with.
+     * @return {@link Ok} containing the number of bytes written, otherwise {@link Err}.
+     */
+    public static Result<Long, IoError> write(final Path path, final CharSequence content, final Charset charset) {
+        return checkWritable(path).andThen(file -> attempt(file, () -> {
+            final ByteBuffer bytes = charset.encode(CharBuffer.wrap(content));
+            final long length = bytes.remaining();
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (bytes.hasRemaining()) {
+                    channel.write(bytes);
+                }
+            }
+            return Ok.of(length);
+        }));
+    }
+
+    private static Result<Path, IoError> checkFile(final Path path) {
+        if (Files.isDirectory(path)) {
+            return Err.of(IoError.of(IoError.Kind.IS_DIRECTORY, path, "The path is a directory."));
+        }
+        if (!Files.exists(path)) {
+            return Err.of(IoError.of(IoError.Kind.NOT_FOUND, path, "The file does not exist."));
+        }
+        return Ok.of(path);
+    }
+
+    static Result<Path, IoError> checkReadable(final Path path) {
+        return checkFile(path).andThen(file -> Files.isReadable(file)
+            ? Ok.of(file)
+            : Err.of(IoError.of(IoError.Kind.ACCESS_DENIED, file, "The file is not readable.")));
+    }
+
+    private static Result<Path, IoError> checkWritable(final Path path) {
+        if (Files.isDirectory(path)) {
+            return Err.of(IoError.of(IoError.Kind.IS_DIRECTORY, path, "The path is a directory."));
+        }
+        final Path parent = path.toAbsolutePath().getParent();
+        if (!Files.isDirectory(parent)) {
+            return Err.of(IoError.of(IoError.Kind.NOT_FOUND, path, "The parent directory does not exist."));
+        }
+        if (Files.exists(path) ? !Files.isWritable(path) : !Files.isWritable(parent)) {
+            return Err.of(IoError.of(IoError.Kind.ACCESS_DENIED, path, "The file is not writable."));
+        }
+        return Ok.of(path);
+    }
+
+    /**
+     * Reads the whole file and decodes it; a mapped buffer is unmapped once {@code decoder} returns, so
+     * {@code decoder} must not keep a reference to the buffer or a view of it.
+     */
+    private static <T> Result<T, IoError> read(final Path file, final Function<ByteBuffer, T> decoder) {
+        return attempt(file, () -> {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                final long size = channel.size();
+                if (size > Integer.MAX_VALUE) {
+                    return Err.of(IoError.of(IoError.Kind.TOO_LARGE, file, "The file is larger than 2 GiB."));
+                }
+                if (size >= MAP_THRESHOLD) {
+                    final MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                    try {
+                        return Ok.of(decoder.apply(mapped));
+                    } finally {
+                        Unmapper.unmap(mapped);
+                    }
+                }
+                final ByteBuffer buffer = ByteBuffer.allocate((int) size);
+                int read = 0;
+                while (buffer.hasRemaining() && read >= 0) {
+                    read = channel.read(buffer);
+                }
+                buffer.flip();
+                return Ok.of(decoder.apply(buffer));
+            }
+        });
+    }
+
+    static <T> Result<T, IoError> attempt(final Path file, final IoOperation<T> operation) {
+        try {
+            return operation.run();
+        } catch (final IOException e) {
+            return Err.of(IoError.of(file, e));
+        }
+    }
+
+    /**
+     * File operation which may still fail with an {@link IOException} after the up-front checks.
+     *
+     * @param <T> Type of the success value of the operation.
+     */
+    @FunctionalInterface
+    interface IoOperation<T> {
+        Result<T, IoError> run() throws IOException;
+    }
+
+    private static List<String> splitLines(final CharSequence content) {
+        final List<String> lines = new ArrayList<>();
+        final int length = content.length();
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            final char c = content.charAt(i);
+            if (c == '\n' || c == '\r') {
+                lines.add(content.subSequence(start, i).toString());
+                if (c == '\r' && i + 1 < length && content.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                start = i + 1;
+            }
+        }
+        if (start < length) {
+            lines.add(content.subSequence(start, length).toString());
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,469 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result.io;
+
+import gg.sep.result.Err;
+import gg.sep.result.Ok;
+import gg.sep.result.Result;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of {@link Result} outcomes, for checkpointing long-running batch jobs.
+ *
+ * <p>Each outcome is recorded against a {@code long} key identifying its input, such as a row
+ * number or an id. Records are appended to memory-mapped segment files in a directory, and are
+ * forced to disk every {@code forceEvery} appends, when a segment fills up, and on {@link #close()}.
+ * After a crash, re-opening the journal scans the existing segments once, so that inputs which
+ * already have an outcome can be skipped with {@link #contains(long)}:
+ *
+ * <pre>{@code
+ *     try (ResultJournal<Long, String> journal = ResultJournal.open(dir, codec)) {
+ *         for (final Input input : inputs) {
+ *             if (!journal.contains(input.id())) {
+ *                 journal.append(input.id(), process(input));
+ *             }
+ *         }
+ *     }
+ * }</pre>
+ *
+ * <p>Each record is written as a four-byte length, a four-byte CRC-32 of the rest of the record,
+ * the eight-byte key, and the result as encoded by the {@link ResultCodec}. The scan of a segment
+ * ends at the first record whose length is zero or runs past the end of the segment, or whose
+ * checksum does not match: the pages of a mapped file reach the disk in no particular order after
+ * an operating system crash, so a record may be only partly written, and every record after it in
+ * that segment is discarded. Offsets of {@link Err} records are kept in a side index, rebuilt
+ * during the scan, so that {@link #errors()} visits them without reading any {@link Ok} record.
+ *
+ * <p>All methods are synchronized on the journal. {@link #close()} unmaps the segments where the
+ * running JVM allows it, and leaves them to the garbage collector otherwise.
+ *
+ * @param <T> Type of the success value of the recorded results.
+ * @param <E> Type of the error value of the recorded results.
+ */
+public final class ResultJournal<T, E> implements Closeable {
+
+    /**
+     * Default size of each segment file, in bytes.
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    /**
+     * Default number of appends between each {@link MappedByteBuffer#force()}.
+     */
+    public static final int DEFAULT_FORCE_EVERY = 4096;
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final int PREFIX_BYTES = Integer.BYTES * 2; // length and checksum
+    private static final int HEADER_BYTES = PREFIX_BYTES + Long.BYTES;
+
+    private final Path directory;
+    private final ResultCodec<T, E> codec;
+    private final int segmentSize;
+    private final int forceEvery;
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private final LongHashSet keys = new LongHashSet();
+    private final CRC32 checksum = new CRC32();
+    private long[] errorIndex = new long[64];
+    private int errorCount;
+    private int sinceForce;
+    private boolean closed;
+
+    private ResultJournal(final Path directory, final ResultCodec<T, E> codec, final int segmentSize, final int forceEvery) {
+        this.directory = directory;
+        this.codec = codec;
+        this.segmentSize = segmentSize;
+        this.forceEvery = forceEvery;
+    }
+
+    /**
+     * Opens the journal in {@code directory} with the default segment size and force interval,
+     * creating the directory if it does not exist, and scanning any existing segments.
+     *
+     * @param directory Directory holding the segment files.
+     * @param codec Codec used to encode and decode the results.
+     * @param <T> Type of the success value.
+     * @param <E> Type of the error value.
+     * @return The opened journal.
+     * @throws IOException Thrown if the directory or its segments cannot be read or created.
+     */
+    public static <T, E> ResultJournal<T, E> open(final Path directory, final ResultCodec<T, E> codec) throws IOException {
+        return open(directory, codec, DEFAULT_SEGMENT_SIZE, DEFAULT_FORCE_EVERY);
+    }
+
+    /**
+     * Opens the journal in {@code directory}, creating the directory if it does not exist, and
+     * scanning any existing segments.
+     *
+     * @param directory Directory holding the segment files.
+     * @param codec Codec used to encode and decode the results.
+     * @param segmentSize Size of each new segment file, in bytes.
+     * @param forceEvery Number of appends between each {@link MappedByteBuffer#force()}.
+     * @param <T> Type of the success value.
+     * @param <E> Type of the error value.
+     * @return The opened journal.
+     * @throws IOException Thrown if the directory or its segments cannot be read or created.
+     * @throws IllegalArgumentException Thrown if {@code segmentSize} is too small to hold a record,
+     *                                  or {@code forceEvery} is not positive.
+     */
+    public static <T, E> ResultJournal<T, E> open(final Path directory, final ResultCodec<T, E> codec,
+                                                  final int segmentSize, final int forceEvery) throws IOException {
+        Objects.requireNonNull(codec);
+        if (segmentSize <= HEADER_BYTES || forceEvery <= 0) {
+            throw new IllegalArgumentException("segmentSize must exceed the record header, and forceEvery must be positive.");
+        }
+        Files.createDirectories(directory);
+        final ResultJournal<T, E> journal = new ResultJournal<>(directory, codec, segmentSize, forceEvery);
+        try {
+            journal.recover();
+        } catch (final Throwable t) {
+            journal.unmapSegments();
+            throw t;
+        }
+        return journal;
+    }
+
+    /**
+     * Appends the outcome for the input identified by {@code key}.
+     *
+     * @param key Key identifying the input.
+     * @param result The outcome of the input.
+     * @throws IOException Thrown if a new segment cannot be created.
+     * @throws IllegalArgumentException Thrown if the encoded record does not fit in a segment.
+     * @throws IllegalStateException Thrown if the journal is closed.
+     */
+    public synchronized void append(final long key, final Result<T, E> result) throws IOException {
+        ensureOpen();
+        final int length = Long.BYTES + codec.encodedSize(result);
+        if (PREFIX_BYTES + length > segmentSize) {
+            throw new IllegalArgumentException("Record of " + length + " bytes does not fit in a segment.");
+        }
+        MappedByteBuffer segment = segments.get(segments.size() - 1);
+        if (segment.remaining() < PREFIX_BYTES + length) {
+            segment.force();
+            segment = newSegment();
+        }
+        final int offset = segment.position();
+        segment.position(offset + PREFIX_BYTES);
+        segment.putLong(key);
+        codec.encode(result, segment);
+        segment.putInt(offset + Integer.BYTES, checksum(segment, offset, length));
+        segment.putInt(offset, length);
+
+        keys.add(key);
+        if (result.isErr()) {
+            indexError(segments.size() - 1, offset);
+        }
+        if (++sinceForce >= forceEvery) {
+            segment.force();
+            sinceForce = 0;
+        }
+    }
+
+    /**
+     * Returns {@code true} if an outcome has been recorded for the input identified by {@code key}.
+     *
+     * @param key Key identifying the input.
+     * @return {@code true} if an outcome has been recorded for {@code key}.
+     */
+    public synchronized boolean contains(final long key) {
+        return keys.contains(key);
+    }
+
+    /**
+     * Returns the number of distinct keys with a recorded outcome.
+     *
+     * @return The number of distinct keys with a recorded outcome.
+     */
+    public synchronized int size() {
+        return keys.size();
+    }
+
+    /**
+     * Returns the number of {@link Err} outcomes recorded.
+     *
+     * @return The number of {@link Err} outcomes recorded.
+     */
+    public synchronized int errorCount() {
+        return errorCount;
+    }
+
+    /**
+     * Returns an iterator over the {@link Err} records, in the order they were appended.
+     *
+     * <p>The iterator visits the records present when it was created, reading them through the
+     * side index rather than scanning the segments. Its {@code next()} throws an
+     * {@link IllegalStateException} once the journal is closed, as the segments may be unmapped.
+     *
+     * @return Iterator over the {@link Err} records.
+     */
+    public synchronized Iterator<Record<T, E>> errors() {
+        final long[] index = Arrays.copyOf(errorIndex, errorCount);
+        final List<ByteBuffer> views = new ArrayList<>(segments.size());
+        for (final MappedByteBuffer segment : segments) {
+            views.add(segment.duplicate());
+        }
+        return new Iterator<Record<T, E>>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < index.length;
+            }
+
+            @Override
+            public Record<T, E> next() {
+                if (next == index.length) {
+                    throw new NoSuchElementException("No more Err records in the journal.");
+                }
+                synchronized (ResultJournal.this) {
+                    ensureOpen();
+                    final long entry = index[next++];
+                    final ByteBuffer view = views.get((int) (entry >>> 32));
+                    view.position((int) entry + PREFIX_BYTES);
+                    final long key = view.getLong();
+                    return new Record<>(key, codec.decode(view));
+                }
+            }
+        };
+    }
+
+    /**
+     * Forces every record appended so far to disk.
+     *
+     * @throws IllegalStateException Thrown if the journal is closed.
+     */
+    public synchronized void flush() {
+        ensureOpen();
+        segments.get(segments.size() - 1).force();
+        sinceForce = 0;
+    }
+
+    /**
+     * Forces every record appended so far to disk, closes the journal, and unmaps its segments.
+     */
+    @Override
+    public synchronized void close() {
+        if (!closed) {
+            flush();
+            closed = true;
+            unmapSegments();
+        }
+    }
+
+    private void unmapSegments() {
+        for (final MappedByteBuffer segment : segments) {
+            Unmapper.unmap(segment);
+        }
+        segments.clear();
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("The journal is closed.");
+        }
+    }
+
+    private void recover() throws IOException {
+        final List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (final Path file : stream) {
+                files.add(file);
+            }
+        }
+        Collections.sort(files);
+        for (final Path file : files) {
+            final MappedByteBuffer segment = map(file, Files.size(file));
+            scan(segment, segments.size());
+            segments.add(segment);
+        }
+        if (segments.isEmpty()) {
+            newSegment();
+        }
+    }
+
+    private void scan(final MappedByteBuffer segment, final int segmentIndex) {
+        int offset = 0;
+        while (segment.limit() - offset > HEADER_BYTES) {
+            final int length = segment.getInt(offset);
+            if (length <= Long.BYTES || length > segment.limit() - offset - PREFIX_BYTES
+                    || segment.getInt(offset + Integer.BYTES) != checksum(segment, offset, length)) {
+                break; // unwritten space, or a torn record: the end of the valid records
+            }
+            keys.add(segment.getLong(offset + PREFIX_BYTES));
+            if (segment.get(offset + HEADER_BYTES) == ResultCodec.ERR_TAG) {
+                indexError(segmentIndex, offset);
+            }
+            offset += PREFIX_BYTES + length;
+        }
+        segment.position(offset);
+    }
+
+    private int checksum(final MappedByteBuffer segment, final int offset, final int length) {
+        final ByteBuffer record = segment.duplicate();
+        record.limit(offset + PREFIX_BYTES + length).position(offset + PREFIX_BYTES);
+        checksum.reset();
+        checksum.update(record);
+        return (int) checksum.getValue();
+    }
+
+    private MappedByteBuffer newSegment() throws IOException {
+        final Path file = directory.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, segments.size(), SEGMENT_SUFFIX));
+        final MappedByteBuffer segment = map(file, segmentSize);
+        segments.add(segment);
+        return segment;
+    }
+
+    private static MappedByteBuffer map(final Path file, final long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    private void indexError(final int segmentIndex, final int offset) {
+        if (errorCount == errorIndex.length) {
+            errorIndex = Arrays.copyOf(errorIndex, errorCount * 2);
+        }
+        errorIndex[errorCount++] = ((long) segmentIndex << 32) | offset;
+    }
+
+    /**
+     * A recorded outcome, together with the key of its input.
+     *
+     * @param <T> Type of the success value of the result.
+     * @param <E> Type of the error value of the result.
+     */
+    public static final class Record<T, E> {
+        private final long key;
+        private final Result<T, E> result;
+
+        private Record(final long key, final Result<T, E> result) {
+            this.key = key;
+            this.result = result;
+        }
+
+        /**
+         * Returns the key identifying the input.
+         *
+         * @return The key identifying the input.
+         */
+        public long key() {
+            return key;
+        }
+
+        /**
+         * Returns the recorded outcome.
+         *
+         * @return The recorded outcome.
+         */
+        public Result<T, E> result() {
+            return result;
+        }
+    }
+
+    /**
+     * Open-addressing set of {@code long} keys, which avoids boxing every key of a journal
+     * holding tens of millions of records.
+     */
+    private static final class LongHashSet {
+        private static final long EMPTY = 0L;
+
+        private long[] table = new long[1024];
+        private boolean containsEmpty;
+        private int size;
+
+        private boolean contains(final long key) {
+            if (key == EMPTY) {
+                return containsEmpty;
+            }
+            final int mask = table.length - 1;
+            for (int i = slot(key, mask); table[i] != EMPTY; i = (i + 1) & mask) {
+                if (table[i] == key) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void add(final long key) {
+            if (key == EMPTY) {
+                if (!containsEmpty) {
+                    containsEmpty = true;
+                    size++;
+                }
+                return;
+            }
+            if (insert(table, key)) {
+                size++;
+                if (size * 2 > table.length) {
+                    final long[] grown = new long[table.length * 2];
+                    for (final long existing : table) {
+                        if (existing != EMPTY) {
+                            insert(grown, existing);
+                        }
+                    }
+                    table = grown;
+                }
+            }
+        }
+
+        private int size() {
+            return size;
+        }
+
+        private static boolean insert(final long[] into, final long key) {
+            final int mask = into.length - 1;
+            int i = slot(key, mask);
+            while (into[i] != EMPTY) {
+                if (into[i] == key) {
+                    return false;
+                }
+                i = (i + 1) & mask;
+            }
+            into[i] = key;
+            return true;
+        }
+
+        private static int slot(final long key, final int mask) {
+            final long mixed = key * 0x9E3779B97F4A7C15L;
+            return (int) (mixed ^ (mixed >>> 32)) & mask;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result.io;
+
+import gg.sep.result.Err;
+import gg.sep.result.Ok;
+import gg.sep.result.Result;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Streams {@link Result} values as JSON, without reflection or an intermediate tree.
+ *
+ * <p>An {@link Ok} is written as {@code {"ok":value}} and an {@link Err} as {@code {"err":error}},
+ * with the values written by pluggable {@link JsonValueWriter}s:
+ *
+ * <pre>{@code
+ *     final ResultJsonWriter<Long, String> json = ResultJsonWriter.of(JsonValueWriters.NUMBER, JsonValueWriters.STRING);
+ *     json.writeAll(results, response.getOutputStream()); // [{"ok":1},{"err":"not found"}]
+ * }</pre>
+ *
+ * <p>A {@link ResultJsonWriter} is itself a {@link JsonValueWriter}, so results can be nested in
+ * other values. Instances are immutable and can be shared between threads.
+ *
+ * @param <T> Type of the success value of the results.
+ * @param <E> Type of the error value of the results.
+ */
+public final class ResultJsonWriter<T, E> implements JsonValueWriter<Result<T, E>> {
+
+    private static final String OK_PREFIX = "{\"ok\":";
+    private static final String ERR_PREFIX = "{\"err\":";
+
+    private final JsonValueWriter<? super T> okWriter;
+    private final JsonValueWriter<? super E> errWriter;
+
+    private ResultJsonWriter(final JsonValueWriter<? super T> okWriter, final JsonValueWriter<? super E> errWriter) {
+        this.okWriter = Objects.requireNonNull(okWriter);
+        this.errWriter = Objects.requireNonNull(errWriter);
+    }
+
+    /**
+     * Constructs a new {@link ResultJsonWriter}.
+     *
+     * @param okWriter Writer for the {@link Ok} values.
+     * @param errWriter Writer for the {@link Err} values.
+     * @param <T> Type of the success value of the results.
+     * @param <E> Type of the error value of the results.
+     * @return New {@link ResultJsonWriter}.
+     */
+    public static <T, E> ResultJsonWriter<T, E> of(final JsonValueWriter<? super T> okWriter,
+                                                   final JsonValueWriter<? super E> errWriter) {
+        return new ResultJsonWriter<>(okWriter, errWriter);
+    }
+
+    /**
+     * Appends {@code result} to {@code out} as a JSON object.
+     *
+     * @param result The result to write.
+     * @param out The output to append to.
+     * @throws IOException Thrown if {@code out} fails to append.
+     */
+    @Override
+    public void write(final Result<T, E> result, final Appendable out) throws IOException {
+        if (result.isOk()) {
+            out.append(OK_PREFIX);
+            okWriter.write(result.unwrap(), out);
+        } else {
+            out.append(ERR_PREFIX);
+            errWriter.write(result.unwrapErr(), out);
+        }
+        out.append('}');
+    }
+
+    /**
+     * Writes {@code result} to {@code out} as a UTF-8 encoded JSON object. The stream is flushed,
+     * but not closed.
+     *
+     * @param result The result to write.
+     * @param out The stream to write to.
+     * @throws IOException Thrown if {@code out} fails to write.
+     */
+    public void write(final Result<T, E> result, final OutputStream out) throws IOException {
+        final Writer writer = utf8Writer(out);
+        write(result, writer);
+        writer.flush();
+    }
+
+    /**
+     * Appends {@code results} to {@code out} as a JSON array, streaming each result as it is
+     * iterated.
+     *
+     * @param results The results to write.
+     * @param out The output to append to.
+     * @throws IOException Thrown if {@code out} fails to append.
+     */
+    public void writeAll(final Iterable<? extends Result<T, E>> results, final Appendable out) throws IOException {
+        out.append('[');
+        boolean first = true;
+        for (final Result<T, E> result : results) {
+            if (!first) {
+                out.append(',');
+            }
+            first = false;
+            write(result, out);
+        }
+        out.append(']');
+    }
+
+    /**
+     * Writes {@code results} to {@code out} as a UTF-8 encoded JSON array, streaming each result as
+     * it is iterated. The stream is flushed, but not closed.
+     *
+     * @param results The results to write.
+     * @param out The stream to write to.
+     * @throws IOException Thrown if {@code out} fails to write.
+     */
+    public void writeAll(final Iterable<? extends Result<T, E>> results, final OutputStream out) throws IOException {
+        final Writer writer = utf8Writer(out);
+        writeAll(results, writer);
+        writer.flush();
+    }
+
+    private static Writer utf8Writer(final OutputStream out) {
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,327 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result.io;
+
+import gg.sep.result.Err;
+import gg.sep.result.Ok;
+import gg.sep.result.Result;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Streams the lines of a file through a parser which returns a {@link Result} for each line.
+ *
+ * <p>The file is read from a {@link FileChannel} in fixed-size chunks into a single reusable
+ * buffer, so memory use is constant no matter how large the file is. Each line is handed to the
+ * {@link Parser} as a {@link Line} view over that buffer; no {@link String} is allocated for a line
+ * unless the parser asks for one with {@link Line#asString()}:
+ *
+ * <pre>{@code
+ *     final ResultAccumulator<Record, LineError<String>> summary = ResultAccumulator.create(100);
+ *     final Result<Long, IoError> lines = ResultLineReader.of(Record::parse).read(path, summary::add);
+ * }</pre>
+ *
+ * <p>Lines are terminated by {@code \n} or {@code \r\n}, and the terminators are not part of the
+ * {@link Line}, nor is a lone {@code \r} ending the file. The chunk size is also the maximum line length,
+ * not counting the terminator.
+ *
+ * @param <T> Type of the success value returned by the parser.
+ * @param <E> Type of the error value returned by the parser.
+ */
+public final class ResultLineReader<T, E> {
+
+    /**
+     * Default size, in bytes, of the chunks read from the file.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+
+    /**
+     * Largest chunk size, which leaves room in the buffer for the {@code \r\n} terminator of a line.
+     */
+    public static final int MAX_CHUNK_SIZE = Integer.MAX_VALUE - 2;
+
+    private static final byte LF = '\n';
+    private static final byte CR = '\r';
+
+    private final Parser<T, E> parser;
+    private final int chunkSize;
+
+    private ResultLineReader(final Parser<T, E> parser, final int chunkSize) {
+        if (chunkSize <= 0 || chunkSize > MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("chunkSize must be between 1 and " + MAX_CHUNK_SIZE + ": " + chunkSize);
+        }
+        this.parser = Objects.requireNonNull(parser);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Constructs a new {@link ResultLineReader} which reads {@value #DEFAULT_CHUNK_SIZE} bytes at a time.
+     *
+     * @param parser Parser called once for every line.
+     * @param <T> Type of the success value returned by the parser.
+     * @param <E> Type of the error value returned by the parser.
+     * @return New {@link ResultLineReader}.
+     */
+    public static <T, E> ResultLineReader<T, E> of(final Parser<T, E> parser) {
+        return new ResultLineReader<>(parser, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Constructs a new {@link ResultLineReader}.
+     *
+     * @param parser Parser called once for every line.
+     * @param chunkSize Size, in bytes, of the chunks read from the file, which is also the maximum line length.
+     * @param <T> Type of the success value returned by the parser.
+     * @param <E> Type of the error value returned by the parser.
+     * @return New {@link ResultLineReader}.
+     * @throws IllegalArgumentException Thrown if {@code chunkSize} is not positive, or greater than {@link #MAX_CHUNK_SIZE}.
+     */
+    public static <T, E> ResultLineReader<T, E> of(final Parser<T, E> parser, final int chunkSize) {
+        return new ResultLineReader<>(parser, chunkSize);
+    }
+
+    /**
+     * Reads every line of a file, passing the outcome of parsing each line to {@code sink} in order.
+     *
+     * <p>An {@link Err} returned by the parser is passed on as an {@link Err} of {@link LineError},
+     * carrying the line number and byte offset of the line, and reading continues with the next line.
+     *
+     * @param path The file to read.
+     * @param sink Receives the outcome of every line.
+     * @return {@link Ok} containing the number of lines read, otherwise {@link Err} if the file could
+     *         not be read, or contains a line longer than the chunk size.
+     */
+    public Result<Long, IoError> read(final Path path, final Consumer<? super Result<T, LineError<E>>> sink) {
+        Objects.requireNonNull(sink);
+        return ResultFiles.checkReadable(path).andThen(file -> ResultFiles.attempt(file, () -> {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                return readChannel(file, channel, sink);
+            }
+        }));
+    }
+
+    private Result<Long, IoError> readChannel(final Path file, final FileChannel channel,
+                                              final Consumer<? super Result<T, LineError<E>>> sink) throws IOException {
+        // a line of chunkSize bytes must fit along with its \r\n terminator
+        final byte[] data = new byte[chunkSize + 2];
+        final ByteBuffer buffer = ByteBuffer.wrap(data);
+        final Line line = new Line(data);
+        long chunkOffset = 0;
+        long lineNumber = 0;
+        int start = 0;
+        int scanned = 0;
+        while (channel.read(buffer) >= 0) {
+            final int limit = buffer.position();
+            for (int i = scanned; i < limit; i++) {
+                if (data[i] == LF) {
+                    final int end = i > start && data[i - 1] == CR ? i - 1 : i;
+                    if (end - start > chunkSize) {
+                        return tooLarge(file, lineNumber + 1);
+                    }
+                    line.reset(++lineNumber, chunkOffset + start, start, end);
+                    sink.accept(parse(line));
+                    start = i + 1;
+                }
+            }
+            if (start == 0 && limit == data.length) {
+                return tooLarge(file, lineNumber + 1);
+            }
+            // move the incomplete last line to the front of the buffer; it has already been scanned
+            scanned = limit - start;
+            System.arraycopy(data, start, data, 0, scanned);
+            buffer.position(scanned);
+            chunkOffset += start;
+            start = 0;
+        }
+        final int remaining = buffer.position();
+        if (remaining > 0) {
+            final int end = data[remaining - 1] == CR ? remaining - 1 : remaining;
+            if (end > chunkSize) {
+                return tooLarge(file, lineNumber + 1);
+            }
+            line.reset(++lineNumber, chunkOffset, 0, end);
+            sink.accept(parse(line));
+        }
+        return Ok.of(lineNumber);
+    }
+
+    private Result<Long, IoError> tooLarge(final Path file, final long lineNumber) {
+        return Err.of(IoError.of(IoError.Kind.TOO_LARGE, file,
+            String.format("Line %d is longer than %d bytes.", lineNumber, chunkSize)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Result<T, LineError<E>> parse(final Line line) {
+        final Result<T, E> result = parser.parse(line);
+        if (result.isOk()) {
+            // an Ok holds no error value, so it is reused as-is rather than copied
+            return (Result<T, LineError<E>>) (Result<T, ?>) result;
+        }
+        return Err.of(LineError.of(line.lineNumber, line.byteOffset, result.unwrapErr()));
+    }
+
+    /**
+     * Parses a single line of input.
+     *
+     * @param <T> Type of the success value.
+     * @param <E> Type of the error value.
+     */
+    @FunctionalInterface
+    public interface Parser<T, E> {
+
+        /**
+         * Parses a line.
+         *
+         * <p>The {@link Line} is only valid for the duration of the call, and must not be retained.
+         *
+         * @param line View of the bytes of the line.
+         * @return {@link Ok} containing the parsed value, otherwise {@link Err}.
+         */
+        Result<T, E> parse(Line line);
+    }
+
+    /**
+     * Reusable view of the bytes of one line, without its terminator.
+     *
+     * <p>The same instance is passed to the {@link Parser} for every line of a file, so it must not
+     * be retained once the parser returns. Use {@link #asString()} to copy the line.
+     */
+    public static final class Line {
+        private final byte[] data;
+        private long lineNumber;
+        private long byteOffset;
+        private int start;
+        private int length;
+
+        private Line(final byte[] data) {
+            this.data = data;
+        }
+
+        private void reset(final long number, final long offset, final int from, final int to) {
+            this.lineNumber = number;
+            this.byteOffset = offset;
+            this.start = from;
+            this.length = to - from;
+        }
+
+        /**
+         * Returns the 1-based number of the line.
+         *
+         * @return The 1-based number of the line.
+         */
+        public long lineNumber() {
+            return lineNumber;
+        }
+
+        /**
+         * Returns the offset, in bytes from the start of the file, of the first byte of the line.
+         *
+         * @return The offset of the first byte of the line.
+         */
+        public long byteOffset() {
+            return byteOffset;
+        }
+
+        /**
+         * Returns the length of the line in bytes.
+         *
+         * @return The length of the line in bytes.
+         */
+        public int length() {
+            return length;
+        }
+
+        /**
+         * Returns the byte at {@code index} in the line.
+         *
+         * @param index The index of the byte, from {@code 0} to {@code length() - 1}.
+         * @return The byte at {@code index}.
+         * @throws IndexOutOfBoundsException Thrown if {@code index} is outside the line.
+         */
+        public byte byteAt(final int index) {
+            checkRange(index, index + 1);
+            return data[start + index];
+        }
+
+        /**
+         * Returns the index of the first occurrence of {@code value} in the line at or after {@code from},
+         * for example to find the delimiter between two fields.
+         *
+         * @param value The byte to look for.
+         * @param from The index to start searching from.
+         * @return The index of the byte, or {@code -1} if it does not occur.
+         */
+        public int indexOf(final byte value, final int from) {
+            for (int i = Math.max(from, 0); i < length; i++) {
+                if (data[start + i] == value) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Decodes the line as UTF-8.
+         *
+         * @return New {@link String} containing the line.
+         */
+        public String asString() {
+            return asString(0, length, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Decodes a range of the line, for example a single field.
+         *
+         * @param from The index of the first byte, inclusive.
+         * @param to The index of the last byte, exclusive.
+         * @param charset The charset the line is encoded in.
+         * @return New {@link String} containing the range of the line.
+         * @throws IndexOutOfBoundsException Thrown if the range is outside the line.
+         */
+        public String asString(final int from, final int to, final Charset charset) {
+            checkRange(from, to);
+            return new String(data, start + from, to - from, charset);
+        }
+
+        private void checkRange(final int from, final int to) {
+            if (from < 0 || to > length || from > to) {
+                throw new IndexOutOfBoundsException(String.format("[%d, %d) is outside [0, %d)", from, to, length));
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            return asString();
+        }
+    }
+}
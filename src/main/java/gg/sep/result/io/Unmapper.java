@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result.io;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+
+/**
+ * Unmaps memory-mapped files on demand, rather than when the buffer is garbage collected, so that
+ * the mapping neither outlives its reader nor keeps the file locked on Windows.
+ *
+ * <p>Java 8 has no public API for this, so the unmapping goes through whichever internal hook the
+ * running JVM offers: {@code sun.misc.Unsafe#invokeCleaner} on Java 9 and later, or the buffer's own
+ * {@code cleaner()} on Java 8. If neither is reachable, {@link #unmap(MappedByteBuffer)} does nothing
+ * and the mapping is released by the garbage collector as usual.
+ *
+ * <p>The class is package-private on purpose: unmapping a buffer which is still read crashes the JVM,
+ * so only the readers and journals of this package, which own their mappings, may do it.
+ */
+final class Unmapper {
+
+    /**
+     * Unmaps a mapped buffer.
+     */
+    interface Hook {
+        /**
+         * Unmaps {@code buffer}.
+         *
+         * @param buffer The buffer to unmap; must not be used afterwards.
+         * @return {@code true} if the buffer was unmapped, {@code false} if it is left to the garbage collector.
+         * @throws ReflectiveOperationException Thrown if the internal hook cannot be called.
+         */
+        boolean unmap(Object buffer) throws ReflectiveOperationException;
+    }
+
+    /** Hook which leaves the buffer to the garbage collector. */
+    static final Hook NONE = buffer -> false;
+
+    private static final Hook HOOK = resolve("sun.misc.Unsafe", ByteBuffer.allocateDirect(1));
+
+    private Unmapper() {
+    }
+
+    /**
+     * Unmaps a buffer returned by {@link java.nio.channels.FileChannel#map}.
+     *
+     * @param buffer The buffer to unmap, not a duplicate or slice of it; neither it nor any view of it may
+     *               be used afterwards.
+     * @return {@code true} if the buffer was unmapped immediately, {@code false} if it is left to the
+     *         garbage collector.
+     */
+    static boolean unmap(final MappedByteBuffer buffer) {
+        return unmap(HOOK, buffer);
+    }
+
+    static boolean unmap(final Hook hook, final Object buffer) {
+        try {
+            return hook.unmap(buffer);
+        } catch (final ReflectiveOperationException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Finds the hook supported by the running JVM.
+     *
+     * @param unsafeClass Name of the class declaring {@code invokeCleaner(ByteBuffer)} and {@code theUnsafe}.
+     * @param probe A direct buffer, whose {@code cleaner()} method is used if {@code unsafeClass} is unavailable.
+     * @return The hook, or {@link #NONE}.
+     */
+    static Hook resolve(final String unsafeClass, final Object probe) {
+        try {
+            final Class<?> type = Class.forName(unsafeClass);
+            final Method invokeCleaner = type.getMethod("invokeCleaner", ByteBuffer.class);
+            final Field field = type.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            final Object unsafe = field.get(null);
+            return buffer -> {
+                invokeCleaner.invoke(unsafe, buffer);
+                return true;
+            };
+        } catch (final ReflectiveOperationException | RuntimeException e) {
+            return resolveCleaner(probe);
+        }
+    }
+
+    private static Hook resolveCleaner(final Object probe) {
+        try {
+            final Method cleaner = probe.getClass().getMethod("cleaner");
+            cleaner.setAccessible(true);
+            final Method clean = cleaner.getReturnType().getMethod("clean");
+            clean.setAccessible(true);
+            return buffer -> {
+                clean.invoke(cleaner.invoke(buffer));
+                return true;
+            };
+        } catch (final ReflectiveOperationException | RuntimeException e) {
+            return NONE;
+        }
+    }
+}
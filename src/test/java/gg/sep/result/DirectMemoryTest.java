@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link DirectMemory} type.
+ */
+class DirectMemoryTest {
+
+    @Test
+    void allocate_ReturnsZeroedDirectBufferInNativeOrder() {
+        final ByteBuffer buffer = DirectMemory.allocate(16);
+        assertTrue(buffer.isDirect());
+        assertEquals(16, buffer.capacity());
+        assertEquals(ByteOrder.nativeOrder(), buffer.order());
+        assertEquals(0L, buffer.getLong(8));
+        assertTrue(DirectMemory.free(buffer));
+    }
+
+    @Test
+    void resolve_Unsafe_FreesBuffers() throws ReflectiveOperationException {
+        final DirectMemory.Deallocator deallocator = DirectMemory.resolve("sun.misc.Unsafe", ByteBuffer.allocateDirect(1));
+        assertNotSame(DirectMemory.NONE, deallocator);
+        assertTrue(deallocator.free(ByteBuffer.allocateDirect(8)));
+    }
+
+    @Test
+    void resolve_NoUnsafe_UsesBufferCleaner() throws ReflectiveOperationException {
+        final DirectMemory.Deallocator deallocator = DirectMemory.resolve("gg.sep.result.NoSuchUnsafe", new FakeBuffer());
+        final FakeBuffer buffer = new FakeBuffer();
+        assertTrue(deallocator.free(buffer));
+        assertTrue(buffer.cleaner.cleaned);
+    }
+
+    @Test
+    void resolve_NoHook_ReturnsNone() throws ReflectiveOperationException {
+        final DirectMemory.Deallocator deallocator = DirectMemory.resolve("gg.sep.result.NoSuchUnsafe", new Object());
+        assertSame(DirectMemory.NONE, deallocator);
+        assertFalse(deallocator.free(new Object()));
+    }
+
+    @Test
+    void free_HookFails_ReturnsFalse() {
+        assertFalse(DirectMemory.free(buffer -> {
+            throw new IllegalAccessException("denied");
+        }, new Object()));
+    }
+
+    /**
+     * Stands in for a Java 8 direct buffer, whose {@code cleaner()} returns a {@code sun.misc.Cleaner}.
+     */
+    public static final class FakeBuffer {
+        private final FakeCleaner cleaner = new FakeCleaner();
+
+        /**
+         * Returns the cleaner of this buffer.
+         *
+         * @return The cleaner.
+         */
+        public FakeCleaner cleaner() {
+            return cleaner;
+        }
+    }
+
+    /**
+     * Stands in for {@code sun.misc.Cleaner}.
+     */
+    public static final class FakeCleaner {
+        private boolean cleaned;
+
+        /**
+         * Records the call.
+         */
+        public void clean() {
+            cleaned = true;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link ErrorCode} type.
+ *
+ * <p>The JVM-wide registry is shared by every test, so each test registers its own ids.
+ */
+class ErrorCodeTest {
+
+    @AfterEach
+    void detach() {
+        ErrorRecorder.attachToErrCreation(null);
+        ErrorRecorder.attachToPanics(null);
+    }
+
+    @Test
+    void register_InvalidOrDuplicateId_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> ErrorCode.register(-1, "NEGATIVE"));
+        assertThrows(IllegalArgumentException.class, () -> ErrorCode.register(ErrorCode.MAX_ID + 1, "TOO_LARGE"));
+        assertThrows(NullPointerException.class, () -> ErrorCode.register(100, null));
+
+        ErrorCode.register(101, "FIRST");
+        final IllegalArgumentException duplicate = assertThrows(IllegalArgumentException.class,
+            () -> ErrorCode.register(101, "SECOND"));
+        assertTrue(duplicate.getMessage().contains("FIRST (101)"));
+    }
+
+    @Test
+    void newNamespace_IdsIndependentOfOtherNamespaces() {
+        final ErrorCode.Namespace billing = ErrorCode.newNamespace("billing");
+        final ErrorCode.Namespace shipping = ErrorCode.newNamespace("shipping");
+        final ErrorCode declined = billing.register(1, "DECLINED");
+        final ErrorCode lost = shipping.register(1, "LOST");
+
+        assertSame(declined, billing.byId(1).get());
+        assertSame(lost, shipping.byId(1).get());
+        assertNotEquals(declined, lost);
+        assertSame(billing, declined.namespace());
+        assertEquals("billing", billing.name());
+        assertEquals("billing", billing.toString());
+        assertEquals("billing:DECLINED (1)", declined.toString());
+        assertEquals(Optional.empty(), billing.byId(2));
+        assertThrows(IllegalArgumentException.class, () -> billing.register(1, "AGAIN"));
+        assertThrows(NullPointerException.class, () -> ErrorCode.newNamespace(null));
+    }
+
+    @Test
+    void byId_ReturnsRegisteredCode() {
+        final ErrorCode high = ErrorCode.register(ErrorCode.MAX_ID, "HIGHEST");
+        final ErrorCode low = ErrorCode.register(110, "LOW");
+
+        assertSame(low, ErrorCode.byId(110).get());
+        assertSame(ErrorCode.byId(110), ErrorCode.byId(110));
+        assertSame(high, ErrorCode.byId(ErrorCode.MAX_ID).get());
+        assertEquals(110, low.id());
+        assertEquals("LOW", low.name());
+        assertEquals("LOW (110)", low.toString());
+
+        assertEquals(Optional.empty(), ErrorCode.byId(111));
+        assertEquals(Optional.empty(), ErrorCode.byId(-1));
+        assertEquals(Optional.empty(), ErrorCode.byId(ErrorCode.MAX_ID + 1));
+    }
+
+    @Test
+    void err_ReturnsSharedErrAndRecordsEachUse() {
+        final ErrorCode code = ErrorCode.register(120, "SHARED");
+        final ErrorRecorder recorder = ErrorRecorder.create(4);
+        ErrorRecorder.attachToErrCreation(recorder);
+
+        final Result<String, ErrorCode> first = code.err();
+        final Result<Integer, ErrorCode> second = code.err();
+        assertSame(first, second);
+        assertTrue(first.isErr());
+        assertSame(code, first.unwrapErr());
+        assertEquals(2, recorder.recordedCount());
+        assertEquals(Err.of(code), first);
+    }
+
+    @Test
+    void unwrap_ThrowsPreallocatedStacklessException() {
+        final ErrorCode code = ErrorCode.register(130, "UNWRAPPED");
+        final ErrorRecorder recorder = ErrorRecorder.create(4);
+        ErrorRecorder.attachToPanics(recorder);
+
+        final ResultException first = assertThrows(ResultException.class, () -> code.err().unwrap());
+        final ResultException second = assertThrows(ResultException.class, () -> Err.of(code).unwrap());
+        assertSame(code.exception(), first);
+        assertSame(first, second);
+        assertEquals("UNWRAPPED (130)", first.getMessage());
+        assertEquals(0, first.getStackTrace().length);
+        assertEquals(2, recorder.recordedCount());
+
+        first.addSuppressed(new IllegalStateException());
+        assertEquals(0, first.getSuppressed().length);
+        assertThrows(IllegalStateException.class, () -> first.initCause(new IllegalStateException()));
+
+        final ResultException expected = assertThrows(ResultException.class, () -> code.err().expect("lookup"));
+        assertEquals("lookup: UNWRAPPED (130)", expected.getMessage());
+    }
+}
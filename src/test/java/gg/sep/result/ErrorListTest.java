@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link ErrorList} type.
+ */
+class ErrorListTest {
+
+    @Test
+    void of_DoesNotAllowNull() {
+        assertThrows(NullPointerException.class, () -> ErrorList.of(null));
+    }
+
+    @Test
+    void appendAndConcat_PreserveOrder() {
+        final ErrorList<String> left = ErrorList.of("a").append("b");
+        final ErrorList<String> right = ErrorList.of("c").concat(ErrorList.of("d").append("e"));
+        final ErrorList<String> both = left.concat(right);
+
+        assertEquals(5, both.size());
+        assertEquals("a", both.first());
+        assertEquals("c", right.first());
+        assertEquals(Arrays.asList("a", "b", "c", "d", "e"), both.toList());
+        assertEquals("[a, b, c, d, e]", both.toString());
+
+        // operands are untouched
+        assertEquals(Arrays.asList("a", "b"), left.toList());
+    }
+
+    @Test
+    void append_ThousandsOfErrors_IteratesInOrder() {
+        ErrorList<Integer> errors = ErrorList.of(0);
+        final List<Integer> expected = new ArrayList<>();
+        expected.add(0);
+        for (int i = 1; i < 100_000; i++) {
+            errors = errors.append(i);
+            expected.add(i);
+        }
+        assertEquals(expected, errors.toList());
+    }
+
+    @Test
+    void iterator_ThrowsWhenExhausted() {
+        final Iterator<String> iterator = ErrorList.of("a").iterator();
+        assertTrue(iterator.hasNext());
+        assertEquals("a", iterator.next());
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    @Test
+    void equalsAndHashCode_CompareElementsInOrder() {
+        final ErrorList<String> ab = ErrorList.of("a").append("b");
+        final ErrorList<String> sameShape = ErrorList.of("a").concat(ErrorList.of("b"));
+
+        assertEquals(ab, ab);
+        assertEquals(ab, sameShape);
+        assertEquals(ab.hashCode(), sameShape.hashCode());
+        assertNotEquals(ab, ErrorList.of("b").append("a"));
+        assertNotEquals(ab, ab.append("c"));
+        assertNotEquals(ab, Arrays.asList("a", "b"));
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link ErrorRecorder} type.
+ */
+class ErrorRecorderTest {
+
+    private static List<Object> errors(final ErrorRecorder recorder) {
+        final List<Object> errors = new ArrayList<>();
+        recorder.snapshot().forEach(entry -> errors.add(entry.error()));
+        return errors;
+    }
+
+    @AfterEach
+    void detach() {
+        ErrorRecorder.attachToErrCreation(null);
+        ErrorRecorder.attachToPanics(null);
+    }
+
+    @Test
+    void create_RoundsCapacityUpToPowerOfTwo() {
+        assertEquals(1, ErrorRecorder.create(1).capacity());
+        assertEquals(4, ErrorRecorder.create(3).capacity());
+        assertEquals(4, ErrorRecorder.create(4).capacity());
+        assertThrows(IllegalArgumentException.class, () -> ErrorRecorder.create(0));
+        assertThrows(IllegalArgumentException.class, () -> ErrorRecorder.create((1 << 30) + 1));
+    }
+
+    @Test
+    void snapshot_KeepsLastErrorsOldestFirst() {
+        final ErrorRecorder recorder = ErrorRecorder.create(4);
+        assertEquals(Arrays.asList(), errors(recorder));
+        for (int i = 0; i < 6; i++) {
+            recorder.record("error " + i);
+        }
+        assertEquals(6, recorder.recordedCount());
+        assertEquals(Arrays.asList("error 2", "error 3", "error 4", "error 5"), errors(recorder));
+
+        final ErrorRecorder.Entry entry = recorder.snapshot().get(0);
+        assertEquals(2, entry.sequence());
+        assertEquals(Thread.currentThread().getName(), entry.threadName());
+        assertTrue(Math.abs(System.currentTimeMillis() - entry.timestampMillis()) < 60_000);
+        assertTrue(entry.toString().startsWith("#2 "), entry.toString());
+        assertTrue(entry.toString().endsWith(" [" + entry.threadName() + "] error 2"), entry.toString());
+    }
+
+    @Test
+    void write_LappedRecord_IsDropped() {
+        final ErrorRecorder recorder = ErrorRecorder.create(4);
+        recorder.record("error 0");
+        recorder.record("error 1");
+        // record 5 shares the slot of record 1, and has already been written
+        assertTrue(recorder.write(5, "error 5"));
+        assertFalse(recorder.write(1, "late error 1"));
+        assertEquals(Arrays.asList("error 0"), errors(recorder));
+    }
+
+    @Test
+    void write_LapsRecordBeingWritten_WaitsAndKeepsNewest() throws InterruptedException {
+        final CountDownLatch writing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicBoolean first = new AtomicBoolean(true);
+        final ErrorRecorder recorder = ErrorRecorder.create(1, () -> {
+            if (first.getAndSet(false)) {
+                writing.countDown();
+                try {
+                    release.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return System.currentTimeMillis();
+        });
+        final Thread older = new Thread(() -> recorder.record("older"));
+        older.start();
+        assertTrue(writing.await(10, TimeUnit.SECONDS));
+        final Thread newer = new Thread(() -> recorder.record("newer"));
+        newer.start();
+        Thread.sleep(50); // the newer record waits for the older one, which holds the only slot
+        assertTrue(newer.isAlive());
+        release.countDown();
+        older.join();
+        newer.join();
+        assertEquals(Arrays.asList("newer"), errors(recorder));
+        assertEquals(1, recorder.snapshot().get(0).sequence());
+    }
+
+    @Test
+    void attachToErrCreation_RecordsErrValues() {
+        final ErrorRecorder recorder = ErrorRecorder.create(8);
+        Err.of("before");
+        ErrorRecorder.attachToErrCreation(recorder);
+        Err.of("first");
+        Err.withCachedHash("second");
+        Ok.of("not an error");
+        ErrorRecorder.attachToErrCreation(null);
+        Err.of("after");
+        assertEquals(Arrays.asList("first", "second"), errors(recorder));
+    }
+
+    @Test
+    void attachToPanics_RecordsResultExceptions() {
+        final ErrorRecorder recorder = ErrorRecorder.create(8);
+        ErrorRecorder.attachToPanics(recorder);
+        final ResultException unwrap = assertThrows(ResultException.class, () -> Err.of("boom").unwrap());
+        final ResultException expectErr = assertThrows(ResultException.class, () -> Ok.of(1).expectErr("oops"));
+        final ResultException slot = assertThrows(ResultException.class, () -> new ResultSlot<Integer, String>().value());
+        Ok.of(1).unwrap();
+
+        final List<Object> errors = errors(recorder);
+        assertEquals(3, errors.size());
+        assertSame(unwrap, errors.get(0));
+        assertSame(expectErr, errors.get(1));
+        assertSame(slot, errors.get(2));
+    }
+
+    @Test
+    void record_ConcurrentProducers_SnapshotsAreConsistent() throws InterruptedException {
+        final ErrorRecorder recorder = ErrorRecorder.create(64);
+        final int threads = 4;
+        final int perThread = 200_000;
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final List<Thread> producers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final Thread producer = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                final String name = Thread.currentThread().getName();
+                for (int i = 0; i < perThread; i++) {
+                    recorder.record(name);
+                }
+            }, "producer-" + t);
+            producers.add(producer);
+            producer.start();
+        }
+        start.countDown();
+        int snapshots = 0;
+        while (running.get()) {
+            long previous = -1;
+            for (final ErrorRecorder.Entry entry : recorder.snapshot()) {
+                assertEquals(entry.threadName(), entry.error(), "error written by another thread");
+                assertTrue(entry.sequence() > previous);
+                previous = entry.sequence();
+            }
+            snapshots++;
+            running.set(producers.stream().anyMatch(Thread::isAlive));
+        }
+        for (final Thread producer : producers) {
+            producer.join();
+        }
+        assertTrue(snapshots > 0);
+        assertEquals(threads * perThread, recorder.recordedCount());
+        assertTrue(recorder.snapshot().size() <= recorder.capacity());
+    }
+
+    @Test
+    void record_AllocatesNothing() {
+        final java.lang.management.ThreadMXBean platformBean = ManagementFactory.getThreadMXBean();
+        assumeTrue(platformBean instanceof ThreadMXBean);
+        final ThreadMXBean bean = (ThreadMXBean) platformBean;
+        assumeTrue(bean.isThreadAllocatedMemorySupported());
+        bean.setThreadAllocatedMemoryEnabled(true);
+
+        final ErrorRecorder recorder = ErrorRecorder.create(1024);
+        final String error = "error";
+        final int iterations = 1_000_000;
+        for (int i = 0; i < iterations; i++) {
+            recorder.record(error); // warm up
+        }
+        final long threadId = Thread.currentThread().getId();
+        final long before = bean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < iterations; i++) {
+            recorder.record(error);
+        }
+        final long allocated = bean.getThreadAllocatedBytes(threadId) - before;
+        assertEquals(0, allocated / iterations, "bytes allocated per record");
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link LazyResult} type.
+ */
+class LazyResultTest {
+
+    private final AtomicInteger evaluations = new AtomicInteger();
+
+    private <T, E> LazyResult<T, E> counting(final Result<T, E> result) {
+        return LazyResult.of(() -> {
+            evaluations.incrementAndGet();
+            return result;
+        });
+    }
+
+    private static <T, E> Result<T, E> evaluated(final Result<T, E> lazy) {
+        return ((LazyResult<T, E>) lazy).get();
+    }
+
+    @Test
+    void of_NullSupplier_Throws() {
+        assertThrows(NullPointerException.class, () -> LazyResult.of(null));
+    }
+
+    @Test
+    void isOk_EvaluatesOnceOnFirstRead() {
+        final LazyResult<Integer, String> lazy = counting(Ok.of(1));
+        assertFalse(lazy.isEvaluated());
+        assertEquals(0, evaluations.get());
+
+        assertTrue(lazy.isOk());
+        assertFalse(lazy.isErr());
+        assertEquals(1, lazy.unwrap());
+        assertTrue(lazy.isEvaluated());
+        assertEquals(1, evaluations.get());
+    }
+
+    @Test
+    void combinators_Unread_NeverEvaluate() {
+        final LazyResult<Integer, String> lazy = counting(Ok.of(1));
+        lazy.map(v -> v + 1);
+        lazy.andThen(v -> Ok.of(v + 1));
+        lazy.and(Ok.of(2));
+        lazy.mapErr(String::length);
+        lazy.or(Ok.of(2));
+        lazy.orElse(e -> Ok.of(2));
+        assertFalse(lazy.isEvaluated());
+        assertEquals(0, evaluations.get());
+    }
+
+    @Test
+    void combinators_Read_EvaluateSourceOnce() {
+        final LazyResult<Integer, String> ok = counting(Ok.of(1));
+        assertEquals(Ok.of(2), evaluated(ok.map(v -> v + 1)));
+        assertEquals(Ok.of(3), evaluated(ok.andThen(v -> Ok.of(v + 2))));
+        assertEquals(Ok.of("and"), evaluated(ok.and(Ok.of("and"))));
+        assertEquals(Ok.of(1), evaluated(ok.mapErr(String::length)));
+        assertEquals(Ok.of(1), evaluated(ok.or(Ok.of(2))));
+        assertEquals(Ok.of(1), evaluated(ok.orElse(e -> Ok.of(2))));
+        assertEquals(1, evaluations.get());
+
+        final LazyResult<Integer, String> err = counting(Err.of("bad"));
+        assertEquals(Err.of(3), evaluated(err.mapErr(String::length)));
+        assertEquals(Ok.of(2), evaluated(err.or(Ok.of(2))));
+        assertEquals(Ok.of(3), evaluated(err.orElse(e -> Ok.of(e.length()))));
+        assertEquals(Err.of("bad"), evaluated(err.map(v -> v + 1)));
+        assertEquals(2, evaluations.get());
+    }
+
+    @Test
+    void combinators_DeepChain_EvaluatesWithoutRecursion() {
+        final LazyResult<Integer, String> source = counting(Ok.of(0));
+        Result<Integer, String> chain = source;
+        Result<Integer, String> middle = null;
+        final int links = 200_000;
+        for (int i = 0; i < links; i++) {
+            chain = i % 2 == 0 ? chain.map(v -> v + 1) : chain.andThen(v -> Ok.of(v + 1)).mapErr(e -> e).orElse(Err::of);
+            if (i == links / 2) {
+                middle = chain;
+            }
+        }
+        assertEquals(Ok.of(links / 2 + 1), evaluated(middle));
+        assertEquals(Ok.of(links), evaluated(chain));
+        assertTrue(source.isEvaluated());
+        assertEquals(1, evaluations.get());
+    }
+
+    @Test
+    void accessors_DelegateToEvaluatedResult() {
+        final LazyResult<Integer, String> ok = LazyResult.of(() -> Ok.of(1));
+        assertTrue(ok.contains(1));
+        assertFalse(ok.containsErr("bad"));
+        assertEquals(Optional.of(1), ok.getOk());
+        assertEquals(Optional.empty(), ok.getErr());
+        assertEquals(1, ok.unwrapOr(2));
+        assertEquals(1, ok.unwrapOrElse(String::length));
+        assertEquals(1, ok.expect("message"));
+        assertEquals(2, ok.mapOr(0, v -> v + 1));
+        assertEquals(2, ok.mapOrElse(String::length, v -> v + 1));
+        assertEquals(1, ok.iterator().next());
+        assertThrows(ResultException.class, ok::unwrapErr);
+
+        final LazyResult<Integer, String> err = LazyResult.of(() -> Err.of("bad"));
+        assertEquals("bad", err.unwrapErr());
+        assertEquals("bad", err.expectErr("message"));
+        assertEquals(3, err.unwrapOrElse(String::length));
+        assertFalse(err.iterator().hasNext());
+        assertThrows(ResultException.class, () -> err.expect("message"));
+    }
+
+    @Test
+    void get_SupplierThrows_RetriedOnNextRead() {
+        final AtomicInteger attempts = new AtomicInteger();
+        final LazyResult<Integer, String> lazy = LazyResult.of(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("transient");
+            }
+            return Ok.of(attempts.get());
+        });
+        assertThrows(IllegalStateException.class, lazy::get);
+        assertFalse(lazy.isEvaluated());
+        assertEquals(Ok.of(2), lazy.get());
+        assertEquals(Ok.of(2), lazy.get());
+    }
+
+    @Test
+    void get_SupplierReturnsNull_Throws() {
+        final Supplier<Result<Integer, String>> supplier = () -> null;
+        assertThrows(NullPointerException.class, () -> LazyResult.of(supplier).isOk());
+    }
+
+    @Test
+    void get_ConcurrentFirstReads_EvaluateOnce() throws InterruptedException {
+        final LazyResult<Integer, String> lazy = LazyResult.of(() -> {
+            evaluations.incrementAndGet();
+            Thread.yield();
+            return Ok.of(42);
+        });
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicInteger observed = new AtomicInteger();
+        final Thread[] readers = new Thread[8];
+        for (int i = 0; i < readers.length; i++) {
+            readers[i] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                observed.addAndGet(lazy.unwrap());
+            });
+            readers[i].start();
+        }
+        start.countDown();
+        for (final Thread reader : readers) {
+            reader.join();
+        }
+        assertEquals(1, evaluations.get());
+        assertEquals(42 * readers.length, observed.get());
+    }
+
+    @Test
+    void equals_ComparesEvaluatedResultsOfLazyResultsOnly() {
+        final LazyResult<Integer, String> lazy = LazyResult.of(() -> Ok.of(1));
+        assertEquals(lazy, lazy);
+        assertEquals(lazy, LazyResult.of(() -> Ok.of(1)));
+        assertNotEquals(lazy, LazyResult.of(() -> Err.of(1)));
+        assertEquals(LazyResult.of(() -> Ok.of(1)).hashCode(), lazy.hashCode());
+
+        // symmetric with Ok and Err, which only equal their own kind
+        assertNotEquals(lazy, Ok.of(1));
+        assertNotEquals(Ok.of(1), lazy);
+        assertNotEquals(lazy, Err.of(1));
+        assertEquals(Ok.of(1), lazy.get());
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalDouble;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link OffHeapDoubleResultColumn} type.
+ */
+class OffHeapDoubleResultColumnTest {
+
+    @Test
+    void get_ReturnsOkOrErr() {
+        try (OffHeapDoubleResultColumn column = OffHeapDoubleResultColumn.allocate(2)) {
+            column.appendOk(0.5);
+            column.appendErr(9);
+            assertEquals(Ok.of(0.5), column.get(0));
+            assertEquals(Err.of(9), column.get(1));
+            assertThrows(ResultException.class, () -> column.getOk(1));
+        }
+    }
+
+    @Test
+    void forEachOk_FilterAndMinMax_SpanPages() {
+        try (OffHeapDoubleResultColumn column = OffHeapDoubleResultColumn.allocate(300, 6)) {
+            for (int i = 0; i < 300; i++) {
+                if (i % 3 == 0) {
+                    column.appendErr(i);
+                } else {
+                    column.appendOk(i / 4.0);
+                }
+            }
+            final List<Double> values = new ArrayList<>();
+            column.forEachOk(values::add);
+            assertEquals(200, values.size());
+            assertEquals(0.25, values.get(0));
+            try (OffHeapDoubleResultColumn whole = column.filter(v -> v == Math.rint(v))) {
+                assertEquals(50, whole.size());
+                assertEquals(OptionalDouble.of(1.0), whole.min());
+                assertEquals(OptionalDouble.of(74.0), whole.max());
+                assertEquals(whole.sum(), whole.reduce(0, Double::sum));
+            }
+        }
+    }
+
+    @Test
+    void sum_CompensatesRoundingError() {
+        try (OffHeapDoubleResultColumn column = OffHeapDoubleResultColumn.allocate(1_000_003)) {
+            column.appendOk(1e100);
+            column.appendOk(1.0);
+            column.appendOk(-1e100);
+            for (int i = 0; i < 1_000_000; i++) {
+                column.appendOk(0.1);
+            }
+            assertEquals(100_001.0, column.sum(), 1e-9);
+        }
+    }
+
+    @Test
+    void sum_NonFiniteValues_MatchNaiveSum() {
+        try (OffHeapDoubleResultColumn infinite = OffHeapDoubleResultColumn.allocate(2);
+             OffHeapDoubleResultColumn nan = OffHeapDoubleResultColumn.allocate(2)) {
+            infinite.appendOk(1.0);
+            infinite.appendOk(Double.POSITIVE_INFINITY);
+            assertEquals(Double.POSITIVE_INFINITY, infinite.sum());
+            nan.appendOk(1.0);
+            nan.appendOk(Double.NaN);
+            assertTrue(Double.isNaN(nan.sum()));
+        }
+    }
+
+    @Test
+    void aggregates_NoOkEntry_ReturnEmpty() {
+        try (OffHeapDoubleResultColumn column = OffHeapDoubleResultColumn.allocate(1)) {
+            column.appendErr(1);
+            assertEquals(0.0, column.sum());
+            assertEquals(OptionalDouble.empty(), column.min());
+            assertEquals(OptionalDouble.empty(), column.max());
+        }
+    }
+
+    @Test
+    void close_DuringBulkOperation_ThrowsAndKeepsPages() {
+        final OffHeapDoubleResultColumn column = OffHeapDoubleResultColumn.allocate(100, 6);
+        try {
+            for (int i = 0; i < 100; i++) {
+                column.appendOk(i);
+            }
+            assertThrows(IllegalStateException.class, () -> column.forEachOk(v -> column.close()));
+            assertThrows(IllegalStateException.class, () -> column.reduce(0.0, (a, v) -> {
+                column.close();
+                return a;
+            }));
+            assertFalse(column.isClosed());
+            assertEquals(99, column.getOk(99), 0);
+        } finally {
+            column.close();
+        }
+    }
+
+    @Test
+    void filter_PredicateThrows_Propagates() {
+        try (OffHeapDoubleResultColumn column = OffHeapDoubleResultColumn.allocate(10)) {
+            column.appendOk(1.0);
+            assertThrows(IllegalArgumentException.class, () -> column.filter(v -> {
+                throw new IllegalArgumentException();
+            }));
+        }
+    }
+}
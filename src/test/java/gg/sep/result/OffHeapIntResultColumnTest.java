@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalInt;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link OffHeapIntResultColumn} type.
+ */
+class OffHeapIntResultColumnTest {
+
+    private static OffHeapIntResultColumn column(final int size) {
+        final OffHeapIntResultColumn column = OffHeapIntResultColumn.allocate(size, 6);
+        for (int i = 0; i < size; i++) {
+            if (i % 10 == 3) {
+                column.appendErr(-i);
+            } else {
+                column.appendOk(i);
+            }
+        }
+        return column;
+    }
+
+    @Test
+    void get_ReturnsOkOrErr() {
+        try (OffHeapIntResultColumn column = column(5)) {
+            assertEquals(Ok.of(2), column.get(2));
+            assertEquals(Err.of(-3), column.get(3));
+            assertEquals(4, column.getOk(4));
+            assertThrows(ResultException.class, () -> column.getOk(3));
+        }
+    }
+
+    @Test
+    void forEachOk_SpansPages_VisitsValuesInOrder() {
+        try (OffHeapIntResultColumn column = column(500)) {
+            final List<Integer> values = new ArrayList<>();
+            column.forEachOk(values::add);
+            final List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                if (i % 10 != 3) {
+                    expected.add(i);
+                }
+            }
+            assertEquals(expected, values);
+        }
+    }
+
+    @Test
+    void filter_KeepsMatchingOkValues() {
+        try (OffHeapIntResultColumn column = column(500);
+             OffHeapIntResultColumn large = column.filter(v -> v >= 400)) {
+            assertEquals(90, large.size());
+            assertEquals(400, large.getOk(0));
+        }
+    }
+
+    @Test
+    void aggregates_SumInLongArithmetic() {
+        try (OffHeapIntResultColumn column = OffHeapIntResultColumn.allocate(3)) {
+            column.appendOk(Integer.MAX_VALUE);
+            column.appendErr(0);
+            column.appendOk(Integer.MAX_VALUE);
+            assertEquals(2L * Integer.MAX_VALUE, column.sum());
+            assertEquals(-2, column.reduce(0, Integer::sum));
+            assertEquals(OptionalInt.of(Integer.MAX_VALUE), column.min());
+            assertEquals(OptionalInt.of(Integer.MAX_VALUE), column.max());
+        }
+    }
+
+    @Test
+    void aggregates_NoOkEntry_ReturnEmpty() {
+        try (OffHeapIntResultColumn column = OffHeapIntResultColumn.allocate(0)) {
+            assertEquals(0, column.sum());
+            assertEquals(OptionalInt.empty(), column.min());
+            assertEquals(OptionalInt.empty(), column.max());
+        }
+    }
+
+    @Test
+    void close_DuringBulkOperation_ThrowsAndKeepsPages() {
+        final OffHeapIntResultColumn column = OffHeapIntResultColumn.allocate(100, 6);
+        try {
+            for (int i = 0; i < 100; i++) {
+                column.appendOk(i);
+            }
+            assertThrows(IllegalStateException.class, () -> column.forEachOk(v -> column.close()));
+            assertThrows(IllegalStateException.class, () -> column.reduce(0, (a, v) -> {
+                column.close();
+                return a;
+            }));
+            assertFalse(column.isClosed());
+            assertEquals(99, column.getOk(99));
+        } finally {
+            column.close();
+        }
+    }
+
+    @Test
+    void filter_PredicateThrows_Propagates() {
+        try (OffHeapIntResultColumn column = OffHeapIntResultColumn.allocate(10)) {
+            column.appendOk(1);
+            assertThrows(IllegalArgumentException.class, () -> column.filter(v -> {
+                throw new IllegalArgumentException();
+            }));
+        }
+    }
+}
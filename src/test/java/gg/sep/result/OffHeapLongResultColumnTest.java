@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link OffHeapLongResultColumn} type.
+ */
+class OffHeapLongResultColumnTest {
+
+    private static OffHeapLongResultColumn column(final int size) {
+        final OffHeapLongResultColumn column = OffHeapLongResultColumn.allocate(size, 6);
+        for (int i = 0; i < size; i++) {
+            if (i % 10 == 3) {
+                column.appendErr(i);
+            } else {
+                column.appendOk(i * 1_000_000_000L);
+            }
+        }
+        return column;
+    }
+
+    @Test
+    void get_ReturnsOkOrErr() {
+        try (OffHeapLongResultColumn column = column(5)) {
+            assertEquals(Ok.of(2_000_000_000L), column.get(2));
+            assertEquals(Err.of(3), column.get(3));
+            assertEquals(4_000_000_000L, column.getOk(4));
+            assertThrows(ResultException.class, () -> column.getOk(3));
+        }
+    }
+
+    @Test
+    void forEachOk_SpansPages_VisitsValuesInOrder() {
+        try (OffHeapLongResultColumn column = column(500)) {
+            final List<Long> values = new ArrayList<>();
+            column.forEachOk(values::add);
+            assertEquals(450, values.size());
+            for (int i = 1; i < values.size(); i++) {
+                assertEquals(1, Long.compare(values.get(i), values.get(i - 1)));
+            }
+        }
+    }
+
+    @Test
+    void filter_KeepsMatchingOkValues() {
+        try (OffHeapLongResultColumn column = column(500);
+             OffHeapLongResultColumn even = column.filter(v -> v / 1_000_000_000L % 2 == 0)) {
+            assertEquals(250, even.size());
+            assertEquals(0, even.errCount());
+            assertEquals(0L, even.getOk(0));
+            assertEquals(498_000_000_000L, even.getOk(249));
+        }
+    }
+
+    @Test
+    void aggregates_SkipErrEntries() {
+        try (OffHeapLongResultColumn column = column(500)) {
+            long expected = 0;
+            for (int i = 0; i < 500; i++) {
+                expected += i % 10 == 3 ? 0 : i * 1_000_000_000L;
+            }
+            assertEquals(expected, column.sum());
+            assertEquals(expected, column.reduce(0, Long::sum));
+            assertEquals(OptionalLong.of(0), column.min());
+            assertEquals(OptionalLong.of(499_000_000_000L), column.max());
+        }
+    }
+
+    @Test
+    void aggregates_NoOkEntry_ReturnEmpty() {
+        try (OffHeapLongResultColumn column = OffHeapLongResultColumn.allocate(1)) {
+            column.appendErr(1);
+            assertEquals(0, column.sum());
+            assertEquals(7, column.reduce(7, Long::sum));
+            assertEquals(OptionalLong.empty(), column.min());
+            assertEquals(OptionalLong.empty(), column.max());
+        }
+    }
+
+    @Test
+    void close_DuringBulkOperation_ThrowsAndKeepsPages() {
+        final OffHeapLongResultColumn column = OffHeapLongResultColumn.allocate(100, 6);
+        try {
+            for (int i = 0; i < 100; i++) {
+                column.appendOk(i);
+            }
+            assertThrows(IllegalStateException.class, () -> column.forEachOk(v -> column.close()));
+            assertThrows(IllegalStateException.class, () -> column.reduce(0L, (a, v) -> {
+                column.close();
+                return a;
+            }));
+            assertFalse(column.isClosed());
+            assertEquals(99, column.getOk(99));
+        } finally {
+            column.close();
+        }
+    }
+
+    @Test
+    void filter_PredicateThrows_Propagates() {
+        try (OffHeapLongResultColumn column = OffHeapLongResultColumn.allocate(10)) {
+            column.appendOk(1L);
+            assertThrows(IllegalArgumentException.class, () -> column.filter(v -> {
+                throw new IllegalArgumentException();
+            }));
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link OffHeapResultColumn} type, through its {@code long} specialization.
+ */
+class OffHeapResultColumnTest {
+
+    @Test
+    void allocate_InvalidCapacity_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> OffHeapLongResultColumn.allocate(-1));
+        assertThrows(IllegalArgumentException.class, () -> OffHeapLongResultColumn.allocate((Integer.MAX_VALUE + 1L) << 6, 6));
+    }
+
+    @Test
+    void append_CountsOkAndErr() {
+        try (OffHeapLongResultColumn column = OffHeapLongResultColumn.allocate(10)) {
+            assertEquals(10, column.capacity());
+            column.appendOk(1);
+            column.appendErr(42);
+            column.appendOk(2);
+            assertEquals(3, column.size());
+            assertEquals(2, column.okCount());
+            assertEquals(1, column.errCount());
+            assertTrue(column.isOk(0));
+            assertTrue(column.isErr(1));
+            assertFalse(column.isErr(2));
+            assertEquals(42, column.errorCode(1));
+        }
+    }
+
+    @Test
+    void append_Full_Throws() {
+        try (OffHeapLongResultColumn column = OffHeapLongResultColumn.allocate(1)) {
+            column.appendErr(1);
+            assertThrows(IllegalStateException.class, () -> column.appendOk(2));
+            assertThrows(IllegalStateException.class, () -> column.appendErr(2));
+        }
+    }
+
+    @Test
+    void errorCode_OkEntry_Throws() {
+        try (OffHeapLongResultColumn column = OffHeapLongResultColumn.allocate(1)) {
+            column.appendOk(1);
+            assertThrows(ResultException.class, () -> column.errorCode(0));
+        }
+    }
+
+    @Test
+    void isOk_IndexOutOfBounds_Throws() {
+        try (OffHeapLongResultColumn column = OffHeapLongResultColumn.allocate(2)) {
+            column.appendOk(1);
+            assertThrows(IndexOutOfBoundsException.class, () -> column.isOk(-1));
+            assertThrows(IndexOutOfBoundsException.class, () -> column.isOk(1));
+        }
+    }
+
+    @Test
+    void forEachErr_SpansPages_VisitsCodesInOrder() {
+        final int size = 1000;
+        try (OffHeapLongResultColumn column = OffHeapLongResultColumn.allocate(size, 6)) {
+            final List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                // pages 2 and 3 (entries 128 to 255) hold no error at all
+                if (i % 7 == 0 && (i < 128 || i >= 256)) {
+                    column.appendErr(i);
+                    expected.add(i);
+                } else {
+                    column.appendOk(i);
+                }
+            }
+            final List<Integer> codes = new ArrayList<>();
+            column.forEachErr(codes::add);
+            assertEquals(expected, codes);
+            for (int i = 0; i < size; i++) {
+                assertEquals(expected.contains(i), column.isErr(i));
+            }
+        }
+    }
+
+    @Test
+    void forEachErr_PartialLastWord_IgnoresUnusedBits() {
+        try (OffHeapLongResultColumn column = OffHeapLongResultColumn.allocate(100)) {
+            column.appendOk(1);
+            column.appendErr(7);
+            final List<Integer> codes = new ArrayList<>();
+            column.forEachErr(codes::add);
+            assertEquals(Arrays.asList(7), codes);
+        }
+    }
+
+    @Test
+    void close_ReleasesAndRejectsFurtherUse() {
+        final OffHeapLongResultColumn column = OffHeapLongResultColumn.allocate(10);
+        column.appendOk(1);
+        column.appendErr(2);
+        assertFalse(column.isClosed());
+        column.close();
+        assertTrue(column.isClosed());
+        column.close();
+        assertThrows(IllegalStateException.class, () -> column.isOk(0));
+        assertThrows(IllegalStateException.class, () -> column.appendOk(3));
+        assertThrows(IllegalStateException.class, () -> column.forEachErr(code -> { }));
+        assertThrows(IllegalStateException.class, column::sum);
+    }
+
+    @Test
+    void close_DuringForEachErr_Throws() {
+        final OffHeapLongResultColumn column = OffHeapLongResultColumn.allocate(10);
+        try {
+            column.appendErr(1);
+            column.appendErr(2);
+            assertThrows(IllegalStateException.class, () -> column.forEachErr(code -> column.close()));
+            assertEquals(2, column.errorCode(1));
+        } finally {
+            column.close();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link ResultIterators} utilities.
+ */
+class ResultIteratorsTest {
+
+    private final List<Result<Integer, String>> mixed = Arrays.asList(
+        Ok.of(1), Err.of("a"), Ok.of(2), Ok.of(3), Ok.of(4), Err.of("b"), Err.of("c"), Ok.of(5));
+
+    /**
+     * Unbounded source: Ok of 0, 1, 2, ..., with an Err in place of every multiple of 10 after 0.
+     */
+    private static final class Generator implements Iterator<Result<Integer, String>> {
+        private int pulled;
+
+        @Override
+        public boolean hasNext() {
+            return true;
+        }
+
+        @Override
+        public Result<Integer, String> next() {
+            final int n = pulled++;
+            return n > 0 && n % 10 == 0 ? Err.of("e" + n) : Ok.of(n);
+        }
+    }
+
+    private static <T> List<T> take(final Iterator<T> iterator, final int count) {
+        final List<T> taken = new ArrayList<>();
+        while (taken.size() < count && iterator.hasNext()) {
+            taken.add(iterator.next());
+        }
+        return taken;
+    }
+
+    @Test
+    void filterOk_SkipsErrs() {
+        final Iterator<Integer> oks = ResultIterators.filterOk(mixed.iterator());
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5), take(oks, 100));
+        assertFalse(oks.hasNext());
+        assertThrows(NoSuchElementException.class, oks::next);
+    }
+
+    @Test
+    void filterOk_UnboundedSource_PullsOnlyWhatIsRead() {
+        final Generator source = new Generator();
+        final Iterator<Integer> oks = ResultIterators.filterOk(source);
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 11), take(oks, 11));
+        assertEquals(12, source.pulled);
+        assertTrue(oks.hasNext());
+        assertTrue(oks.hasNext());
+        assertEquals(13, source.pulled);
+        assertEquals(12, oks.next());
+    }
+
+    @Test
+    void errorsOnly_SkipsOks() {
+        assertEquals(Arrays.asList("a", "b", "c"), take(ResultIterators.errorsOnly(mixed.iterator()), 100));
+        assertEquals(Arrays.asList("e10", "e20"), take(ResultIterators.errorsOnly(new Generator()), 2));
+    }
+
+    @Test
+    void mapOk_MapsOkAndPassesErrInstancesThrough() {
+        final Iterator<Result<String, String>> mapped = ResultIterators.mapOk(mixed.iterator(), v -> "v" + v);
+        final List<Result<String, String>> all = take(mapped, 100);
+        assertEquals(Arrays.asList(Ok.of("v1"), Err.of("a"), Ok.of("v2"), Ok.of("v3"), Ok.of("v4"),
+            Err.of("b"), Err.of("c"), Ok.of("v5")), all);
+        assertSame(mixed.get(1), all.get(1));
+        assertFalse(mapped.hasNext());
+    }
+
+    @Test
+    void takeUntilErr_StopsAfterFirstErrInclusive() {
+        final Iterator<Result<Integer, String>> taken = ResultIterators.takeUntilErr(mixed.iterator());
+        assertEquals(Arrays.asList(Ok.of(1), Err.of("a")), take(taken, 100));
+        assertFalse(taken.hasNext());
+        assertThrows(NoSuchElementException.class, taken::next);
+
+        final Generator source = new Generator();
+        assertEquals(11, take(ResultIterators.takeUntilErr(source), 100).size());
+        assertEquals(11, source.pulled);
+
+        final List<Result<Integer, String>> oks = Arrays.asList(Ok.of(1), Ok.of(2));
+        assertEquals(oks, take(ResultIterators.takeUntilErr(oks.iterator()), 100));
+    }
+
+    @Test
+    void chunkOk_ErrEndsChunkAndKeepsOrder() {
+        final List<Result<List<Integer>, String>> chunks = take(ResultIterators.chunkOk(mixed.iterator(), 2), 100);
+        assertEquals(Arrays.asList(
+            Ok.of(Collections.singletonList(1)),
+            Err.of("a"),
+            Ok.of(Arrays.asList(2, 3)),
+            Ok.of(Collections.singletonList(4)),
+            Err.of("b"),
+            Err.of("c"),
+            Ok.of(Collections.singletonList(5))), chunks);
+        assertSame(mixed.get(1), chunks.get(1));
+    }
+
+    @Test
+    void chunkOk_UnboundedSource_ReturnsFullChunks() {
+        final Iterator<Result<List<Integer>, String>> chunks = ResultIterators.chunkOk(new Generator(), 5);
+        assertEquals(Arrays.asList(
+            Ok.of(Arrays.asList(0, 1, 2, 3, 4)),
+            Ok.of(Arrays.asList(5, 6, 7, 8, 9)),
+            Err.of("e10"),
+            Ok.of(Arrays.asList(11, 12, 13, 14, 15))), take(chunks, 4));
+    }
+
+    @Test
+    void chunkOk_MaxSize_GrowsChunkAsNeeded() {
+        final Iterator<Result<List<Integer>, String>> chunks = ResultIterators.chunkOk(mixed.iterator(), Integer.MAX_VALUE);
+        assertEquals(Ok.of(Collections.singletonList(1)), chunks.next());
+        assertEquals(Err.of("a"), chunks.next());
+        assertEquals(Ok.of(Arrays.asList(2, 3, 4)), chunks.next());
+    }
+
+    @Test
+    void chunkOk_NonPositiveSize_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> ResultIterators.chunkOk(mixed.iterator(), 0));
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link ResultSlot} type.
+ */
+class ResultSlotTest {
+
+    private static final String NOT_A_DIGIT = "not a digit";
+
+    private static void decodeDigit(final char c, final ResultSlot<Integer, String> slot) {
+        if (c >= '0' && c <= '9') {
+            slot.setOk(c - '0');
+        } else {
+            slot.setErr(NOT_A_DIGIT);
+        }
+    }
+
+    @Test
+    void set_DoesNotAllowNull() {
+        final ResultSlot<Integer, String> slot = new ResultSlot<>();
+        assertThrows(NullPointerException.class, () -> slot.setOk(null));
+        assertThrows(NullPointerException.class, () -> slot.setErr(null));
+    }
+
+    @Test
+    void setOkAndSetErr_ReplacePreviousOutcome() {
+        final ResultSlot<Integer, String> slot = new ResultSlot<>();
+        assertFalse(slot.isOk());
+        assertFalse(slot.isErr());
+
+        assertSame(slot, slot.setOk(1));
+        assertTrue(slot.isOk());
+        assertFalse(slot.isErr());
+        assertEquals(1, slot.value());
+        assertThrows(ResultException.class, slot::error);
+        assertEquals(Ok.of(1), slot.toResult());
+
+        assertSame(slot, slot.setErr("sadface"));
+        assertFalse(slot.isOk());
+        assertTrue(slot.isErr());
+        assertEquals("sadface", slot.error());
+        assertThrows(ResultException.class, slot::value);
+        assertEquals(Err.of("sadface"), slot.toResult());
+
+        slot.clear();
+        assertFalse(slot.isOk());
+        assertFalse(slot.isErr());
+        assertThrows(ResultException.class, slot::toResult);
+    }
+
+    @Test
+    void decodeLoop_AllocatesNothingPerIteration() {
+        final java.lang.management.ThreadMXBean platformBean = ManagementFactory.getThreadMXBean();
+        assumeTrue(platformBean instanceof ThreadMXBean);
+        final ThreadMXBean bean = (ThreadMXBean) platformBean;
+        assumeTrue(bean.isThreadAllocatedMemorySupported());
+        bean.setThreadAllocatedMemoryEnabled(true);
+
+        final char[] input = "0123456789x".toCharArray();
+        final ResultSlot<Integer, String> slot = new ResultSlot<>();
+        final int iterations = 1_000_000;
+        final long threadId = Thread.currentThread().getId();
+
+        long sum = 0;
+        for (int i = 0; i < iterations; i++) {
+            decodeDigit(input[i % input.length], slot);
+            sum += slot.isOk() ? slot.value() : 0;
+        }
+
+        final long before = bean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < iterations; i++) {
+            decodeDigit(input[i % input.length], slot);
+            sum += slot.isOk() ? slot.value() : 0;
+        }
+        final long allocated = bean.getThreadAllocatedBytes(threadId) - before;
+
+        assertTrue(sum > 0);
+        assertTrue(allocated < 64 * 1024, () -> allocated + " bytes allocated over " + iterations + " iterations");
+    }
+}
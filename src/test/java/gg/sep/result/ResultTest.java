@@ -324,14 +324,77 @@ class ResultTest {
         assertEquals(err2.hashCode(), Err.of(4).hashCode());
 
         // different type, same value
-        assertEquals(ok1.hashCode(), err1.hashCode());
-        assertEquals(err2.hashCode(), ok2.hashCode());
+        assertNotEquals(ok1.hashCode(), err1.hashCode());
+        assertNotEquals(err2.hashCode(), ok2.hashCode());
+        assertEquals(~ok1.hashCode(), err1.hashCode());
 
         // different type, different value
         assertNotEquals(ok1.hashCode(), err2.hashCode());
         assertNotEquals(err1.hashCode(), ok2.hashCode());
     }
 
+    @Test
+    void withCachedHash_ComputesValueHashOnce() {
+        final AtomicInteger okCalls = new AtomicInteger();
+        final AtomicInteger errCalls = new AtomicInteger();
+        final Result<CountingHash, CountingHash> ok = Ok.withCachedHash(new CountingHash(7, okCalls));
+        final Result<CountingHash, CountingHash> err = Err.withCachedHash(new CountingHash(7, errCalls));
+
+        assertEquals(7, ok.hashCode());
+        assertEquals(~7, err.hashCode());
+        assertEquals(ok.hashCode(), ok.hashCode());
+        assertEquals(err.hashCode(), err.hashCode());
+        assertEquals(1, okCalls.get());
+        assertEquals(1, errCalls.get());
+
+        // equal to the uncached variants, with the same hash codes
+        assertEquals(Ok.of(new CountingHash(7, okCalls)), ok);
+        assertEquals(Err.of(new CountingHash(7, errCalls)), err);
+        assertEquals(Ok.of(new CountingHash(7, okCalls)).hashCode(), ok.hashCode());
+        assertEquals(Err.of(new CountingHash(7, errCalls)).hashCode(), err.hashCode());
+        assertNotEquals(ok, err);
+    }
+
+    @Test
+    void withCachedHash_DifferentCachedHashes_NotEqual() {
+        final Result<CountingHash, CountingHash> ok1 = Ok.withCachedHash(new CountingHash(1, new AtomicInteger()));
+        final Result<CountingHash, CountingHash> ok2 = Ok.withCachedHash(new CountingHash(2, new AtomicInteger()));
+        final Result<CountingHash, CountingHash> err1 = Err.withCachedHash(new CountingHash(1, new AtomicInteger()));
+        final Result<CountingHash, CountingHash> err2 = Err.withCachedHash(new CountingHash(2, new AtomicInteger()));
+        ok1.hashCode();
+        ok2.hashCode();
+        err1.hashCode();
+        err2.hashCode();
+        assertNotEquals(ok1, ok2);
+        assertNotEquals(err1, err2);
+        assertThrows(NullPointerException.class, () -> Ok.withCachedHash(null));
+        assertThrows(NullPointerException.class, () -> Err.withCachedHash(null));
+    }
+
+    /**
+     * Value whose {@link #hashCode()} counts how often it is called.
+     */
+    private static final class CountingHash {
+        private final int hash;
+        private final AtomicInteger calls;
+
+        private CountingHash(final int hash, final AtomicInteger calls) {
+            this.hash = hash;
+            this.calls = calls;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof CountingHash && ((CountingHash) obj).hash == hash;
+        }
+
+        @Override
+        public int hashCode() {
+            calls.incrementAndGet();
+            return hash;
+        }
+    }
+
     @Test
     void iterator_OkHasNext_ErrThrowsException() {
         final Result<Integer, Integer> ok = Ok.of(2);
@@ -0,0 +1,322 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Unit tests for the {@link Results} utilities.
+ */
+class ResultsTest {
+
+    private static IntStream arities() {
+        return IntStream.rangeClosed(2, 8);
+    }
+
+    private static List<Result<Integer, String>> okResults(final int n) {
+        final List<Result<Integer, String>> results = new ArrayList<>();
+        for (int i = 1; i <= n; i++) {
+            results.add(Ok.of(i));
+        }
+        return results;
+    }
+
+    private static Result<Integer, String> zipN(final List<Result<Integer, String>> r) {
+        switch (r.size()) {
+            case 2:
+                return Results.zip(r.get(0), r.get(1), Integer::sum);
+            case 3:
+                return Results.zip3(r.get(0), r.get(1), r.get(2), (a, b, c) -> a + b + c);
+            case 4:
+                return Results.zip4(r.get(0), r.get(1), r.get(2), r.get(3), (a, b, c, d) -> a + b + c + d);
+            case 5:
+                return Results.zip5(r.get(0), r.get(1), r.get(2), r.get(3), r.get(4),
+                    (a, b, c, d, e) -> a + b + c + d + e);
+            case 6:
+                return Results.zip6(r.get(0), r.get(1), r.get(2), r.get(3), r.get(4), r.get(5),
+                    (a, b, c, d, e, f) -> a + b + c + d + e + f);
+            case 7:
+                return Results.zip7(r.get(0), r.get(1), r.get(2), r.get(3), r.get(4), r.get(5), r.get(6),
+                    (a, b, c, d, e, f, g) -> a + b + c + d + e + f + g);
+            default:
+                return Results.zip8(r.get(0), r.get(1), r.get(2), r.get(3), r.get(4), r.get(5), r.get(6), r.get(7),
+                    (a, b, c, d, e, f, g, h) -> a + b + c + d + e + f + g + h);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("arities")
+    void zip_AllOk_CombinesValues(final int n) {
+        assertEquals(Ok.of(n * (n + 1) / 2), zipN(okResults(n)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("arities")
+    void zip_AnyErr_ReturnsFirstErr(final int n) {
+        for (int position = 0; position < n; position++) {
+            final List<Result<Integer, String>> results = okResults(n);
+            final Result<Integer, String> first = Err.of("err" + position);
+            results.set(position, first);
+            if (position + 1 < n) {
+                results.set(position + 1, Err.of("later"));
+            }
+            assertSame(first, zipN(results));
+        }
+    }
+
+    @Test
+    void zipAll_AllOk_CollectsValuesInOrder() {
+        assertEquals(Ok.of(Arrays.asList(1, 2, 3)), Results.zipAll(okResults(3)));
+        assertEquals(Ok.of(Collections.emptyList()), Results.zipAll(Collections.<Result<Integer, String>>emptyList()));
+    }
+
+    @Test
+    void zipAll_AnyErr_ReturnsFirstErr() {
+        final List<Result<Integer, String>> results = okResults(4);
+        results.set(1, Err.of("first"));
+        results.set(3, Err.of("second"));
+        assertEquals(Err.of("first"), Results.zipAll(results));
+    }
+
+    @Test
+    void zipAllErrors_AllOk_CollectsValuesInOrder() {
+        assertEquals(Ok.of(Arrays.asList(1, 2, 3)), Results.zipAllErrors(okResults(3)));
+    }
+
+    @Test
+    void zipAllErrors_AnyErr_CollectsEveryErr() {
+        final List<Result<Integer, String>> results = okResults(4);
+        results.set(1, Err.of("first"));
+        results.set(3, Err.of("second"));
+        assertEquals(Err.of(Arrays.asList("first", "second")), Results.zipAllErrors(results));
+    }
+
+    @Test
+    void zipAll_SubtypeIterable_Accepted() {
+        final List<Ok<Integer, String>> oks = Arrays.asList(Ok.of(1), Ok.of(2));
+        final Result<List<Integer>, String> zipped = Results.zipAll(oks);
+        assertEquals(Ok.of(Arrays.asList(1, 2)), zipped);
+        final List<Err<Integer, String>> errs = Arrays.asList(Err.of("a"), Err.of("b"));
+        final Result<List<Integer>, List<String>> collected = Results.zipAllErrors(errs);
+        assertEquals(Err.of(Arrays.asList("a", "b")), collected);
+    }
+
+    private static List<Result<Integer, String>> range(final int n) {
+        final List<Result<Integer, String>> results = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            results.add(Ok.of(i));
+        }
+        return results;
+    }
+
+    private static String joinErrors(final String a, final String b) {
+        return a + "," + b;
+    }
+
+    @Test
+    void foldParallel_AllOk_FoldsEveryValue() {
+        final int n = 20_000; // large enough to be split between workers
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final Result<List<Integer>, String> folded = Results.foldParallel(range(n), Collections.<Integer>emptyList(),
+                (acc, v) -> {
+                    final List<Integer> next = new ArrayList<>(acc);
+                    next.add(v);
+                    return next;
+                },
+                (a, b) -> {
+                    final List<Integer> both = new ArrayList<>(a);
+                    both.addAll(b);
+                    return both;
+                },
+                ResultsTest::joinErrors, Results.FoldMode.COLLECT_ALL, pool);
+            final List<Integer> values = folded.unwrap();
+            assertEquals(n, values.size());
+            for (int i = 0; i < n; i++) {
+                assertEquals(i, values.get(i));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void foldParallel_SmallInput_FoldsOnCallingThread() {
+        final Thread caller = Thread.currentThread();
+        final Result<Integer, String> folded = Results.foldParallel(range(10), 0,
+            (acc, v) -> {
+                assertSame(caller, Thread.currentThread());
+                return acc + v;
+            },
+            Integer::sum, ResultsTest::joinErrors, Results.FoldMode.FAIL_FAST);
+        assertEquals(Ok.of(45), folded);
+        assertEquals(Ok.of(0), Results.foldParallel(Collections.<Result<Integer, String>>emptyList(), 0,
+            Integer::sum, Integer::sum, ResultsTest::joinErrors, Results.FoldMode.COLLECT_ALL));
+    }
+
+    @Test
+    void foldParallel_CollectAll_CombinesErrorsInEncounterOrder() {
+        final List<Result<Integer, String>> results = range(100_000);
+        results.set(3, Err.of("a"));
+        results.set(5, Err.of("b"));
+        results.set(50_000, Err.of("c"));
+        results.set(99_999, Err.of("d"));
+        assertEquals(Err.of("a,b,c,d"), Results.foldParallel(results, 0, Integer::sum, Integer::sum,
+            ResultsTest::joinErrors, Results.FoldMode.COLLECT_ALL));
+
+        final List<Result<Integer, String>> lastOnly = range(100_000);
+        lastOnly.set(99_999, Err.of("last"));
+        assertEquals(Err.of("last"), Results.foldParallel(lastOnly, 0, Integer::sum, Integer::sum,
+            ResultsTest::joinErrors, Results.FoldMode.COLLECT_ALL));
+    }
+
+    @Test
+    void foldParallel_FailFast_ReturnsAnErrorAndStopsEarly() {
+        final List<Result<Integer, String>> results = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            results.add(Err.of("e" + i));
+        }
+        final ForkJoinPool pool = new ForkJoinPool(1);
+        try {
+            final Result<Integer, String> folded = Results.foldParallel(results, 0, Integer::sum, Integer::sum,
+                (a, b) -> {
+                    throw new AssertionError("errors are not combined when failing fast");
+                },
+                Results.FoldMode.FAIL_FAST, pool);
+            assertTrue(folded.isErr());
+            assertTrue(folded.unwrapErr().startsWith("e"));
+        } finally {
+            pool.shutdown();
+        }
+
+        final List<Result<Integer, String>> single = range(100_000);
+        single.set(60_000, Err.of("only"));
+        assertEquals(Err.of("only"), Results.foldParallel(single, 0, Integer::sum, Integer::sum,
+            ResultsTest::joinErrors, Results.FoldMode.FAIL_FAST));
+    }
+
+    @Test
+    void sumLongParallel_SumsWithoutBoxing() {
+        final int n = 200_000;
+        final long expected = (long) n * (n - 1) / 2;
+        assertEquals(Ok.of(expected), Results.sumLongParallel(range(n), Integer::longValue,
+            ResultsTest::joinErrors, Results.FoldMode.COLLECT_ALL));
+
+        final List<Result<Integer, String>> results = range(n);
+        results.set(7, Err.of("x"));
+        results.set(150_000, Err.of("y"));
+        assertEquals(Err.of("x,y"), Results.sumLongParallel(results, Integer::longValue,
+            ResultsTest::joinErrors, Results.FoldMode.COLLECT_ALL));
+    }
+
+    @Test
+    void sumDoubleParallel_CompensatesRoundingError() {
+        final int n = 1_000_000;
+        final List<Result<Integer, String>> results = range(n);
+        final Result<Double, String> sum = Results.sumDoubleParallel(results, v -> 0.1,
+            ResultsTest::joinErrors, Results.FoldMode.COLLECT_ALL);
+        assertEquals(100_000.0, sum.unwrap(), 1e-9);
+
+        final List<Result<Double, String>> cancelling = Arrays.asList(Ok.of(1e100), Ok.of(1.0), Ok.of(-1e100));
+        assertEquals(Ok.of(1.0), Results.sumDoubleParallel(cancelling, Double::doubleValue,
+            ResultsTest::joinErrors, Results.FoldMode.FAIL_FAST, ForkJoinPool.commonPool()));
+    }
+
+    @Test
+    void sumDoubleParallel_NonFiniteValues_MatchNaiveSum() {
+        final List<Result<Double, String>> infinite = Arrays.asList(Ok.of(1.0), Ok.of(Double.POSITIVE_INFINITY));
+        assertEquals(Ok.of(Double.POSITIVE_INFINITY), Results.sumDoubleParallel(infinite, Double::doubleValue,
+            ResultsTest::joinErrors, Results.FoldMode.COLLECT_ALL));
+
+        final List<Result<Double, String>> nan = Arrays.asList(Ok.of(1.0), Ok.of(Double.NaN));
+        assertTrue(Results.sumDoubleParallel(nan, Double::doubleValue,
+            ResultsTest::joinErrors, Results.FoldMode.COLLECT_ALL).unwrap().isNaN());
+    }
+
+    @Test
+    void block_AllOk_ReturnsBlockResult() {
+        final Result<Integer, String> result = Results.block(ctx -> {
+            final int a = ctx.bind(Ok.of(1));
+            final int b = ctx.bind(Ok.of(a + 1));
+            return Ok.of(a + b);
+        });
+        assertEquals(Ok.of(3), result);
+    }
+
+    @Test
+    void block_BindErr_ExitsWithThatErr() {
+        final Result<Integer, String> err = Err.of("first");
+        final List<String> steps = new ArrayList<>();
+        final Result<Integer, String> result = Results.block(ctx -> {
+            steps.add("before");
+            ctx.bind(err);
+            steps.add("after");
+            return Ok.of(1);
+        });
+        assertSame(err, result);
+        assertEquals(Collections.singletonList("before"), steps);
+        assertEquals(Err.of("returned"), Results.block(ctx -> Err.of("returned")));
+    }
+
+    @Test
+    void block_Nested_ExitsUpToTheBoundContext() {
+        final Result<Integer, String> inner = Results.block(outer -> {
+            final Result<Integer, String> local = Results.block(ctx -> {
+                ctx.bind(Err.of("inner"));
+                return Ok.of(1);
+            });
+            assertEquals(Err.of("inner"), local);
+
+            Results.<Integer, String>block(ctx -> {
+                outer.bind(Err.of("outer"));
+                return Ok.of(2);
+            });
+            return Ok.of(3);
+        });
+        assertEquals(Err.of("outer"), inner);
+    }
+
+    @Test
+    void block_ContextUsedAfterCompletion_Throws() {
+        final List<BlockContext<String>> escaped = new ArrayList<>();
+        Results.<Integer, String>block(ctx -> {
+            escaped.add(ctx);
+            return Ok.of(1);
+        });
+        assertEquals(2, escaped.get(0).bind(Ok.of(2)));
+        assertThrows(IllegalStateException.class, () -> escaped.get(0).bind(Err.of("late")));
+    }
+}
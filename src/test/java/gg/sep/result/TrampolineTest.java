@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link Trampoline} type.
+ */
+class TrampolineTest {
+
+    private static final int DEPTH = 1_000_000;
+
+    private static Trampoline<Integer, String> countDown(final int n, final int acc) {
+        if (n == 0) {
+            return Trampoline.ok(acc);
+        }
+        return Trampoline.defer(() -> countDown(n - 1, acc + 1));
+    }
+
+    private static Trampoline<Integer, String> depth(final int n) {
+        if (n == 0) {
+            return Trampoline.ok(0);
+        }
+        return Trampoline.defer(() -> depth(n - 1)).map(d -> d + 1);
+    }
+
+    @Test
+    void constructors_DoNotAllowNull() {
+        assertThrows(NullPointerException.class, () -> Trampoline.done(null));
+        assertThrows(NullPointerException.class, () -> Trampoline.ok(null));
+        assertThrows(NullPointerException.class, () -> Trampoline.err(null));
+        assertThrows(NullPointerException.class, () -> Trampoline.defer(null));
+        assertThrows(NullPointerException.class, () -> Trampoline.ok(1).andThen(null));
+        assertThrows(NullPointerException.class, () -> Trampoline.ok(1).map(null));
+        assertThrows(NullPointerException.class, () -> countDown(1, 0).andThen(null));
+    }
+
+    @Test
+    void run_Done_ReturnsResult() {
+        final Result<Integer, String> ok = Ok.of(1);
+        assertSame(ok, Trampoline.done(ok).run());
+        assertEquals(Err.of("bad"), Trampoline.err("bad").run());
+    }
+
+    @Test
+    void andThen_MatchesResultAndThen() {
+        assertEquals(Ok.<Integer, String>of(2).andThen(i -> Ok.of(i * i)),
+            Trampoline.<Integer, String>ok(2).andThen(i -> Trampoline.ok(i * i)).run());
+        assertEquals(Ok.of(4), Trampoline.<Integer, String>done(Ok.of(2)).map(i -> i * i).run());
+        assertEquals(Err.of("odd"),
+            Trampoline.<Integer, String>ok(3).andThen(i -> Trampoline.<Integer, String>err("odd")).map(i -> i * i).run());
+    }
+
+    @Test
+    void andThen_Err_ShortCircuits() {
+        final AtomicInteger calls = new AtomicInteger();
+        final Trampoline<Integer, String> err = Trampoline.err("bad");
+        assertSame(err, err.andThen(i -> Trampoline.ok(calls.incrementAndGet())));
+        assertEquals(Err.of("bad"),
+            Trampoline.defer(() -> err).andThen(i -> Trampoline.ok(calls.incrementAndGet())).run());
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    void run_DeepTailRecursion_DoesNotOverflow() {
+        assertEquals(Ok.of(DEPTH), countDown(DEPTH, 0).run());
+    }
+
+    @Test
+    void run_DeepNonTailRecursion_DoesNotOverflow() {
+        assertEquals(Ok.of(DEPTH), depth(DEPTH).run());
+    }
+
+    @Test
+    void run_LongLeftNestedChain_DoesNotOverflow() {
+        Trampoline<Integer, String> chain = Trampoline.ok(0);
+        for (int i = 0; i < DEPTH; i++) {
+            chain = chain.andThen(x -> Trampoline.ok(x + 1));
+        }
+        assertEquals(Ok.of(DEPTH), chain.run());
+    }
+}
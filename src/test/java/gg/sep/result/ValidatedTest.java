@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link Validated} type.
+ */
+class ValidatedTest {
+
+    @Test
+    void valid_DoesNotAllowNull() {
+        assertThrows(NullPointerException.class, () -> Validated.valid(null));
+        assertThrows(NullPointerException.class, () -> Validated.invalid((ErrorList<Object>) null));
+    }
+
+    @Test
+    void isValid_ValidIsTrue_InvalidIsFalse() {
+        final Validated<Integer, String> valid = Validated.valid(1);
+        final Validated<Integer, String> invalid = Validated.invalid("bad");
+        assertTrue(valid.isValid());
+        assertFalse(valid.isInvalid());
+        assertFalse(invalid.isValid());
+        assertTrue(invalid.isInvalid());
+        assertEquals(Optional.of(1), valid.getValid());
+        assertEquals(Optional.empty(), valid.getErrors());
+        assertEquals(Optional.empty(), invalid.getValid());
+        assertEquals(Optional.of(ErrorList.of("bad")), invalid.getErrors());
+    }
+
+    @Test
+    void fromResult_AndBack() {
+        assertEquals(Validated.valid(1), Validated.fromResult(Ok.of(1)));
+        assertEquals(Validated.invalid("bad"), Validated.fromResult(Err.of("bad")));
+
+        final ErrorList<String> errors = ErrorList.of("a").append("b");
+        assertEquals(Err.of(errors), Validated.invalid(errors).toResult());
+        assertEquals(Ok.of(1), Validated.valid(1).toResult());
+        assertEquals(Validated.invalid(errors), Validated.fromErrors(Err.of(errors)));
+        assertEquals(Validated.valid(1), Validated.fromErrors(Ok.of(1)));
+    }
+
+    @Test
+    void map_ValidAppliesFunction_InvalidDoesNotApply() {
+        final Validated<Integer, String> invalid = Validated.invalid("bad");
+        assertEquals(Validated.valid(4), Validated.<Integer, String>valid(2).map(i -> i * i));
+        assertSame(invalid, invalid.map(i -> i * i));
+    }
+
+    @Test
+    void andThen_ValidAppliesFunction_InvalidDoesNotApply() {
+        final Validated<Integer, String> invalid = Validated.invalid("bad");
+        assertEquals(Validated.invalid("odd"),
+            Validated.<Integer, String>valid(3).andThen(i -> i % 2 == 0 ? Validated.valid(i) : Validated.invalid("odd")));
+        assertSame(invalid, invalid.andThen(Validated::valid));
+    }
+
+    @Test
+    void combine_AccumulatesErrorsOfBoth() {
+        final Validated<Integer, String> one = Validated.valid(1);
+        final Validated<Integer, String> two = Validated.valid(2);
+        final Validated<Integer, String> badA = Validated.invalid("a");
+        final Validated<Integer, String> badB = Validated.invalid("b");
+
+        assertEquals(Validated.valid(3), one.combine(two, Integer::sum));
+        assertSame(badB, one.combine(badB, Integer::sum));
+        assertSame(badA, badA.combine(two, Integer::sum));
+        assertEquals(Validated.invalid(ErrorList.of("a").append("b")), badA.combine(badB, Integer::sum));
+    }
+
+    @Test
+    void sequence_ThousandFields_CollectsEveryError() {
+        final List<Validated<Integer, Integer>> fields = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            fields.add(i % 3 == 0 ? Validated.invalid(i) : Validated.valid(i));
+        }
+        final Validated<List<Integer>, Integer> sequenced = Validated.sequence(fields);
+        assertEquals(334, sequenced.getErrors().get().size());
+        assertEquals(Integer.valueOf(999), sequenced.getErrors().get().toList().get(333));
+
+        assertEquals(Validated.valid(Arrays.asList(1, 2)),
+            Validated.sequence(Arrays.asList(Validated.<Integer, Integer>valid(1), Validated.valid(2))));
+    }
+
+    @Test
+    void equalsAndHashCode_CompareValueAndErrors() {
+        final Validated<Integer, Integer> valid = Validated.valid(1);
+        final Validated<Integer, Integer> invalid = Validated.invalid(1);
+
+        assertEquals(valid, valid);
+        assertEquals(valid, Validated.valid(1));
+        assertEquals(valid.hashCode(), Validated.valid(1).hashCode());
+        assertEquals(invalid.hashCode(), Validated.invalid(1).hashCode());
+        assertNotEquals(valid, invalid);
+        assertNotEquals(valid.hashCode(), invalid.hashCode());
+        assertNotEquals(invalid, Validated.invalid(ErrorList.of(1).append(2)));
+        assertNotEquals(valid, Ok.of(1));
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import gg.sep.result.Err;
+import gg.sep.result.Ok;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link ResultAccumulator} type.
+ */
+class ResultAccumulatorTest {
+
+    @Test
+    void create_NegativeMaxErrors_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> ResultAccumulator.create(-1));
+    }
+
+    @Test
+    void snapshot_CountsAndKeepsFirstErrorsInOrder() {
+        final ResultAccumulator<Integer, String> accumulator = ResultAccumulator.create(2);
+        accumulator.add(Ok.of(1));
+        accumulator.add(Err.of("first"));
+        accumulator.add(Ok.of(2));
+        accumulator.add(Err.of("second"));
+        accumulator.add(Err.of("third"));
+
+        final ResultAccumulator.Snapshot<Integer, String> snapshot = accumulator.snapshot();
+        assertEquals(2, snapshot.okCount());
+        assertEquals(3, snapshot.errCount());
+        assertEquals(5, snapshot.count());
+        assertEquals(Arrays.asList("first", "second"), snapshot.errors());
+        assertEquals(Collections.emptyList(), snapshot.okValues());
+    }
+
+    @Test
+    void snapshot_ManyErrors_KeepsFirstMaxErrorsAcrossGrowth() {
+        final ResultAccumulator<Integer, Integer> accumulator = ResultAccumulator.create(40);
+        final List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            accumulator.add(Err.of(i));
+            if (i < 40) {
+                expected.add(i);
+            }
+            if (i == 20) {
+                assertEquals(expected, accumulator.snapshot().errors());
+            }
+        }
+        assertEquals(expected, accumulator.snapshot().errors());
+        assertEquals(100, accumulator.snapshot().errCount());
+    }
+
+    @Test
+    void snapshot_RetainingOk_KeepsEveryOkValue() {
+        final ResultAccumulator<Integer, String> accumulator = ResultAccumulator.retainingOk(0);
+        final int values = 5000; // spans several chunks
+        for (int i = 0; i < values; i++) {
+            accumulator.add(Ok.of(i));
+        }
+        accumulator.add(Err.of("dropped"));
+
+        final ResultAccumulator.Snapshot<Integer, String> snapshot = accumulator.snapshot();
+        assertEquals(values, snapshot.okValues().size());
+        for (int i = 0; i < values; i++) {
+            assertEquals(i, snapshot.okValues().get(i));
+        }
+        assertEquals(1, snapshot.errCount());
+        assertEquals(Collections.emptyList(), snapshot.errors());
+    }
+
+    @Test
+    void add_ManyProducers_MergedOnSnapshot() throws InterruptedException {
+        final int threads = 8;
+        final int perThread = 10_000;
+        final ResultAccumulator<Integer, Integer> accumulator = ResultAccumulator.retainingOk(10);
+        final CountDownLatch start = new CountDownLatch(1);
+        final Thread[] producers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            final int base = t * perThread;
+            producers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = base; i < base + perThread; i++) {
+                    accumulator.add(i % 10 == 0 ? Err.of(i) : Ok.of(i));
+                }
+            });
+            producers[t].start();
+        }
+        start.countDown();
+        for (final Thread producer : producers) {
+            producer.join();
+        }
+
+        final ResultAccumulator.Snapshot<Integer, Integer> snapshot = accumulator.snapshot();
+        assertEquals(threads * perThread / 10, snapshot.errCount());
+        assertEquals(threads * perThread - snapshot.errCount(), snapshot.okCount());
+        assertEquals(10, snapshot.errors().size());
+        snapshot.errors().forEach(e -> assertEquals(0, e % 10));
+
+        final Set<Integer> okValues = new HashSet<>(snapshot.okValues());
+        assertEquals(snapshot.okCount(), okValues.size());
+        assertTrue(okValues.stream().noneMatch(v -> v % 10 == 0));
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import gg.sep.result.Err;
+import gg.sep.result.Ok;
+import gg.sep.result.Result;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link ResultExecutor} type.
+ */
+class ResultExecutorTest {
+
+    private final ExecutorService pool = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void shutdown() throws InterruptedException {
+        pool.shutdownNow();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void submit_Returns_CompletesWithOk() throws Exception {
+        final ResultExecutor<Throwable> executor = ResultExecutor.of(pool);
+        assertEquals(Ok.of("done"), executor.submit(() -> "done").get());
+    }
+
+    @Test
+    void submit_Throws_CompletesWithErrOfThrownInstance() throws Exception {
+        final IOException failure = new IOException("unreachable");
+        final ResultExecutor<Throwable> executor = ResultExecutor.of(pool);
+
+        final Result<String, Throwable> result = executor.<String>submit(() -> {
+            throw failure;
+        }).get();
+        assertSame(failure, result.unwrapErr());
+
+        final Result<String, Throwable> nullValue = executor.<String>submit(() -> null).get();
+        assertTrue(nullValue.unwrapErr() instanceof NullPointerException);
+    }
+
+    @Test
+    void submit_ErrorMapper_MapsThrowable() throws Exception {
+        final ResultExecutor<String> executor = ResultExecutor.of(pool, Throwable::getMessage);
+        assertEquals(Err.of("bad input"), executor.<Integer>submit(() -> {
+            throw new IllegalArgumentException("bad input");
+        }).get());
+    }
+
+    @Test
+    void submit_ErrorMapperThrows_FailsFuture() {
+        final ResultExecutor<String> executor = ResultExecutor.of(pool, t -> {
+            throw new IllegalStateException("mapper");
+        });
+        final ExecutionException thrown = assertThrows(ExecutionException.class, () -> executor.<Integer>submit(() -> {
+            throw new IOException();
+        }).get());
+        assertTrue(thrown.getCause() instanceof IllegalStateException);
+    }
+
+    @Test
+    void invokeAll_MixedOutcomes_ResultsInTaskOrder() throws InterruptedException {
+        final ResultExecutor<String> executor = ResultExecutor.of(pool, Throwable::getMessage);
+        final List<Callable<Integer>> tasks = Arrays.asList(
+            () -> 1,
+            () -> {
+                throw new IOException("second");
+            },
+            () -> 3);
+
+        final List<Result<Integer, String>> expected = Arrays.asList(Ok.of(1), Err.of("second"), Ok.of(3));
+        assertEquals(expected, executor.invokeAll(tasks));
+        assertEquals(expected, executor.invokeAll(tasks, 10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void invokeAll_ErrorMapperThrows_ThrowsCompletionException() {
+        final ResultExecutor<String> executor = ResultExecutor.of(pool, t -> {
+            throw new IllegalStateException("mapper");
+        });
+        final List<Callable<Integer>> tasks = Arrays.asList(() -> 1, () -> {
+            throw new IOException();
+        });
+        final CompletionException untimed = assertThrows(CompletionException.class, () -> executor.invokeAll(tasks));
+        assertTrue(untimed.getCause() instanceof IllegalStateException);
+        final CompletionException timed = assertThrows(CompletionException.class,
+            () -> executor.invokeAll(tasks, 10, TimeUnit.SECONDS));
+        assertTrue(timed.getCause() instanceof IllegalStateException);
+    }
+
+    @Test
+    void invokeAll_TimeoutTaskHandlesInterrupt_IsStillCancelledErr() throws InterruptedException {
+        final ResultExecutor<Throwable> executor = ResultExecutor.of(pool);
+        final List<Callable<Integer>> tasks = Arrays.asList(() -> 1, () -> {
+            Thread.sleep(TimeUnit.SECONDS.toMillis(10));
+            return 2;
+        });
+        final List<Result<Integer, Throwable>> results = executor.invokeAll(tasks, 50, TimeUnit.MILLISECONDS);
+        assertEquals(Ok.of(1), results.get(0));
+        assertTrue(results.get(1).unwrapErr() instanceof CancellationException);
+    }
+
+    @Test
+    void invokeAll_Timeout_UnfinishedTasksAreCancelledErr() throws InterruptedException {
+        final ExecutorService single = Executors.newSingleThreadExecutor();
+        final Semaphore gate = new Semaphore(0);
+        try {
+            final ResultExecutor<Throwable> executor = ResultExecutor.of(single);
+            final List<Callable<Integer>> tasks = Arrays.asList(
+                () -> {
+                    gate.acquireUninterruptibly();
+                    return 1;
+                },
+                () -> 2);
+
+            final List<Result<Integer, Throwable>> results = executor.invokeAll(tasks, 50, TimeUnit.MILLISECONDS);
+            assertEquals(2, results.size());
+            results.forEach(result -> assertTrue(result.unwrapErr() instanceof CancellationException));
+        } finally {
+            gate.release();
+            single.shutdown();
+        }
+    }
+}
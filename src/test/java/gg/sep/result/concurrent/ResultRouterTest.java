@@ -0,0 +1,380 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import gg.sep.result.Err;
+import gg.sep.result.Ok;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link ResultRouter} type.
+ */
+class ResultRouterTest {
+
+    /**
+     * Sink recording its batches, which can be held back until the test releases it.
+     */
+    private static final class GatedSink implements Consumer<List<Integer>> {
+        private final List<List<Integer>> batches = Collections.synchronizedList(new ArrayList<>());
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch gate;
+
+        private GatedSink(final boolean open) {
+            this.gate = new CountDownLatch(open ? 0 : 1);
+        }
+
+        @Override
+        public void accept(final List<Integer> batch) {
+            entered.countDown();
+            try {
+                gate.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            batches.add(batch);
+        }
+
+        private List<Integer> errors() {
+            final List<Integer> all = new ArrayList<>();
+            batches.forEach(all::addAll);
+            return all;
+        }
+    }
+
+    @Test
+    void route_OkOnCallingThread_ErrToSinkInBatches() throws InterruptedException {
+        final List<String> oks = new ArrayList<>();
+        final GatedSink sink = new GatedSink(false);
+        final ResultRouter<String, Integer> router = ResultRouter.<String, Integer>builder(oks::add, sink)
+            .capacity(100)
+            .batchSize(3)
+            .build();
+        assertTrue(router.route(Err.of(0)));
+        assertTrue(sink.entered.await(10, TimeUnit.SECONDS));
+        for (int i = 1; i <= 7; i++) {
+            assertTrue(router.route(Err.of(i)));
+            assertTrue(router.route(Ok.of("ok" + i)));
+        }
+        assertEquals(7, oks.size());
+        assertEquals(7, router.metrics().queueDepth());
+        sink.gate.countDown();
+        router.close();
+        router.close();
+
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7), sink.errors());
+        assertEquals(Arrays.asList(Collections.singletonList(0), Arrays.asList(1, 2, 3), Arrays.asList(4, 5, 6),
+            Collections.singletonList(7)), sink.batches);
+        final ResultRouter.Metrics metrics = router.metrics();
+        assertEquals(0, metrics.queueDepth());
+        assertEquals(100, metrics.capacity());
+        assertEquals(7, metrics.okCount());
+        assertEquals(8, metrics.errCount());
+        assertEquals(0, metrics.dropped());
+        assertEquals(8, metrics.delivered());
+        assertEquals(4, metrics.batches());
+        assertEquals(0, metrics.sinkFailures());
+        assertEquals("Metrics[queueDepth=0/100, ok=7, err=8, dropped=0, delivered=8, batches=4, sinkFailures=0]",
+            metrics.toString());
+        assertThrows(IllegalStateException.class, () -> router.route(Ok.of("late")));
+    }
+
+    @Test
+    void route_DropPolicy_DropsWhileQueueIsFull() throws InterruptedException {
+        final GatedSink sink = new GatedSink(false);
+        final ResultRouter<String, Integer> router = ResultRouter.<String, Integer>builder(ok -> { }, sink)
+            .capacity(2)
+            .build();
+        router.route(Err.of(0));
+        assertTrue(sink.entered.await(10, TimeUnit.SECONDS));
+        assertTrue(router.route(Err.of(1)));
+        assertTrue(router.route(Err.of(2)));
+        assertFalse(router.route(Err.of(3)));
+        assertEquals(1, router.metrics().dropped());
+        sink.gate.countDown();
+        router.close();
+        assertEquals(Arrays.asList(0, 1, 2), sink.errors());
+    }
+
+    @Test
+    void route_BlockPolicy_WaitsForRoom() throws InterruptedException {
+        final GatedSink sink = new GatedSink(false);
+        final ResultRouter<String, Integer> router = ResultRouter.<String, Integer>builder(ok -> { }, sink)
+            .capacity(1)
+            .overflowPolicy(ResultRouter.OverflowPolicy.BLOCK)
+            .build();
+        router.route(Err.of(0));
+        assertTrue(sink.entered.await(10, TimeUnit.SECONDS));
+        router.route(Err.of(1));
+        final CountDownLatch routed = new CountDownLatch(1);
+        final Thread producer = new Thread(() -> {
+            try {
+                router.route(Err.of(2));
+                routed.countDown();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        assertFalse(routed.await(100, TimeUnit.MILLISECONDS));
+        sink.gate.countDown();
+        assertTrue(routed.await(10, TimeUnit.SECONDS));
+        producer.join();
+        router.close();
+        assertEquals(Arrays.asList(0, 1, 2), sink.errors());
+        assertEquals(0, router.metrics().dropped());
+    }
+
+    @Test
+    void route_SamplePolicy_KeepsOneInRateOnceHalfFull() throws InterruptedException {
+        final GatedSink sink = new GatedSink(false);
+        final ResultRouter<String, Integer> router = ResultRouter.<String, Integer>builder(ok -> { }, sink)
+            .capacity(8)
+            .overflowPolicy(ResultRouter.OverflowPolicy.SAMPLE)
+            .sampleRate(3)
+            .build();
+        router.route(Err.of(0));
+        assertTrue(sink.entered.await(10, TimeUnit.SECONDS));
+        final List<Integer> queued = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            if (router.route(Err.of(i))) {
+                queued.add(i);
+            }
+        }
+        // 1-4 fill half the queue, then 5, 8, 11 and 14 are sampled until the queue is full.
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 8, 11, 14), queued);
+        assertEquals(12, router.metrics().dropped());
+        sink.gate.countDown();
+        router.close();
+        assertEquals(9, sink.errors().size());
+    }
+
+    @Test
+    void deliver_SinkThrows_CountsFailureAndKeepsDraining() throws InterruptedException {
+        final List<Integer> delivered = Collections.synchronizedList(new ArrayList<>());
+        final ResultRouter<String, Integer> router = ResultRouter.<String, Integer>builder(ok -> { }, batch -> {
+            if (batch.contains(1)) {
+                throw new IllegalStateException("sink down");
+            }
+            delivered.addAll(batch);
+        }).batchSize(1).build();
+        router.route(Err.of(1));
+        router.route(Err.of(2));
+        router.close();
+        assertEquals(Arrays.asList(2), delivered);
+        assertEquals(1, router.metrics().sinkFailures());
+        assertEquals(1, router.metrics().delivered());
+        assertEquals(2, router.metrics().batches());
+    }
+
+    @Test
+    void deliver_SinkThrowsError_CountsFailureAndKeepsDraining() throws InterruptedException {
+        final List<Integer> delivered = Collections.synchronizedList(new ArrayList<>());
+        final ResultRouter<String, Integer> router = ResultRouter.<String, Integer>builder(ok -> { }, batch -> {
+            if (batch.contains(1)) {
+                throw new AssertionError("sink bug");
+            }
+            delivered.addAll(batch);
+        }).batchSize(1).capacity(1).overflowPolicy(ResultRouter.OverflowPolicy.BLOCK).build();
+        for (int i = 1; i <= 3; i++) {
+            assertTrue(router.route(Err.of(i)));
+        }
+        router.close();
+        assertEquals(Arrays.asList(2, 3), delivered);
+        assertEquals(1, router.metrics().sinkFailures());
+    }
+
+    @Test
+    void route_RacingClose_DeliversEveryQueuedError() throws InterruptedException {
+        final List<Integer> delivered = Collections.synchronizedList(new ArrayList<>());
+        final ResultRouter<String, Integer> router = ResultRouter.<String, Integer>builder(ok -> { }, delivered::addAll)
+            .capacity(4)
+            .overflowPolicy(ResultRouter.OverflowPolicy.BLOCK)
+            .build();
+        final LongAdder queued = new LongAdder();
+        final CountDownLatch started = new CountDownLatch(4);
+        final List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < 4; p++) {
+            final Thread producer = new Thread(() -> {
+                started.countDown();
+                try {
+                    while (router.route(Err.of(1))) {
+                        queued.increment();
+                    }
+                } catch (final IllegalStateException | InterruptedException e) {
+                    // closed
+                }
+            });
+            producer.start();
+            producers.add(producer);
+        }
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        Thread.sleep(20);
+        router.close();
+        for (final Thread producer : producers) {
+            producer.join(TimeUnit.SECONDS.toMillis(10));
+            assertFalse(producer.isAlive());
+        }
+        assertEquals(queued.sum(), delivered.size());
+        assertEquals(queued.sum(), router.metrics().delivered());
+    }
+
+    @Test
+    void route_DrainerStopped_Throws() throws InterruptedException {
+        final AtomicReference<Thread> thread = new AtomicReference<>();
+        final List<String> oks = new ArrayList<>();
+        final ResultRouter<String, Integer> router = ResultRouter.<String, Integer>builder(oks::add, batch -> { })
+            .threadFactory(runnable -> {
+                final Thread t = new Thread(() -> { }, "dead-router");
+                thread.set(t);
+                return t;
+            })
+            .build();
+        thread.get().join();
+        assertThrows(IllegalStateException.class, () -> router.route(Err.of(1)));
+        assertEquals(0, router.metrics().queueDepth());
+        assertTrue(router.route(Ok.of("ok")));
+        assertEquals(Arrays.asList("ok"), oks);
+        router.close();
+    }
+
+    @Test
+    void route_BlockPolicyDrainerStops_Throws() throws InterruptedException {
+        final AtomicReference<Thread> thread = new AtomicReference<>();
+        final CountDownLatch stop = new CountDownLatch(1);
+        final ResultRouter<String, Integer> router = ResultRouter.<String, Integer>builder(ok -> { }, batch -> { })
+            .capacity(1)
+            .overflowPolicy(ResultRouter.OverflowPolicy.BLOCK)
+            .threadFactory(runnable -> {
+                final Thread t = new Thread(() -> {
+                    try {
+                        stop.await();
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }, "stopping-router");
+                thread.set(t);
+                return t;
+            })
+            .build();
+        assertTrue(router.route(Err.of(1)));
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final Thread producer = new Thread(() -> {
+            try {
+                router.route(Err.of(2));
+            } catch (final IllegalStateException | InterruptedException e) {
+                failure.set(e);
+            }
+        });
+        producer.start();
+        awaitParked(producer, Thread.State.TIMED_WAITING);
+        stop.countDown();
+        producer.join(TimeUnit.SECONDS.toMillis(10));
+        assertTrue(failure.get() instanceof IllegalStateException);
+        router.close();
+        assertFalse(thread.get().isAlive());
+    }
+
+    @Test
+    void close_Interrupted_RestoresInterruptAndCanBeRetried() throws InterruptedException {
+        final List<Integer> delivered = Collections.synchronizedList(new ArrayList<>());
+        final ResultRouter<String, Integer> router = ResultRouter.<String, Integer>builder(ok -> { }, delivered::addAll)
+            .build();
+        router.route(Err.of(1));
+        Thread.currentThread().interrupt();
+        assertThrows(IllegalStateException.class, router::close);
+        assertTrue(Thread.interrupted());
+        assertThrows(IllegalStateException.class, () -> router.route(Err.of(2)));
+        router.close();
+        assertEquals(Arrays.asList(1), delivered);
+    }
+
+    private static void awaitParked(final Thread thread, final Thread.State state) {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (thread.isInterrupted() || thread.getState() != state) {
+            assertTrue(System.nanoTime() < deadline, () -> thread.getName() + " did not park: " + thread.getState());
+            Thread.yield();
+        }
+    }
+
+    @Test
+    void drainer_Interrupted_KeepsRunningUntilClosed() throws InterruptedException {
+        final AtomicReference<Thread> thread = new AtomicReference<>();
+        final List<Integer> delivered = Collections.synchronizedList(new ArrayList<>());
+        final ResultRouter<String, Integer> router = ResultRouter.<String, Integer>builder(ok -> { }, delivered::addAll)
+            .threadFactory(runnable -> {
+                final Thread t = new Thread(runnable, "test-router");
+                thread.set(t);
+                return t;
+            })
+            .build();
+        awaitParked(thread.get(), Thread.State.WAITING);
+        thread.get().interrupt();
+        awaitParked(thread.get(), Thread.State.WAITING);
+        router.route(Err.of(1));
+        router.close();
+        assertEquals(Arrays.asList(1), delivered);
+        assertFalse(thread.get().isAlive());
+    }
+
+    @Test
+    void builder_DefaultThread_IsNamedDaemon() throws InterruptedException {
+        final AtomicReference<Thread> sinkThread = new AtomicReference<>();
+        final ResultRouter<String, Integer> router = ResultRouter.<String, Integer>builder(ok -> { },
+            batch -> sinkThread.set(Thread.currentThread())).build();
+        router.route(Err.of(1));
+        router.close();
+        assertTrue(sinkThread.get().isDaemon());
+        assertTrue(sinkThread.get().getName().startsWith("result-router-"));
+    }
+
+    @Test
+    void builder_InvalidSettings_Throw() {
+        final Consumer<String> ok = value -> { };
+        final Consumer<List<Integer>> sink = batch -> { };
+        assertThrows(NullPointerException.class, () -> ResultRouter.builder(null, sink));
+        assertThrows(NullPointerException.class, () -> ResultRouter.builder(ok, null));
+        final ResultRouter.Builder<String, Integer> builder = ResultRouter.builder(ok, sink);
+        assertThrows(IllegalArgumentException.class, () -> builder.capacity(0));
+        assertThrows(IllegalArgumentException.class, () -> builder.batchSize(0));
+        assertThrows(IllegalArgumentException.class, () -> builder.sampleRate(0));
+        assertThrows(NullPointerException.class, () -> builder.overflowPolicy(null));
+        assertThrows(NullPointerException.class, () -> builder.threadFactory(null));
+        assertSame(builder, builder.capacity(1).batchSize(1).sampleRate(1));
+    }
+}
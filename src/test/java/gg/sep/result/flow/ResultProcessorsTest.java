@@ -0,0 +1,569 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result.flow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import gg.sep.result.Err;
+import gg.sep.result.Ok;
+import gg.sep.result.Result;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link ResultProcessors} operators.
+ */
+class ResultProcessorsTest {
+
+    /**
+     * Publisher driven by the test, which records the demand and cancellation of its subscriber.
+     *
+     * @param <T> Type of the published items.
+     */
+    private static final class TestPublisher<T> implements ResultFlow.Publisher<T>, ResultFlow.Subscription {
+        private final AtomicLong requested = new AtomicLong();
+        private volatile boolean cancelled;
+        private ResultFlow.Subscriber<? super T> subscriber;
+
+        @Override
+        public void subscribe(final ResultFlow.Subscriber<? super T> s) {
+            this.subscriber = s;
+            s.onSubscribe(this);
+        }
+
+        @Override
+        public void request(final long n) {
+            requested.addAndGet(n);
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        @SafeVarargs
+        private final void emit(final T... items) {
+            for (final T item : items) {
+                subscriber.onNext(item);
+            }
+        }
+    }
+
+    /**
+     * Subscriber recording every signal it receives.
+     *
+     * @param <T> Type of the received items.
+     */
+    private static final class TestSubscriber<T> implements ResultFlow.Subscriber<T> {
+        private final long initialRequest;
+        private final List<T> items = Collections.synchronizedList(new ArrayList<>());
+        private final CountDownLatch terminated = new CountDownLatch(1);
+        private ResultFlow.Subscription subscription;
+        private volatile Throwable error;
+        private volatile boolean completed;
+
+        private TestSubscriber(final long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(final ResultFlow.Subscription s) {
+            this.subscription = s;
+            if (initialRequest > 0) {
+                s.request(initialRequest);
+            }
+        }
+
+        @Override
+        public void onNext(final T item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            error = throwable;
+            terminated.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+            terminated.countDown();
+        }
+    }
+
+    private static <T, R> TestSubscriber<R> wire(final TestPublisher<T> publisher, final ResultFlow.Processor<T, R> processor,
+                                                 final long initialRequest) {
+        final TestSubscriber<R> subscriber = new TestSubscriber<>(initialRequest);
+        publisher.subscribe(processor);
+        processor.subscribe(subscriber);
+        return subscriber;
+    }
+
+    @Test
+    void mapOk_MapsOkAndPassesErrThrough() {
+        final TestPublisher<Result<Integer, String>> publisher = new TestPublisher<>();
+        final TestSubscriber<Result<Integer, String>> subscriber =
+            wire(publisher, ResultProcessors.<Integer, Integer, String>mapOk(v -> v * 2), Long.MAX_VALUE);
+        publisher.emit(Ok.of(1), Err.of("x"), Ok.of(3));
+        publisher.subscriber.onComplete();
+        assertEquals(Arrays.asList(Ok.of(2), Err.of("x"), Ok.of(6)), subscriber.items);
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    void mapOk_RespectsDownstreamDemand() {
+        final TestPublisher<Result<Integer, String>> publisher = new TestPublisher<>();
+        final TestSubscriber<Result<Integer, String>> subscriber =
+            wire(publisher, ResultProcessors.<Integer, Integer, String>mapOk(v -> v), 0);
+        publisher.emit(Ok.of(1), Ok.of(2), Ok.of(3));
+        publisher.subscriber.onComplete();
+        assertEquals(Collections.emptyList(), subscriber.items);
+        subscriber.subscription.request(2);
+        assertEquals(Arrays.asList(Ok.of(1), Ok.of(2)), subscriber.items);
+        assertFalse(subscriber.completed);
+        subscriber.subscription.request(1);
+        assertEquals(3, subscriber.items.size());
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    void mapOk_CompletesWithoutDemand_WhenNothingIsLeft() {
+        final TestPublisher<Result<Integer, String>> publisher = new TestPublisher<>();
+        final TestSubscriber<Result<Integer, String>> subscriber =
+            wire(publisher, ResultProcessors.<Integer, Integer, String>mapOk(v -> v), 1);
+        publisher.emit(Ok.of(1));
+        publisher.subscriber.onComplete();
+        assertEquals(1, subscriber.items.size());
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    void mapOk_RequestsUpstreamInBatches() {
+        final TestPublisher<Result<Integer, String>> publisher = new TestPublisher<>();
+        final TestSubscriber<Result<Integer, String>> subscriber =
+            wire(publisher, ResultProcessors.<Integer, Integer, String>mapOk(v -> v), 1);
+        assertEquals(ResultProcessors.DEFAULT_PREFETCH, publisher.requested.get());
+        subscriber.subscription.request(Long.MAX_VALUE);
+        subscriber.subscription.request(Long.MAX_VALUE);
+        for (int i = 0; i < 191; i++) {
+            publisher.emit(Ok.of(i));
+        }
+        assertEquals(ResultProcessors.DEFAULT_PREFETCH, publisher.requested.get());
+        publisher.emit(Ok.of(191));
+        assertEquals(ResultProcessors.DEFAULT_PREFETCH + 192, publisher.requested.get());
+        assertEquals(192, subscriber.items.size());
+    }
+
+    @Test
+    void mapOk_MapperThrows_CancelsUpstreamAndFails() {
+        final IllegalStateException failure = new IllegalStateException("boom");
+        final TestPublisher<Result<Integer, String>> publisher = new TestPublisher<>();
+        final TestSubscriber<Result<Integer, String>> subscriber = wire(publisher,
+            ResultProcessors.<Integer, Integer, String>mapOk(v -> {
+                throw failure;
+            }), Long.MAX_VALUE);
+        publisher.emit(Ok.of(1), Ok.of(2));
+        assertTrue(publisher.cancelled);
+        assertSame(failure, subscriber.error);
+        assertEquals(Collections.emptyList(), subscriber.items);
+    }
+
+    @Test
+    void onError_AfterItems_IsDeliveredOnceAndLaterSignalsIgnored() {
+        final RuntimeException failure = new RuntimeException("upstream");
+        final TestPublisher<Result<Integer, String>> publisher = new TestPublisher<>();
+        final TestSubscriber<Result<Integer, String>> subscriber =
+            wire(publisher, ResultProcessors.<Integer, Integer, String>mapOk(v -> v), Long.MAX_VALUE);
+        publisher.emit(Ok.of(1));
+        publisher.subscriber.onError(failure);
+        publisher.subscriber.onError(new RuntimeException("ignored"));
+        publisher.emit(Ok.of(2));
+        publisher.subscriber.onComplete();
+        assertEquals(Arrays.asList(Ok.of(1)), subscriber.items);
+        assertSame(failure, subscriber.error);
+        assertFalse(subscriber.completed);
+    }
+
+    @Test
+    void subscribe_SecondSubscriber_IsRejected() {
+        final ResultFlow.Processor<Result<Integer, String>, Result<Integer, String>> processor = ResultProcessors.mapOk(v -> v);
+        processor.subscribe(new TestSubscriber<>(1));
+        final TestSubscriber<Result<Integer, String>> second = new TestSubscriber<>(1);
+        processor.subscribe(second);
+        assertTrue(second.error instanceof IllegalStateException);
+        second.subscription.request(1);
+        second.subscription.cancel();
+        assertThrows(NullPointerException.class, () -> processor.subscribe(null));
+    }
+
+    @Test
+    void subscribe_AfterUpstreamCompleted_ReceivesBufferedItems() {
+        final TestPublisher<Result<Integer, String>> publisher = new TestPublisher<>();
+        final ResultFlow.Processor<Result<Integer, String>, Result<Integer, String>> processor = ResultProcessors.mapOk(v -> v);
+        publisher.subscribe(processor);
+        publisher.emit(Ok.of(1));
+        publisher.subscriber.onComplete();
+        final TestSubscriber<Result<Integer, String>> subscriber = new TestSubscriber<>(Long.MAX_VALUE);
+        processor.subscribe(subscriber);
+        assertEquals(Arrays.asList(Ok.of(1)), subscriber.items);
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    void onSubscribe_Twice_CancelsSecondSubscription() {
+        final ResultFlow.Processor<Result<Integer, String>, Result<Integer, String>> processor = ResultProcessors.mapOk(v -> v);
+        final TestPublisher<Result<Integer, String>> first = new TestPublisher<>();
+        final TestPublisher<Result<Integer, String>> second = new TestPublisher<>();
+        first.subscribe(processor);
+        second.subscribe(processor);
+        assertFalse(first.cancelled);
+        assertTrue(second.cancelled);
+        assertEquals(0, second.requested.get());
+    }
+
+    @Test
+    void request_NotPositive_CancelsUpstreamAndFails() {
+        final TestPublisher<Result<Integer, String>> publisher = new TestPublisher<>();
+        final TestSubscriber<Result<Integer, String>> subscriber =
+            wire(publisher, ResultProcessors.<Integer, Integer, String>mapOk(v -> v), 0);
+        publisher.emit(Ok.of(1));
+        subscriber.subscription.request(0);
+        assertTrue(publisher.cancelled);
+        assertTrue(subscriber.error instanceof IllegalArgumentException);
+        assertEquals(Collections.emptyList(), subscriber.items);
+    }
+
+    @Test
+    void cancel_StopsEmissionAndCancelsUpstream() {
+        final TestPublisher<Result<Integer, String>> publisher = new TestPublisher<>();
+        final TestSubscriber<Result<Integer, String>> subscriber =
+            wire(publisher, ResultProcessors.<Integer, Integer, String>mapOk(v -> v), 1);
+        publisher.emit(Ok.of(1), Ok.of(2));
+        subscriber.subscription.cancel();
+        subscriber.subscription.request(5);
+        publisher.subscriber.onComplete();
+        assertTrue(publisher.cancelled);
+        assertEquals(Arrays.asList(Ok.of(1)), subscriber.items);
+        assertFalse(subscriber.completed);
+    }
+
+    @Test
+    void cancel_BeforeUpstreamSubscribes_CancelsItOnArrival() {
+        final ResultFlow.Processor<Result<Integer, String>, Result<Integer, String>> processor = ResultProcessors.mapOk(v -> v);
+        final TestSubscriber<Result<Integer, String>> subscriber = new TestSubscriber<>(0);
+        processor.subscribe(subscriber);
+        subscriber.subscription.cancel();
+        final TestPublisher<Result<Integer, String>> publisher = new TestPublisher<>();
+        publisher.subscribe(processor);
+        assertTrue(publisher.cancelled);
+    }
+
+    @Test
+    void onNext_BeyondRequested_FailsWithIllegalState() {
+        final TestPublisher<Result<Integer, String>> publisher = new TestPublisher<>();
+        final TestSubscriber<Result<Integer, String>> subscriber =
+            wire(publisher, ResultProcessors.<Integer, Integer, String>mapOk(v -> v), 0);
+        for (int i = 0; i <= ResultProcessors.DEFAULT_PREFETCH; i++) {
+            publisher.emit(Ok.of(i));
+        }
+        assertTrue(publisher.cancelled);
+        assertTrue(subscriber.error instanceof IllegalStateException);
+    }
+
+    @Test
+    void errBudget_ErrorsWithinWindow_FailsOnceBudgetIsExceeded() {
+        final AtomicLong clock = new AtomicLong();
+        final TestPublisher<Result<Integer, String>> publisher = new TestPublisher<>();
+        final TestSubscriber<Result<Integer, String>> subscriber =
+            wire(publisher, ResultProcessors.<Integer, String>errBudget(2, 10, clock::get), Long.MAX_VALUE);
+        publisher.emit(Err.of("a"), Ok.of(1));
+        clock.set(9);
+        publisher.emit(Err.of("b"));
+        clock.set(10);
+        publisher.emit(Err.of("c"));
+        clock.set(15);
+        publisher.emit(Err.of("d"));
+        assertEquals(Arrays.asList(Err.of("a"), Ok.of(1), Err.of("b"), Err.of("c")), subscriber.items);
+        assertTrue(subscriber.error instanceof ErrorBudgetExceededException);
+        assertEquals("more than 2 errors within 10ns, last: d", subscriber.error.getMessage());
+        assertTrue(publisher.cancelled);
+    }
+
+    @Test
+    void errBudget_LargeBudget_GrowsRingAsErrorsArrive() {
+        final AtomicLong clock = new AtomicLong();
+        final TestPublisher<Result<Integer, String>> publisher = new TestPublisher<>();
+        final TestSubscriber<Result<Integer, String>> subscriber =
+            wire(publisher, ResultProcessors.<Integer, String>errBudget(40, 100, clock::get), Long.MAX_VALUE);
+        for (int i = 0; i < 40; i++) {
+            clock.set(i);
+            publisher.emit(Err.of("e" + i));
+        }
+        clock.set(100);
+        publisher.emit(Err.of("e40"));
+        assertNull(subscriber.error);
+        clock.set(101);
+        publisher.emit(Err.of("e41"));
+        publisher.emit(Err.of("e42"));
+        assertEquals(42, subscriber.items.size());
+        assertTrue(subscriber.error instanceof ErrorBudgetExceededException);
+
+        assertNull(wire(new TestPublisher<Result<Integer, String>>(),
+            ResultProcessors.<Integer, String>errBudget(Integer.MAX_VALUE, 1, TimeUnit.SECONDS), 1).error);
+    }
+
+    @Test
+    void errBudget_ZeroErrors_FailsOnFirstErr() {
+        final TestPublisher<Result<Integer, String>> publisher = new TestPublisher<>();
+        final TestSubscriber<Result<Integer, String>> subscriber =
+            wire(publisher, ResultProcessors.<Integer, String>errBudget(0, 1, TimeUnit.SECONDS), Long.MAX_VALUE);
+        publisher.emit(Ok.of(1), Err.of("a"));
+        assertEquals(Arrays.asList(Ok.of(1)), subscriber.items);
+        assertTrue(subscriber.error instanceof ErrorBudgetExceededException);
+    }
+
+    @Test
+    void errBudget_InvalidArguments_Throw() {
+        assertThrows(IllegalArgumentException.class, () -> ResultProcessors.errBudget(-1, 1, TimeUnit.SECONDS));
+        assertThrows(IllegalArgumentException.class, () -> ResultProcessors.errBudget(1, 0, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void splitErr_RoutesOkDownstreamAndErrToSide() {
+        final TestSubscriber<String> side = new TestSubscriber<>(Long.MAX_VALUE);
+        final TestPublisher<Result<Integer, String>> publisher = new TestPublisher<>();
+        final TestSubscriber<Integer> subscriber = wire(publisher, ResultProcessors.<Integer, String>splitErr(side), Long.MAX_VALUE);
+        side.subscription.request(Long.MAX_VALUE);
+        publisher.emit(Ok.of(1), Err.of("a"), Ok.of(2), Err.of("b"));
+        publisher.subscriber.onComplete();
+        assertEquals(Arrays.asList(1, 2), subscriber.items);
+        assertEquals(Arrays.asList("a", "b"), side.items);
+        assertTrue(subscriber.completed);
+        assertTrue(side.completed);
+    }
+
+    @Test
+    void splitErr_SideWithoutDemand_HoldsBothBack() {
+        final TestSubscriber<String> side = new TestSubscriber<>(0);
+        final TestPublisher<Result<Integer, String>> publisher = new TestPublisher<>();
+        final TestSubscriber<Integer> subscriber = wire(publisher, ResultProcessors.<Integer, String>splitErr(side), 1);
+        publisher.emit(Ok.of(1), Err.of("a"), Ok.of(2), Ok.of(3));
+        assertEquals(Arrays.asList(1), subscriber.items);
+        subscriber.subscription.request(5);
+        assertEquals(Arrays.asList(1), subscriber.items);
+        side.subscription.request(1);
+        assertEquals(Arrays.asList("a"), side.items);
+        assertEquals(Arrays.asList(1, 2, 3), subscriber.items);
+    }
+
+    @Test
+    void splitErr_DownstreamWithoutDemand_HoldsBothBack() {
+        final TestSubscriber<String> side = new TestSubscriber<>(Long.MAX_VALUE);
+        final TestPublisher<Result<Integer, String>> publisher = new TestPublisher<>();
+        final TestSubscriber<Integer> subscriber = wire(publisher, ResultProcessors.<Integer, String>splitErr(side), 0);
+        publisher.emit(Ok.of(1), Err.of("a"));
+        assertEquals(Collections.emptyList(), side.items);
+        subscriber.subscription.request(1);
+        assertEquals(Arrays.asList(1), subscriber.items);
+        assertEquals(Arrays.asList("a"), side.items);
+    }
+
+    @Test
+    void splitErr_SideCancelled_DropsErrors() {
+        final TestSubscriber<String> side = new TestSubscriber<>(0);
+        final TestPublisher<Result<Integer, String>> publisher = new TestPublisher<>();
+        final TestSubscriber<Integer> subscriber = wire(publisher, ResultProcessors.<Integer, String>splitErr(side), Long.MAX_VALUE);
+        publisher.emit(Ok.of(1), Err.of("a"), Ok.of(2));
+        side.subscription.cancel();
+        publisher.emit(Err.of("b"), Ok.of(3));
+        publisher.subscriber.onError(new RuntimeException("upstream"));
+        assertEquals(Arrays.asList(1, 2, 3), subscriber.items);
+        assertEquals(Collections.emptyList(), side.items);
+        assertFalse(side.completed);
+        assertNull(side.error);
+        assertTrue(subscriber.error instanceof RuntimeException);
+    }
+
+    @Test
+    void splitErr_Failure_IsSignalledToSide() {
+        final TestSubscriber<String> side = new TestSubscriber<>(2);
+        final TestPublisher<Result<Integer, String>> publisher = new TestPublisher<>();
+        wire(publisher, ResultProcessors.<Integer, String>splitErr(side), Long.MAX_VALUE);
+        publisher.emit(Err.of("a"));
+        final RuntimeException failure = new RuntimeException("upstream");
+        publisher.subscriber.onError(failure);
+        assertEquals(Arrays.asList("a"), side.items);
+        assertSame(failure, side.error);
+    }
+
+    @Test
+    void splitErr_DownstreamCancels_CompletesSide() {
+        final TestSubscriber<String> side = new TestSubscriber<>(1);
+        final TestPublisher<Result<Integer, String>> publisher = new TestPublisher<>();
+        final TestSubscriber<Integer> subscriber = wire(publisher, ResultProcessors.<Integer, String>splitErr(side), 1);
+        subscriber.subscription.cancel();
+        assertTrue(publisher.cancelled);
+        assertTrue(side.completed);
+
+        final TestSubscriber<String> cancelledSide = new TestSubscriber<>(1);
+        final TestPublisher<Result<Integer, String>> other = new TestPublisher<>();
+        final TestSubscriber<Integer> otherSubscriber = wire(other, ResultProcessors.<Integer, String>splitErr(cancelledSide), 1);
+        cancelledSide.subscription.cancel();
+        otherSubscriber.subscription.cancel();
+        assertFalse(cancelledSide.completed);
+    }
+
+    @Test
+    void splitErr_SideRequestNotPositive_FailsStream() {
+        final TestSubscriber<String> side = new TestSubscriber<>(0);
+        final TestPublisher<Result<Integer, String>> publisher = new TestPublisher<>();
+        final TestSubscriber<Integer> subscriber = wire(publisher, ResultProcessors.<Integer, String>splitErr(side), 1);
+        side.subscription.request(-1);
+        assertTrue(publisher.cancelled);
+        assertTrue(subscriber.error instanceof IllegalArgumentException);
+        assertTrue(side.error instanceof IllegalArgumentException);
+        assertThrows(NullPointerException.class, () -> ResultProcessors.splitErr(null));
+    }
+
+    @Test
+    void andThenAsync_CompletesOutOfOrder_EmitsInOrder() {
+        final List<CompletableFuture<Result<String, String>>> calls = new ArrayList<>();
+        final TestPublisher<Result<Integer, String>> publisher = new TestPublisher<>();
+        final TestSubscriber<Result<String, String>> subscriber = wire(publisher,
+            ResultProcessors.<Integer, String, String>andThenAsync(v -> {
+                final CompletableFuture<Result<String, String>> call = new CompletableFuture<>();
+                calls.add(call);
+                return call;
+            }, 2), Long.MAX_VALUE);
+        assertEquals(2, publisher.requested.get());
+        publisher.emit(Ok.of(1), Ok.of(2));
+        assertEquals(2, calls.size());
+        calls.get(1).complete(Ok.of("two"));
+        assertEquals(Collections.emptyList(), subscriber.items);
+        calls.get(0).complete(Err.of("one failed"));
+        assertEquals(Arrays.asList(Err.of("one failed"), Ok.of("two")), subscriber.items);
+
+        publisher.emit(Err.of("upstream"), Ok.of(3));
+        calls.get(2).complete(Ok.of("three"));
+        publisher.subscriber.onComplete();
+        assertEquals(Arrays.asList(Err.of("one failed"), Ok.of("two"), Err.of("upstream"), Ok.of("three")), subscriber.items);
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    void andThenAsync_LimitsCallsInFlightAndRespectsDemand() {
+        final List<CompletableFuture<Result<Integer, String>>> calls = new ArrayList<>();
+        final TestPublisher<Result<Integer, String>> publisher = new TestPublisher<>();
+        final TestSubscriber<Result<Integer, String>> subscriber = wire(publisher,
+            ResultProcessors.<Integer, Integer, String>andThenAsync(v -> {
+                final CompletableFuture<Result<Integer, String>> call = new CompletableFuture<>();
+                calls.add(call);
+                return call;
+            }, 2), 1);
+        publisher.emit(Ok.of(1), Ok.of(2));
+        calls.get(0).complete(Ok.of(1));
+        calls.get(1).complete(Ok.of(2));
+        assertEquals(Arrays.asList(Ok.of(1)), subscriber.items);
+        publisher.emit(Ok.of(3));
+        assertEquals(3, calls.size());
+        publisher.emit(Ok.of(4));
+        assertEquals(3, calls.size());
+        subscriber.subscription.request(1);
+        assertEquals(4, calls.size());
+    }
+
+    @Test
+    void andThenAsync_FailedCalls_FailStream() {
+        final RuntimeException failure = new RuntimeException("async");
+        final CompletableFuture<Result<Integer, String>> failed = new CompletableFuture<>();
+        failed.completeExceptionally(failure);
+        assertSame(failure, failAsync(v -> failed).error);
+        assertTrue(failAsync(v -> CompletableFuture.completedFuture(null)).error instanceof NullPointerException);
+        assertTrue(failAsync(v -> null).error instanceof NullPointerException);
+        assertSame(failure, failAsync(v -> {
+            throw failure;
+        }).error);
+        assertThrows(IllegalArgumentException.class, () -> ResultProcessors.andThenAsync(v -> failed, 0));
+    }
+
+    private static TestSubscriber<Result<Integer, String>> failAsync(
+            final java.util.function.Function<Integer, CompletableFuture<Result<Integer, String>>> op) {
+        final TestPublisher<Result<Integer, String>> publisher = new TestPublisher<>();
+        final TestSubscriber<Result<Integer, String>> subscriber =
+            wire(publisher, ResultProcessors.<Integer, Integer, String>andThenAsync(op, 4), Long.MAX_VALUE);
+        publisher.emit(Ok.of(1), Ok.of(2));
+        assertTrue(publisher.cancelled);
+        return subscriber;
+    }
+
+    @Test
+    void andThenAsync_ConcurrentCompletions_DeliversEveryItemInOrder() throws InterruptedException {
+        final int count = 10_000;
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        final TestPublisher<Result<Integer, String>> publisher = new TestPublisher<>();
+        final TestSubscriber<Result<Integer, String>> subscriber = wire(publisher,
+            ResultProcessors.<Integer, Integer, String>andThenAsync(v -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                return CompletableFuture.supplyAsync(() -> {
+                    inFlight.decrementAndGet();
+                    return Ok.of(v);
+                });
+            }, 8), Long.MAX_VALUE);
+        final Thread producer = new Thread(() -> {
+            int sent = 0;
+            while (sent < count) {
+                if (publisher.requested.get() > sent) {
+                    publisher.emit(Ok.of(sent++));
+                } else {
+                    Thread.yield();
+                }
+            }
+            publisher.subscriber.onComplete();
+        });
+        producer.start();
+        assertTrue(subscriber.terminated.await(30, TimeUnit.SECONDS));
+        producer.join();
+        assertTrue(subscriber.completed);
+        assertEquals(count, subscriber.items.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(Ok.of(i), subscriber.items.get(i));
+        }
+        assertTrue(maxInFlight.get() <= 8);
+    }
+}
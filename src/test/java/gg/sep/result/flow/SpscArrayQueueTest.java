@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result.flow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link SpscArrayQueue} type.
+ */
+class SpscArrayQueueTest {
+
+    @Test
+    void new_RoundsCapacityToPowerOfTwo() {
+        assertEquals(1, new SpscArrayQueue<>(1).capacity());
+        assertEquals(4, new SpscArrayQueue<>(3).capacity());
+        assertEquals(4, new SpscArrayQueue<>(4).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new SpscArrayQueue<>(0));
+        assertThrows(IllegalArgumentException.class, () -> new SpscArrayQueue<>((1 << 30) + 1));
+    }
+
+    @Test
+    void offerPoll_FifoAndBounded() {
+        final SpscArrayQueue<Integer> queue = new SpscArrayQueue<>(2);
+        assertTrue(queue.isEmpty());
+        assertTrue(queue.offer(1));
+        assertTrue(queue.offer(2));
+        assertFalse(queue.offer(3));
+        assertEquals(1, queue.peek());
+        assertEquals(1, queue.poll());
+        assertTrue(queue.offer(3));
+        assertEquals(2, queue.poll());
+        assertEquals(3, queue.poll());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    void clear_RemovesEverything() {
+        final SpscArrayQueue<Integer> queue = new SpscArrayQueue<>(4);
+        queue.offer(1);
+        queue.offer(2);
+        queue.clear();
+        assertTrue(queue.isEmpty());
+        assertTrue(queue.offer(3));
+        assertEquals(3, queue.poll());
+    }
+
+    @Test
+    void offerPoll_AcrossThreads_KeepsOrder() throws InterruptedException {
+        final int count = 1_000_000;
+        final SpscArrayQueue<Integer> queue = new SpscArrayQueue<>(64);
+        final Thread producer = new Thread(() -> {
+            for (int i = 0; i < count; i++) {
+                while (!queue.offer(i)) {
+                    Thread.yield();
+                }
+            }
+        });
+        producer.start();
+        int expected = 0;
+        while (expected < count) {
+            final Integer item = queue.poll();
+            if (item == null) {
+                Thread.yield();
+            } else {
+                assertEquals(expected++, item);
+            }
+        }
+        producer.join();
+    }
+}
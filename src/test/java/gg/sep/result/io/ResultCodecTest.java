@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import gg.sep.result.Err;
+import gg.sep.result.Ok;
+import gg.sep.result.Result;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Unit tests for {@link ResultCodec} and the {@link PayloadCodecs}.
+ */
+class ResultCodecTest {
+
+    private static final ResultCodec<Long, String> CODEC = ResultCodec.of(PayloadCodecs.LONG, PayloadCodecs.STRING);
+
+    private static Stream<String> strings() {
+        return Stream.of("", "ascii", "caf\u00e9", "\u20ac100", "smile \ud83d\ude00", // e-acute, euro sign, emoji
+            "\u0000\u007f\u0080\u07ff\u0800\uffff");
+    }
+
+    private static Stream<byte[]> malformedUtf8() {
+        // bad continuation, truncated 3-byte lead, surrogate, overlong NUL, above U+10FFFF, ASCII prefix
+        return Stream.of(new byte[] {(byte) 0xC3, 'A'}, new byte[] {(byte) 0xE2, 'A', 'B'},
+            new byte[] {(byte) 0xED, (byte) 0xA0, (byte) 0x80}, new byte[] {(byte) 0xC0, (byte) 0x80},
+            new byte[] {(byte) 0xF4, (byte) 0x90, (byte) 0x80, (byte) 0x80}, new byte[] {'o', 'k', (byte) 0xFF, 'x'});
+    }
+
+    private static <T, E> Result<T, E> roundTrip(final ResultCodec<T, E> codec, final Result<T, E> result,
+                                                 final boolean direct) {
+        final int size = codec.encodedSize(result);
+        final ByteBuffer buffer = direct ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size);
+        codec.encode(result, buffer);
+        assertFalse(buffer.hasRemaining());
+        buffer.flip();
+        final Result<T, E> decoded = codec.decode(buffer);
+        assertFalse(buffer.hasRemaining());
+        return decoded;
+    }
+
+    private static String decodeUtf8Direct(final byte[] bytes) {
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(Integer.BYTES + bytes.length);
+        buffer.putInt(bytes.length).put(bytes).flip();
+        return PayloadCodecs.STRING.decode(buffer);
+    }
+
+    @Test
+    void of_DoesNotAllowNull() {
+        assertThrows(NullPointerException.class, () -> ResultCodec.of(null, PayloadCodecs.INT));
+        assertThrows(NullPointerException.class, () -> ResultCodec.of(PayloadCodecs.INT, null));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void roundTrip_Primitives(final boolean direct) {
+        final ResultCodec<Integer, Double> codec = ResultCodec.of(PayloadCodecs.INT, PayloadCodecs.DOUBLE);
+        assertEquals(Ok.of(-42), roundTrip(codec, Ok.of(-42), direct));
+        assertEquals(Err.of(1.5), roundTrip(codec, Err.of(1.5), direct));
+        assertEquals(Ok.of(Long.MIN_VALUE), roundTrip(CODEC, Ok.of(Long.MIN_VALUE), direct));
+        assertEquals(5, codec.encodedSize(Ok.of(1)));
+        assertEquals(9, codec.encodedSize(Err.of(1.0)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("strings")
+    void roundTrip_Strings(final String value) {
+        assertEquals(Err.of(value), roundTrip(CODEC, Err.of(value), false));
+        assertEquals(Err.of(value), roundTrip(CODEC, Err.of(value), true));
+        assertEquals(Integer.BYTES + value.getBytes(StandardCharsets.UTF_8).length,
+            PayloadCodecs.STRING.encodedSize(value));
+    }
+
+    @Test
+    void encode_UnpairedSurrogates_AreReplaced() {
+        final String unpaired = "a\ud83db\ude00c\ud83d"; // lone high, lone low, trailing high
+        final byte[] expected = unpaired.getBytes(StandardCharsets.UTF_8);
+        assertEquals(Integer.BYTES + expected.length, PayloadCodecs.STRING.encodedSize(unpaired));
+        assertEquals(Err.of("a?b?c?"), roundTrip(CODEC, Err.of(unpaired), true));
+    }
+
+    @Test
+    void decode_MalformedUtf8_IsReplaced() {
+        // stray continuation byte, invalid lead byte, then truncated 2-, 3- and 4-byte sequences
+        assertEquals("\ufffd\ufffd", decodeUtf8Direct(new byte[] {(byte) 0x80, (byte) 0xF8}));
+        assertEquals("\ufffd", decodeUtf8Direct(new byte[] {(byte) 0xC3}));
+        assertEquals("\ufffd", decodeUtf8Direct(new byte[] {(byte) 0xE2, (byte) 0x82}));
+        assertEquals("\ufffd", decodeUtf8Direct(new byte[] {(byte) 0xF0, (byte) 0x9F, (byte) 0x98}));
+        assertEquals("\ufffdA", decodeUtf8Direct(new byte[] {(byte) 0xC3, 'A'})); // replacement char, then A
+    }
+
+    @ParameterizedTest
+    @MethodSource("malformedUtf8")
+    void decode_MalformedUtf8_DirectMatchesHeap(final byte[] bytes) {
+        final ByteBuffer heap = ByteBuffer.allocate(Integer.BYTES + bytes.length);
+        heap.putInt(bytes.length).put(bytes).flip();
+        assertEquals(PayloadCodecs.STRING.decode(heap), decodeUtf8Direct(bytes));
+        assertEquals(new String(bytes, StandardCharsets.UTF_8), decodeUtf8Direct(bytes));
+    }
+
+    @Test
+    void decode_LengthBeyondBuffer_Throws() {
+        final ByteBuffer buffer = ByteBuffer.allocate(5);
+        buffer.putInt(10).put((byte) 'a').flip();
+        assertThrows(BufferUnderflowException.class, () -> PayloadCodecs.STRING.decode(buffer));
+    }
+
+    @Test
+    void decode_NegativeLength_Throws() {
+        final ByteBuffer buffer = ByteBuffer.allocate(5);
+        buffer.putInt(-1).put((byte) 'a').flip();
+        assertThrows(IllegalArgumentException.class, () -> PayloadCodecs.STRING.decode(buffer));
+        buffer.rewind();
+        buffer.putInt(Integer.MIN_VALUE).rewind();
+        assertThrows(IllegalArgumentException.class, () -> PayloadCodecs.STRING.decode(buffer));
+    }
+
+    @Test
+    void decodeAll_NegativeCount_Throws() {
+        final ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES);
+        buffer.putInt(-1).flip();
+        final IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> CODEC.decodeAll(buffer));
+        assertEquals("Negative result count: -1", e.getMessage());
+    }
+
+    @Test
+    void decode_UnknownTag_Throws() {
+        final ByteBuffer buffer = ByteBuffer.wrap(new byte[] {7});
+        assertThrows(IllegalArgumentException.class, () -> CODEC.decode(buffer));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void encodeAll_RoundTripsInOrder(final boolean direct) {
+        final List<Result<Long, String>> results = Arrays.asList(Ok.of(1L), Err.of("two"), Ok.of(3L), Err.of("\u20ac")); // euro sign
+        final int size = CODEC.encodedSize(results);
+        final ByteBuffer buffer = direct ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size);
+        CODEC.encodeAll(results, buffer);
+        assertFalse(buffer.hasRemaining());
+        buffer.flip();
+        assertEquals(results, CODEC.decodeAll(buffer));
+        assertFalse(buffer.hasRemaining());
+    }
+}
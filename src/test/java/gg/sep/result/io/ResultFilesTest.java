@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import gg.sep.result.Ok;
+import gg.sep.result.Result;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.NotDirectoryException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for the {@link ResultFiles} and {@link IoError} types.
+ */
+class ResultFilesTest {
+
+    private static IoError.Kind errKind(final Result<?, IoError> result) {
+        assertTrue(result.isErr());
+        return result.unwrapErr().kind();
+    }
+
+    @Test
+    void readAll_SmallFile_ReturnsContents(@TempDir final Path dir) {
+        final Path file = dir.resolve("small.txt");
+        assertEquals(Ok.of(11L), ResultFiles.write(file, "hello world"));
+        assertEquals(Ok.of("hello world"), ResultFiles.readAll(file));
+        assertEquals(Ok.of(11L), ResultFiles.size(file));
+    }
+
+    @Test
+    void readAll_Charset_DecodesWithCharset(@TempDir final Path dir) {
+        final Path file = dir.resolve("latin.txt");
+        final String text = "caf\u00e9"; // e with acute accent
+        assertEquals(Ok.of(4L), ResultFiles.write(file, text, StandardCharsets.ISO_8859_1));
+        assertEquals(Ok.of(text), ResultFiles.readAll(file, StandardCharsets.ISO_8859_1));
+        assertEquals(Ok.of(5L), ResultFiles.write(file, text));
+        assertEquals(Ok.of(text), ResultFiles.readAll(file));
+    }
+
+    @Test
+    void readAll_EmptyFile_ReturnsEmptyString(@TempDir final Path dir) {
+        final Path file = dir.resolve("empty.txt");
+        assertEquals(Ok.of(0L), ResultFiles.write(file, ""));
+        assertEquals(Ok.of(""), ResultFiles.readAll(file));
+        assertEquals(Ok.of(Collections.emptyList()), ResultFiles.readLines(file));
+    }
+
+    @Test
+    void readAll_LargeFile_IsMapped(@TempDir final Path dir) {
+        final Path file = dir.resolve("large.txt");
+        final StringBuilder content = new StringBuilder();
+        for (int line = 0; content.length() < ResultFiles.MAP_THRESHOLD * 2; line++) {
+            content.append("line ").append(line).append('\n');
+        }
+        assertEquals(Ok.of((long) content.length()), ResultFiles.write(file, content));
+        assertEquals(Ok.of(content.toString()), ResultFiles.readAll(file));
+        assertEquals("line 1", ResultFiles.readLines(file).unwrap().get(1));
+
+        // the mapping is released after each read, so the file can be rewritten (Windows refuses while mapped)
+        assertEquals(Ok.of(5L), ResultFiles.write(file, "small"));
+        assertEquals(Ok.of("small"), ResultFiles.readAll(file));
+    }
+
+    @Test
+    void readLines_MixedTerminators_SplitsLines(@TempDir final Path dir) {
+        final Path file = dir.resolve("lines.txt");
+        ResultFiles.write(file, "one\ntwo\r\nthree\rfour\n\nsix");
+        assertEquals(Ok.of(Arrays.asList("one", "two", "three", "four", "", "six")), ResultFiles.readLines(file));
+
+        ResultFiles.write(file, "one\r", StandardCharsets.US_ASCII);
+        assertEquals(Ok.of(Collections.singletonList("one")), ResultFiles.readLines(file, StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void read_MissingFile_NotFound(@TempDir final Path dir) {
+        final Path file = dir.resolve("missing.txt");
+        assertEquals(IoError.Kind.NOT_FOUND, errKind(ResultFiles.readAll(file)));
+        assertEquals(IoError.Kind.NOT_FOUND, errKind(ResultFiles.readLines(file)));
+        assertEquals(IoError.Kind.NOT_FOUND, errKind(ResultFiles.size(file)));
+        assertEquals(file, ResultFiles.size(file).unwrapErr().path());
+        assertFalse(ResultFiles.size(file).unwrapErr().cause().isPresent());
+    }
+
+    @Test
+    void operations_Directory_IsDirectory(@TempDir final Path dir) {
+        assertEquals(IoError.Kind.IS_DIRECTORY, errKind(ResultFiles.readAll(dir)));
+        assertEquals(IoError.Kind.IS_DIRECTORY, errKind(ResultFiles.size(dir)));
+        assertEquals(IoError.Kind.IS_DIRECTORY, errKind(ResultFiles.write(dir, "content")));
+    }
+
+    @Test
+    void write_MissingParent_NotFound(@TempDir final Path dir) {
+        assertEquals(IoError.Kind.NOT_FOUND, errKind(ResultFiles.write(dir.resolve("missing/file.txt"), "content")));
+    }
+
+    @Test
+    void read_UnreadableFile_AccessDenied(@TempDir final Path dir) throws IOException {
+        final Path file = dir.resolve("secret.txt");
+        ResultFiles.write(file, "secret");
+        Files.setPosixFilePermissions(file, PosixFilePermissions.fromString("---------"));
+        assumeFalse(Files.isReadable(file), "permissions are not enforced for this user");
+        assertEquals(IoError.Kind.ACCESS_DENIED, errKind(ResultFiles.readAll(file)));
+        assertEquals(IoError.Kind.ACCESS_DENIED, errKind(ResultFiles.write(file, "content")));
+    }
+
+    @Test
+    void write_ReadOnlyDirectory_AccessDenied(@TempDir final Path dir) throws IOException {
+        final Path readOnly = Files.createDirectory(dir.resolve("readonly"));
+        Files.setPosixFilePermissions(readOnly, PosixFilePermissions.fromString("r-x------"));
+        assumeFalse(Files.isWritable(readOnly), "permissions are not enforced for this user");
+        assertEquals(IoError.Kind.ACCESS_DENIED, errKind(ResultFiles.write(readOnly.resolve("file.txt"), "content")));
+    }
+
+    @Test
+    void readAll_FileOver2GiB_TooLarge(@TempDir final Path dir) throws IOException {
+        final Path file = dir.resolve("sparse.bin");
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.setLength(Integer.MAX_VALUE + 1L);
+        }
+        assertEquals(IoError.Kind.TOO_LARGE, errKind(ResultFiles.readAll(file)));
+        assertEquals(Ok.of(Integer.MAX_VALUE + 1L), ResultFiles.size(file));
+    }
+
+    @Test
+    void write_DeviceFull_ReturnsOther() {
+        final Path full = Paths.get("/dev/full");
+        assumeTrue(Files.isWritable(full), "/dev/full is not available");
+        final IoError error = ResultFiles.write(full, "content").unwrapErr();
+        assertEquals(IoError.Kind.OTHER, error.kind());
+        assertTrue(error.cause().isPresent());
+    }
+
+    @Test
+    void of_IOException_ChoosesKind() {
+        final Path path = Paths.get("file.txt");
+        assertEquals(IoError.Kind.NOT_FOUND, IoError.of(path, new NoSuchFileException("file.txt")).kind());
+        assertEquals(IoError.Kind.NOT_FOUND, IoError.of(path, new NotDirectoryException("file.txt")).kind());
+        assertEquals(IoError.Kind.ACCESS_DENIED, IoError.of(path, new AccessDeniedException("file.txt")).kind());
+        assertEquals(IoError.Kind.OTHER, IoError.of(path, new FileSystemException("file.txt")).kind());
+        assertEquals("null", IoError.of(path, new IOException()).message());
+
+        final IOException cause = new IOException("boom");
+        assertSame(cause, IoError.of(path, cause).cause().get());
+        assertEquals("boom", IoError.of(path, cause).message());
+    }
+
+    @Test
+    void equalsHashCodeToString_CompareAllFields() {
+        final Path path = Paths.get("file.txt");
+        final IoError error = IoError.of(IoError.Kind.NOT_FOUND, path, "missing");
+        assertEquals(error, error);
+        assertEquals(error, IoError.of(IoError.Kind.NOT_FOUND, path, "missing"));
+        assertEquals(error.hashCode(), IoError.of(IoError.Kind.NOT_FOUND, path, "missing").hashCode());
+        assertNotEquals(error, IoError.of(IoError.Kind.OTHER, path, "missing"));
+        assertNotEquals(error, IoError.of(IoError.Kind.NOT_FOUND, Paths.get("other.txt"), "missing"));
+        assertNotEquals(error, IoError.of(IoError.Kind.NOT_FOUND, path, "other"));
+        assertNotEquals(error, IoError.of(path, new IOException("missing")));
+        assertNotEquals(error, "missing");
+        assertEquals("NOT_FOUND: file.txt (missing)", error.toString());
+    }
+}
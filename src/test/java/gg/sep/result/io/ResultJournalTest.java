@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import gg.sep.result.Err;
+import gg.sep.result.Ok;
+import gg.sep.result.Result;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for the {@link ResultJournal} type.
+ */
+class ResultJournalTest {
+
+    private static final String SEGMENT = "segment-000000.journal";
+    private static final ResultCodec<Long, String> CODEC = ResultCodec.of(PayloadCodecs.LONG, PayloadCodecs.STRING);
+
+    private static Result<Long, String> outcome(final long key) {
+        return key % 7 == 0 ? Err.of("failed " + key) : Ok.of(key * 2);
+    }
+
+    private static List<ResultJournal.Record<Long, String>> drain(final Iterator<ResultJournal.Record<Long, String>> errors) {
+        final List<ResultJournal.Record<Long, String>> records = new ArrayList<>();
+        errors.forEachRemaining(records::add);
+        return records;
+    }
+
+    private static long segmentCount(final Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.count();
+        }
+    }
+
+    private static int readInt(final Path segment, final long position) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            final ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES);
+            channel.read(buffer, position);
+            buffer.flip();
+            return buffer.getInt();
+        }
+    }
+
+    private static void write(final Path segment, final long position, final ByteBuffer bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(bytes, position);
+        }
+    }
+
+    /**
+     * Journals keys 1 to 3, with key 2 failed, and returns the offset of the second record.
+     */
+    private static int journalThreeRecords(final Path dir) throws IOException {
+        try (ResultJournal<Long, String> journal = ResultJournal.open(dir, CODEC, 4096, 1)) {
+            journal.append(1, Ok.of(1L));
+            journal.append(2, Err.of("two"));
+            journal.append(3, Ok.of(3L));
+        }
+        return 2 * Integer.BYTES + readInt(dir.resolve(SEGMENT), 0);
+    }
+
+    private static void assertRecoversOnlyFirstRecord(final Path dir) throws IOException {
+        try (ResultJournal<Long, String> journal = ResultJournal.open(dir, CODEC, 4096, 1)) {
+            assertTrue(journal.contains(1));
+            assertFalse(journal.contains(2));
+            assertFalse(journal.contains(3));
+            assertEquals(0, journal.errorCount());
+            journal.append(4, Err.of("four"));
+        }
+        try (ResultJournal<Long, String> journal = ResultJournal.open(dir, CODEC, 4096, 1)) {
+            assertEquals(2, journal.size());
+            assertEquals(Err.of("four"), drain(journal.errors()).get(0).result());
+        }
+    }
+
+    @Test
+    void open_InvalidArguments_Throw(@TempDir final Path dir) {
+        assertThrows(IllegalArgumentException.class, () -> ResultJournal.open(dir, CODEC, 12, 1));
+        assertThrows(IllegalArgumentException.class, () -> ResultJournal.open(dir, CODEC, 1024, 0));
+        assertThrows(NullPointerException.class, () -> ResultJournal.open(dir, null));
+    }
+
+    @Test
+    void append_ThenReopen_RecoversKeysAndErrors(@TempDir final Path dir) throws IOException {
+        final int records = 5000;
+        try (ResultJournal<Long, String> journal = ResultJournal.open(dir, CODEC, 4096, 100)) {
+            for (long key = 0; key < records; key++) {
+                journal.append(key, outcome(key));
+            }
+            assertTrue(journal.contains(0));
+            assertEquals(records, journal.size());
+        }
+        assertTrue(segmentCount(dir) > 1, "small segments should have rolled over");
+
+        try (ResultJournal<Long, String> journal = ResultJournal.open(dir, CODEC, 4096, 100)) {
+            assertEquals(records, journal.size());
+            assertEquals((records + 6) / 7, journal.errorCount());
+            for (long key = 0; key < records; key++) {
+                assertTrue(journal.contains(key));
+            }
+            assertFalse(journal.contains(records));
+            assertFalse(journal.contains(-1));
+
+            final List<ResultJournal.Record<Long, String>> errors = drain(journal.errors());
+            assertEquals(journal.errorCount(), errors.size());
+            for (int i = 0; i < errors.size(); i++) {
+                assertEquals(i * 7L, errors.get(i).key());
+                assertEquals(outcome(i * 7L), errors.get(i).result());
+            }
+
+            // appending continues after the recovered records
+            journal.append(records, Err.of("late"));
+            final List<ResultJournal.Record<Long, String>> withLate = drain(journal.errors());
+            assertEquals(Err.of("late"), withLate.get(withLate.size() - 1).result());
+        }
+    }
+
+    @Test
+    void open_WithoutClose_RecoversFlushedRecords(@TempDir final Path dir) throws IOException {
+        final ResultJournal<Long, String> crashed = ResultJournal.open(dir, CODEC);
+        crashed.append(1, Ok.of(1L));
+        crashed.append(2, Err.of("two"));
+        crashed.flush();
+
+        final ResultJournal<Long, String> recovered = ResultJournal.open(dir, CODEC);
+        assertTrue(recovered.contains(1));
+        assertTrue(recovered.contains(2));
+        assertEquals(1, recovered.errorCount());
+        recovered.close();
+        recovered.close();
+    }
+
+    @Test
+    void open_ChecksumMismatch_EndsScanAtTornRecord(@TempDir final Path dir) throws IOException {
+        final int second = journalThreeRecords(dir);
+        write(dir.resolve(SEGMENT), second + 16, ByteBuffer.wrap(new byte[] {'x'})); // the second record's result tag
+        assertRecoversOnlyFirstRecord(dir);
+    }
+
+    @Test
+    void open_LengthPastSegmentEnd_EndsScan(@TempDir final Path dir) throws IOException {
+        final int second = journalThreeRecords(dir);
+        write(dir.resolve(SEGMENT), second, (ByteBuffer) ByteBuffer.allocate(Integer.BYTES).putInt(4096).flip());
+        assertRecoversOnlyFirstRecord(dir);
+    }
+
+    @Test
+    void open_NegativeLength_EndsScan(@TempDir final Path dir) throws IOException {
+        final int second = journalThreeRecords(dir);
+        write(dir.resolve(SEGMENT), second, (ByteBuffer) ByteBuffer.allocate(Integer.BYTES).putInt(-1).flip());
+        assertRecoversOnlyFirstRecord(dir);
+    }
+
+    @Test
+    void open_UnreadableSegment_ThrowsAndCanBeRetried(@TempDir final Path dir) throws IOException {
+        journalThreeRecords(dir);
+        final Path unreadable = Files.createDirectory(dir.resolve("segment-000001.journal"));
+        assertThrows(IOException.class, () -> ResultJournal.open(dir, CODEC));
+
+        Files.delete(unreadable);
+        try (ResultJournal<Long, String> journal = ResultJournal.open(dir, CODEC)) {
+            assertTrue(journal.contains(1));
+        }
+    }
+
+    @Test
+    void errors_AfterClose_Throws(@TempDir final Path dir) throws IOException {
+        final ResultJournal<Long, String> journal = ResultJournal.open(dir, CODEC);
+        journal.append(1, Err.of("one"));
+        final Iterator<ResultJournal.Record<Long, String>> errors = journal.errors();
+        journal.close();
+        assertTrue(errors.hasNext());
+        assertThrows(IllegalStateException.class, errors::next);
+        assertTrue(journal.contains(1));
+    }
+
+    @Test
+    void append_DuplicateAndZeroKeys_CountedOnce(@TempDir final Path dir) throws IOException {
+        try (ResultJournal<Long, String> journal = ResultJournal.open(dir, CODEC)) {
+            assertFalse(journal.contains(0));
+            journal.append(0, Ok.of(0L));
+            journal.append(0, Ok.of(0L));
+            journal.append(5, Ok.of(5L));
+            journal.append(5, Ok.of(5L));
+            assertEquals(2, journal.size());
+        }
+    }
+
+    @Test
+    void append_RecordLargerThanSegment_Throws(@TempDir final Path dir) throws IOException {
+        try (ResultJournal<Long, String> journal = ResultJournal.open(dir, CODEC, 32, 1)) {
+            assertThrows(IllegalArgumentException.class, () -> journal.append(1, Err.of("this error is far too long")));
+        }
+    }
+
+    @Test
+    void append_AfterClose_Throws(@TempDir final Path dir) throws IOException {
+        final ResultJournal<Long, String> journal = ResultJournal.open(dir, CODEC);
+        journal.close();
+        assertThrows(IllegalStateException.class, () -> journal.append(1, Ok.of(1L)));
+        assertThrows(IllegalStateException.class, journal::flush);
+    }
+
+    @Test
+    void errors_ThrowsWhenExhausted(@TempDir final Path dir) throws IOException {
+        try (ResultJournal<Long, String> journal = ResultJournal.open(dir, CODEC)) {
+            final Iterator<ResultJournal.Record<Long, String>> errors = journal.errors();
+            assertFalse(errors.hasNext());
+            assertThrows(NoSuchElementException.class, errors::next);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import gg.sep.result.Err;
+import gg.sep.result.Ok;
+import gg.sep.result.Result;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link ResultJsonWriter} and {@link JsonValueWriters} types.
+ */
+class ResultJsonWriterTest {
+
+    private static final ResultJsonWriter<Number, CharSequence> WRITER =
+        ResultJsonWriter.of(JsonValueWriters.NUMBER, JsonValueWriters.STRING);
+
+    private static <V> String json(final JsonValueWriter<V> writer, final V value) throws IOException {
+        final StringBuilder out = new StringBuilder();
+        writer.write(value, out);
+        return out.toString();
+    }
+
+    @Test
+    void of_NullWriter_Throws() {
+        assertThrows(NullPointerException.class, () -> ResultJsonWriter.of(null, JsonValueWriters.STRING));
+        assertThrows(NullPointerException.class, () -> ResultJsonWriter.of(JsonValueWriters.STRING, null));
+    }
+
+    @Test
+    void write_OkAndErr_WritesObjects() throws IOException {
+        assertEquals("{\"ok\":42}", json(WRITER, Ok.of(42)));
+        assertEquals("{\"err\":\"not found\"}", json(WRITER, Err.of("not found")));
+    }
+
+    @Test
+    void writeAll_StreamsArray() throws IOException {
+        final List<Result<Number, CharSequence>> results = Arrays.asList(Ok.of(1), Err.of("bad"), Ok.of(2.5));
+        final StringWriter out = new StringWriter();
+        WRITER.writeAll(results, out);
+        assertEquals("[{\"ok\":1},{\"err\":\"bad\"},{\"ok\":2.5}]", out.toString());
+
+        final StringBuilder empty = new StringBuilder();
+        WRITER.writeAll(Collections.emptyList(), empty);
+        assertEquals("[]", empty.toString());
+    }
+
+    @Test
+    void write_OutputStream_WritesUtf8() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        WRITER.write(Err.of("caf\u00e9"), out); // e with acute accent
+        assertEquals("{\"err\":\"caf\u00e9\"}", new String(out.toByteArray(), StandardCharsets.UTF_8)); // e with acute accent
+
+        out.reset();
+        WRITER.writeAll(Arrays.asList(Ok.of(1), Ok.of(2)), out);
+        assertEquals("[{\"ok\":1},{\"ok\":2}]", new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void string_EscapesInOnePass() throws IOException {
+        assertEquals("\"plain\"", json(JsonValueWriters.STRING, "plain"));
+        assertEquals("\"a\\\"b\\\\c\\nd\\re\\tf\\u0001g\\u001f\"", json(JsonValueWriters.STRING, "a\"b\\c\nd\re\tf\u0001g\u001f"));
+        assertEquals("\"\\n\"", json(JsonValueWriters.STRING, "\n"));
+        assertEquals("\"\"", json(JsonValueWriters.STRING, ""));
+    }
+
+    @Test
+    void number_WritesJsonNumbers() throws IOException {
+        assertEquals("7", json(JsonValueWriters.NUMBER, 7));
+        assertEquals("-9000000000", json(JsonValueWriters.NUMBER, -9_000_000_000L));
+        assertEquals("1.5", json(JsonValueWriters.NUMBER, 1.5f));
+        assertEquals("12.50", json(JsonValueWriters.NUMBER, new BigDecimal("12.50")));
+        assertEquals("null", json(JsonValueWriters.NUMBER, Double.NaN));
+        assertEquals("null", json(JsonValueWriters.NUMBER, Double.POSITIVE_INFINITY));
+        assertEquals("null", json(JsonValueWriters.NUMBER, Float.NEGATIVE_INFINITY));
+
+        final StringWriter out = new StringWriter();
+        JsonValueWriters.NUMBER.write(7L, out);
+        assertEquals("7", out.toString());
+    }
+
+    @Test
+    void booleanToStringAndArray_WriteValues() throws IOException {
+        assertEquals("true", json(JsonValueWriters.BOOLEAN, true));
+        assertEquals("false", json(JsonValueWriters.BOOLEAN, false));
+        assertEquals("\"[1]\"", json(JsonValueWriters.TO_STRING, Collections.singletonList(1)));
+        assertEquals("[1,null,3]", json(JsonValueWriters.arrayOf(JsonValueWriters.NUMBER), Arrays.asList(1, null, 3)));
+
+        final ResultJsonWriter<Iterable<? extends CharSequence>, Object> nested =
+            ResultJsonWriter.of(JsonValueWriters.arrayOf(JsonValueWriters.STRING), JsonValueWriters.TO_STRING);
+        assertEquals("{\"ok\":[\"a\",\"b\"]}", json(nested, Ok.of(Arrays.asList("a", "b"))));
+    }
+}
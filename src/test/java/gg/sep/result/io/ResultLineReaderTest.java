@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import gg.sep.result.Err;
+import gg.sep.result.Ok;
+import gg.sep.result.Result;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for the {@link ResultLineReader} and {@link LineError} types.
+ */
+class ResultLineReaderTest {
+
+    private static final ResultLineReader.Parser<Integer, String> INT_PARSER = line -> {
+        int value = 0;
+        for (int i = 0; i < line.length(); i++) {
+            final byte b = line.byteAt(i);
+            if (b < '0' || b > '9') {
+                return Err.of("not a number: " + line.asString());
+            }
+            value = value * 10 + (b - '0');
+        }
+        return Ok.of(value);
+    };
+
+    private static Path write(final Path dir, final String content) throws IOException {
+        return Files.write(dir.resolve("input.txt"), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static <T, E> List<Result<T, LineError<E>>> readAll(final ResultLineReader<T, E> reader, final Path file,
+                                                                final long expectedLines) {
+        final List<Result<T, LineError<E>>> results = new ArrayList<>();
+        assertEquals(Ok.of(expectedLines), reader.read(file, results::add));
+        return results;
+    }
+
+    @Test
+    void of_InvalidArguments_Throw() {
+        assertThrows(IllegalArgumentException.class, () -> ResultLineReader.of(INT_PARSER, 0));
+        assertThrows(IllegalArgumentException.class, () -> ResultLineReader.of(INT_PARSER, Integer.MAX_VALUE));
+        assertThrows(NullPointerException.class, () -> ResultLineReader.of(null));
+    }
+
+    @Test
+    void read_ManyChunks_ReportsLineNumbersAndOffsets(@TempDir final Path dir) throws IOException {
+        final StringBuilder content = new StringBuilder();
+        final List<Long> offsets = new ArrayList<>();
+        final int lines = 1000;
+        for (int i = 0; i < lines; i++) {
+            offsets.add((long) content.length());
+            content.append(i % 10 == 0 ? "x" + i : String.valueOf(i)).append(i % 2 == 0 ? "\r\n" : "\n");
+        }
+        final Path file = write(dir, content.toString());
+
+        final List<Result<Integer, LineError<String>>> results = readAll(ResultLineReader.of(INT_PARSER, 16), file, lines);
+        assertEquals(lines, results.size());
+        for (int i = 0; i < lines; i++) {
+            if (i % 10 == 0) {
+                assertEquals(Err.of(LineError.of(i + 1, offsets.get(i), "not a number: x" + i)), results.get(i));
+            } else {
+                assertEquals(Ok.of(i), results.get(i));
+            }
+        }
+    }
+
+    @Test
+    void read_DefaultChunkSize_LastLineWithoutTerminator(@TempDir final Path dir) throws IOException {
+        final Path file = write(dir, "1\n\n22\r\n333");
+        assertEquals(Arrays.asList(Ok.of(1), Ok.of(0), Ok.of(22), Ok.of(333)), readAll(ResultLineReader.of(INT_PARSER), file, 4));
+    }
+
+    @Test
+    void read_EmptyFile_ReadsNoLines(@TempDir final Path dir) throws IOException {
+        assertEquals(Collections.emptyList(), readAll(ResultLineReader.of(INT_PARSER), write(dir, ""), 0));
+    }
+
+    @Test
+    void read_LineLongerThanChunk_TooLarge(@TempDir final Path dir) throws IOException {
+        final Path file = write(dir, "1\n12345678901234567890\n");
+        final List<Result<Integer, LineError<String>>> results = new ArrayList<>();
+        final Result<Long, IoError> read = ResultLineReader.of(INT_PARSER, 8).read(file, results::add);
+        assertEquals(IoError.Kind.TOO_LARGE, read.unwrapErr().kind());
+        assertEquals("Line 2 is longer than 8 bytes.", read.unwrapErr().message());
+        assertEquals(Collections.singletonList(Ok.of(1)), results);
+    }
+
+    @Test
+    void read_LinesOfExactlyChunkSize_AreRead(@TempDir final Path dir) throws IOException {
+        final ResultLineReader<Integer, String> reader = ResultLineReader.of(INT_PARSER, 8);
+        assertEquals(Arrays.asList(Ok.of(12345678), Ok.of(87654321), Ok.of(11111111)),
+            readAll(reader, write(dir, "12345678\n87654321\r\n11111111"), 3));
+        assertEquals(Collections.singletonList(Ok.of(12345678)), readAll(reader, write(dir, "12345678\n"), 1));
+        assertEquals(Collections.singletonList(Ok.of(12345678)), readAll(reader, write(dir, "12345678\r\n"), 1));
+    }
+
+    @Test
+    void read_LoneCarriageReturnAtEnd_IsStripped(@TempDir final Path dir) throws IOException {
+        final ResultLineReader<Integer, String> reader = ResultLineReader.of(INT_PARSER, 8);
+        assertEquals(Arrays.asList(Ok.of(1), Ok.of(12345678)), readAll(reader, write(dir, "1\n12345678\r"), 2));
+        assertEquals(Collections.singletonList(Ok.of(0)), readAll(reader, write(dir, "\r"), 1));
+    }
+
+    @Test
+    void read_LineOneByteLongerThanChunk_TooLarge(@TempDir final Path dir) throws IOException {
+        final ResultLineReader<Integer, String> reader = ResultLineReader.of(INT_PARSER, 8);
+        for (final String content : Arrays.asList("1\n123456789\n", "1\n123456789\r\n", "1\n123456789", "1\n123456789\r")) {
+            final List<Result<Integer, LineError<String>>> results = new ArrayList<>();
+            final Result<Long, IoError> read = reader.read(write(dir, content), results::add);
+            assertEquals("Line 2 is longer than 8 bytes.", read.unwrapErr().message(), content);
+            assertEquals(Collections.singletonList(Ok.of(1)), results);
+        }
+    }
+
+    @Test
+    void read_MissingFile_NotFound(@TempDir final Path dir) {
+        final Result<Long, IoError> read = ResultLineReader.of(INT_PARSER).read(dir.resolve("missing.txt"), r -> { });
+        assertEquals(IoError.Kind.NOT_FOUND, read.unwrapErr().kind());
+    }
+
+    @Test
+    void line_AccessorsAndBounds(@TempDir final Path dir) throws IOException {
+        final Path file = write(dir, "skip\nkey=caf\u00e9\n"); // e with acute accent
+        final List<String> checked = new ArrayList<>();
+        ResultLineReader.<String, String>of(line -> {
+            if (line.lineNumber() == 2) {
+                assertEquals(5, line.byteOffset());
+                assertEquals(9, line.length());
+                assertEquals('k', line.byteAt(0));
+                assertEquals(3, line.indexOf((byte) '=', -1));
+                assertEquals(-1, line.indexOf((byte) '=', 4));
+                assertEquals("key", line.asString(0, 3, StandardCharsets.US_ASCII));
+                assertEquals("caf\u00e9", line.asString(4, 9, StandardCharsets.UTF_8)); // e with acute accent
+                assertThrows(IndexOutOfBoundsException.class, () -> line.byteAt(9));
+                assertThrows(IndexOutOfBoundsException.class, () -> line.byteAt(-1));
+                assertThrows(IndexOutOfBoundsException.class, () -> line.asString(4, 3, StandardCharsets.UTF_8));
+                checked.add(line.toString());
+            }
+            return Ok.of(line.asString());
+        }).read(file, r -> { });
+        assertEquals(Collections.singletonList("key=caf\u00e9"), checked); // e with acute accent
+    }
+
+    @Test
+    void lineError_EqualsHashCodeToString() {
+        final LineError<String> error = LineError.of(3, 42, "bad");
+        assertEquals(3, error.lineNumber());
+        assertEquals(42, error.byteOffset());
+        assertEquals("bad", error.error());
+        assertEquals(error, error);
+        assertEquals(error, LineError.of(3, 42, "bad"));
+        assertEquals(error.hashCode(), LineError.of(3, 42, "bad").hashCode());
+        assertNotEquals(error, LineError.of(4, 42, "bad"));
+        assertNotEquals(error, LineError.of(3, 43, "bad"));
+        assertNotEquals(error, LineError.of(3, 42, "worse"));
+        assertNotEquals(error, "bad");
+        assertEquals("line 3 (byte 42): bad", error.toString());
+    }
+}
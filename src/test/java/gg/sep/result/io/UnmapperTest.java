@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2019 sep.gg <seputaes@sep.gg>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gg.sep.result.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for the {@link Unmapper} type.
+ */
+class UnmapperTest {
+
+    @Test
+    void unmap_MappedFile_ReleasesMapping(@TempDir final Path dir) throws IOException {
+        final Path file = dir.resolve("mapped");
+        Files.write(file, new byte[] {1, 2, 3});
+        final MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, 3);
+        }
+        assertEquals(2, buffer.get(1));
+        assertTrue(Unmapper.unmap(buffer));
+        Files.delete(file);
+    }
+
+    @Test
+    void resolve_Unsafe_UnmapsBuffers() throws ReflectiveOperationException {
+        final Unmapper.Hook hook = Unmapper.resolve("sun.misc.Unsafe", ByteBuffer.allocateDirect(1));
+        assertNotSame(Unmapper.NONE, hook);
+        assertTrue(hook.unmap(ByteBuffer.allocateDirect(8)));
+    }
+
+    @Test
+    void resolve_NoUnsafe_UsesBufferCleaner() throws ReflectiveOperationException {
+        final Unmapper.Hook hook = Unmapper.resolve("gg.sep.result.io.NoSuchUnsafe", new FakeBuffer());
+        final FakeBuffer buffer = new FakeBuffer();
+        assertTrue(hook.unmap(buffer));
+        assertTrue(buffer.cleaner.cleaned);
+    }
+
+    @Test
+    void resolve_NoHook_ReturnsNone() throws ReflectiveOperationException {
+        final Unmapper.Hook hook = Unmapper.resolve("gg.sep.result.io.NoSuchUnsafe", new Object());
+        assertSame(Unmapper.NONE, hook);
+        assertFalse(hook.unmap(new Object()));
+    }
+
+    @Test
+    void unmap_HookFails_ReturnsFalse() {
+        assertFalse(Unmapper.unmap(buffer -> {
+            throw new IllegalAccessException("denied");
+        }, new Object()));
+    }
+
+    /**
+     * Stands in for a Java 8 mapped buffer, whose {@code cleaner()} returns a {@code sun.misc.Cleaner}.
+     */
+    public static final class FakeBuffer {
+        private final FakeCleaner cleaner = new FakeCleaner();
+
+        /**
+         * Returns the cleaner of this buffer.
+         *
+         * @return The cleaner.
+         */
+        public FakeCleaner cleaner() {
+            return cleaner;
+        }
+    }
+
+    /**
+     * Stands in for {@code sun.misc.Cleaner}.
+     */
+    public static final class FakeCleaner {
+        private boolean cleaned;
+
+        /**
+         * Records the call.
+         */
+        public void clean() {
+            cleaned = true;
+        }
+    }
+}